@@ -46,7 +46,11 @@ export class EcsStack extends cdk.Stack {
           image: ecs.ContainerImage.fromEcrRepository(appRepo, imageTag),
           containerPort: 8080,
           environment: {
-            WHISPER_URL: 'http://localhost:8000',
+            // Faster Whisper listens on a Unix domain socket in the shared whisper-socket volume
+            WHISPER_URL: 'unix:///var/run/faster-whisper/whisper.sock',
+            // Task ephemeral storage; survives app container restarts within the task
+            TRANSCRIPT_STORE_ENABLED: 'true',
+            TRANSCRIPT_STORE_PATH: '/tmp/transcript-store',
           },
         },
         healthCheckGracePeriod: cdk.Duration.seconds(200)
@@ -70,6 +74,15 @@ export class EcsStack extends cdk.Stack {
       throw new Error('Default container not found');
     }
 
+    // Task-local bind mount holding the socket the app reaches Faster Whisper through
+    taskDef.addVolume({ name: 'whisper-socket' });
+    const whisperSocketMount: ecs.MountPoint = {
+      sourceVolume: 'whisper-socket',
+      containerPath: '/var/run/faster-whisper',
+      readOnly: false,
+    };
+    appContainer.addMountPoints(whisperSocketMount);
+
     const whisperContainer = taskDef.addContainer('faster-whisper-server', {
       containerName: 'faster-whisper-server',
       image: ecs.ContainerImage.fromRegistry(
@@ -78,13 +91,8 @@ export class EcsStack extends cdk.Stack {
       memoryLimitMiB: 8192,
       environment: {
         WHISPER__MODEL: 'Systran/faster-whisper-small',
+        UVICORN_UDS: '/var/run/faster-whisper/whisper.sock',
       },
-      portMappings: [
-        {
-          containerPort: 8000,
-          protocol: ecs.Protocol.TCP,
-        },
-      ],
       logging: ecs.LogDrivers.awsLogs({
         streamPrefix: 'faster-whisper',
       }),
@@ -93,8 +101,8 @@ export class EcsStack extends cdk.Stack {
       healthCheck: {
         command: [
           'CMD-SHELL',
-          // Use Python's urllib instead of curl (Python is available in faster-whisper-server container)
-          'python3 -c "import urllib.request; urllib.request.urlopen(\'http://localhost:8000/health\').read()" || exit 1',
+          // Plain HTTP over the socket from Python (available in the faster-whisper-server container; curl is not)
+          'python3 -c "import socket; s = socket.socket(socket.AF_UNIX); s.settimeout(5); s.connect(\'/var/run/faster-whisper/whisper.sock\'); s.sendall(b\'GET /health HTTP/1.0\\r\\n\\r\\n\'); exit(0 if b\' 200 \' in s.recv(64) else 1)" || exit 1',
         ],
         interval: cdk.Duration.seconds(30),
         timeout: cdk.Duration.seconds(10),
@@ -102,6 +110,7 @@ export class EcsStack extends cdk.Stack {
         startPeriod: cdk.Duration.seconds(180), 
       },
     });
+    whisperContainer.addMountPoints(whisperSocketMount);
 
     const cfnTaskDef = taskDef.node.defaultChild as ecs.CfnTaskDefinition;
     cfnTaskDef.addPropertyOverride('ContainerDefinitions.0.Cpu', 512);
@@ -0,0 +1,75 @@
+package com.zoominfo.karan_take_home;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zoominfo.karan_take_home.multipart.ByteArrayMultipartFile;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Cost of building a {@link SpeechToTextRequest} for each upload: the
+ * builder with defaults filled in and the Content-Type check, and the Bean
+ * Validation pass over the result. The file is already in memory, so upload
+ * handling is not part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpeechToTextRequestBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ByteArrayMultipartFile file;
+    private SpeechToTextRequest request;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        file = new ByteArrayMultipartFile("file", "harvard.wav", "audio/wav", new byte[1024]);
+        request = build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public SpeechToTextRequest build() {
+        // Language and model left out, as most clients do, so the defaults are applied
+        return SpeechToTextRequest.builder()
+            .file(file)
+            .stream(true)
+            .build();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SpeechToTextRequest>> validate() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SpeechToTextRequest>> buildAndValidate() {
+        return validator.validate(build());
+    }
+}
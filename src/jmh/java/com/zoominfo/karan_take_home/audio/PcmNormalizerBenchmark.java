@@ -0,0 +1,58 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Time to normalize {@code harvard.wav} (18 s, 44.1 kHz stereo) to 16 kHz
+ * mono: decoding, downmixing, resampling and encoding, without file I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PcmNormalizerBenchmark {
+
+    private byte[] harvard;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = PcmNormalizerBenchmark.class.getResourceAsStream("/harvard.wav")) {
+            harvard = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public WavFormat normalizeHarvard(Blackhole blackhole) throws IOException {
+        InputStream in = new ByteArrayInputStream(harvard);
+        WavFormat format = WavFormat.read(in, harvard.length).orElseThrow();
+        return PcmNormalizer.normalize(in, format, new OutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+        });
+    }
+}
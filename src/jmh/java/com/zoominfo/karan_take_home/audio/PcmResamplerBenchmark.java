@@ -0,0 +1,60 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time for {@link PcmResampler} to convert one second of noise at common
+ * input rates to 16 kHz, fed in the block size {@link PcmNormalizer} uses.
+ * The resampler is reused, as a long recording would, so filter design is
+ * not part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PcmResamplerBenchmark {
+
+    private static final int BLOCK = 8192;
+
+    @Param({"48000", "44100", "22050", "8000"})
+    public int inputRate;
+
+    private PcmResampler resampler;
+    private float[] input;
+    private float[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        input = new float[inputRate];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = random.nextFloat() - 0.5f;
+        }
+        resampler = new PcmResampler(inputRate, PcmNormalizer.TARGET_SAMPLE_RATE);
+        out = new float[resampler.maxOutput(BLOCK)];
+    }
+
+    @Benchmark
+    public int resampleOneSecond() {
+        int written = 0;
+        for (int offset = 0; offset < input.length; offset += BLOCK) {
+            written += resampler.process(input, offset, Math.min(BLOCK, input.length - offset), out);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,173 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ClientCodecConfigurer;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.dto.incoming.FasterWhisperResponseDto;
+import com.zoominfo.karan_take_home.dto.outgoing.SpeechToTextResponseDto;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Time to encode a transcription's SSE stream to the response, and to decode
+ * Faster Whisper's SSE body into {@code ServerSentEvent<FasterWhisperResponseDto>}.
+ * {@code encode} uses WebFlux's default writer on DTO events, as the server
+ * did before {@link ServerSentEventWriter}; {@code encodeLean} uses that
+ * writer on the {@link SpeechToTextResponse} events it sends now. Both write
+ * to pooled Netty buffers, as Reactor Netty does, in in-memory messages so no
+ * socket is involved. {@code encodeServlet} and {@code encodeServletJackson}
+ * do the same for the default servlet stack, framing each event as Spring
+ * MVC's SSE emitter does and writing its data with {@link TranscriptJsonConverter}
+ * or with Jackson's converter on the DTO, into an in-memory response body.
+ * Run with the gc profiler (on by default in the jmh
+ * task) to compare {@code gc.alloc.rate.norm}, the bytes allocated per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerSentEventCodecBenchmark {
+
+    private static final ResolvableType RESPONSE_EVENT =
+        ResolvableType.forClassWithGenerics(ServerSentEvent.class, SpeechToTextResponseDto.class);
+    private static final ResolvableType LEAN_EVENT =
+        ResolvableType.forClassWithGenerics(ServerSentEvent.class, Object.class);
+    private static final ResolvableType UPSTREAM_EVENT =
+        ResolvableType.forClassWithGenerics(ServerSentEvent.class, FasterWhisperResponseDto.class);
+    private static final Map<String, Object> NO_HINTS = Collections.emptyMap();
+    private static final byte[] DATA = "data:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    /** Segments per transcription; a minute of speech is typically 10 to 20. */
+    @Param({"1", "20", "200"})
+    public int segments;
+
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private HttpMessageWriter<ServerSentEvent<SpeechToTextResponseDto>> writer;
+    private ServerSentEventWriter leanWriter;
+    private HttpMessageConverter<SpeechToTextResponse> transcriptConverter;
+    private HttpMessageConverter<Object> jacksonConverter;
+    private HttpMessageReader<ServerSentEvent<FasterWhisperResponseDto>> reader;
+    private List<ServerSentEvent<SpeechToTextResponseDto>> events;
+    private List<ServerSentEvent<Object>> leanEvents;
+    private String upstreamBody;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        writer = (HttpMessageWriter<ServerSentEvent<SpeechToTextResponseDto>>) ServerCodecConfigurer.create()
+            .getWriters().stream()
+            .filter(candidate -> candidate.canWrite(RESPONSE_EVENT, MediaType.TEXT_EVENT_STREAM))
+            .findFirst()
+            .orElseThrow();
+        leanWriter = new ServerSentEventWriter(JsonMapper.builder().build());
+        transcriptConverter = new TranscriptJsonConverter();
+        jacksonConverter = new JacksonJsonHttpMessageConverter(JsonMapper.builder().build());
+        reader = (HttpMessageReader<ServerSentEvent<FasterWhisperResponseDto>>) ClientCodecConfigurer.create()
+            .getReaders().stream()
+            .filter(candidate -> candidate.canRead(UPSTREAM_EVENT, MediaType.TEXT_EVENT_STREAM))
+            .findFirst()
+            .orElseThrow();
+        events = Flux.range(0, segments)
+            .map(i -> ServerSentEvent.builder(
+                    new SpeechToTextResponseDto(" The birch canoe slid on the smooth planks.", i * 2.5, i * 2.5 + 2.4))
+                .build())
+            .collectList()
+            .block();
+        leanEvents = Flux.range(0, segments)
+            .map(i -> ServerSentEvent.<Object>builder(
+                    new SpeechToTextResponse(" The birch canoe slid on the smooth planks.", i * 2.5, i * 2.5 + 2.4))
+                .build())
+            .collectList()
+            .block();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < segments; i++) {
+            body.append("data: {\"text\":\" The birch canoe slid on the smooth planks.\",\"start\":")
+                .append(i * 2.5).append(",\"end\":").append(i * 2.5 + 2.4).append("}\n\n");
+        }
+        upstreamBody = body.toString();
+    }
+
+    @Benchmark
+    public String encode() {
+        MockServerHttpResponse response = new MockServerHttpResponse(bufferFactory);
+        writer.write(Flux.fromIterable(events), RESPONSE_EVENT, MediaType.TEXT_EVENT_STREAM, response, NO_HINTS)
+            .block();
+        return response.getBodyAsString().block();
+    }
+
+    @Benchmark
+    public String encodeLean() {
+        MockServerHttpResponse response = new MockServerHttpResponse(bufferFactory);
+        leanWriter.write(Flux.fromIterable(leanEvents), LEAN_EVENT, MediaType.TEXT_EVENT_STREAM, response, NO_HINTS)
+            .block();
+        return response.getBodyAsString().block();
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage encodeServlet() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        for (ServerSentEvent<Object> event : leanEvents) {
+            output.getBody().write(DATA);
+            transcriptConverter.write((SpeechToTextResponse) event.data(), MediaType.APPLICATION_JSON, output);
+            output.getBody().write(EVENT_END);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage encodeServletJackson() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        for (ServerSentEvent<SpeechToTextResponseDto> event : events) {
+            output.getBody().write(DATA);
+            jacksonConverter.write(event.data(), MediaType.APPLICATION_JSON, output);
+            output.getBody().write(EVENT_END);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public List<ServerSentEvent<FasterWhisperResponseDto>> decode() {
+        MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setBody(upstreamBody);
+        return reader.read(UPSTREAM_EVENT, response, NO_HINTS).collectList().block();
+    }
+}
@@ -0,0 +1,82 @@
+package com.zoominfo.karan_take_home.interceptors;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Overhead the {@link FasterWhisperClientInterceptor#all()} chain adds to
+ * each call to Faster Whisper, against an exchange that answers at once with
+ * an SSE response. {@code direct} is the exchange without filters. The
+ * interceptor logs at INFO, as in production, so debug logging is not part
+ * of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FasterWhisperClientInterceptorBenchmark {
+
+    private ClientRequest request;
+    private ExchangeFunction exchange;
+    private ExchangeFilterFunction chain;
+    private Context timed;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(FasterWhisperClientInterceptor.class)).setLevel(Level.INFO);
+        request = ClientRequest.create(HttpMethod.POST, URI.create("http://localhost:8000/v1/audio/transcriptions"))
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA_VALUE)
+            .build();
+        ClientResponse response = ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+            .build();
+        exchange = sent -> Mono.just(response);
+        chain = FasterWhisperClientInterceptor.all();
+        timed = Context.of(RequestTimings.class, RequestTimings.start("benchmark"));
+    }
+
+    @Benchmark
+    public ClientResponse direct() {
+        return exchange.exchange(request).block();
+    }
+
+    @Benchmark
+    public ClientResponse interceptorChain() {
+        return chain.filter(request, exchange).block();
+    }
+
+    /** With a request id in the context, so the request is copied to add the header. */
+    @Benchmark
+    public ClientResponse interceptorChainWithRequestId() {
+        return chain.filter(request, exchange).contextWrite(timed).block();
+    }
+}
@@ -0,0 +1,77 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.dto.incoming.FasterWhisperResponseDto;
+import com.zoominfo.karan_take_home.dto.outgoing.SpeechToTextResponseDto;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Time to map a transcription's upstream events from
+ * {@link FasterWhisperResponseDto} through {@link SpeechToTextResponse} to
+ * the {@link SpeechToTextResponseDto} the controller used to send, as
+ * {@link SpeechToTextService#toResponses} and the controller did it. The
+ * {@code plainLoop} variant does the same mapping without Reactor, showing
+ * how much of the cost is the operators rather than the copying. The
+ * controller now sends the {@code SpeechToTextResponse} itself, so the DTO
+ * step is the part that was saved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpeechToTextResponseMappingBenchmark {
+
+    /** Segments per transcription; a minute of speech is typically 10 to 20. */
+    @Param({"1", "20", "200"})
+    public int segments;
+
+    private List<ServerSentEvent<FasterWhisperResponseDto>> events;
+
+    @Setup
+    public void setUp() {
+        events = Flux.range(0, segments)
+            .map(i -> ServerSentEvent.builder(
+                    new FasterWhisperResponseDto(" The birch canoe slid on the smooth planks.", i * 2.5, i * 2.5 + 2.4))
+                .build())
+            .collectList()
+            .block();
+    }
+
+    @Benchmark
+    public void mapThroughService(Blackhole blackhole) {
+        SpeechToTextService.toResponses(Flux.fromIterable(events))
+            .map(SpeechToTextResponseDto::from)
+            .subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void plainLoop(Blackhole blackhole) {
+        for (ServerSentEvent<FasterWhisperResponseDto> event : events) {
+            FasterWhisperResponseDto dto = event.data();
+            if (dto != null) {
+                blackhole.consume(SpeechToTextResponseDto.from(
+                    new SpeechToTextResponse(dto.text(), dto.start(), dto.end())));
+            }
+        }
+    }
+}
@@ -5,9 +5,16 @@ import jakarta.validation.constraints.NotEmpty;
 /*
  * Response record for faster whisper response
  * @param text The text converted from the audio file. Must not be empty.
+ * @param start The start of the segment in seconds from the start of the uploaded audio, or null when not sent.
+ * @param end The end of the segment in seconds from the start of the uploaded audio, or null when not sent.
  */
 public record FasterWhisperResponse(
     @NotEmpty
-    String text
+    String text,
+    Double start,
+    Double end
 ) {
+    public FasterWhisperResponse(String text) {
+        this(text, null, null);
+    }
 }
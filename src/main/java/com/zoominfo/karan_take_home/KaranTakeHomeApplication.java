@@ -2,8 +2,10 @@ package com.zoominfo.karan_take_home;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class KaranTakeHomeApplication {
 
 	public static void main(String[] args) {
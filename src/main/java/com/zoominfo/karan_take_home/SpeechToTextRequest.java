@@ -2,6 +2,8 @@ package com.zoominfo.karan_take_home;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.zoominfo.karan_take_home.audio.AudioInfo;
+
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 
@@ -11,6 +13,8 @@ import lombok.Builder;
  * @param language The language of the audio file. Default is "en".
  * @param model The model to use for the conversion. Default is "Systran/faster-whisper-small".
  * @param stream Whether to stream the conversion. Default is false.
+ * @param bypassCache Whether to skip the transcription cache for this request. Default is false.
+ * @param audioInfo What the file's header says it holds, once probed; null until then.
  */
 @Builder
 public record SpeechToTextRequest(
@@ -18,12 +22,52 @@ public record SpeechToTextRequest(
     MultipartFile file,
     String language,
     String model,
-    Boolean stream
+    Boolean stream,
+    Boolean bypassCache,
+    AudioInfo audioInfo
 ) {
     public SpeechToTextRequest(MultipartFile file, String language, String model, Boolean stream) {
+        this(file, language, model, stream, null);
+    }
+
+    public SpeechToTextRequest(MultipartFile file, String language, String model, Boolean stream, Boolean bypassCache) {
+        this(file, language, model, stream, bypassCache, null);
+    }
+
+    public SpeechToTextRequest(MultipartFile file, String language, String model, Boolean stream, Boolean bypassCache,
+            AudioInfo audioInfo) {
+        requireAudioContentType(file.getContentType());
+        this.file = file;
+        if (language == null || language.isEmpty()) {
+            this.language = "en";
+        } else {
+            this.language = language;
+        }
+        if (model == null || model.isEmpty()) {
+            this.model = "Systran/faster-whisper-small";
+        } else {
+            this.model = model;
+        }
+        if (stream == null) {
+            this.stream = false;
+        } else {
+            this.stream = stream;
+        }
+        if (bypassCache == null) {
+            this.bypassCache = false;
+        } else {
+            this.bypassCache = bypassCache;
+        }
+        this.audioInfo = audioInfo;
+    }
+
+    public SpeechToTextRequest withAudioInfo(AudioInfo audioInfo) {
+        return new SpeechToTextRequest(file, language, model, stream, bypassCache, audioInfo);
+    }
+
+    static void requireAudioContentType(String contentType) {
         // Validate Content-Type if provided, but be lenient since many clients don't set it correctly
         // Only reject if Content-Type is explicitly set to something that's clearly not audio
-        String contentType = file.getContentType();
         if (contentType == null) {
             throw new IllegalArgumentException("File must have a Content-Type");
         }
@@ -39,21 +83,5 @@ public record SpeechToTextRequest(
                         "File of type " + contentType + " not supported. File must be an audio file");
             }
         }
-        this.file = file;
-        if (language == null || language.isEmpty()) {
-            this.language = "en";
-        } else {
-            this.language = language;
-        }
-        if (model == null || model.isEmpty()) {
-            this.model = "Systran/faster-whisper-small";
-        } else {
-            this.model = model;
-        }
-        if (stream == null) {
-            this.stream = false;
-        } else {
-            this.stream = stream;
-        }
     }
 }
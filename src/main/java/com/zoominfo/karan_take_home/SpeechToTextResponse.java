@@ -1,12 +1,40 @@
 package com.zoominfo.karan_take_home;
 
+import java.util.function.DoubleUnaryOperator;
+
 import jakarta.validation.constraints.NotEmpty;
 
 /*
  * Response record for speech to text conversion
  * @param text The text converted from the audio file. Must not be empty.
+ * @param start The start of the text in seconds from the start of the uploaded audio, or null when unknown.
+ * @param end The end of the text in seconds from the start of the uploaded audio, or null when unknown.
  */
 public record SpeechToTextResponse(
     @NotEmpty
-    String text
-) {}
+    String text,
+    Double start,
+    Double end
+) {
+    public SpeechToTextResponse(String text) {
+        this(text, null, null);
+    }
+
+    public SpeechToTextResponse withText(String text) {
+        return new SpeechToTextResponse(text, start, end);
+    }
+
+    /**
+     * Returns this response with {@code time} applied to its start and end,
+     * e.g. to move them from the time of a segment to that of the whole recording.
+     */
+    public SpeechToTextResponse mapTimes(DoubleUnaryOperator time) {
+        if (start == null && end == null) {
+            return this;
+        }
+        return new SpeechToTextResponse(
+            text,
+            start == null ? null : time.applyAsDouble(start),
+            end == null ? null : time.applyAsDouble(end));
+    }
+}
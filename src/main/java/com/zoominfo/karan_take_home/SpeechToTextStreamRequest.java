@@ -0,0 +1,55 @@
+package com.zoominfo.karan_take_home;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import reactor.core.publisher.Flux;
+
+/*
+ * Request record for speech to text conversion of an audio body that is streamed
+ * through to Faster Whisper without being received in full first
+ * @param audio The audio bytes as they arrive from the client. Must not be null.
+ * @param filename The filename sent to Faster Whisper. Default is "audio".
+ * @param contentType The Content-Type of the audio. Must not be null.
+ * @param language The language of the audio file. Default is "en".
+ * @param model The model to use for the conversion. Default is "Systran/faster-whisper-small".
+ * @param stream Whether to stream the conversion. Default is false.
+ */
+@Builder
+public record SpeechToTextStreamRequest(
+    @NotNull
+    Flux<DataBuffer> audio,
+    String filename,
+    String contentType,
+    String language,
+    String model,
+    Boolean stream
+) {
+    public SpeechToTextStreamRequest(Flux<DataBuffer> audio, String filename, String contentType,
+            String language, String model, Boolean stream) {
+        SpeechToTextRequest.requireAudioContentType(contentType);
+        this.audio = audio;
+        this.contentType = contentType;
+        if (filename == null || filename.isEmpty()) {
+            this.filename = "audio";
+        } else {
+            this.filename = filename;
+        }
+        if (language == null || language.isEmpty()) {
+            this.language = "en";
+        } else {
+            this.language = language;
+        }
+        if (model == null || model.isEmpty()) {
+            this.model = "Systran/faster-whisper-small";
+        } else {
+            this.model = model;
+        }
+        if (stream == null) {
+            this.stream = false;
+        } else {
+            this.stream = stream;
+        }
+    }
+}
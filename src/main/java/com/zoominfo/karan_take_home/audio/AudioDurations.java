@@ -0,0 +1,41 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Cheap estimates of how much audio a file holds, for ordering work before it
+ * has been decoded.
+ */
+public final class AudioDurations {
+    /** Compressed uploads are assumed to be 128 kbit/s, a common rate for speech MP3s. */
+    static final long ASSUMED_COMPRESSED_BYTES_PER_SECOND = 128_000 / 8;
+
+    private AudioDurations() {
+    }
+
+    /**
+     * Returns the duration {@link AudioProbe} reads from the file's header, or
+     * an estimate from the file size when the header does not give one.
+     */
+    public static Duration estimate(MultipartFile file) {
+        try {
+            return estimate(AudioProbe.probe(file), file);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            return estimate(null, file);
+        }
+    }
+
+    /**
+     * Returns the duration from an earlier probe of {@code file}, or an
+     * estimate from the file size when it is null or has no duration.
+     */
+    public static Duration estimate(AudioInfo info, MultipartFile file) {
+        if (info != null && info.duration() != null) {
+            return info.duration();
+        }
+        return Duration.ofMillis(file.getSize() * 1000 / ASSUMED_COMPRESSED_BYTES_PER_SECOND);
+    }
+}
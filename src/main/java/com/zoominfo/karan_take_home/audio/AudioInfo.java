@@ -0,0 +1,38 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.time.Duration;
+
+/*
+ * What an uploaded file holds, as read from its header by AudioProbe
+ * @param container The file format.
+ * @param codec The codec of the audio stream (e.g. "pcm_s16le", "mp3", "opus"), or null when not read from the header.
+ * @param sampleRate The sample rate in Hz, or 0 when unknown.
+ * @param channels The number of channels, or 0 when unknown.
+ * @param duration The length of the audio, exact or estimated from the bitrate, or null when unknown.
+ */
+public record AudioInfo(
+    Container container,
+    String codec,
+    int sampleRate,
+    int channels,
+    Duration duration
+) {
+    public enum Container {
+        WAV,
+        MP3,
+        FLAC,
+        OGG,
+        MP4,
+        MATROSKA,
+        AAC,
+        AIFF,
+        AMR,
+        ASF,
+        CAF,
+        AU
+    }
+
+    static AudioInfo of(Container container) {
+        return new AudioInfo(container, null, 0, 0, null);
+    }
+}
@@ -0,0 +1,407 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.audio.AudioInfo.Container;
+
+/**
+ * Identifies an upload from its leading bytes rather than its Content-Type,
+ * so renamed images and empty files are turned away before anything is sent
+ * upstream. WAV, MP3 (including Xing/Info and VBRI headers), FLAC and
+ * Ogg (Opus and Vorbis) are parsed for codec, sample rate, channels and
+ * duration; the other containers Faster Whisper accepts are recognised by
+ * their magic bytes only. Common non-audio files (PNG, JPEG, GIF, PDF and
+ * ZIP, which covers Office documents) are rejected by their magic bytes
+ * before any MPEG frame is looked for, and an MPEG frame is only accepted
+ * when the next frame header follows it.
+ *
+ * Only the first {@value #HEAD_BYTES} bytes after any ID3v2 tag are read,
+ * plus at most one more MPEG frame when the first found ends past them,
+ * except for Ogg, whose length is only recorded in the last page: there the
+ * final {@value #OGG_TAIL_BYTES} bytes are read as well, skipping the rest.
+ */
+public final class AudioProbe {
+    static final int HEAD_BYTES = 16 * 1024;
+    static final int OGG_TAIL_BYTES = 64 * 1024;
+
+    private static final int ID3_HEADER_BYTES = 10;
+    private static final int OPUS_SAMPLE_RATE = 48_000;
+
+    private static final int[][] MPEG_SAMPLE_RATES = {
+        {11025, 12000, 8000},   // MPEG 2.5
+        null,                   // reserved
+        {22050, 24000, 16000},  // MPEG 2
+        {44100, 48000, 32000},  // MPEG 1
+    };
+    private static final int[] MPEG1_LAYER1_KBPS = {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448};
+    private static final int[] MPEG1_LAYER2_KBPS = {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384};
+    private static final int[] MPEG1_LAYER3_KBPS = {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320};
+    private static final int[] MPEG2_LAYER1_KBPS = {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256};
+    private static final int[] MPEG2_LAYER2_3_KBPS = {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160};
+    private static final int[] ADTS_SAMPLE_RATES = {
+        96000, 88200, 64000, 48000, 44100, 32000, 24000, 22050, 16000, 12000, 11025, 8000, 7350
+    };
+
+    private AudioProbe() {
+    }
+
+    /**
+     * Probes an upload, throwing an {@link IllegalArgumentException} when it
+     * is empty or does not start like any supported audio format.
+     */
+    public static AudioInfo probe(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return probe(in, file.getSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read uploaded audio", e);
+        }
+    }
+
+    /**
+     * Probes audio read from {@code in}, which is consumed but not closed.
+     *
+     * @param size The total length of the stream, or -1 when unknown.
+     */
+    public static AudioInfo probe(InputStream in, long size) throws IOException {
+        byte[] head = in.readNBytes(ID3_HEADER_BYTES);
+        if (head.length == 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        long offset = 0;
+        if (head.length == ID3_HEADER_BYTES && startsWith(head, 0, "ID3")) {
+            // ID3v2 tags (album art and all) come before the first MPEG or FLAC frame
+            offset = ID3_HEADER_BYTES + syncSafe(head, 6) + ((head[5] & 0x10) != 0 ? ID3_HEADER_BYTES : 0);
+            try {
+                in.skipNBytes(offset - ID3_HEADER_BYTES);
+            } catch (EOFException e) {
+                throw notAudio();
+            }
+            head = in.readNBytes(HEAD_BYTES);
+        } else {
+            byte[] rest = in.readNBytes(HEAD_BYTES - head.length);
+            head = concat(head, rest);
+        }
+
+        String other = nonAudio(head);
+        if (other != null) {
+            throw new IllegalArgumentException("File content is " + other + ", not audio");
+        }
+        if (offset == 0 && startsWith(head, 0, "RIFF") && startsWith(head, 8, "WAVE")) {
+            return wav(new SequenceInputStream(new ByteArrayInputStream(head), in), size);
+        }
+        if (startsWith(head, 0, "fLaC")) {
+            return flac(head);
+        }
+        if (startsWith(head, 0, "OggS")) {
+            return ogg(head, in, offset, size);
+        }
+        Optional<AudioInfo> container = magic(head);
+        if (container.isPresent()) {
+            return container.get();
+        }
+        return mpeg(head, in, offset, size).orElseThrow(AudioProbe::notAudio);
+    }
+
+    private static AudioInfo wav(InputStream in, long size) throws IOException {
+        WavFormat format = WavFormat.read(in, size)
+            .orElseThrow(() -> new IllegalArgumentException("WAV file has no fmt or data chunk"));
+        if (format.dataLength() == 0) {
+            throw new IllegalArgumentException("WAV file contains no audio");
+        }
+        return new AudioInfo(Container.WAV, wavCodec(format), format.sampleRate(), format.channels(),
+            format.byteRate() > 0 ? format.duration() : null);
+    }
+
+    private static String wavCodec(WavFormat format) {
+        return switch (format.audioFormat()) {
+            case WavFormat.FORMAT_PCM -> format.bitsPerSample() == 8 ? "pcm_u8" : "pcm_s" + format.bitsPerSample() + "le";
+            case WavFormat.FORMAT_IEEE_FLOAT -> "pcm_f" + format.bitsPerSample() + "le";
+            case 6 -> "pcm_alaw";
+            case 7 -> "pcm_mulaw";
+            case 0x55 -> "mp3";
+            default -> String.format("0x%04x", format.audioFormat());
+        };
+    }
+
+    private static AudioInfo flac(byte[] head) {
+        // The first metadata block is always STREAMINFO: 4 byte block header, then 34 bytes
+        if (head.length < 4 + 4 + 34 || (head[4] & 0x7F) != 0) {
+            throw new IllegalArgumentException("FLAC file has no STREAMINFO block");
+        }
+        int at = 8 + 10;
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (head[at + i] & 0xFF);
+        }
+        int sampleRate = (int) (bits >>> 44);
+        int channels = (int) ((bits >>> 41) & 0x7) + 1;
+        long totalSamples = bits & 0xF_FFFF_FFFFL;
+        Duration duration = sampleRate > 0 && totalSamples > 0 ? samples(totalSamples, sampleRate) : null;
+        return new AudioInfo(Container.FLAC, "flac", sampleRate, channels, duration);
+    }
+
+    private static AudioInfo ogg(byte[] head, InputStream in, long offset, long size) throws IOException {
+        if (head.length < 27 || head.length < 27 + (head[26] & 0xFF)) {
+            throw new IllegalArgumentException("Ogg file is truncated");
+        }
+        int packet = 27 + (head[26] & 0xFF);
+        String codec = null;
+        int sampleRate = 0;
+        int channels = 0;
+        long preSkip = 0;
+        long granuleRate = 0;
+        if (startsWith(head, packet, "OpusHead") && head.length >= packet + 16) {
+            codec = "opus";
+            channels = head[packet + 9] & 0xFF;
+            preSkip = littleEndian(head, packet + 10, 2);
+            long inputRate = littleEndian(head, packet + 12, 4);
+            sampleRate = inputRate > 0 ? (int) inputRate : OPUS_SAMPLE_RATE;
+            // Opus granule positions always count 48 kHz samples, whatever the input rate was
+            granuleRate = OPUS_SAMPLE_RATE;
+        } else if (head.length >= packet + 16 && head[packet] == 1 && startsWith(head, packet + 1, "vorbis")) {
+            codec = "vorbis";
+            channels = head[packet + 11] & 0xFF;
+            sampleRate = (int) littleEndian(head, packet + 12, 4);
+            granuleRate = sampleRate;
+        }
+        if (granuleRate == 0 || size < 0) {
+            return new AudioInfo(Container.OGG, codec, sampleRate, channels, null);
+        }
+
+        long serial = littleEndian(head, 14, 4);
+        long consumed = offset + head.length;
+        byte[] tail;
+        if (size - consumed > OGG_TAIL_BYTES) {
+            in.skipNBytes(size - consumed - OGG_TAIL_BYTES);
+            tail = in.readNBytes(OGG_TAIL_BYTES);
+        } else {
+            tail = concat(head, in.readAllBytes());
+        }
+        long granule = lastGranule(tail, serial);
+        Duration duration = granule > preSkip ? samples(granule - preSkip, granuleRate) : null;
+        return new AudioInfo(Container.OGG, codec, sampleRate, channels, duration);
+    }
+
+    private static long lastGranule(byte[] tail, long serial) {
+        for (int at = tail.length - 27; at >= 0; at--) {
+            if (startsWith(tail, at, "OggS") && littleEndian(tail, at + 14, 4) == serial) {
+                long granule = littleEndian(tail, at + 6, 8);
+                // -1 marks a page on which no packet ends
+                if (granule != -1) {
+                    return granule;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static Optional<AudioInfo> magic(byte[] head) {
+        if (startsWith(head, 4, "ftyp")) {
+            return Optional.of(AudioInfo.of(Container.MP4));
+        }
+        if (head.length >= 4 && (head[0] & 0xFF) == 0x1A && (head[1] & 0xFF) == 0x45
+                && (head[2] & 0xFF) == 0xDF && (head[3] & 0xFF) == 0xA3) {
+            return Optional.of(AudioInfo.of(Container.MATROSKA));
+        }
+        if (startsWith(head, 0, "FORM") && (startsWith(head, 8, "AIFF") || startsWith(head, 8, "AIFC"))) {
+            return Optional.of(AudioInfo.of(Container.AIFF));
+        }
+        if (startsWith(head, 0, "#!AMR")) {
+            return Optional.of(AudioInfo.of(Container.AMR));
+        }
+        if (head.length >= 4 && (head[0] & 0xFF) == 0x30 && (head[1] & 0xFF) == 0x26
+                && (head[2] & 0xFF) == 0xB2 && (head[3] & 0xFF) == 0x75) {
+            return Optional.of(AudioInfo.of(Container.ASF));
+        }
+        if (startsWith(head, 0, "caff")) {
+            return Optional.of(AudioInfo.of(Container.CAF));
+        }
+        if (startsWith(head, 0, ".snd")) {
+            return Optional.of(AudioInfo.of(Container.AU));
+        }
+        // ADTS shares the MPEG sync word but always has layer 0
+        if (head.length >= 7 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xF6) == 0xF0) {
+            int rateIndex = (head[2] >> 2) & 0xF;
+            int channels = ((head[2] & 0x1) << 2) | ((head[3] >> 6) & 0x3);
+            int sampleRate = rateIndex < ADTS_SAMPLE_RATES.length ? ADTS_SAMPLE_RATES[rateIndex] : 0;
+            return Optional.of(new AudioInfo(Container.AAC, "aac", sampleRate, channels, null));
+        }
+        return Optional.empty();
+    }
+
+    /** Returns what the file is when it starts like a common non-audio format, or null. */
+    private static String nonAudio(byte[] head) {
+        if (head.length >= 8 && (head[0] & 0xFF) == 0x89 && startsWith(head, 1, "PNG\r\n\u001A\n")) {
+            return "a PNG image";
+        }
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "a JPEG image";
+        }
+        if (startsWith(head, 0, "GIF87a") || startsWith(head, 0, "GIF89a")) {
+            return "a GIF image";
+        }
+        if (startsWith(head, 0, "%PDF-")) {
+            return "a PDF document";
+        }
+        if (startsWith(head, 0, "PK\u0003\u0004") || startsWith(head, 0, "PK\u0005\u0006")
+                || startsWith(head, 0, "PK\u0007\u0008")) {
+            return "a ZIP archive";
+        }
+        return null;
+    }
+
+    private static Optional<AudioInfo> mpeg(byte[] head, InputStream in, long offset, long size) throws IOException {
+        for (int at = 0; at + 4 <= head.length; at++) {
+            MpegFrame frame = MpegFrame.parse(head, at);
+            if (frame == null) {
+                continue;
+            }
+            // A lone sync word is easily found in arbitrary data; require the next frame to follow on
+            int next = at + frame.length();
+            if (next + 4 > head.length) {
+                // At most one frame (under 2KB) past the head, only for a candidate near its end
+                head = concat(head, in.readNBytes(next + 4 - head.length));
+            }
+            MpegFrame following = MpegFrame.parse(head, next);
+            if (following == null || following.version != frame.version
+                    || following.layer != frame.layer || following.sampleRate != frame.sampleRate) {
+                continue;
+            }
+            return Optional.of(new AudioInfo(Container.MP3, frame.codec(), frame.sampleRate,
+                frame.channels(), mpegDuration(head, at, frame, size < 0 ? -1 : size - offset - at)));
+        }
+        return Optional.empty();
+    }
+
+    private static Duration mpegDuration(byte[] head, int at, MpegFrame frame, long audioBytes) {
+        // VBR encoders store the frame count in the first frame, which carries no audio
+        int xing = at + 4 + frame.sideInfoBytes();
+        if (startsWith(head, xing, "Xing") || startsWith(head, xing, "Info")) {
+            if (head.length >= xing + 12 && (head[xing + 7] & 0x1) != 0) {
+                return samples(bigEndian(head, xing + 8) * frame.samplesPerFrame(), frame.sampleRate);
+            }
+        }
+        int vbri = at + 4 + 32;
+        if (startsWith(head, vbri, "VBRI") && head.length >= vbri + 18) {
+            return samples(bigEndian(head, vbri + 14) * frame.samplesPerFrame(), frame.sampleRate);
+        }
+        if (audioBytes < 0) {
+            return null;
+        }
+        return Duration.ofNanos(audioBytes * 8 * 1_000_000_000L / (frame.kbps * 1000L));
+    }
+
+    private record MpegFrame(int version, int layer, int kbps, int sampleRate, boolean padded, boolean mono) {
+        /** Returns the frame header at {@code at}, or null if there is no valid one. */
+        static MpegFrame parse(byte[] data, int at) {
+            if (at + 4 > data.length || (data[at] & 0xFF) != 0xFF || (data[at + 1] & 0xE0) != 0xE0) {
+                return null;
+            }
+            int version = (data[at + 1] >> 3) & 0x3;
+            int layer = (data[at + 1] >> 1) & 0x3;
+            int bitrateIndex = (data[at + 2] >> 4) & 0xF;
+            int rateIndex = (data[at + 2] >> 2) & 0x3;
+            // Free-format (index 0) streams are rare enough to treat as unrecognised
+            if (version == 1 || layer == 0 || bitrateIndex == 0 || bitrateIndex == 15 || rateIndex == 3) {
+                return null;
+            }
+            int kbps = bitrates(version, layer)[bitrateIndex];
+            return new MpegFrame(version, layer, kbps, MPEG_SAMPLE_RATES[version][rateIndex],
+                (data[at + 2] & 0x2) != 0, ((data[at + 3] >> 6) & 0x3) == 3);
+        }
+
+        private static int[] bitrates(int version, int layer) {
+            if (version == 3) {
+                return layer == 3 ? MPEG1_LAYER1_KBPS : layer == 2 ? MPEG1_LAYER2_KBPS : MPEG1_LAYER3_KBPS;
+            }
+            return layer == 3 ? MPEG2_LAYER1_KBPS : MPEG2_LAYER2_3_KBPS;
+        }
+
+        int samplesPerFrame() {
+            if (layer == 3) {
+                return 384;
+            }
+            return layer == 1 && version != 3 ? 576 : 1152;
+        }
+
+        int length() {
+            if (layer == 3) {
+                return (12 * kbps * 1000 / sampleRate + (padded ? 1 : 0)) * 4;
+            }
+            return samplesPerFrame() / 8 * kbps * 1000 / sampleRate + (padded ? 1 : 0);
+        }
+
+        int sideInfoBytes() {
+            if (version == 3) {
+                return mono ? 17 : 32;
+            }
+            return mono ? 9 : 17;
+        }
+
+        int channels() {
+            return mono ? 1 : 2;
+        }
+
+        String codec() {
+            return switch (layer) {
+                case 3 -> "mp1";
+                case 2 -> "mp2";
+                default -> "mp3";
+            };
+        }
+    }
+
+    private static IllegalArgumentException notAudio() {
+        return new IllegalArgumentException("File content is not a recognised audio format");
+    }
+
+    private static Duration samples(long samples, long sampleRate) {
+        return Duration.ofNanos(samples * 1_000_000_000L / sampleRate);
+    }
+
+    private static boolean startsWith(byte[] data, int at, String magic) {
+        if (at < 0 || at + magic.length() > data.length) {
+            return false;
+        }
+        return Arrays.equals(data, at, at + magic.length(),
+            magic.getBytes(StandardCharsets.ISO_8859_1), 0, magic.length());
+    }
+
+    private static long syncSafe(byte[] data, int at) {
+        return ((data[at] & 0x7FL) << 21) | ((data[at + 1] & 0x7FL) << 14)
+            | ((data[at + 2] & 0x7FL) << 7) | (data[at + 3] & 0x7FL);
+    }
+
+    private static long bigEndian(byte[] data, int at) {
+        return ((data[at] & 0xFFL) << 24) | ((data[at + 1] & 0xFFL) << 16)
+            | ((data[at + 2] & 0xFFL) << 8) | (data[at + 3] & 0xFFL);
+    }
+
+    private static long littleEndian(byte[] data, int at, int bytes) {
+        long value = 0;
+        for (int i = bytes - 1; i >= 0; i--) {
+            value = (value << 8) | (data[at + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
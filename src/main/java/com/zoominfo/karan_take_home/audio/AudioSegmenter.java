@@ -0,0 +1,138 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits 16-bit PCM audio into overlapping segments, moving each cut to the
+ * quietest point near its nominal position so words are not split in half.
+ */
+public final class AudioSegmenter {
+    /** Energy is measured over 20 ms frames. */
+    static final Duration FRAME = Duration.ofMillis(20);
+    /** Cuts are searched for within this fraction of a segment either side of the nominal position. */
+    private static final double SEARCH_FRACTION = 0.1;
+    private static final Duration MAX_SEARCH = Duration.ofSeconds(5);
+    /** Frames either side averaged when comparing energies, so a single zero crossing is not mistaken for a pause. */
+    private static final int SMOOTHING_FRAMES = 5;
+
+    private AudioSegmenter() {
+    }
+
+    /*
+     * A byte range of the sample data
+     * @param start The offset of the first byte, relative to the start of the data chunk.
+     * @param end The offset just past the last byte, relative to the start of the data chunk.
+     */
+    public record Segment(long start, long end) {
+        public long length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Reads the sample data from {@code samples} (positioned at the start of
+     * the data chunk) and returns the segments to transcribe. Each segment runs
+     * from the previous cut to {@code overlap} past its own cut; audio no longer
+     * than one segment comes back as a single segment.
+     */
+    public static List<Segment> split(InputStream samples, WavFormat format, Duration segmentLength, Duration overlap)
+            throws IOException {
+        if (!format.isPcm16()) {
+            throw new IllegalArgumentException("Only 16-bit PCM audio can be segmented");
+        }
+        long frameBytes = frameBytes(format);
+        float[] energies = frameEnergies(samples, format, frameBytes);
+        long segmentFrames = Math.max(1, segmentLength.toNanos() / FRAME.toNanos());
+        long searchFrames = Math.min(
+                (long) (segmentFrames * SEARCH_FRACTION),
+                MAX_SEARCH.toNanos() / FRAME.toNanos());
+        long overlapBytes = overlap.toNanos() / FRAME.toNanos() * frameBytes;
+
+        List<Segment> segments = new ArrayList<>();
+        long start = 0;
+        for (int cut : cutPoints(energies, (int) segmentFrames, (int) searchFrames)) {
+            long end = cut * frameBytes;
+            segments.add(new Segment(start, Math.min(format.dataLength(), end + overlapBytes)));
+            start = end;
+        }
+        segments.add(new Segment(start, format.dataLength()));
+        return segments;
+    }
+
+    /**
+     * Returns the frame indices at which to cut. A cut is only placed when at
+     * least a full search window of audio would remain after the nominal
+     * position, so the final segment is never a sliver.
+     */
+    static List<Integer> cutPoints(float[] energies, int segmentFrames, int searchFrames) {
+        float[] smoothed = smooth(energies);
+        List<Integer> cuts = new ArrayList<>();
+        int position = 0;
+        while (energies.length - position > segmentFrames + searchFrames) {
+            int nominal = position + segmentFrames;
+            int from = Math.max(position + 1, nominal - searchFrames);
+            int to = Math.min(energies.length - 1, nominal + searchFrames);
+            int best = nominal;
+            for (int i = from; i <= to; i++) {
+                if (smoothed[i] < smoothed[best]) {
+                    best = i;
+                }
+            }
+            cuts.add(best);
+            position = best;
+        }
+        return cuts;
+    }
+
+    private static float[] smooth(float[] energies) {
+        float[] smoothed = new float[energies.length];
+        double window = 0;
+        int half = SMOOTHING_FRAMES / 2;
+        for (int i = 0; i < Math.min(half, energies.length); i++) {
+            window += energies[i];
+        }
+        for (int i = 0; i < energies.length; i++) {
+            if (i + half < energies.length) {
+                window += energies[i + half];
+            }
+            if (i - half - 1 >= 0) {
+                window -= energies[i - half - 1];
+            }
+            int count = Math.min(energies.length - 1, i + half) - Math.max(0, i - half) + 1;
+            smoothed[i] = (float) (window / count);
+        }
+        return smoothed;
+    }
+
+    /**
+     * Returns the mean square of every 20 ms frame, averaged over all channels.
+     */
+    static float[] frameEnergies(InputStream samples, WavFormat format, long frameBytes) throws IOException {
+        int frames = (int) ((format.dataLength() + frameBytes - 1) / frameBytes);
+        float[] energies = new float[frames];
+        byte[] buffer = new byte[(int) frameBytes];
+        for (int frame = 0; frame < frames; frame++) {
+            int read = samples.readNBytes(buffer, 0, buffer.length);
+            if (read < 2) {
+                break;
+            }
+            double sum = 0;
+            int count = read / 2;
+            for (int i = 0; i < count * 2; i += 2) {
+                int sample = (short) ((buffer[i] & 0xFF) | (buffer[i + 1] << 8));
+                sum += (double) sample * sample;
+            }
+            energies[frame] = (float) (sum / count);
+        }
+        return energies;
+    }
+
+    static long frameBytes(WavFormat format) {
+        long framesPerSecond = 1_000_000_000L / FRAME.toNanos();
+        return Math.max(1, format.sampleRate() / framesPerSecond) * format.blockAlign();
+    }
+}
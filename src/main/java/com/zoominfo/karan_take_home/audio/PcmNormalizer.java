@@ -0,0 +1,140 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Converts uncompressed WAV audio to the 16 kHz mono 16-bit PCM that Whisper
+ * works on internally: channels are averaged and the result is resampled with
+ * a {@link PcmResampler}. The conversion streams in fixed-size blocks, so
+ * memory use does not depend on the length of the recording.
+ */
+public final class PcmNormalizer {
+    public static final int TARGET_SAMPLE_RATE = 16_000;
+
+    private static final int BLOCK_FRAMES = 8192;
+
+    private PcmNormalizer() {
+    }
+
+    /** Whether the samples can be decoded: integer PCM of 8 to 32 bits, or 32/64-bit float. */
+    public static boolean canNormalize(WavFormat format) {
+        boolean decodable = switch (format.audioFormat()) {
+            case WavFormat.FORMAT_PCM -> format.bitsPerSample() % 8 == 0
+                && format.bitsPerSample() >= 8 && format.bitsPerSample() <= 32;
+            case WavFormat.FORMAT_IEEE_FLOAT -> format.bitsPerSample() == 32 || format.bitsPerSample() == 64;
+            default -> false;
+        };
+        return decodable
+            && format.channels() > 0
+            && format.blockAlign() == format.channels() * format.bitsPerSample() / 8
+            && PcmResampler.supports(format.sampleRate(), TARGET_SAMPLE_RATE);
+    }
+
+    /** Whether the audio is already 16 kHz mono 16-bit PCM. */
+    public static boolean isNormalized(WavFormat format) {
+        return format.isPcm16() && format.channels() == 1 && format.sampleRate() == TARGET_SAMPLE_RATE;
+    }
+
+    /** The format of the normalized output. */
+    public static WavFormat outputFormat(WavFormat format) {
+        long frames = format.dataLength() / format.blockAlign();
+        long samples = new PcmResampler(format.sampleRate(), TARGET_SAMPLE_RATE).outputLength(frames);
+        return new WavFormat(WavFormat.FORMAT_PCM, 1, TARGET_SAMPLE_RATE, 16, 2, WavFormat.HEADER_BYTES, samples * 2);
+    }
+
+    /**
+     * Writes a complete 16 kHz mono WAV file to {@code out}.
+     *
+     * @param samples The sample data, positioned at the first sample as left by {@link WavFormat#read}.
+     * @param format The format of {@code samples}, which must satisfy {@link #canNormalize}.
+     * @return The format written.
+     */
+    public static WavFormat normalize(InputStream samples, WavFormat format, OutputStream out) throws IOException {
+        if (!canNormalize(format)) {
+            throw new IllegalArgumentException("Unsupported WAV encoding: " + format);
+        }
+        WavFormat output = outputFormat(format);
+        out.write(output.header(output.dataLength()));
+
+        PcmResampler resampler = new PcmResampler(format.sampleRate(), TARGET_SAMPLE_RATE);
+        byte[] raw = new byte[BLOCK_FRAMES * format.blockAlign()];
+        float[] mono = new float[BLOCK_FRAMES];
+        float[] resampled = new float[resampler.maxOutput(BLOCK_FRAMES)];
+        byte[] encoded = new byte[resampled.length * 2];
+
+        long remaining = format.dataLength() / format.blockAlign() * format.blockAlign();
+        while (remaining > 0) {
+            int length = readBlock(samples, raw, (int) Math.min(raw.length, remaining));
+            remaining -= length;
+            int frames = downmix(raw, length / format.blockAlign(), format, mono);
+            write(out, resampled, resampler.process(mono, 0, frames, resampled), encoded);
+        }
+        write(out, resampled, resampler.flush(resampled), encoded);
+        return output;
+    }
+
+    private static int readBlock(InputStream samples, byte[] raw, int length) throws IOException {
+        int read = samples.readNBytes(raw, 0, length);
+        if (read < length) {
+            throw new EOFException("WAV data ends " + (length - read) + " bytes early");
+        }
+        return read;
+    }
+
+    /** Decodes {@code frames} interleaved frames into their channel average, in [-1, 1]. */
+    static int downmix(byte[] raw, int frames, WavFormat format, float[] mono) {
+        int channels = format.channels();
+        int bytes = format.bitsPerSample() / 8;
+        boolean floating = format.audioFormat() == WavFormat.FORMAT_IEEE_FLOAT;
+        float scale = 1f / channels;
+        int at = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            float sum = 0f;
+            for (int channel = 0; channel < channels; channel++, at += bytes) {
+                sum += floating ? floatSample(raw, at, bytes) : intSample(raw, at, bytes);
+            }
+            mono[frame] = sum * scale;
+        }
+        return frames;
+    }
+
+    private static float intSample(byte[] raw, int at, int bytes) {
+        return switch (bytes) {
+            // 8-bit WAV is unsigned
+            case 1 -> ((raw[at] & 0xFF) - 128) / 128f;
+            case 2 -> ((raw[at] & 0xFF) | (raw[at + 1] << 8)) / 32768f;
+            case 3 -> ((raw[at] & 0xFF) | ((raw[at + 1] & 0xFF) << 8) | (raw[at + 2] << 16)) / 8388608f;
+            default -> ((raw[at] & 0xFF) | ((raw[at + 1] & 0xFF) << 8) | ((raw[at + 2] & 0xFF) << 16)
+                | (raw[at + 3] << 24)) / 2147483648f;
+        };
+    }
+
+    private static float floatSample(byte[] raw, int at, int bytes) {
+        if (bytes == 4) {
+            return Float.intBitsToFloat(littleEndian(raw, at, 4));
+        }
+        return (float) Double.longBitsToDouble(((long) littleEndian(raw, at + 4, 4) << 32)
+            | (littleEndian(raw, at, 4) & 0xFFFFFFFFL));
+    }
+
+    private static int littleEndian(byte[] raw, int at, int bytes) {
+        int value = 0;
+        for (int i = bytes - 1; i >= 0; i--) {
+            value = (value << 8) | (raw[at + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void write(OutputStream out, float[] samples, int count, byte[] encoded) throws IOException {
+        for (int i = 0; i < count; i++) {
+            float clamped = Math.max(-1f, Math.min(1f, samples[i]));
+            int sample = Math.round(clamped * 32767f);
+            encoded[2 * i] = (byte) sample;
+            encoded[2 * i + 1] = (byte) (sample >> 8);
+        }
+        out.write(encoded, 0, count * 2);
+    }
+}
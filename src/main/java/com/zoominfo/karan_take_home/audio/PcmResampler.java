@@ -0,0 +1,200 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.util.Arrays;
+
+/**
+ * Streaming sample rate converter for mono float samples, using a polyphase
+ * windowed-sinc low-pass filter. The rates are reduced to a ratio
+ * {@code up / down}; output sample {@code n} sits at input position
+ * {@code n * down / up}, whose fractional part selects one of {@code up}
+ * precomputed filter phases. When downsampling the cut-off is lowered to
+ * the output Nyquist frequency so that nothing aliases.
+ *
+ * Input can be fed in chunks of any size; only the last filter length of
+ * input is retained between calls, and no allocation happens once the
+ * internal buffer has grown to fit the largest chunk. Instances are not
+ * thread-safe.
+ */
+public final class PcmResampler {
+    /** Filter phases above this (rates with a large irreducible ratio) are not supported. */
+    public static final int MAX_PHASES = 1024;
+
+    /** Sinc zero crossings on each side of the centre, at the filter's cut-off. */
+    private static final int ZERO_CROSSINGS = 16;
+    /** Cut-off as a fraction of the lower Nyquist frequency, leaving room for the transition band. */
+    private static final double ROLLOFF = 0.95;
+
+    private final int up;
+    private final int down;
+    private final int taps;
+    private final int halfTaps;
+    private final float[] coefficients;
+
+    private float[] buffer;
+    private int buffered;
+    /** Input index of {@code buffer[0]}; negative while the leading zero padding is buffered. */
+    private long bufferStart;
+    private long produced;
+    private long consumed;
+
+    public PcmResampler(int inputRate, int outputRate) {
+        if (inputRate <= 0 || outputRate <= 0) {
+            throw new IllegalArgumentException("Sample rates must be positive");
+        }
+        int gcd = gcd(inputRate, outputRate);
+        this.up = outputRate / gcd;
+        this.down = inputRate / gcd;
+        if (up > MAX_PHASES) {
+            throw new IllegalArgumentException(
+                "Cannot resample " + inputRate + " Hz to " + outputRate + " Hz: ratio needs " + up + " filter phases");
+        }
+        if (up == down) {
+            this.halfTaps = 1;
+            this.taps = 1;
+            this.coefficients = new float[] {1f};
+        } else {
+            double cutoff = Math.min(1.0, (double) up / down) * ROLLOFF;
+            this.halfTaps = (int) Math.ceil(ZERO_CROSSINGS / cutoff);
+            this.taps = 2 * halfTaps;
+            this.coefficients = design(up, taps, halfTaps, cutoff);
+        }
+        this.buffer = new float[Math.max(4096, taps * 2)];
+        // Output 0 is centred on input 0, so the taps before it read silence
+        this.buffered = halfTaps - 1;
+        this.bufferStart = -(halfTaps - 1);
+    }
+
+    public static boolean supports(int inputRate, int outputRate) {
+        return inputRate > 0 && outputRate > 0 && outputRate / gcd(inputRate, outputRate) <= MAX_PHASES;
+    }
+
+    /** The number of samples produced for {@code inputSamples} samples of input, once flushed. */
+    public long outputLength(long inputSamples) {
+        return (inputSamples * up + down - 1) / down;
+    }
+
+    /** An output array size that is always large enough for one call with {@code inputSamples} samples. */
+    public int maxOutput(int inputSamples) {
+        return (int) (((long) inputSamples + taps) * up / down) + 1;
+    }
+
+    /**
+     * Consumes {@code length} samples and writes the output samples they
+     * complete to {@code out}, returning how many were written.
+     */
+    public int process(float[] samples, int offset, int length, float[] out) {
+        append(samples, offset, length);
+        consumed += length;
+        return drain(out, Long.MAX_VALUE);
+    }
+
+    /**
+     * Writes the output still held back for lack of following input, treating
+     * the input as ending here. Returns how many samples were written.
+     */
+    public int flush(float[] out) {
+        append(new float[halfTaps], 0, halfTaps);
+        return drain(out, outputLength(consumed));
+    }
+
+    private int drain(float[] out, long limit) {
+        int written = 0;
+        while (produced < limit) {
+            long position = produced * down;
+            int phase = (int) (position % up);
+            int start = (int) (position / up - halfTaps + 1 - bufferStart);
+            if (start + taps > buffered) {
+                break;
+            }
+            out[written++] = dot(coefficients, phase * taps, buffer, start, taps);
+            produced++;
+        }
+        // Keep only what the next output sample still reads
+        int drop = (int) ((produced * down) / up - halfTaps + 1 - bufferStart);
+        if (drop > 0) {
+            drop = Math.min(drop, buffered);
+            System.arraycopy(buffer, drop, buffer, 0, buffered - drop);
+            buffered -= drop;
+            bufferStart += drop;
+        }
+        return written;
+    }
+
+    private void append(float[] samples, int offset, int length) {
+        if (buffered + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffered + length, buffer.length * 2));
+        }
+        System.arraycopy(samples, offset, buffer, buffered, length);
+        buffered += length;
+    }
+
+    /**
+     * Dot product over contiguous arrays. Four independent partial sums break
+     * the dependency chain on a single accumulator, so the JIT can keep
+     * several multiply-adds in flight.
+     */
+    static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum0 = 0f;
+        float sum1 = 0f;
+        float sum2 = 0f;
+        float sum3 = 0f;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            sum0 += a[aOffset + i] * b[bOffset + i];
+            sum1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            sum2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            sum3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            sum0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * Builds {@code phases} rows of {@code taps} coefficients. Tap {@code k}
+     * of phase {@code p} weights the input sample {@code halfTaps - 1 - k + p / phases}
+     * samples before the output position. Each row is normalised to unit DC gain.
+     */
+    private static float[] design(int phases, int taps, int halfTaps, double cutoff) {
+        float[] coefficients = new float[phases * taps];
+        for (int p = 0; p < phases; p++) {
+            double sum = 0;
+            double[] row = new double[taps];
+            for (int k = 0; k < taps; k++) {
+                double t = (double) p / phases + halfTaps - 1 - k;
+                row[k] = cutoff * sinc(cutoff * t) * blackman(t / halfTaps);
+                sum += row[k];
+            }
+            for (int k = 0; k < taps; k++) {
+                coefficients[p * taps + k] = (float) (row[k] / sum);
+            }
+        }
+        return coefficients;
+    }
+
+    private static double sinc(double x) {
+        if (x == 0) {
+            return 1;
+        }
+        return Math.sin(Math.PI * x) / (Math.PI * x);
+    }
+
+    /** Blackman window over {@code x} in [-1, 1], zero outside. */
+    private static double blackman(double x) {
+        if (Math.abs(x) >= 1) {
+            return 0;
+        }
+        double phase = Math.PI * (x + 1);
+        return 0.42 - 0.5 * Math.cos(phase) + 0.08 * Math.cos(2 * phase);
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,61 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.zoominfo.karan_take_home.audio.AudioSegmenter.Segment;
+
+/**
+ * Maps times in audio that had spans cut out of it back to times in the
+ * original recording. A time on or after a cut maps to after the removed
+ * span, so a segment starting at 0 in audio whose leading silence was cut
+ * starts where the speech does.
+ */
+public final class SpeechTimeline {
+    /** Where each removed span starts, in seconds of the trimmed audio. */
+    private final double[] cutAt;
+    /** Seconds removed up to and including each span. */
+    private final double[] removedThrough;
+    private final double originalSeconds;
+
+    private SpeechTimeline(double[] cutAt, double[] removedThrough, double originalSeconds) {
+        this.cutAt = cutAt;
+        this.removedThrough = removedThrough;
+        this.originalSeconds = originalSeconds;
+    }
+
+    /**
+     * @param removed The byte ranges cut from the sample data, in order.
+     * @param format The format of the original audio.
+     */
+    public static SpeechTimeline of(List<Segment> removed, WavFormat format) {
+        double bytesPerSecond = format.byteRate();
+        double[] cutAt = new double[removed.size()];
+        double[] removedThrough = new double[removed.size()];
+        double total = 0;
+        for (int i = 0; i < removed.size(); i++) {
+            Segment span = removed.get(i);
+            cutAt[i] = span.start() / bytesPerSecond - total;
+            total += span.length() / bytesPerSecond;
+            removedThrough[i] = total;
+        }
+        return new SpeechTimeline(cutAt, removedThrough, format.dataLength() / bytesPerSecond);
+    }
+
+    /** Converts seconds into the trimmed audio to seconds into the original. */
+    public double toOriginal(double trimmedSeconds) {
+        // Cuts are strictly increasing, as some speech is always kept between two spans
+        int index = Arrays.binarySearch(cutAt, trimmedSeconds);
+        int cuts = index >= 0 ? index + 1 : -index - 1;
+        return trimmedSeconds + (cuts == 0 ? 0 : removedThrough[cuts - 1]);
+    }
+
+    public double removedSeconds() {
+        return removedThrough.length == 0 ? 0 : removedThrough[removedThrough.length - 1];
+    }
+
+    /** The share of the original audio that was removed, from 0 to 100. */
+    public double removedPercent() {
+        return originalSeconds == 0 ? 0 : 100 * removedSeconds() / originalSeconds;
+    }
+}
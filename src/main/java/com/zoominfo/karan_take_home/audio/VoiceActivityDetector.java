@@ -0,0 +1,168 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.zoominfo.karan_take_home.audio.AudioSegmenter.Segment;
+
+/**
+ * Finds long stretches without speech in 16-bit PCM audio, so they can be
+ * cut out before transcription. Each 20 ms frame is classed as speech when
+ * its energy is well above the recording's noise floor (its 10th percentile
+ * frame energy), or somewhat above it with a zero-crossing rate typical of
+ * unvoiced consonants such as "s" and "f", which carry little energy.
+ * Only non-speech runs of at least {@code minSilence} are reported, less
+ * {@code padding} on the sides that touch speech so word edges are kept.
+ */
+public final class VoiceActivityDetector {
+    /** Percentile of frame energies taken as the noise floor. */
+    private static final double FLOOR_PERCENTILE = 0.1;
+    /** Frames quieter than this are never speech, whatever the floor. */
+    private static final double SILENCE_DB = -60;
+    /** Fraction of adjacent samples changing sign above which a quiet frame is taken as a fricative. */
+    private static final double FRICATIVE_ZERO_CROSSING_RATE = 0.25;
+
+    private VoiceActivityDetector() {
+    }
+
+    /*
+     * Detector tuning
+     * @param minSilence The shortest non-speech run that is removed.
+     * @param padding How much of a removed run is kept next to speech.
+     * @param thresholdDb How far above the noise floor a frame must be to count as speech.
+     */
+    public record Settings(Duration minSilence, Duration padding, double thresholdDb) {
+    }
+
+    /**
+     * Reads the sample data from {@code samples} (positioned at the start of
+     * the data chunk) and returns the byte ranges to remove, in order.
+     */
+    public static List<Segment> silences(InputStream samples, WavFormat format, Settings settings) throws IOException {
+        if (!format.isPcm16()) {
+            throw new IllegalArgumentException("Only 16-bit PCM audio can be checked for speech");
+        }
+        long frameBytes = AudioSegmenter.frameBytes(format);
+        boolean[] speech = classify(samples, format, frameBytes, settings.thresholdDb());
+        long frameNanos = AudioSegmenter.FRAME.toNanos();
+        int minFrames = (int) Math.max(1, settings.minSilence().toNanos() / frameNanos);
+        int padFrames = (int) (settings.padding().toNanos() / frameNanos);
+
+        List<Segment> silences = new ArrayList<>();
+        int frame = 0;
+        while (frame < speech.length) {
+            if (speech[frame]) {
+                frame++;
+                continue;
+            }
+            int start = frame;
+            while (frame < speech.length && !speech[frame]) {
+                frame++;
+            }
+            if (frame - start < minFrames) {
+                continue;
+            }
+            int from = start == 0 ? 0 : start + padFrames;
+            int to = frame == speech.length ? frame : frame - padFrames;
+            if (to > from) {
+                silences.add(new Segment(from * frameBytes, Math.min(format.dataLength(), to * frameBytes)));
+            }
+        }
+        return silences;
+    }
+
+    /**
+     * Writes a WAV file of {@code samples} without the {@code removed} ranges
+     * to {@code out}, returning its format.
+     */
+    public static WavFormat writeWithout(InputStream samples, WavFormat format, List<Segment> removed, OutputStream out)
+            throws IOException {
+        long removedBytes = removed.stream().mapToLong(Segment::length).sum();
+        WavFormat output = new WavFormat(format.audioFormat(), format.channels(), format.sampleRate(),
+            format.bitsPerSample(), format.blockAlign(), WavFormat.HEADER_BYTES, format.dataLength() - removedBytes);
+        out.write(output.header(output.dataLength()));
+        byte[] buffer = new byte[64 * 1024];
+        long position = 0;
+        for (Segment silence : removed) {
+            copy(samples, out, silence.start() - position, buffer);
+            samples.skipNBytes(silence.length());
+            position = silence.end();
+        }
+        copy(samples, out, format.dataLength() - position, buffer);
+        return output;
+    }
+
+    private static void copy(InputStream in, OutputStream out, long length, byte[] buffer) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException("WAV data ends " + remaining + " bytes early");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    /** Returns whether each 20 ms frame holds speech. */
+    static boolean[] classify(InputStream samples, WavFormat format, long frameBytes, double thresholdDb)
+            throws IOException {
+        int frames = (int) ((format.dataLength() + frameBytes - 1) / frameBytes);
+        double[] energyDb = new double[frames];
+        double[] zeroCrossingRate = new double[frames];
+        byte[] buffer = new byte[(int) frameBytes];
+        int channels = format.channels();
+        for (int frame = 0; frame < frames; frame++) {
+            int read = samples.readNBytes(buffer, 0, buffer.length);
+            int count = read / format.blockAlign();
+            if (count == 0) {
+                energyDb[frame] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+            double sum = 0;
+            int crossings = 0;
+            int previous = 0;
+            for (int i = 0; i < count; i++) {
+                // Channels are averaged so a sign change means the same in mono and stereo
+                int mixed = 0;
+                for (int channel = 0; channel < channels; channel++) {
+                    int at = i * format.blockAlign() + channel * 2;
+                    mixed += (short) ((buffer[at] & 0xFF) | (buffer[at + 1] << 8));
+                }
+                mixed /= channels;
+                sum += (double) mixed * mixed;
+                if (i > 0 && (mixed >= 0) != (previous >= 0)) {
+                    crossings++;
+                }
+                previous = mixed;
+            }
+            energyDb[frame] = 10 * Math.log10(sum / count / (32768.0 * 32768.0) + 1e-12);
+            zeroCrossingRate[frame] = (double) crossings / count;
+        }
+
+        double floor = percentile(energyDb, FLOOR_PERCENTILE);
+        boolean[] speech = new boolean[frames];
+        for (int frame = 0; frame < frames; frame++) {
+            double db = energyDb[frame];
+            speech[frame] = db > SILENCE_DB
+                && (db > floor + thresholdDb
+                    || (db > floor + thresholdDb / 2 && zeroCrossingRate[frame] >= FRICATIVE_ZERO_CROSSING_RATE));
+        }
+        return speech;
+    }
+
+    private static double percentile(double[] values, double percentile) {
+        if (values.length == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) (percentile * (sorted.length - 1))];
+    }
+}
@@ -0,0 +1,148 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/*
+ * Format of a RIFF/WAVE file and the location of its sample data
+ * @param audioFormat The WAVE format tag (1 = integer PCM, 3 = IEEE float); resolved for WAVE_FORMAT_EXTENSIBLE.
+ * @param channels The number of interleaved channels.
+ * @param sampleRate The number of sample frames per second.
+ * @param bitsPerSample The size of a single sample.
+ * @param blockAlign The size of one sample frame across all channels.
+ * @param dataOffset The byte offset of the data chunk payload.
+ * @param dataLength The length of the sample data in bytes.
+ */
+public record WavFormat(
+    int audioFormat,
+    int channels,
+    int sampleRate,
+    int bitsPerSample,
+    int blockAlign,
+    long dataOffset,
+    long dataLength
+) {
+    public static final int FORMAT_PCM = 1;
+    public static final int FORMAT_IEEE_FLOAT = 3;
+    public static final int HEADER_BYTES = 44;
+
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+    private static final long MAX_HEADER_SCAN_BYTES = 1024 * 1024;
+
+    public boolean isPcm16() {
+        return audioFormat == FORMAT_PCM && bitsPerSample == 16;
+    }
+
+    public long byteRate() {
+        return (long) sampleRate * blockAlign;
+    }
+
+    public Duration duration() {
+        if (byteRate() == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(dataLength * 1_000_000_000L / byteRate());
+    }
+
+    /**
+     * Reads the RIFF header up to the start of the data chunk. The stream is
+     * left positioned at the first sample byte. Returns empty when the stream
+     * is not a WAVE file with a fmt and data chunk.
+     *
+     * @param totalLength The total length of the file, or -1 when unknown. Used
+     *     when the data chunk size is missing (streamed WAVs write 0 or 0xFFFFFFFF).
+     */
+    public static Optional<WavFormat> read(InputStream in, long totalLength) throws IOException {
+        byte[] riff = in.readNBytes(12);
+        if (riff.length < 12 || !tag(riff, 0).equals("RIFF") || !tag(riff, 8).equals("WAVE")) {
+            return Optional.empty();
+        }
+        long position = 12;
+        ByteBuffer fmt = null;
+        while (position < MAX_HEADER_SCAN_BYTES) {
+            byte[] chunkHeader = in.readNBytes(8);
+            if (chunkHeader.length < 8) {
+                return Optional.empty();
+            }
+            position += 8;
+            String id = tag(chunkHeader, 0);
+            long size = ByteBuffer.wrap(chunkHeader, 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+            if (id.equals("data")) {
+                if (fmt == null) {
+                    return Optional.empty();
+                }
+                long dataLength = size;
+                if (totalLength >= 0 && (size == 0 || size == 0xFFFFFFFFL || position + size > totalLength)) {
+                    dataLength = totalLength - position;
+                }
+                return Optional.of(fromFmt(fmt, position, dataLength));
+            }
+            if (id.equals("fmt ")) {
+                if (size < 16 || size > 1024) {
+                    return Optional.empty();
+                }
+                byte[] body = in.readNBytes((int) size);
+                if (body.length < size) {
+                    return Optional.empty();
+                }
+                fmt = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+            } else {
+                try {
+                    in.skipNBytes(size);
+                } catch (EOFException e) {
+                    return Optional.empty();
+                }
+            }
+            position += size;
+            if ((size & 1) == 1 && in.read() >= 0) {
+                position++;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static WavFormat fromFmt(ByteBuffer fmt, long dataOffset, long dataLength) {
+        int audioFormat = fmt.getShort(0) & 0xFFFF;
+        int channels = fmt.getShort(2) & 0xFFFF;
+        int sampleRate = fmt.getInt(4);
+        int blockAlign = fmt.getShort(12) & 0xFFFF;
+        int bitsPerSample = fmt.getShort(14) & 0xFFFF;
+        if (audioFormat == FORMAT_EXTENSIBLE && fmt.capacity() >= 26) {
+            // The first two bytes of the SubFormat GUID carry the actual format tag
+            audioFormat = fmt.getShort(24) & 0xFFFF;
+        }
+        return new WavFormat(audioFormat, channels, sampleRate, bitsPerSample, blockAlign, dataOffset, dataLength);
+    }
+
+    /**
+     * Returns a canonical 44 byte header describing sample data of the given
+     * length in this format.
+     */
+    public byte[] header(long dataLength) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes(StandardCharsets.US_ASCII));
+        header.putInt((int) (36 + dataLength));
+        header.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        header.put("fmt ".getBytes(StandardCharsets.US_ASCII));
+        header.putInt(16);
+        header.putShort((short) audioFormat);
+        header.putShort((short) channels);
+        header.putInt(sampleRate);
+        header.putInt((int) byteRate());
+        header.putShort((short) blockAlign);
+        header.putShort((short) bitsPerSample);
+        header.put("data".getBytes(StandardCharsets.US_ASCII));
+        header.putInt((int) dataLength);
+        return header.array();
+    }
+
+    private static String tag(byte[] bytes, int offset) {
+        return new String(bytes, offset, 4, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,523 @@
+package com.zoominfo.karan_take_home.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Disk-backed transcript store that survives application restarts.
+ *
+ * Transcripts are appended to fixed-size segment files as
+ * {@code [magic][keyLength][valueLength][crc32][key][deflated value]} records.
+ * The key index lives in memory and is rebuilt by scanning the segments on
+ * startup. A record that fails its checksum is skipped, as are bytes that
+ * do not start a record; only a torn record at the tail of a segment (e.g.
+ * after a crash) is truncated away. Once the store exceeds its byte budget
+ * the oldest segment is dropped, and sealed segments that are mostly
+ * overwritten records are compacted into the active segment.
+ */
+@Component
+public class TranscriptStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranscriptStore.class);
+
+    /**
+     * Starts every record's header, followed by the key and value lengths and
+     * their CRC32. "TRS2": records from before event times were stored
+     * ("TRS1") are not recognized, and are skipped on startup.
+     */
+    private static final int RECORD_MAGIC = 0x54525332;
+    private static final int HEADER_BYTES = 16;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final long segmentBytes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<TranscriptionKey, Location> index = new HashMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public TranscriptStore(
+            @Value("${transcription.store.enabled:false}") boolean enabled,
+            @Value("${transcription.store.path:${java.io.tmpdir}/transcript-store}") Path directory,
+            @Value("${transcription.store.max-bytes:1073741824}") long maxBytes,
+            @Value("${transcription.store.segment-bytes:16777216}") long segmentBytes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        // At least two segments must fit in the budget, otherwise eviction would drop the active one
+        this.segmentBytes = Math.min(segmentBytes, Math.max(maxBytes / 2, 1));
+        this.hits = Counter.builder("transcription.store.requests")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("transcription.store.requests")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("transcription.store.evictions")
+            .register(meterRegistry);
+        Gauge.builder("transcription.store.size", this, TranscriptStore::totalBytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            for (long id : listSegmentIds()) {
+                Segment segment = Segment.open(id, segmentPath(id));
+                segments.put(id, segment);
+                load(segment);
+                totalBytes += segment.size;
+            }
+            active = segments.isEmpty() ? createSegment(1) : segments.lastEntry().getValue();
+            enforceBudget();
+            logger.info("Opened transcript store at {} with {} entries in {} segments ({} bytes)",
+                directory, index.size(), segments.size(), totalBytes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the stored events for the key, or null when absent or unreadable.
+     */
+    public List<SpeechToTextResponse> get(TranscriptionKey key) {
+        if (!enabled) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null) {
+                misses.increment();
+                return null;
+            }
+            ByteBuffer record = read(segments.get(location.segmentId()), location);
+            List<SpeechToTextResponse> events = decodeValue(record);
+            hits.increment();
+            return events;
+        } catch (IOException e) {
+            logger.warn("Unable to read transcript {} from store: {}", key.audioSha256(), e.getMessage());
+            misses.increment();
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a transcript to the active segment. This performs blocking file
+     * I/O and must not be called from an event-loop thread.
+     */
+    public void put(TranscriptionKey key, List<SpeechToTextResponse> events) {
+        if (!enabled) {
+            return;
+        }
+        ByteBuffer record;
+        try {
+            record = encodeRecord(key, events);
+        } catch (IOException e) {
+            logger.warn("Unable to encode transcript {}: {}", key.audioSha256(), e.getMessage());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            replace(key, append(record));
+            compact();
+            enforceBudget();
+        } catch (IOException e) {
+            logger.warn("Unable to write transcript {} to store: {}", key.audioSha256(), e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long totalBytes() {
+        lock.readLock().lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load(Segment segment) throws IOException {
+        long position = 0;
+        long skipped = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= segment.size) {
+            header.clear();
+            readFully(segment.channel, header, position);
+            header.flip();
+            int magic = header.getInt();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            long length = (long) HEADER_BYTES + keyLength + valueLength;
+            boolean sane = magic == RECORD_MAGIC && keyLength >= 0 && valueLength >= 0;
+            if (!sane || position + length > segment.size) {
+                // Not a record boundary; carry on from the next record that checks out
+                long next = resync(segment, position + 1);
+                if (sane && next == segment.size) {
+                    // Nothing valid follows: a record torn by a crash mid-append
+                    break;
+                }
+                logger.warn("Skipping {} corrupt bytes at {}:{}", next - position, segment.path, position);
+                skipped += next - position;
+                position = next;
+                continue;
+            }
+            Location location = new Location(segment.id, position, (int) length);
+            ByteBuffer record = read(segment, location);
+            if (record == null) {
+                skipped += length;
+            } else {
+                replace(decodeKey(record), location);
+            }
+            position += length;
+        }
+        if (position < segment.size) {
+            logger.warn("Truncating {} torn bytes at the end of {}", segment.size - position, segment.path);
+            segment.channel.truncate(position);
+            segment.size = position;
+        }
+        // Counted as garbage so compaction eventually rewrites the segment without them
+        segment.deadBytes += skipped;
+    }
+
+    /**
+     * Returns the offset of the first record at or after {@code from} whose
+     * header and checksum hold, or the segment size when there is none.
+     */
+    private static long resync(Segment segment, long from) throws IOException {
+        long remaining = segment.size - from;
+        if (remaining < HEADER_BYTES) {
+            return segment.size;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((int) Math.min(remaining, Integer.MAX_VALUE));
+        readFully(segment.channel, bytes, from);
+        for (int i = 0; i + HEADER_BYTES <= bytes.limit(); i++) {
+            if (bytes.getInt(i) == RECORD_MAGIC && checksumMatches(bytes, i)) {
+                return from + i;
+            }
+        }
+        return segment.size;
+    }
+
+    private static boolean checksumMatches(ByteBuffer bytes, int offset) {
+        int keyLength = bytes.getInt(offset + 4);
+        int valueLength = bytes.getInt(offset + 8);
+        long length = (long) HEADER_BYTES + keyLength + valueLength;
+        if (keyLength < 0 || valueLength < 0 || offset + length > bytes.limit()) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.slice(offset + HEADER_BYTES, keyLength + valueLength));
+        return (int) crc.getValue() == bytes.getInt(offset + 12);
+    }
+
+    private Location append(ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        if (active.size > 0 && active.size + length > segmentBytes) {
+            active = createSegment(active.id + 1);
+        }
+        long offset = active.size;
+        while (record.hasRemaining()) {
+            active.channel.write(record, offset + (length - record.remaining()));
+        }
+        active.size += length;
+        totalBytes += length;
+        return new Location(active.id, offset, length);
+    }
+
+    private void replace(TranscriptionKey key, Location location) {
+        Location previous = index.put(key, location);
+        if (previous != null) {
+            segments.get(previous.segmentId()).deadBytes += previous.length();
+        }
+    }
+
+    /**
+     * Rewrites the live records of sealed segments that are at least half
+     * garbage into the active segment, then deletes them.
+     */
+    private void compact() throws IOException {
+        List<Segment> candidates = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (segment != active && segment.deadBytes * 2 >= segment.size) {
+                candidates.add(segment);
+            }
+        }
+        for (Segment segment : candidates) {
+            List<Map.Entry<TranscriptionKey, Location>> live = new ArrayList<>();
+            for (Map.Entry<TranscriptionKey, Location> entry : index.entrySet()) {
+                if (entry.getValue().segmentId() == segment.id) {
+                    live.add(entry);
+                }
+            }
+            for (Map.Entry<TranscriptionKey, Location> entry : live) {
+                ByteBuffer record = read(segment, entry.getValue());
+                if (record == null) {
+                    index.remove(entry.getKey());
+                    continue;
+                }
+                index.put(entry.getKey(), append(record.rewind()));
+            }
+            deleteSegment(segment);
+            logger.debug("Compacted segment {} ({} live records)", segment.id, live.size());
+        }
+    }
+
+    private void enforceBudget() throws IOException {
+        while (totalBytes > maxBytes && segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            int dropped = 0;
+            var iterator = index.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().segmentId() == oldest.id) {
+                    iterator.remove();
+                    dropped++;
+                }
+            }
+            deleteSegment(oldest);
+            evictions.increment(dropped);
+            logger.debug("Evicted segment {} with {} transcripts to stay within {} bytes",
+                oldest.id, dropped, maxBytes);
+        }
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        Segment segment = Segment.open(id, segmentPath(id));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void deleteSegment(Segment segment) throws IOException {
+        segments.remove(segment.id);
+        totalBytes -= segment.size;
+        segment.close();
+        Files.deleteIfExists(segment.path);
+    }
+
+    private List<Long> listSegmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+                .filter(id -> id.chars().allMatch(Character::isDigit) && !id.isEmpty())
+                .map(Long::parseLong)
+                .sorted()
+                .toList();
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Reads and verifies a full record. Returns null when the checksum does
+     * not match; the returned buffer is positioned at the start of the key.
+     */
+    private static ByteBuffer read(Segment segment, Location location) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(location.length());
+        readFully(segment.channel, record, location.offset());
+        record.flip();
+        record.getInt();
+        record.getInt();
+        record.getInt();
+        int expectedCrc = record.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(record.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            logger.warn("Checksum mismatch for record at {}:{}", segment.path, location.offset());
+            return null;
+        }
+        return record;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Unexpected end of segment at " + offset);
+            }
+            offset += read;
+        }
+    }
+
+    static ByteBuffer encodeRecord(TranscriptionKey key, List<SpeechToTextResponse> events) throws IOException {
+        ByteArrayOutputStream keyBytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(keyBytes)) {
+            out.writeUTF(key.audioSha256());
+            out.writeUTF(key.language());
+            out.writeUTF(key.model());
+        }
+        ByteArrayOutputStream valueBytes = new ByteArrayOutputStream(256);
+        // The event count, then each event's text, a flag byte and, when set, its start and end seconds
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(valueBytes))) {
+            out.writeInt(events.size());
+            for (SpeechToTextResponse event : events) {
+                byte[] text = event.text() == null ? new byte[0] : event.text().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(text.length);
+                out.write(text);
+                boolean timed = event.start() != null && event.end() != null;
+                out.writeBoolean(timed);
+                if (timed) {
+                    out.writeDouble(event.start());
+                    out.writeDouble(event.end());
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes.toByteArray());
+        crc.update(valueBytes.toByteArray());
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + keyBytes.size() + valueBytes.size());
+        record.putInt(RECORD_MAGIC);
+        record.putInt(keyBytes.size());
+        record.putInt(valueBytes.size());
+        record.putInt((int) crc.getValue());
+        record.put(keyBytes.toByteArray());
+        record.put(valueBytes.toByteArray());
+        return record.flip();
+    }
+
+    private static TranscriptionKey decodeKey(ByteBuffer record) throws IOException {
+        int keyLength = record.getInt(4);
+        byte[] key = new byte[keyLength];
+        record.get(HEADER_BYTES, key);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(key))) {
+            return new TranscriptionKey(in.readUTF(), in.readUTF(), in.readUTF());
+        }
+    }
+
+    private static List<SpeechToTextResponse> decodeValue(ByteBuffer record) throws IOException {
+        if (record == null) {
+            throw new IOException("Corrupt transcript record");
+        }
+        int keyLength = record.getInt(4);
+        int valueLength = record.getInt(8);
+        byte[] value = new byte[valueLength];
+        record.get(HEADER_BYTES + keyLength, value);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(value)))) {
+            int count = in.readInt();
+            List<SpeechToTextResponse> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] text = new byte[in.readInt()];
+                in.readFully(text);
+                SpeechToTextResponse event = new SpeechToTextResponse(new String(text, StandardCharsets.UTF_8));
+                if (in.readBoolean()) {
+                    event = new SpeechToTextResponse(event.text(), in.readDouble(), in.readDouble());
+                }
+                events.add(event);
+            }
+            return List.copyOf(events);
+        }
+    }
+
+    private record Location(long segmentId, long offset, int length) {}
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private long deadBytes;
+
+        private Segment(long id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static Segment open(long id, Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.size());
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
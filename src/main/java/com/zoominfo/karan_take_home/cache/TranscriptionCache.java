@@ -0,0 +1,133 @@
+package com.zoominfo.karan_take_home.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded in-memory cache of completed transcriptions, keyed by {@link TranscriptionKey}.
+ * Entries are weighed by the UTF-8 size of their transcript and evicted in
+ * least-recently-used order once the configured byte budget is exceeded.
+ */
+@Component
+public class TranscriptionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranscriptionCache.class);
+
+    /** Rough per-event bookkeeping cost (record, list slot, string header). */
+    static final int EVENT_OVERHEAD_BYTES = 48;
+
+    private final boolean enabled;
+    private final long maxWeightBytes;
+    private final LinkedHashMap<TranscriptionKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weightBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public TranscriptionCache(
+            @Value("${transcription.cache.enabled:true}") boolean enabled,
+            @Value("${transcription.cache.max-bytes:67108864}") long maxWeightBytes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWeightBytes = maxWeightBytes;
+        this.hits = Counter.builder("transcription.cache.requests")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("transcription.cache.requests")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("transcription.cache.evictions")
+            .register(meterRegistry);
+        Gauge.builder("transcription.cache.size", this, TranscriptionCache::weightBytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached events for the key, or null on a miss.
+     */
+    public synchronized List<SpeechToTextResponse> get(TranscriptionKey key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.events();
+    }
+
+    /**
+     * Stores a completed transcription, evicting least-recently-used entries
+     * until the cache fits its byte budget. Transcripts larger than the whole
+     * budget are not cached.
+     */
+    public synchronized void put(TranscriptionKey key, List<SpeechToTextResponse> events) {
+        if (!enabled) {
+            return;
+        }
+        long weight = weigh(events);
+        if (weight > maxWeightBytes) {
+            logger.debug("Transcript for {} is {} bytes, larger than cache budget; not caching",
+                key.audioSha256(), weight);
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(List.copyOf(events), weight));
+        if (previous != null) {
+            weightBytes -= previous.weight();
+        }
+        weightBytes += weight;
+        evictToBudget();
+    }
+
+    public synchronized long weightBytes() {
+        return weightBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<TranscriptionKey, Entry>> eldest = entries.entrySet().iterator();
+        while (weightBytes > maxWeightBytes && eldest.hasNext()) {
+            weightBytes -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    static long weigh(List<SpeechToTextResponse> events) {
+        long weight = 0;
+        for (SpeechToTextResponse event : events) {
+            weight += EVENT_OVERHEAD_BYTES;
+            if (event.text() != null) {
+                weight += event.text().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return weight;
+    }
+
+    private record Entry(List<SpeechToTextResponse> events, long weight) {}
+}
@@ -0,0 +1,56 @@
+package com.zoominfo.karan_take_home.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+
+/*
+ * Content-addressed key for a transcription result
+ * @param audioSha256 Hex encoded SHA-256 of the uploaded audio bytes.
+ * @param language The language the audio was transcribed in.
+ * @param model The model used for the transcription.
+ */
+public record TranscriptionKey(
+    String audioSha256,
+    String language,
+    String model
+) {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    public static TranscriptionKey from(SpeechToTextRequest request) {
+        return new TranscriptionKey(sha256(request.file()), request.language(), request.model());
+    }
+
+    /**
+     * Streams the file through a SHA-256 digest so large uploads are never
+     * held in memory in full.
+     */
+    static String sha256(MultipartFile file) {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read uploaded audio file", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -23,4 +23,26 @@ public interface FasterWhisperClient {
         @RequestPart("model") String model,
         @RequestPart("stream") boolean stream
     );
+
+    @PostExchange(
+        url = "/v1/audio/transcriptions",
+        contentType = MediaType.MULTIPART_FORM_DATA_VALUE,
+        accept = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    Flux<ServerSentEvent<FasterWhisperResponseDto>> transcribe(
+        @RequestPart("file") MultipartFile file,
+        @RequestPart("language") String language,
+        @RequestPart("model") String model,
+        @RequestPart("stream") boolean stream,
+        @RequestPart("response_format") String responseFormat
+    );
+
+    /**
+     * Streams one event per segment carrying its start and end time, which
+     * the default response format leaves out.
+     */
+    default Flux<ServerSentEvent<FasterWhisperResponseDto>> transcribeWithTimestamps(
+            MultipartFile file, String language, String model) {
+        return transcribe(file, language, model, true, "verbose_json");
+    }
 }
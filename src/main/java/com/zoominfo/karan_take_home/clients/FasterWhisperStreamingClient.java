@@ -0,0 +1,56 @@
+package com.zoominfo.karan_take_home.clients;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.zoominfo.karan_take_home.dto.incoming.FasterWhisperResponseDto;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Client for the Faster Whisper transcription endpoint that streams the audio
+ * part from a {@link DataBuffer} publisher instead of a fully received
+ * {@link org.springframework.web.multipart.MultipartFile}. The multipart body
+ * is written with chunked transfer encoding as buffers arrive, so the upload
+ * to Faster Whisper starts before the inbound upload has finished.
+ */
+@Component
+@RequiredArgsConstructor
+public class FasterWhisperStreamingClient {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<FasterWhisperResponseDto>> EVENT_TYPE =
+        new ParameterizedTypeReference<>() {};
+
+    private final WebClient fasterWhisperWebClient;
+
+    public Flux<ServerSentEvent<FasterWhisperResponseDto>> transcribe(
+            Flux<DataBuffer> audio,
+            String filename,
+            String contentType,
+            String language,
+            String model,
+            boolean stream) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.asyncPart("file", audio, DataBuffer.class)
+            .filename(filename)
+            .contentType(MediaType.parseMediaType(contentType));
+        body.part("language", language);
+        body.part("model", model);
+        body.part("stream", String.valueOf(stream));
+
+        return fasterWhisperWebClient.post()
+            .uri("/v1/audio/transcriptions")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .body(BodyInserters.fromMultipartData(body.build()))
+            .retrieve()
+            .bodyToFlux(EVENT_TYPE);
+    }
+}
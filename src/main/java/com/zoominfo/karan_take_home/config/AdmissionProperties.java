@@ -0,0 +1,42 @@
+package com.zoominfo.karan_take_home.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * Settings for admitting transcriptions to Faster Whisper
+ * @param enabled Whether requests are limited and queued at all.
+ * @param defaultDeadline How long a client is assumed to wait when it does not send X-Request-Timeout.
+ * @param defaults The limits used for models without an entry in models.
+ * @param models Per-model overrides keyed by model name, e.g. transcription.admission.models[Systran/faster-whisper-small].max-concurrency=4.
+ */
+@ConfigurationProperties(prefix = "transcription.admission")
+public record AdmissionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("60s") Duration defaultDeadline,
+    @DefaultValue Limits defaults,
+    Map<String, Limits> models
+) {
+    /*
+     * Limits for a single model
+     * @param maxConcurrency The number of upstream transcriptions allowed to run at once.
+     * @param queueCapacity The number of requests allowed to wait for a slot.
+     * @param initialServiceTime The assumed time per transcription until real ones have been measured.
+     */
+    public record Limits(
+        @DefaultValue("2") int maxConcurrency,
+        @DefaultValue("32") int queueCapacity,
+        @DefaultValue("30s") Duration initialServiceTime
+    ) {
+    }
+
+    public Limits forModel(String model) {
+        if (models != null && models.containsKey(model)) {
+            return models.get(model);
+        }
+        return defaults;
+    }
+}
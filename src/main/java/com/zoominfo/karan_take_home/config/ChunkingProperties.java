@@ -0,0 +1,59 @@
+package com.zoominfo.karan_take_home.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * Settings for splitting long audio into segments transcribed in parallel
+ * @param enabled Whether long audio is split at all.
+ * @param minDuration Audio shorter than this is sent as a single request.
+ * @param defaults The segmentation used for models without an entry in models.
+ * @param models Per-model overrides keyed by model name, e.g. transcription.chunking.models[Systran/faster-whisper-small].parallelism=4; settings an entry leaves out are taken from defaults.
+ */
+@ConfigurationProperties(prefix = "transcription.chunking")
+public record ChunkingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10m") Duration minDuration,
+    @DefaultValue Segmentation defaults,
+    Map<String, SegmentationOverrides> models
+) {
+    /*
+     * How a model's audio is segmented
+     * @param segmentLength The nominal length of each segment before it is moved to the nearest pause.
+     * @param overlap Audio repeated at the start of the next segment so words at a cut are not lost.
+     * @param parallelism The maximum number of segments of one recording transcribed at once.
+     */
+    public record Segmentation(
+        @DefaultValue("2m") Duration segmentLength,
+        @DefaultValue("2s") Duration overlap,
+        @DefaultValue("4") int parallelism
+    ) {
+    }
+
+    /*
+     * A model's changes to the default segmentation, each null when not set
+     * @param segmentLength Replaces the default segment length.
+     * @param overlap Replaces the default overlap.
+     * @param parallelism Replaces the default parallelism.
+     */
+    public record SegmentationOverrides(
+        Duration segmentLength,
+        Duration overlap,
+        Integer parallelism
+    ) {
+    }
+
+    public Segmentation forModel(String model) {
+        SegmentationOverrides overrides = models != null ? models.get(model) : null;
+        if (overrides == null) {
+            return defaults;
+        }
+        return new Segmentation(
+            overrides.segmentLength() != null ? overrides.segmentLength() : defaults.segmentLength(),
+            overrides.overlap() != null ? overrides.overlap() : defaults.overlap(),
+            overrides.parallelism() != null ? overrides.parallelism() : defaults.parallelism());
+    }
+}
@@ -1,8 +1,11 @@
 package com.zoominfo.karan_take_home.config;
 
+import java.net.URI;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
@@ -10,30 +13,90 @@ import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
 import com.zoominfo.karan_take_home.clients.FasterWhisperClient;
 import com.zoominfo.karan_take_home.interceptors.FasterWhisperClientInterceptor;
+import com.zoominfo.karan_take_home.interceptors.UpstreamResponseTimeout;
+import com.zoominfo.karan_take_home.metrics.TranscriptionMetrics;
+import com.zoominfo.karan_take_home.routing.FasterWhisperBackend;
+import com.zoominfo.karan_take_home.routing.FasterWhisperBackendPool;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class FasterWhisperClientConfig {
-    
+
     @Value("${faster.whisper.url}")
     private String fasterWhisperUrl;
-    
+
+    /**
+     * Connection pool for Faster Whisper. Its Micrometer gauges are published
+     * as {@code reactor.netty.connection.provider.*} with {@code name=faster-whisper}:
+     * active, idle, pending and total connections, plus active and pending
+     * streams in h2c mode.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider fasterWhisperConnectionProvider(FasterWhisperTransportProperties properties) {
+        FasterWhisperTransportProperties.Pool pool = properties.pool();
+        return ConnectionProvider.builder("faster-whisper")
+            .maxConnections(pool.maxConnections())
+            .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+            .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+            .maxIdleTime(pool.maxIdleTime())
+            .maxLifeTime(pool.maxLifeTime())
+            .evictInBackground(pool.evictionInterval())
+            .metrics(true)
+            .build();
+    }
+
+    /**
+     * WebClient for Faster Whisper. Requests are built against {@code faster.whisper.url}
+     * and then routed to a backend from the pool. A {@code unix:///path/to.sock}
+     * backend URL connects over that Unix domain socket instead of TCP, which needs
+     * Netty's native epoll (Linux) or kqueue (macOS) transport.
+     */
     @Bean
-    public FasterWhisperClient fasterWhisperClient() {
+    public WebClient fasterWhisperWebClient(FasterWhisperBackendPool backendPool,
+            TranscriptionMetrics transcriptionMetrics,
+            ConnectionProvider fasterWhisperConnectionProvider,
+            FasterWhisperTransportProperties properties) {
         ExchangeStrategies strategies = ExchangeStrategies.builder()
             .codecs(configurer -> {
                 configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024);
             })
             .build();
-        
-        WebClient webClient = WebClient.builder()
-            .baseUrl(fasterWhisperUrl)
+
+        HttpClient httpClient = HttpClient.create(fasterWhisperConnectionProvider)
+            .protocol(properties.protocol() == FasterWhisperTransportProperties.Protocol.H2C
+                ? HttpProtocol.H2C
+                : HttpProtocol.HTTP11)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis());
+        String baseUrl = fasterWhisperUrl;
+        // The pool only accepts a socket as its sole backend
+        URI backend = backendPool.backends().get(0).baseUri();
+        if (FasterWhisperBackend.isUnixSocket(backend)) {
+            DomainSocketAddress socket = new DomainSocketAddress(backend.getPath());
+            httpClient = httpClient.remoteAddress(() -> socket);
+            baseUrl = "http://localhost";
+        }
+
+        return WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
             .exchangeStrategies(strategies)
+            .filter(backendPool.routingFilter())
+            .filter(UpstreamResponseTimeout.filter(properties.responseTimeout()))
             .filter(FasterWhisperClientInterceptor.all())
+            .filter(transcriptionMetrics.upstreamFilter())
             .build();
-        
+    }
+
+    @Bean
+    public FasterWhisperClient fasterWhisperClient(WebClient fasterWhisperWebClient) {
         HttpServiceProxyFactory factory = HttpServiceProxyFactory.builder()
-            .exchangeAdapter(WebClientAdapter.create(webClient))
+            .exchangeAdapter(WebClientAdapter.create(fasterWhisperWebClient))
             .build();
         return factory.createClient(FasterWhisperClient.class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.zoominfo.karan_take_home.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * Settings for the connections to Faster Whisper
+ * @param protocol HTTP11 for a connection per concurrent stream, or H2C to multiplex streams over cleartext HTTP/2 (prior knowledge; the server must speak h2c).
+ * @param connectTimeout The longest wait for a TCP connection to be established.
+ * @param pool The connection pool.
+ * @param responseTimeout How long a response may go without data, scaled by the length of the audio.
+ */
+@ConfigurationProperties(prefix = "faster.whisper.transport")
+public record FasterWhisperTransportProperties(
+    @DefaultValue("HTTP11") Protocol protocol,
+    @DefaultValue("5s") Duration connectTimeout,
+    @DefaultValue Pool pool,
+    @DefaultValue ResponseTimeout responseTimeout
+) {
+
+    public enum Protocol {
+        HTTP11,
+        H2C
+    }
+
+    /*
+     * The connection pool, shared by all backends
+     * @param maxConnections The most connections open per backend. With HTTP11 this caps concurrent streams; with H2C further connections are only opened once the server's stream limit is reached.
+     * @param pendingAcquireMaxCount The most requests allowed to wait for a connection before new ones fail.
+     * @param pendingAcquireTimeout The longest a request waits for a connection.
+     * @param maxIdleTime Idle connections are closed after this; keep it below the server's keep-alive timeout (5s for uvicorn) so a closing connection is not reused.
+     * @param maxLifeTime Connections are closed after this, so DNS and load balancer changes are picked up.
+     * @param evictionInterval How often idle and expired connections are closed in the background.
+     */
+    public record Pool(
+        @DefaultValue("100") int maxConnections,
+        @DefaultValue("1000") int pendingAcquireMaxCount,
+        @DefaultValue("45s") Duration pendingAcquireTimeout,
+        @DefaultValue("4s") Duration maxIdleTime,
+        @DefaultValue("10m") Duration maxLifeTime,
+        @DefaultValue("10s") Duration evictionInterval
+    ) {
+    }
+
+    /*
+     * The longest gap between reads of a response. A non-streamed transcription sends nothing until the whole audio is decoded, so the limit grows with the audio.
+     * @param base The limit for audio of no length.
+     * @param perAudioSecond Seconds added per second of audio, i.e. the slowest real-time factor tolerated.
+     * @param max The cap, also used when the length of the audio is not known.
+     */
+    public record ResponseTimeout(
+        @DefaultValue("30s") Duration base,
+        @DefaultValue("1.0") double perAudioSecond,
+        @DefaultValue("15m") Duration max
+    ) {
+
+        public Duration forAudio(Duration audio) {
+            if (audio == null) {
+                return max;
+            }
+            Duration timeout = base.plusNanos((long) (audio.toNanos() * perAudioSecond));
+            return timeout.compareTo(max) > 0 ? max : timeout;
+        }
+    }
+}
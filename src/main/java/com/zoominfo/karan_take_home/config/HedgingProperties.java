@@ -0,0 +1,28 @@
+package com.zoominfo.karan_take_home.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * Settings for hedging slow streamed Faster Whisper requests on a second backend
+ * @param enabled Whether requests are hedged at all. Has no effect with a single backend.
+ * @param percentile A request is hedged once it has waited this percentile of the model's recent times to first event, e.g. 0.95.
+ * @param minDelay The shortest wait before hedging, however fast recent requests were.
+ * @param window How many recent times to first event per model the percentile is taken over.
+ * @param minSamples A model's requests are not hedged until this many times have been recorded for it.
+ * @param budget Hedges allowed per request sent, e.g. 0.05 for at most 5% extra load on Faster Whisper.
+ * @param maxBurst The most hedges unused budget can save up for a burst of slow requests.
+ */
+@ConfigurationProperties(prefix = "transcription.hedging")
+public record HedgingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0.95") double percentile,
+    @DefaultValue("200ms") Duration minDelay,
+    @DefaultValue("256") int window,
+    @DefaultValue("20") int minSamples,
+    @DefaultValue("0.05") double budget,
+    @DefaultValue("10") int maxBurst
+) {
+}
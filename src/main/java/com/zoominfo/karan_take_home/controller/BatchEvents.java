@@ -0,0 +1,42 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.zoominfo.karan_take_home.dto.outgoing.BatchResultDto;
+import com.zoominfo.karan_take_home.dto.outgoing.BatchSummaryDto;
+import com.zoominfo.karan_take_home.services.BatchTranscriber;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Maps batch results to Server-Sent Events: a {@code result} event per file,
+ * with the file's index as the event id, then one {@code summary} event.
+ */
+final class BatchEvents {
+
+    private BatchEvents() {
+    }
+
+    static Flux<ServerSentEvent<Object>> toEvents(Flux<BatchTranscriber.Result> results) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            List<BatchTranscriber.Result> finished = new CopyOnWriteArrayList<>();
+            Flux<ServerSentEvent<Object>> events = results
+                .doOnNext(finished::add)
+                .map(result -> ServerSentEvent.<Object>builder(BatchResultDto.from(result))
+                    .id(String.valueOf(result.index()))
+                    .event("result")
+                    .build());
+            Mono<ServerSentEvent<Object>> summary = Mono.fromSupplier(() -> ServerSentEvent.<Object>builder(
+                    BatchSummaryDto.from(BatchTranscriber.Summary.of(finished, Duration.ofNanos(System.nanoTime() - start))))
+                .event("summary")
+                .build());
+            return events.concatWith(summary);
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.zoominfo.karan_take_home.services.LiveTranscriber;
+import com.zoominfo.karan_take_home.services.LiveTranscription;
+
+/**
+ * The wire protocol of the live captioning WebSocket, shared by the servlet
+ * and reactive handlers. The client opens
+ * {@code /speech-to-text/live?sampleRate=16000&language=en&model=...}, sends
+ * binary frames of 16-bit little-endian mono PCM and a text frame
+ * {@code end} when it stops; each caption comes back as a JSON text frame,
+ * e.g. {@code {"type":"partial","text":"Hello the","start":0.0,"end":0.8,"latencyMs":412}}.
+ * Text and times are written as {@link TranscriptEventEncoder} writes them in
+ * transcript events.
+ */
+final class LiveCaptions {
+
+    static final String PATH = "/speech-to-text/live";
+    static final String END = "end";
+
+    private static final byte[] TYPE = ascii("{\"type\":");
+    private static final byte[] FINAL = ascii("\"final\"");
+    private static final byte[] PARTIAL = ascii("\"partial\"");
+    private static final byte[] TEXT = ascii(",\"text\":");
+    private static final byte[] START = ascii(",\"start\":");
+    private static final byte[] END_TIME = ascii(",\"end\":");
+    private static final byte[] LATENCY = ascii(",\"latencyMs\":");
+
+    private LiveCaptions() {
+    }
+
+    /**
+     * Starts a session with the options in the handshake URI's query, throwing
+     * {@link IllegalArgumentException} when they are not usable.
+     */
+    static LiveTranscription start(LiveTranscriber liveTranscriber, URI uri) {
+        MultiValueMap<String, String> query = UriComponentsBuilder.fromUri(uri).build().getQueryParams();
+        int sampleRate;
+        try {
+            String value = query.getFirst("sampleRate");
+            sampleRate = value == null ? 16_000 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("sampleRate must be a whole number of Hz");
+        }
+        return liveTranscriber.start(sampleRate, query.getFirst("language"), query.getFirst("model"));
+    }
+
+    static boolean isEnd(String command) {
+        return END.equals(command.trim());
+    }
+
+    static String toJson(LiveTranscription.Caption caption) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(64 + caption.text().length());
+        try {
+            json.writeBytes(TYPE);
+            json.writeBytes(caption.type() == LiveTranscription.Type.FINAL ? FINAL : PARTIAL);
+            json.writeBytes(TEXT);
+            TranscriptEventEncoder.writeString(caption.text(), json);
+            if (caption.start() != null) {
+                json.writeBytes(START);
+                TranscriptEventEncoder.writeNumber(caption.start(), json);
+            }
+            if (caption.end() != null) {
+                json.writeBytes(END_TIME);
+                TranscriptEventEncoder.writeNumber(caption.end(), json);
+            }
+            json.writeBytes(LATENCY);
+            json.writeBytes(ascii(Long.toString(caption.latency().toMillis())));
+            json.write('}');
+        } catch (IOException e) {
+            // Writing to memory cannot fail
+            throw new UncheckedIOException(e);
+        }
+        return json.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
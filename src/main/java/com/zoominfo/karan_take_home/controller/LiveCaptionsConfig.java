@@ -0,0 +1,50 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Maps the live captioning handler for whichever web stack is running.
+ */
+class LiveCaptionsConfig {
+
+    private LiveCaptionsConfig() {
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableWebSocket
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet implements WebSocketConfigurer {
+
+        private final LiveTranscriptionWebSocketHandler handler;
+
+        Servlet(LiveTranscriptionWebSocketHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+            registry.addHandler(handler, LiveCaptions.PATH);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive {
+
+        @Bean
+        HandlerMapping liveCaptionsHandlerMapping(ReactiveLiveTranscriptionHandler handler) {
+            // Ahead of the annotated controllers, which would otherwise answer the handshake with 404
+            return new SimpleUrlHandlerMapping(Map.of(LiveCaptions.PATH, handler), Ordered.HIGHEST_PRECEDENCE);
+        }
+    }
+}
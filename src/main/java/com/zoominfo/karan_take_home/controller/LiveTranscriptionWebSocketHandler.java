@@ -0,0 +1,131 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.services.LiveTranscriber;
+import com.zoominfo.karan_take_home.services.LiveTranscription;
+
+/**
+ * Live captioning WebSocket on the servlet stack (see {@link LiveCaptions}
+ * for the protocol). While transcription is behind by more than
+ * {@code transcription.live.max-backlog} the handler does not return from
+ * the frame, so the container stops reading the socket and the client's
+ * sends back up over TCP; a session stalled for
+ * {@code transcription.live.max-stall} is closed with 1013 (try again later),
+ * as is a session refused because the service is too busy to start it.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LiveTranscriptionWebSocketHandler extends AbstractWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveTranscriptionWebSocketHandler.class);
+
+    private static final String SESSION_ATTRIBUTE = LiveTranscription.class.getName();
+    private static final int SEND_TIME_LIMIT_MILLIS = 10_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    private final LiveTranscriber liveTranscriber;
+    private final Duration maxStall;
+
+    public LiveTranscriptionWebSocketHandler(
+            LiveTranscriber liveTranscriber,
+            @Value("${transcription.live.max-stall:30s}") Duration maxStall) {
+        this.liveTranscriber = liveTranscriber;
+        this.maxStall = maxStall;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        LiveTranscription live;
+        try {
+            live = LiveCaptions.start(liveTranscriber, session.getUri());
+        } catch (IllegalArgumentException e) {
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+            return;
+        } catch (AdmissionRejectedException e) {
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason(e.getReason()));
+            return;
+        }
+        session.getAttributes().put(SESSION_ATTRIBUTE, live);
+        // Captions are sent from Reactor threads while frames are read on the container's threads, and a
+        // WebSocketSession allows one sender at a time; the decorator queues sends from both
+        WebSocketSession sender = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MILLIS,
+            SEND_BUFFER_LIMIT_BYTES);
+        live.captions().subscribe(
+            caption -> send(sender, new TextMessage(LiveCaptions.toJson(caption))),
+            e -> close(sender, CloseStatus.SERVER_ERROR.withReason("Transcription failed")),
+            () -> close(sender, CloseStatus.NORMAL));
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        LiveTranscription live = live(session);
+        if (live == null) {
+            return;
+        }
+        live.accept(message.getPayload());
+        try {
+            live.ready().block(maxStall);
+        } catch (IllegalStateException e) {
+            logger.warn("Closing live session {}: transcription stalled for {}", session.getId(), maxStall);
+            live.cancel();
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("Transcription is falling behind"));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        LiveTranscription live = live(session);
+        if (live == null) {
+            return;
+        }
+        if (LiveCaptions.isEnd(message.getPayload())) {
+            live.end();
+        } else {
+            live.cancel();
+            session.close(CloseStatus.BAD_DATA.withReason("Unknown command; send \"" + LiveCaptions.END + "\" to finish"));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        LiveTranscription live = live(session);
+        if (live != null) {
+            live.cancel();
+        }
+    }
+
+    private static LiveTranscription live(WebSocketSession session) {
+        return (LiveTranscription) session.getAttributes().get(SESSION_ATTRIBUTE);
+    }
+
+    private static void send(WebSocketSession session, TextMessage message) {
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Dropping caption for closed live session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static void close(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            logger.debug("Failed to close live session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.services.LiveTranscriber;
+import com.zoominfo.karan_take_home.services.LiveTranscription;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Live captioning WebSocket on the reactive stack (see {@link LiveCaptions}
+ * for the protocol). Frames are taken one at a time, and the next one is not
+ * requested while transcription is behind by more than
+ * {@code transcription.live.max-backlog}, so Reactor Netty stops reading the
+ * socket and the client's sends back up over TCP; a session stalled for
+ * {@code transcription.live.max-stall} is closed with 1013 (try again later),
+ * as is a session refused because the service is too busy to start it.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLiveTranscriptionHandler implements WebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveLiveTranscriptionHandler.class);
+
+    private final LiveTranscriber liveTranscriber;
+    private final Duration maxStall;
+
+    public ReactiveLiveTranscriptionHandler(
+            LiveTranscriber liveTranscriber,
+            @Value("${transcription.live.max-stall:30s}") Duration maxStall) {
+        this.liveTranscriber = liveTranscriber;
+        this.maxStall = maxStall;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        LiveTranscription live;
+        try {
+            live = LiveCaptions.start(liveTranscriber, session.getHandshakeInfo().getUri());
+        } catch (IllegalArgumentException e) {
+            return session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+        } catch (AdmissionRejectedException e) {
+            return session.close(CloseStatus.SERVICE_OVERLOAD.withReason(e.getReason()));
+        }
+        Mono<Void> input = session.receive()
+            .concatMap(message -> accept(live, message))
+            .then()
+            .onErrorResume(e -> {
+                live.cancel();
+                if (e instanceof TimeoutException) {
+                    logger.warn("Closing live session {}: transcription stalled for {}", session.getId(), maxStall);
+                    return session.close(CloseStatus.SERVICE_OVERLOAD.withReason("Transcription is falling behind"));
+                }
+                return session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+            })
+            .doFinally(signal -> live.cancel());
+        Flux<WebSocketMessage> captions = live.captions()
+            .map(caption -> session.textMessage(LiveCaptions.toJson(caption)));
+        Mono<Void> output = session.send(captions)
+            .then(Mono.defer(session::close))
+            .onErrorResume(e -> session.close(CloseStatus.SERVER_ERROR.withReason("Transcription failed")));
+        return Mono.when(input, output);
+    }
+
+    private Mono<Void> accept(LiveTranscription live, WebSocketMessage message) {
+        if (message.getType() == WebSocketMessage.Type.TEXT) {
+            if (LiveCaptions.isEnd(message.getPayloadAsText())) {
+                live.end();
+                return Mono.empty();
+            }
+            return Mono.error(new IllegalArgumentException(
+                "Unknown command; send \"" + LiveCaptions.END + "\" to finish"));
+        }
+        if (message.getType() != WebSocketMessage.Type.BINARY) {
+            return Mono.empty();
+        }
+        DataBuffer payload = message.getPayload();
+        byte[] frame = new byte[payload.readableByteCount()];
+        payload.read(frame);
+        live.accept(ByteBuffer.wrap(frame));
+        return live.ready().timeout(maxStall);
+    }
+}
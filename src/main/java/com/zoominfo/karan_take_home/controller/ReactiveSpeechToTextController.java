@@ -0,0 +1,120 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.SpeechToTextStreamRequest;
+import com.zoominfo.karan_take_home.dto.incoming.SpeechToTextFilePartRequestDto;
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+import com.zoominfo.karan_take_home.multipart.TempFiles;
+import com.zoominfo.karan_take_home.services.SpeechToTextService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Speech to text endpoints for the reactive (Reactor Netty) runtime, enabled
+ * with the {@code reactive} profile. Request handling stays on the event loop;
+ * the only blocking work (hashing the spooled upload and transcript store
+ * lookups in {@link SpeechToTextService}) is moved to boundedElastic.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSpeechToTextController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSpeechToTextController.class);
+
+    private final SpeechToTextService speechToTextService;
+
+    @Value("${spring.webflux.multipart.max-disk-usage-per-part:100MB}")
+    private DataSize maxUploadSize;
+
+    @PostMapping(
+        path = "/speech-to-text",
+        consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public Flux<ServerSentEvent<Object>> speechToText(
+            @Valid @ModelAttribute SpeechToTextFilePartRequestDto requestDto,
+            @RequestHeader(value = RequestTimeouts.HEADER, required = false) Long requestTimeout,
+            @RequestAttribute(name = RequestTimings.ATTRIBUTE, required = false) RequestTimings timings) throws IOException {
+        Duration deadline = RequestTimeouts.toDeadline(requestTimeout);
+        Path spool = Files.createTempFile("speech-to-text-", ".upload");
+        SpeechToTextRequest request;
+        try {
+            request = requestDto.toRequest(spool);
+        } catch (RuntimeException e) {
+            TempFiles.deleteQuietly(spool);
+            throw e;
+        }
+        // The file part is only read from the connection as it is spooled, so the upload ends here
+        Flux<SpeechToTextResponse> responses = requestDto.file().transferTo(spool)
+            .thenMany(Flux.defer(() -> {
+                    if (timings != null) {
+                        timings.uploaded();
+                    }
+                    return speechToTextService.transcribe(request, deadline);
+                })
+                .subscribeOn(Schedulers.boundedElastic()))
+            .doFinally(signal -> TempFiles.deleteQuietly(spool));
+        return SpeechToTextEvents.toEvents(responses, timings);
+    }
+
+    @PostMapping(
+        path = "/speech-to-text/stream",
+        consumes = {"audio/*", MediaType.APPLICATION_OCTET_STREAM_VALUE},
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public Flux<ServerSentEvent<Object>> speechToTextStream(
+            @RequestBody Flux<DataBuffer> body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @RequestHeader(value = RequestTimeouts.HEADER, required = false) Long requestTimeout,
+            @RequestParam(required = false) String filename,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) Boolean stream,
+            @RequestAttribute(name = RequestTimings.ATTRIBUTE, required = false) RequestTimings timings) {
+        long maxBytes = maxUploadSize.toBytes();
+        UploadLimits.checkContentLength(contentLength, maxBytes);
+        // Inbound Netty buffers are handed to the outbound request as-is, without copying
+        SpeechToTextStreamRequest request = SpeechToTextStreamRequest.builder()
+            .audio(UploadLimits.limit(body, maxBytes))
+            .filename(filename)
+            .contentType(contentType)
+            .language(language)
+            .model(model)
+            .stream(stream)
+            .build();
+        // The body is still arriving; its upload overlaps the upstream call instead of preceding it
+        if (timings != null) {
+            timings.uploaded();
+        }
+        return SpeechToTextEvents.toEvents(
+            speechToTextService.transcribeStream(request, RequestTimeouts.toDeadline(requestTimeout)), timings);
+    }
+}
@@ -0,0 +1,29 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.time.Duration;
+
+/**
+ * The {@code X-Request-Timeout} header, with which clients say how many
+ * seconds they are prepared to wait for a transcription to start. Requests
+ * that would wait longer are rejected up front instead of timing out later.
+ */
+final class RequestTimeouts {
+
+    static final String HEADER = "X-Request-Timeout";
+
+    private RequestTimeouts() {
+    }
+
+    /**
+     * Returns the deadline for the header value, or null when it was not sent.
+     */
+    static Duration toDeadline(Long seconds) {
+        if (seconds == null) {
+            return null;
+        }
+        if (seconds <= 0) {
+            throw new IllegalArgumentException(HEADER + " must be a positive number of seconds");
+        }
+        return Duration.ofSeconds(seconds);
+    }
+}
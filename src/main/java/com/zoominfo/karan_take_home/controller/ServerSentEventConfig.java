@@ -0,0 +1,49 @@
+package com.zoominfo.karan_take_home.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Registers the transcript event encoding for whichever web stack is running.
+ */
+class ServerSentEventConfig {
+
+    private ServerSentEventConfig() {
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet {
+
+        /** Picked up by Spring Boot ahead of the default converters. */
+        @Bean
+        HttpMessageConverter<SpeechToTextResponse> transcriptJsonConverter() {
+            return new TranscriptJsonConverter();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive implements WebFluxConfigurer {
+
+        private final JsonMapper jsonMapper;
+
+        Reactive(JsonMapper jsonMapper) {
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+            // Only writes ServerSentEvent streams, so it is registered ahead of the default SSE writer
+            configurer.customCodecs().register(new ServerSentEventWriter(jsonMapper));
+        }
+    }
+}
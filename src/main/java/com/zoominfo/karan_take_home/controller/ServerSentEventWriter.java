@@ -0,0 +1,110 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.dto.outgoing.SpeechToTextResponseDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writes {@code ServerSentEvent} streams for the reactive stack in place of
+ * WebFlux's default writer, in the same format ({@code field:value} lines,
+ * one flush per event). A plain transcript event, one carrying a
+ * {@link SpeechToTextResponse} or {@link SpeechToTextResponseDto} and no other
+ * field, is written whole into one buffer from the response's (pooled)
+ * buffer factory by {@link TranscriptEventEncoder}. Other events are framed
+ * here and their data serialized with Jackson, as before.
+ */
+final class ServerSentEventWriter implements HttpMessageWriter<ServerSentEvent<?>> {
+
+    private static final MediaType EVENT_STREAM = new MediaType(MediaType.TEXT_EVENT_STREAM, StandardCharsets.UTF_8);
+    private static final List<MediaType> MEDIA_TYPES = List.of(EVENT_STREAM);
+
+    private final JsonMapper jsonMapper;
+
+    ServerSentEventWriter(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public List<MediaType> getWritableMediaTypes() {
+        return MEDIA_TYPES;
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType elementType, MediaType mediaType) {
+        return ServerSentEvent.class.isAssignableFrom(elementType.toClass())
+            && (mediaType == null || MediaType.TEXT_EVENT_STREAM.includes(mediaType));
+    }
+
+    @Override
+    public Mono<Void> write(Publisher<? extends ServerSentEvent<?>> events, ResolvableType elementType,
+            MediaType mediaType, ReactiveHttpOutputMessage message, Map<String, Object> hints) {
+        message.getHeaders().setContentType(EVENT_STREAM);
+        DataBufferFactory factory = message.bufferFactory();
+        return message.writeAndFlushWith(Flux.from(events)
+            .map(event -> Mono.just(encode(event, factory)))
+            .doOnDiscard(DataBuffer.class, DataBufferUtils::release));
+    }
+
+    DataBuffer encode(ServerSentEvent<?> event, DataBufferFactory factory) {
+        Object data = event.data();
+        boolean plain = event.id() == null && event.event() == null && event.retry() == null && event.comment() == null;
+        if (plain && data instanceof SpeechToTextResponse response) {
+            return TranscriptEventEncoder.encodeEvent(response, factory);
+        }
+        if (plain && data instanceof SpeechToTextResponseDto dto) {
+            return TranscriptEventEncoder.encodeEvent(dto.text(), dto.start(), dto.end(), factory);
+        }
+
+        StringBuilder fields = new StringBuilder();
+        if (event.id() != null) {
+            fields.append("id:").append(event.id()).append('\n');
+        }
+        if (event.event() != null) {
+            fields.append("event:").append(event.event()).append('\n');
+        }
+        if (event.retry() != null) {
+            fields.append("retry:").append(event.retry().toMillis()).append('\n');
+        }
+        if (event.comment() != null) {
+            fields.append(':').append(event.comment().replace("\n", "\n:")).append('\n');
+        }
+        if (data == null) {
+            return factory.wrap(fields.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+        }
+        fields.append("data:");
+        if (data instanceof String text) {
+            fields.append(text.replace("\n", "\ndata:")).append("\n\n");
+            return factory.wrap(fields.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] prefix = fields.toString().getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer;
+        if (data instanceof SpeechToTextResponse response) {
+            buffer = factory.allocateBuffer(prefix.length + TranscriptEventEncoder.estimateSize(response.text()));
+            buffer.write(prefix);
+            TranscriptEventEncoder.writeJson(response.text(), response.start(), response.end(), buffer);
+        } else {
+            byte[] json = jsonMapper.writeValueAsBytes(data);
+            buffer = factory.allocateBuffer(prefix.length + json.length + 2);
+            buffer.write(prefix);
+            buffer.write(json);
+        }
+        return buffer.write((byte) '\n').write((byte) '\n');
+    }
+}
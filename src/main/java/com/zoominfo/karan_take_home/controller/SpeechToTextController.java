@@ -1,16 +1,37 @@
 package com.zoominfo.karan_take_home.controller;
 
+import java.io.InputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.zoominfo.karan_take_home.SpeechToTextStreamRequest;
+import com.zoominfo.karan_take_home.dto.incoming.SpeechToTextBatchRequestDto;
 import com.zoominfo.karan_take_home.dto.incoming.SpeechToTextRequestDto;
 import com.zoominfo.karan_take_home.dto.outgoing.SpeechToTextResponseDto;
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+import com.zoominfo.karan_take_home.services.BatchTranscriber;
 import com.zoominfo.karan_take_home.services.SpeechToTextService;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -19,16 +40,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SpeechToTextController {
 
+    private static final Logger logger = LoggerFactory.getLogger(SpeechToTextController.class);
+
+    // Pooled Netty buffers are released by the WebClient once written upstream
+    private static final DataBufferFactory STREAM_BUFFER_FACTORY = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+
     private final SpeechToTextService speechToTextService;
+    private final BatchTranscriber batchTranscriber;
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxUploadSize;
 
     @Operation(
         summary = "Convert speech to text",
-        description = "Transcribes an audio file to text using the Faster Whisper model. Returns Server-Sent Events (SSE) stream with transcription results.",
+        description = "Transcribes an audio file to text using the Faster Whisper model. Returns Server-Sent Events (SSE) stream with transcription results, followed by a 'timing' event with the time taken by each stage of the request. The same stages are summarised in the Server-Timing response header.",
         requestBody = @RequestBody(
             description = "Audio file and transcription parameters",
             required = true,
@@ -48,6 +81,7 @@ public class SpeechToTextController {
                             name = "Example SSE Response",
                             description = "Server-Sent Events stream format with transcription data",
                             value = "data:{\"text\":\"A zestful food is the hot cross bun.\"}\n\n"
+                                + "event:timing\ndata:{\"requestId\":\"3f9a1c07d2e84b6a\",\"uploadMs\":41.7,\"prepareMs\":3.2,\"queueMs\":0.1,\"connectMs\":18.4,\"inferenceMs\":1204.9,\"totalMs\":1269.0}\n\n"
                         )
                     },
                     schema = @Schema(implementation = SpeechToTextResponseDto.class)
@@ -60,13 +94,128 @@ public class SpeechToTextController {
         consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
         produces = MediaType.TEXT_EVENT_STREAM_VALUE
     )
-    public Flux<ServerSentEvent<SpeechToTextResponseDto>> speechToText(
-            @Valid @ModelAttribute SpeechToTextRequestDto requestDto) {
-        System.out.println("Received api call" + requestDto.toString());
-        return speechToTextService.transcribe(requestDto.toRequest())
-                .map(response -> ServerSentEvent.<SpeechToTextResponseDto>builder()
-                        .data(SpeechToTextResponseDto.from(response))
-                        .build());
+    public Flux<ServerSentEvent<Object>> speechToText(
+            @Valid @ModelAttribute SpeechToTextRequestDto requestDto,
+            @Parameter(description = "Seconds the client will wait for the transcription to start", example = "60")
+            @RequestHeader(value = RequestTimeouts.HEADER, required = false) Long requestTimeout,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = RequestTimings.ATTRIBUTE, required = false) RequestTimings timings) {
+        logger.debug("Received api call {}", requestDto);
+        // The multipart body has been parsed by the time the handler runs
+        if (timings != null) {
+            timings.uploaded();
+        }
+        return SpeechToTextEvents.toEvents(speechToTextService.transcribe(
+            requestDto.toRequest(), RequestTimeouts.toDeadline(requestTimeout)), timings);
+    }
+
+    @Operation(
+        summary = "Convert a batch of audio files to text",
+        description = "Transcribes many audio files sent as repeated 'files' parts of one multipart request, several at a time. Returns a Server-Sent Events stream with a 'result' event per file, in the order they finish and with the file's index as the event id, followed by a 'summary' event with counts and timings. A file that fails is reported in its result event without failing the batch.",
+        requestBody = @RequestBody(
+            description = "Audio files and transcription parameters",
+            required = true,
+            content = @Content(
+                mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
+                schema = @Schema(implementation = SpeechToTextBatchRequestDto.class)
+            )
+        ),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Results for each file as it finishes, then a summary.",
+                content = @Content(
+                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    examples = {
+                        @ExampleObject(
+                            name = "Example SSE Response",
+                            description = "A result event per file followed by the batch summary",
+                            value = "id:1\nevent:result\ndata:{\"index\":1,\"filename\":\"b.wav\",\"text\":\"Rice is often served in round bowls.\",\"segments\":[{\"text\":\" Rice is often served in round bowls.\"}],\"elapsedMs\":812}\n\n"
+                                + "id:0\nevent:result\ndata:{\"index\":0,\"filename\":\"a.wav\",\"text\":\"The birch canoe slid on the smooth planks.\",\"segments\":[{\"text\":\" The birch canoe slid on the smooth planks.\"}],\"elapsedMs\":1034}\n\n"
+                                + "event:summary\ndata:{\"files\":2,\"succeeded\":2,\"failed\":0,\"elapsedMs\":1041,\"meanFileMs\":923,\"slowestFileMs\":1034}\n\n"
+                        )
+                    }
+                )
+            )
+        }
+    )
+    @PostMapping(
+        path = "/speech-to-text/batch",
+        consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public Flux<ServerSentEvent<Object>> speechToTextBatch(
+            @Valid @ModelAttribute SpeechToTextBatchRequestDto requestDto,
+            @Parameter(description = "Seconds the client will wait for each file's transcription to start", example = "60")
+            @RequestHeader(value = RequestTimeouts.HEADER, required = false) Long requestTimeout) {
+        return BatchEvents.toEvents(batchTranscriber.transcribe(
+            requestDto.files(),
+            requestDto.language(),
+            requestDto.model(),
+            requestDto.bypassCache(),
+            RequestTimeouts.toDeadline(requestTimeout)));
+    }
+
+    @Operation(
+        summary = "Convert streamed speech to text",
+        description = "Transcribes a raw audio request body while it is still being uploaded. The body is passed through to the Faster Whisper model in chunks instead of being received in full first, so memory use does not grow with file size. Returns Server-Sent Events (SSE) stream with transcription results.",
+        requestBody = @RequestBody(
+            description = "Raw audio bytes",
+            required = true,
+            content = @Content(
+                mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                schema = @Schema(type = "string", format = "binary")
+            )
+        )
+    )
+    @PostMapping(
+        path = "/speech-to-text/stream",
+        consumes = {"audio/*", MediaType.APPLICATION_OCTET_STREAM_VALUE},
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public Flux<ServerSentEvent<Object>> speechToTextStream(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @Parameter(description = "Seconds the client will wait for the transcription to start", example = "60")
+            @RequestHeader(value = RequestTimeouts.HEADER, required = false) Long requestTimeout,
+            @Parameter(description = "The filename sent to the model", example = "audio.wav")
+            @RequestParam(required = false) String filename,
+            @Parameter(description = "The language of the audio file", example = "en")
+            @RequestParam(required = false) String language,
+            @Parameter(description = "The model to use for the conversion", example = "Systran/faster-whisper-small")
+            @RequestParam(required = false) String model,
+            @Parameter(description = "Whether to stream the conversion", example = "false")
+            @RequestParam(required = false) Boolean stream,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = RequestTimings.ATTRIBUTE, required = false) RequestTimings timings) {
+        long maxBytes = maxUploadSize.toBytes();
+        UploadLimits.checkContentLength(contentLength, maxBytes);
+        SpeechToTextStreamRequest request = SpeechToTextStreamRequest.builder()
+            .audio(readLimited(body, maxBytes))
+            .filename(filename)
+            .contentType(contentType)
+            .language(language)
+            .model(model)
+            .stream(stream)
+            .build();
+        // The body is still arriving; its upload overlaps the upstream call instead of preceding it
+        if (timings != null) {
+            timings.uploaded();
+        }
+        return SpeechToTextEvents.toEvents(
+            speechToTextService.transcribeStream(request, RequestTimeouts.toDeadline(requestTimeout)), timings);
+    }
+
+    /**
+     * Reads the request body on demand in fixed-size chunks. Reads block, so
+     * they run on boundedElastic rather than on the WebClient event loop.
+     */
+    private static Flux<DataBuffer> readLimited(InputStream body, long maxBytes) {
+        return UploadLimits.limit(
+            DataBufferUtils.readInputStream(() -> body, STREAM_BUFFER_FACTORY, STREAM_CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic()),
+            maxBytes);
     }
 }
 
@@ -0,0 +1,54 @@
+package com.zoominfo.karan_take_home.controller;
+
+import org.springframework.http.codec.ServerSentEvent;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.dto.outgoing.RequestTimingDto;
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+import com.zoominfo.karan_take_home.services.QueuePositionListener;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+/**
+ * Maps transcription results to the Server-Sent Events returned by the
+ * speech to text endpoints. While the transcription waits for a dispatch slot
+ * its queue position is sent as an SSE comment ({@code : queue position 3}),
+ * which EventSource clients ignore but keeps the connection visibly alive.
+ * When the request is being timed, a final {@code timing} event carries the
+ * {@link RequestTimings} breakdown once the transcription has finished.
+ * Transcripts are sent as {@link SpeechToTextResponse} data without a DTO;
+ * {@link ServerSentEventConfig} registers their encoding for each web stack.
+ */
+final class SpeechToTextEvents {
+
+    static final String TIMING_EVENT = "timing";
+
+    private SpeechToTextEvents() {
+    }
+
+    /** Maps {@code responses} to events; {@code timings} is null when the request is not timed. */
+    static Flux<ServerSentEvent<Object>> toEvents(Flux<SpeechToTextResponse> responses, RequestTimings timings) {
+        Sinks.Many<Integer> positions = Sinks.many().unicast().onBackpressureBuffer();
+        // Updates can race from several threads; a dropped one is superseded by the next
+        QueuePositionListener listener = positions::tryEmitNext;
+        Flux<ServerSentEvent<Object>> comments = positions.asFlux()
+                .map(position -> ServerSentEvent.<Object>builder()
+                        .comment("queue position " + position)
+                        .build());
+        Flux<ServerSentEvent<Object>> events = responses
+                .map(response -> ServerSentEvent.<Object>builder(response).build())
+                .doFinally(signal -> positions.tryEmitComplete())
+                .contextWrite(Context.of(QueuePositionListener.class, listener));
+        if (timings == null) {
+            return Flux.merge(comments, events);
+        }
+        Mono<ServerSentEvent<Object>> timing = Mono.fromSupplier(() -> ServerSentEvent.<Object>builder(RequestTimingDto.from(timings))
+                .event(TIMING_EVENT)
+                .build());
+        return Flux.merge(comments, events.contextWrite(Context.of(RequestTimings.class, timings)))
+                .concatWith(timing);
+    }
+}
@@ -0,0 +1,169 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+/**
+ * Writes a transcript, {@code {"text":"...","start":1.52,"end":4.08}}, straight
+ * to an {@link OutputStream}: a pooled {@link DataBuffer} on the reactive
+ * stack, the response body on the servlet stack. The output matches what
+ * Jackson writes for a {@code SpeechToTextResponseDto}: fields in that order,
+ * null ones left out, the same escapes. There is no DTO, no reflective
+ * serialization and no intermediate String or byte array, though; the text is
+ * escaped and UTF-8 encoded a char at a time and only the times go through
+ * {@link Double#toString(double)}. {@link LiveCaptions} uses the same string
+ * and number writers for its captions.
+ */
+final class TranscriptEventEncoder {
+
+    private static final byte[] DATA = ascii("data:");
+    private static final byte[] EVENT_END = ascii("\n\n");
+    private static final byte[] TEXT = ascii("\"text\":");
+    private static final byte[] START = ascii("\"start\":");
+    private static final byte[] END = ascii("\"end\":");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    /** UTF-8 for U+FFFD, written in place of an unpaired surrogate. */
+    private static final byte[] REPLACEMENT = {(byte) 0xEF, (byte) 0xBF, (byte) 0xBD};
+    /** Room for the field names, punctuation and two times around the text. */
+    private static final int OVERHEAD = 64;
+
+    private TranscriptEventEncoder() {
+    }
+
+    /** Returns {@code data:<json>\n\n} for a transcript in one buffer from {@code factory}. */
+    static DataBuffer encodeEvent(String text, Double start, Double end, DataBufferFactory factory) {
+        DataBuffer buffer = factory.allocateBuffer(estimateSize(text));
+        try {
+            buffer.write(DATA);
+            writeJson(text, start, end, buffer);
+            buffer.write(EVENT_END);
+            return buffer;
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    static DataBuffer encodeEvent(SpeechToTextResponse response, DataBufferFactory factory) {
+        return encodeEvent(response.text(), response.start(), response.end(), factory);
+    }
+
+    /** A starting capacity that fits mostly-ASCII text; buffers grow for anything longer. */
+    static int estimateSize(String text) {
+        return (text == null ? 0 : text.length()) + OVERHEAD;
+    }
+
+    static void writeJson(String text, Double start, Double end, DataBuffer buffer) {
+        try {
+            writeJson(text, start, end, buffer.asOutputStream());
+        } catch (IOException e) {
+            // A buffer's stream only grows the buffer, so this is not expected
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeJson(String text, Double start, Double end, OutputStream out) throws IOException {
+        out.write('{');
+        boolean first = true;
+        if (text != null) {
+            out.write(TEXT);
+            writeString(text, out);
+            first = false;
+        }
+        if (start != null) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(START);
+            writeNumber(start, out);
+            first = false;
+        }
+        if (end != null) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(END);
+            writeNumber(end, out);
+        }
+        out.write('}');
+    }
+
+    static void writeNumber(double value, OutputStream out) throws IOException {
+        // Jackson's default writes NaN and the infinities as strings
+        boolean quoted = !Double.isFinite(value);
+        if (quoted) {
+            out.write('"');
+        }
+        String number = Double.toString(value);
+        for (int i = 0; i < number.length(); i++) {
+            out.write(number.charAt(i));
+        }
+        if (quoted) {
+            out.write('"');
+        }
+    }
+
+    /** Writes {@code text} as a quoted, escaped JSON string in UTF-8. */
+    static void writeString(String text, OutputStream out) throws IOException {
+        out.write('"');
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    out.write(c);
+                } else {
+                    writeEscape(c, out);
+                }
+            } else if (c < 0x800) {
+                out.write(0xC0 | (c >> 6));
+                out.write(0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                out.write(0xE0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3F));
+                out.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out.write(0xF0 | (codePoint >> 18));
+                out.write(0x80 | ((codePoint >> 12) & 0x3F));
+                out.write(0x80 | ((codePoint >> 6) & 0x3F));
+                out.write(0x80 | (codePoint & 0x3F));
+            } else {
+                out.write(REPLACEMENT);
+            }
+        }
+        out.write('"');
+    }
+
+    private static void writeEscape(char c, OutputStream out) throws IOException {
+        out.write('\\');
+        switch (c) {
+            case '"' -> out.write('"');
+            case '\\' -> out.write('\\');
+            case '\n' -> out.write('n');
+            case '\r' -> out.write('r');
+            case '\t' -> out.write('t');
+            case '\b' -> out.write('b');
+            case '\f' -> out.write('f');
+            default -> {
+                out.write('u');
+                out.write('0');
+                out.write('0');
+                out.write(HEX[c >> 4]);
+                out.write(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,46 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+/**
+ * Writes the {@link SpeechToTextResponse} data of the servlet stack's SSE
+ * events straight to the response body with {@link TranscriptEventEncoder}
+ * rather than Jackson, so the events need no DTO. Spring MVC adds the
+ * {@code data:} framing itself. Write only: nothing reads a transcript from
+ * a request.
+ */
+final class TranscriptJsonConverter extends AbstractHttpMessageConverter<SpeechToTextResponse> {
+
+    TranscriptJsonConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> type) {
+        return SpeechToTextResponse.class == type;
+    }
+
+    @Override
+    public boolean canRead(Class<?> type, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SpeechToTextResponse readInternal(Class<? extends SpeechToTextResponse> type, HttpInputMessage input) {
+        throw new HttpMessageNotReadableException("Transcripts are not read from requests", input);
+    }
+
+    @Override
+    protected void writeInternal(SpeechToTextResponse response, HttpOutputMessage output) throws IOException {
+        // Straight into the container's response buffer; no intermediate buffer or array per event
+        TranscriptEventEncoder.writeJson(response.text(), response.start(), response.end(), output.getBody());
+    }
+}
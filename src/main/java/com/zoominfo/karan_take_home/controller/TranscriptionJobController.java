@@ -0,0 +1,132 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.dto.incoming.SpeechToTextRequestDto;
+import com.zoominfo.karan_take_home.dto.outgoing.SpeechToTextResponseDto;
+import com.zoominfo.karan_take_home.dto.outgoing.TranscriptionJobDto;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+import com.zoominfo.karan_take_home.services.TranscriptionJob;
+import com.zoominfo.karan_take_home.services.TranscriptionJobs;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Asynchronous counterpart of {@link SpeechToTextController} for long
+ * recordings: the upload is queued as a job and its id returned straight
+ * away, and the result is polled or streamed separately, so the
+ * transcription carries on if the client disconnects.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TranscriptionJobController {
+
+    private final TranscriptionJobs transcriptionJobs;
+
+    @Operation(
+        summary = "Submit a transcription job",
+        description = "Queues an audio file for transcription and returns the job id immediately. Poll GET /jobs/{id} for the result or stream GET /jobs/{id}/events. Returns 503 with Retry-After when the job queue is full.",
+        requestBody = @RequestBody(
+            description = "Audio file and transcription parameters",
+            required = true,
+            content = @Content(
+                mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
+                schema = @Schema(implementation = SpeechToTextRequestDto.class)
+            )
+        )
+    )
+    @PostMapping(
+        path = "/jobs",
+        consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<TranscriptionJobDto> submit(@Valid @ModelAttribute SpeechToTextRequestDto requestDto)
+            throws IOException {
+        // The servlet container deletes the upload when this request ends; the job keeps its own copy
+        MultipartFile upload = requestDto.file();
+        Path spool = Files.createTempFile("transcription-job-", ".upload");
+        SpeechToTextRequest request;
+        try {
+            upload.transferTo(spool);
+            request = SpeechToTextRequest.builder()
+                .file(new PathMultipartFile(upload.getName(), upload.getOriginalFilename(), upload.getContentType(), spool))
+                .language(requestDto.language())
+                .model(requestDto.model())
+                .stream(requestDto.stream())
+                .bypassCache(requestDto.bypassCache())
+                .build();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        TranscriptionJob job = transcriptionJobs.submit(request, spool);
+        return ResponseEntity.accepted()
+            .location(URI.create("/jobs/" + job.id()))
+            .body(TranscriptionJobDto.summary(job));
+    }
+
+    @Operation(
+        summary = "Get a transcription job",
+        description = "Returns the job's status and the results received so far. Finished jobs are kept for a limited time, after which this returns 404."
+    )
+    @GetMapping(path = "/jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public TranscriptionJobDto get(@PathVariable String id) {
+        return TranscriptionJobDto.from(find(id));
+    }
+
+    @Operation(
+        summary = "Stream a transcription job's progress",
+        description = "Server-Sent Events: a 'status' event with the job as submitted, a 'segment' event per transcription result (including those already received), then a 'done' event with the finished job."
+    )
+    @GetMapping(path = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> events(@PathVariable String id) {
+        TranscriptionJob job = find(id);
+        Flux<ServerSentEvent<Object>> segments = job.events()
+            .map(response -> ServerSentEvent.<Object>builder(SpeechToTextResponseDto.from(response))
+                .event("segment")
+                .build())
+            // A failure is reported in the 'done' event rather than by dropping the stream
+            .onErrorResume(e -> Flux.empty());
+        return Flux.concat(
+            Mono.fromSupplier(() -> event("status", TranscriptionJobDto.summary(job))),
+            segments,
+            Mono.fromSupplier(() -> event("done", TranscriptionJobDto.summary(job))));
+    }
+
+    private TranscriptionJob find(String id) {
+        TranscriptionJob job = transcriptionJobs.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No transcription job " + id);
+        }
+        return job;
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.<Object>builder(data).event(name).build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.zoominfo.karan_take_home.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Upload size enforcement for request bodies that are streamed rather than
+ * parsed by the multipart resolver.
+ */
+final class UploadLimits {
+
+    private UploadLimits() {
+    }
+
+    static void checkContentLength(Long contentLength, long maxBytes) {
+        if (contentLength != null && contentLength > maxBytes) {
+            throw new MaxUploadSizeExceededException(maxBytes);
+        }
+    }
+
+    /**
+     * Fails the stream once more than maxBytes have been received, for bodies
+     * sent without a Content-Length or with a wrong one.
+     */
+    static Flux<DataBuffer> limit(Flux<DataBuffer> body, long maxBytes) {
+        AtomicLong received = new AtomicLong();
+        return body.<DataBuffer>handle((buffer, sink) -> {
+            if (received.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                DataBufferUtils.release(buffer);
+                sink.error(new MaxUploadSizeExceededException(maxBytes));
+            } else {
+                sink.next(buffer);
+            }
+        });
+    }
+}
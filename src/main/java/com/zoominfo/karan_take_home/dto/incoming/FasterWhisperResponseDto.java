@@ -7,9 +7,15 @@ import jakarta.validation.constraints.NotEmpty;
 public record FasterWhisperResponseDto(
     
 @NotEmpty
-String text
+String text,
+Double start,
+Double end
 ) {
+    public FasterWhisperResponseDto(String text) {
+        this(text, null, null);
+    }
+
     public FasterWhisperResponse toResponse() {
-        return new FasterWhisperResponse(this.text);
+        return new FasterWhisperResponse(this.text, this.start, this.end);
     }
 }
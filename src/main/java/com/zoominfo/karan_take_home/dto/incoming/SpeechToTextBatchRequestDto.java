@@ -0,0 +1,35 @@
+package com.zoominfo.karan_take_home.dto.incoming;
+
+import java.util.List;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+
+/*
+ * Immutable request DTO for transcribing many audio files in one request
+ * @param files The audio files to convert to text, one multipart part each. Must not be empty.
+ * @param language The language of every file.
+ * @param model The model to use for every file.
+ * @param bypassCache Whether to skip the transcription cache and always run the model.
+ */
+@Builder
+@Schema(description = "Request DTO for batch speech to text conversion")
+public record SpeechToTextBatchRequestDto(
+    @NotEmpty(message = "At least one file is required")
+    @ArraySchema(schema = @Schema(description = "An audio file to convert to text", type = "string", format = "binary"))
+    List<MultipartFile> files,
+
+    @Schema(description = "The language of the audio files", example = "en")
+    String language,
+
+    @Schema(description = "The model to use for the conversion", example = "Systran/faster-whisper-small")
+    String model,
+
+    @Schema(description = "Whether to skip the transcription cache and always run the model", example = "false")
+    Boolean bypassCache
+) {
+}
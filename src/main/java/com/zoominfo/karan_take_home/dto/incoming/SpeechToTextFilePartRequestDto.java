@@ -0,0 +1,59 @@
+package com.zoominfo.karan_take_home.dto.incoming;
+
+import java.nio.file.Path;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+/*
+ * Immutable request DTO for speech to text conversion on the reactive (Netty) stack
+ * @param file The audio file part to convert to text. Must not be null.
+ * @param language The language of the audio file.
+ * @param model The model to use for the conversion.
+ * @param stream Whether to stream the conversion.
+ * @param bypassCache Whether to skip the transcription cache and always run the model.
+ */
+@Builder
+@Schema(description = "Request DTO for speech to text conversion")
+public record SpeechToTextFilePartRequestDto(
+    @NotNull(message = "File is required")
+    @Schema(description = "The audio file to convert to text", type = "string", format = "binary")
+    FilePart file,
+
+    @Schema(description = "The language of the audio file", example = "en")
+    String language,
+
+    @Schema(description = "The model to use for the conversion", example = "Systran/faster-whisper-small")
+    String model,
+
+    @Schema(description = "Whether to stream the conversion", example = "false")
+    Boolean stream,
+
+    @Schema(description = "Whether to skip the transcription cache and always run the model", example = "false")
+    Boolean bypassCache
+) {
+    /**
+     * Builds the request against the file the part is (or will be) spooled to.
+     */
+    public SpeechToTextRequest toRequest(Path spooledFile) {
+        MediaType contentType = file.headers().getContentType();
+        return SpeechToTextRequest.builder()
+            .file(new PathMultipartFile(
+                file.name(),
+                file.filename(),
+                contentType != null ? contentType.toString() : null,
+                spooledFile))
+            .language(language)
+            .model(model)
+            .stream(stream)
+            .bypassCache(bypassCache)
+            .build();
+    }
+}
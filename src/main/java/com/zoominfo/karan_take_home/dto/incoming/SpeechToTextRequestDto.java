@@ -14,6 +14,7 @@ import lombok.Builder;
  * @param language The language of the audio file. 
  * @param model The model to use for the conversion. 
  * @param stream Whether to stream the conversion.
+ * @param bypassCache Whether to skip the transcription cache and always run the model.
  */
 @Builder
 @Schema(description = "Request DTO for speech to text conversion")
@@ -29,7 +30,10 @@ public record SpeechToTextRequestDto(
     String model,
 
     @Schema(description = "Whether to stream the conversion", example = "false")
-    Boolean stream
+    Boolean stream,
+
+    @Schema(description = "Whether to skip the transcription cache and always run the model", example = "false")
+    Boolean bypassCache
 ) {
     public SpeechToTextRequest toRequest() {
         return SpeechToTextRequest.builder()
@@ -37,6 +41,7 @@ public record SpeechToTextRequestDto(
             .language(language)
             .model(model)
             .stream(stream)
+            .bypassCache(bypassCache)
             .build();
     }
 }
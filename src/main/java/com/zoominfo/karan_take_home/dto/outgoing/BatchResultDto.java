@@ -0,0 +1,52 @@
+package com.zoominfo.karan_take_home.dto.outgoing;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.services.BatchTranscriber;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/*
+ * Response DTO for one file of a batch
+ * @param index The position of the file in the upload, from 0.
+ * @param filename The file's original name.
+ * @param text The file's transcript; absent if it failed.
+ * @param segments The transcription results for the file; absent if it failed.
+ * @param elapsedMs How long the file took, in milliseconds.
+ * @param error Why the file failed; absent unless it did.
+ */
+@Schema(description = "Response DTO for one file of a batch speech to text conversion")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResultDto(
+    @Schema(description = "The position of the file in the upload, from 0", example = "3")
+    int index,
+    @Schema(description = "The file's original name", example = "clip-0003.wav")
+    String filename,
+    @Schema(description = "The file's transcript", example = "A zestful food is the hot cross bun.")
+    String text,
+    @Schema(description = "The transcription results for the file")
+    List<SpeechToTextResponseDto> segments,
+    @Schema(description = "How long the file took, in milliseconds", example = "840")
+    long elapsedMs,
+    @Schema(description = "Why the file failed")
+    String error
+) {
+
+    public static BatchResultDto from(BatchTranscriber.Result result) {
+        if (!result.succeeded()) {
+            String message = result.error().getMessage();
+            return new BatchResultDto(result.index(), result.filename(), null, null, result.elapsed().toMillis(),
+                message != null ? message : result.error().getClass().getSimpleName());
+        }
+        return new BatchResultDto(
+            result.index(),
+            result.filename(),
+            result.responses().stream().map(SpeechToTextResponse::text).map(String::strip).collect(Collectors.joining(" ")),
+            result.responses().stream().map(SpeechToTextResponseDto::from).toList(),
+            result.elapsed().toMillis(),
+            null);
+    }
+}
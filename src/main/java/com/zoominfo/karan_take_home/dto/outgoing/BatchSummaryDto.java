@@ -0,0 +1,36 @@
+package com.zoominfo.karan_take_home.dto.outgoing;
+
+import com.zoominfo.karan_take_home.services.BatchTranscriber;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/*
+ * Response DTO with the totals for a finished batch
+ * @param files The number of files in the batch.
+ * @param succeeded How many were transcribed.
+ * @param failed How many failed.
+ * @param elapsedMs The time from the first file being dispatched to the last result, in milliseconds.
+ * @param meanFileMs The mean time taken per file, in milliseconds.
+ * @param slowestFileMs The longest time taken by one file, in milliseconds.
+ */
+@Schema(description = "Response DTO with the totals for a finished batch")
+public record BatchSummaryDto(
+    @Schema(description = "The number of files in the batch", example = "250")
+    int files,
+    @Schema(description = "How many files were transcribed", example = "249")
+    int succeeded,
+    @Schema(description = "How many files failed", example = "1")
+    int failed,
+    @Schema(description = "Time from the first dispatch to the last result, in milliseconds", example = "41250")
+    long elapsedMs,
+    @Schema(description = "Mean time per file, in milliseconds", example = "1310")
+    long meanFileMs,
+    @Schema(description = "Longest time taken by one file, in milliseconds", example = "5020")
+    long slowestFileMs
+) {
+
+    public static BatchSummaryDto from(BatchTranscriber.Summary summary) {
+        return new BatchSummaryDto(summary.files(), summary.succeeded(), summary.failed(),
+            summary.elapsed().toMillis(), summary.meanFile().toMillis(), summary.slowestFile().toMillis());
+    }
+}
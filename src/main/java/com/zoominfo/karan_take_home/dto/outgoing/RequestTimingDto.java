@@ -0,0 +1,48 @@
+package com.zoominfo.karan_take_home.dto.outgoing;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+import com.zoominfo.karan_take_home.metrics.RequestTimings.Stage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/*
+ * Response DTO with where the time went for a transcription request, sent as the final SSE event
+ * @param requestId The id of the request, also returned in the X-Request-Id header and sent to Faster Whisper.
+ * @param uploadMs Time to receive and parse the upload, in milliseconds.
+ * @param prepareMs Time to probe, look up and preprocess the audio before queueing, in milliseconds.
+ * @param queueMs Time spent waiting for a dispatch slot, in milliseconds.
+ * @param connectMs Time until Faster Whisper's response headers arrived, in milliseconds.
+ * @param inferenceMs Time Faster Whisper spent streaming its response body, in milliseconds.
+ * @param totalMs Time from the request arriving until this event, in milliseconds.
+ */
+@Schema(description = "Response DTO with the stage timings of a transcription request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RequestTimingDto(
+    @Schema(description = "The id of the request", example = "3f9a1c07d2e84b6a")
+    String requestId,
+    @Schema(description = "Time to receive and parse the upload, in milliseconds", example = "41.7")
+    Double uploadMs,
+    @Schema(description = "Time to prepare the audio before queueing, in milliseconds", example = "3.2")
+    Double prepareMs,
+    @Schema(description = "Time waiting for a dispatch slot, in milliseconds", example = "0.1")
+    Double queueMs,
+    @Schema(description = "Time until Faster Whisper's response headers arrived, in milliseconds", example = "18.4")
+    Double connectMs,
+    @Schema(description = "Time Faster Whisper spent streaming its response, in milliseconds", example = "1204.9")
+    Double inferenceMs,
+    @Schema(description = "Time from the request arriving until this event, in milliseconds", example = "1269.0")
+    double totalMs
+) {
+
+    public static RequestTimingDto from(RequestTimings timings) {
+        return new RequestTimingDto(
+            timings.requestId(),
+            timings.millis(Stage.UPLOAD),
+            timings.millis(Stage.PREPARE),
+            timings.millis(Stage.QUEUE),
+            timings.millis(Stage.CONNECT),
+            timings.millis(Stage.INFERENCE),
+            timings.totalMillis());
+    }
+}
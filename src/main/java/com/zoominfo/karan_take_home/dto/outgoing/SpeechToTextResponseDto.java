@@ -1,5 +1,6 @@
 package com.zoominfo.karan_take_home.dto.outgoing;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.zoominfo.karan_take_home.SpeechToTextResponse;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,15 +9,26 @@ import jakarta.validation.constraints.NotEmpty;
 /*
  * Response DTO for speech to text conversion
  * @param text The text converted from the audio file. Must not be empty.
+ * @param start The start of the text in seconds, when Faster Whisper reported it.
+ * @param end The end of the text in seconds, when Faster Whisper reported it.
  */
 @Schema(description = "Response DTO for speech to text conversion")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record SpeechToTextResponseDto(
     @NotEmpty
     @Schema(description = "The transcribed text from the audio file", example = "A zestful food is the hot cross bun.")
-    String text
+    String text,
+    @Schema(description = "Start of the text in seconds from the start of the uploaded audio", example = "1.52")
+    Double start,
+    @Schema(description = "End of the text in seconds from the start of the uploaded audio", example = "4.08")
+    Double end
 ) {
-    
+
+    public SpeechToTextResponseDto(String text) {
+        this(text, null, null);
+    }
+
     public static SpeechToTextResponseDto from(SpeechToTextResponse response) {
-        return new SpeechToTextResponseDto(response.text());
+        return new SpeechToTextResponseDto(response.text(), response.start(), response.end());
     }
 }
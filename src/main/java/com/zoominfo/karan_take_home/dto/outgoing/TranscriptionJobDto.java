@@ -0,0 +1,59 @@
+package com.zoominfo.karan_take_home.dto.outgoing;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.services.TranscriptionJob;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/*
+ * Response DTO for a transcription job
+ * @param id The job id to poll or stream events for.
+ * @param status Whether the job is queued, running, succeeded or failed.
+ * @param createdAt When the job was submitted.
+ * @param completedAt When the job succeeded or failed; absent until then.
+ * @param text The transcript so far, joined from the segments.
+ * @param segments The transcription results received so far.
+ * @param error Why the job failed; absent unless it has.
+ */
+@Schema(description = "Response DTO for a transcription job")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TranscriptionJobDto(
+    @Schema(description = "The job id", example = "3f2c1a9e-5b7d-4e0f-9a41-2d6c8b1e7f03")
+    String id,
+    @Schema(description = "The job status", example = "SUCCEEDED")
+    TranscriptionJob.Status status,
+    @Schema(description = "When the job was submitted")
+    Instant createdAt,
+    @Schema(description = "When the job succeeded or failed")
+    Instant completedAt,
+    @Schema(description = "The transcript so far", example = "A zestful food is the hot cross bun.")
+    String text,
+    @Schema(description = "The transcription results received so far")
+    List<SpeechToTextResponseDto> segments,
+    @Schema(description = "Why the job failed")
+    String error
+) {
+
+    public static TranscriptionJobDto from(TranscriptionJob job) {
+        List<SpeechToTextResponse> results = job.results();
+        return new TranscriptionJobDto(
+            job.id(),
+            job.status(),
+            job.createdAt(),
+            job.completedAt(),
+            results.stream().map(SpeechToTextResponse::text).map(String::strip).collect(Collectors.joining(" ")),
+            results.stream().map(SpeechToTextResponseDto::from).toList(),
+            job.error());
+    }
+
+    /** The job without its results, for the response to a submission. */
+    public static TranscriptionJobDto summary(TranscriptionJob job) {
+        return new TranscriptionJobDto(job.id(), job.status(), job.createdAt(), job.completedAt(), null, null,
+            job.error());
+    }
+}
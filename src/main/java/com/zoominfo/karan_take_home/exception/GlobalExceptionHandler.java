@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -16,7 +17,9 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Global exception handler for the application.
@@ -78,6 +81,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles binding and validation errors on the reactive stack, where
+     * {@code @ModelAttribute} failures are not a {@link BindException}.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, String> errors = ex.getFieldErrors().stream()
+                .collect(Collectors.toMap(
+                        FieldError::getField,
+                        fieldError -> fieldError.getDefaultMessage() != null 
+                                ? fieldError.getDefaultMessage() 
+                                : "Invalid value",
+                        (existing, replacement) -> existing
+                ));
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Binding Failed")
+                .message("Request binding failed")
+                .details(errors)
+                .build();
+
+        logger.warn("Binding error: {}", errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles file upload size exceeded errors.
      */
@@ -96,6 +126,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(errorResponse);
     }
 
+    /**
+     * Handles multipart parts exceeding the configured limits on the reactive stack.
+     */
+    @ExceptionHandler(DataBufferLimitException.class)
+    public ResponseEntity<ErrorResponse> handleDataBufferLimitException(DataBufferLimitException ex) {
+        HttpStatus status = HttpStatus.valueOf(413);
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error("File Too Large")
+                .message("The uploaded file exceeds the maximum allowed size")
+                .build();
+
+        logger.warn("File size exceeded: {}", ex.getMessage());
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
     /**
      * Handles WebClient errors from FasterWhisper API calls.
      */
@@ -149,6 +196,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles exceptions that already carry an HTTP status, such as malformed
+     * requests or unsupported media types on the reactive stack.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex) {
+        HttpStatus httpStatus = HttpStatus.resolve(ex.getStatusCode().value());
+        String errorReason = httpStatus != null ? httpStatus.getReasonPhrase() : "Error";
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(ex.getStatusCode().value())
+                .error(errorReason)
+                .message(ex.getReason() != null ? ex.getReason() : errorReason)
+                .build();
+
+        logger.warn("Request failed with status {}: {}", ex.getStatusCode().value(), ex.getMessage());
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(errorResponse);
+    }
+
     /**
      * Handles all other unhandled exceptions.
      */
@@ -10,11 +10,13 @@ import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+
 import reactor.core.publisher.Mono;
 
 /**
  * Interceptor for FasterWhisperClient to log requests and responses,
- * handle errors, and measure request duration.
+ * handle errors, measure request duration and pass on the request id.
  */
 public class FasterWhisperClientInterceptor {
     
@@ -58,6 +60,8 @@ public class FasterWhisperClientInterceptor {
      * For streaming responses (SSE), this does not interfere with the stream.
      * Duration logging for streaming happens when the connection is established,
      * not when the stream completes, to avoid consuming the response body.
+     * Time to the first event and to the end of the stream are recorded as
+     * metrics by {@link com.zoominfo.karan_take_home.metrics.TranscriptionMetrics}.
      * 
      * @return ExchangeFilterFunction for WebClient
      */
@@ -78,8 +82,8 @@ public class FasterWhisperClientInterceptor {
                     } else {
                         Duration duration = Duration.between(start, Instant.now());
                         if (duration.toMillis() > 5000) {
-                            logger.warn("Slow request to {} took {} ms", 
-                                request.url(), duration.toMillis());
+                            logger.warn("Slow request to {} took {} ms{}", 
+                                request.url(), duration.toMillis(), requestId(request));
                         } else if (logger.isDebugEnabled()) {
                             logger.debug("Request to {} completed in {} ms", 
                                 request.url(), duration.toMillis());
@@ -88,8 +92,8 @@ public class FasterWhisperClientInterceptor {
                 })
                 .doOnError(error -> {
                     Duration duration = Duration.between(start, Instant.now());
-                    logger.error("Request to {} failed after {} ms: {}", 
-                        request.url(), duration.toMillis(), error.getMessage());
+                    logger.error("Request to {} failed after {} ms{}: {}", 
+                        request.url(), duration.toMillis(), requestId(request), error.getMessage());
                 });
         };
     }
@@ -108,24 +112,50 @@ public class FasterWhisperClientInterceptor {
                         String reasonPhrase = response.statusCode() instanceof HttpStatus 
                             ? ((HttpStatus) response.statusCode()).getReasonPhrase()
                             : "";
-                        logger.error("Error response from FasterWhisper API: {} {}", 
-                            response.statusCode().value(), reasonPhrase);
+                        logger.error("Error response from FasterWhisper API: {} {}{}", 
+                            response.statusCode().value(), reasonPhrase, requestId(request));
                     }
                 });
         };
     }
     
+    /**
+     * Creates an ExchangeFilterFunction that sends the id of the request being
+     * served, taken from the {@link RequestTimings} in the Reactor context, to
+     * Faster Whisper in the {@code X-Request-Id} header, so the two sides' logs
+     * can be matched up. Requests made outside a timed request pass unchanged.
+     * 
+     * @return ExchangeFilterFunction for WebClient
+     */
+    public static ExchangeFilterFunction propagateRequestId() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            RequestTimings timings = context.getOrDefault(RequestTimings.class, null);
+            if (timings == null || request.headers().containsKey(RequestTimings.REQUEST_ID_HEADER)) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request)
+                .header(RequestTimings.REQUEST_ID_HEADER, timings.requestId())
+                .build());
+        });
+    }
+    
     /**
      * Combines all interceptors into a single filter function.
      * 
      * @return Combined ExchangeFilterFunction
      */
     public static ExchangeFilterFunction all() {
-        return logRequestAndResponse()
+        return propagateRequestId()
+            .andThen(logRequestAndResponse())
             .andThen(measureRequestDuration())
             .andThen(handleErrorResponse());
     }
     
+    private static String requestId(ClientRequest request) {
+        String requestId = request.headers().getFirst(RequestTimings.REQUEST_ID_HEADER);
+        return requestId == null ? "" : " [request " + requestId + "]";
+    }
+    
     private static void logRequest(ClientRequest request) {
         logger.debug("Request: {} {}", request.method(), request.url());
         logger.debug("Request headers: {}", request.headers());
@@ -0,0 +1,42 @@
+package com.zoominfo.karan_take_home.interceptors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactive counterpart of {@link RequestTimingFilter}. The timings are put in
+ * the exchange attributes and the Reactor context rather than the MDC, since
+ * a reactive request hops threads; upstream calls log the request id they
+ * send instead.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestTimingFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestTimings timings = RequestTimings.start(
+            exchange.getRequest().getHeaders().getFirst(RequestTimings.REQUEST_ID_HEADER));
+        exchange.getAttributes().put(RequestTimings.ATTRIBUTE, timings);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(RequestTimings.REQUEST_ID_HEADER, timings.requestId());
+        response.beforeCommit(() -> {
+            response.getHeaders().set(RequestTimings.SERVER_TIMING_HEADER, timings.serverTiming());
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+            .contextWrite(Context.of(RequestTimings.class, timings));
+    }
+}
@@ -0,0 +1,89 @@
+package com.zoominfo.karan_take_home.interceptors;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Starts the {@link RequestTimings} of each servlet request before the
+ * multipart body is parsed, echoes its request id in {@code X-Request-Id} and
+ * puts it in the MDC for the request thread's logs. The {@code Server-Timing}
+ * header is filled in just before the response is committed, with the stages
+ * known at that point; for SSE responses the full breakdown follows as the
+ * final event.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start(request.getHeader(RequestTimings.REQUEST_ID_HEADER));
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        response.setHeader(RequestTimings.REQUEST_ID_HEADER, timings.requestId());
+        ServerTimingResponse timed = new ServerTimingResponse(response, timings);
+        MDC.put(RequestTimings.MDC_KEY, timings.requestId());
+        try {
+            chain.doFilter(request, timed);
+            if (!request.isAsyncStarted()) {
+                timed.addServerTiming();
+            }
+        } finally {
+            MDC.remove(RequestTimings.MDC_KEY);
+        }
+    }
+
+    /** Adds the {@code Server-Timing} header the first time the body is written or flushed. */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private volatile boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                setHeader(RequestTimings.SERVER_TIMING_HEADER, timings.serverTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+    }
+}
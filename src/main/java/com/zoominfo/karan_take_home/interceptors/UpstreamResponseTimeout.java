@@ -0,0 +1,46 @@
+package com.zoominfo.karan_take_home.interceptors;
+
+import java.time.Duration;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import com.zoominfo.karan_take_home.config.FasterWhisperTransportProperties;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.util.context.Context;
+
+/**
+ * Sets the Reactor Netty response timeout of each call to Faster Whisper from
+ * the length of the audio being sent, so a long recording is not cut off
+ * while a short one that hangs is given up on quickly. The length reaches the
+ * filter through the Reactor context, put there with {@link #forAudio}.
+ */
+public final class UpstreamResponseTimeout {
+
+    /** Reactor context key holding the length of the audio being sent upstream. */
+    public static final String AUDIO_DURATION = UpstreamResponseTimeout.class.getName() + ".audioDuration";
+
+    private UpstreamResponseTimeout() {
+    }
+
+    /** Returns the context to write for a call sending {@code audio}, which may be null when its length is unknown. */
+    public static Context forAudio(Duration audio) {
+        return audio == null ? Context.empty() : Context.of(AUDIO_DURATION, audio);
+    }
+
+    public static ExchangeFilterFunction filter(FasterWhisperTransportProperties.ResponseTimeout settings) {
+        return (request, next) -> Mono.deferContextual(context -> {
+            Duration timeout = settings.forAudio(context.getOrDefault(AUDIO_DURATION, null));
+            return next.exchange(ClientRequest.from(request)
+                .httpRequest(httpRequest -> {
+                    // Only the Reactor Netty connector supports a per-request timeout
+                    if (httpRequest.getNativeRequest() instanceof HttpClientRequest nettyRequest) {
+                        nettyRequest.responseTimeout(timeout);
+                    }
+                })
+                .build());
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.zoominfo.karan_take_home.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Where the time went for one speech to text request, stage by stage.
+ *
+ * A request filter starts it when the request arrives; the controller marks
+ * the end of the upload, {@code TranscriptionScheduler} records preparation
+ * and queueing, and the {@link TranscriptionMetrics#upstreamFilter()} records
+ * the Faster Whisper connect and inference time. It travels with the request
+ * as a request attribute and, in the pipeline, in the Reactor context under
+ * this class. Recording is a handful of atomic adds per request, so it is
+ * always on; stages that repeat (one upstream call per chunk) accumulate.
+ */
+public final class RequestTimings {
+
+    /** Header carrying the request id, accepted from the client and sent upstream. */
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    /** Request or exchange attribute holding the current request's timings. */
+    public static final String ATTRIBUTE = RequestTimings.class.getName();
+    /** MDC key of the request id. */
+    public static final String MDC_KEY = "requestId";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+    private static final long UNSET = -1;
+
+    public enum Stage {
+        UPLOAD("upload"),
+        PREPARE("prepare"),
+        QUEUE("queue"),
+        CONNECT("connect"),
+        INFERENCE("inference");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final String requestId;
+    private final long startNanos;
+    private final AtomicLongArray nanos = new AtomicLongArray(STAGES.length);
+    private volatile long pipelineStartNanos = UNSET;
+
+    RequestTimings(String requestId, long startNanos) {
+        this.requestId = requestId;
+        this.startNanos = startNanos;
+        for (int i = 0; i < STAGES.length; i++) {
+            nanos.set(i, UNSET);
+        }
+    }
+
+    /**
+     * Starts timing a request that arrived now, keeping the client's request
+     * id when it is a short token and generating one otherwise.
+     */
+    public static RequestTimings start(String requestId) {
+        return new RequestTimings(isUsable(requestId) ? requestId : newRequestId(), System.nanoTime());
+    }
+
+    public String requestId() {
+        return requestId;
+    }
+
+    /**
+     * Marks the upload as received and handed to the transcription pipeline.
+     * Only the first call counts.
+     */
+    public void uploaded() {
+        long now = System.nanoTime();
+        if (nanos.compareAndSet(Stage.UPLOAD.ordinal(), UNSET, now - startNanos)) {
+            pipelineStartNanos = now;
+        }
+    }
+
+    /**
+     * Marks the request as joining the dispatch queue, closing the prepare
+     * stage the first time, and returns the time to pass to {@link #dispatched}.
+     */
+    public long queued() {
+        long now = System.nanoTime();
+        long pipelineStart = pipelineStartNanos;
+        if (pipelineStart != UNSET) {
+            nanos.compareAndSet(Stage.PREPARE.ordinal(), UNSET, now - pipelineStart);
+        }
+        return now;
+    }
+
+    public void dispatched(long queuedNanos) {
+        add(Stage.QUEUE, System.nanoTime() - queuedNanos);
+    }
+
+    public void add(Stage stage, long elapsedNanos) {
+        nanos.accumulateAndGet(stage.ordinal(), elapsedNanos, RequestTimings::sum);
+    }
+
+    /** Returns the time recorded for {@code stage} in milliseconds, or null when none was. */
+    public Double millis(Stage stage) {
+        long value = nanos.get(stage.ordinal());
+        return value == UNSET ? null : toMillis(value);
+    }
+
+    /** Returns the time since the request arrived in milliseconds. */
+    public double totalMillis() {
+        return toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Formats the stages recorded so far and the total as a
+     * {@code Server-Timing} header value, e.g.
+     * {@code upload;dur=12.4, queue;dur=0.1, total;dur=13.0}.
+     */
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(96);
+        for (Stage stage : STAGES) {
+            long value = nanos.get(stage.ordinal());
+            if (value != UNSET) {
+                appendMetric(header, stage.metricName(), value);
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long elapsedNanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        // One decimal place without going through String.format
+        long tenths = (elapsedNanos + 50_000) / 100_000;
+        header.append(name).append(";dur=").append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    private static long sum(long current, long elapsedNanos) {
+        return current == UNSET ? elapsedNanos : current + elapsedNanos;
+    }
+
+    private static double toMillis(long elapsedNanos) {
+        return Math.round(elapsedNanos / 100_000.0) / 10.0;
+    }
+
+    private static boolean isUsable(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '_' || c == '.' || c == ':';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 16 hex digits; unlike a random UUID this does not touch SecureRandom. */
+    private static String newRequestId() {
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+}
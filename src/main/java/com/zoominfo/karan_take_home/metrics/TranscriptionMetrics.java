@@ -0,0 +1,221 @@
+package com.zoominfo.karan_take_home.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+/**
+ * Micrometer instrumentation of calls to Faster Whisper, tagged by model.
+ *
+ * The WebClient filter from {@link #upstreamFilter()} times each exchange
+ * from the request to the response headers ({@code transcription.upstream.connect}),
+ * to the first chunk of the SSE body ({@code transcription.upstream.first_event})
+ * and to the end of the body ({@code transcription.upstream.duration}), tagged
+ * with the HTTP status, and counts the bytes uploaded and the exchanges in
+ * flight. {@link #measure} wraps a transcription and records the events it
+ * produced, the audio seconds it covered and its real-time factor. The
+ * model reaches the filter through the Reactor context set by {@link #measure}.
+ * When the context also holds the request's {@link RequestTimings}, the
+ * filter adds the connect and body time to its breakdown.
+ */
+@Component
+public class TranscriptionMetrics {
+
+    /** Reactor context key holding the model of the upstream call being made. */
+    public static final String MODEL = TranscriptionMetrics.class.getName() + ".model";
+
+    private static final String UNKNOWN_MODEL = "unknown";
+    /** Status tag for exchanges that failed before a response arrived. */
+    private static final String NO_RESPONSE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public TranscriptionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns a filter recording the upstream meters for each exchange. The
+     * body of the response is wrapped rather than read, so streaming is not
+     * affected; the exchange counts as in flight until the body terminates.
+     */
+    public ExchangeFilterFunction upstreamFilter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            String model = context.getOrDefault(MODEL, UNKNOWN_MODEL);
+            RequestTimings timings = context.getOrDefault(RequestTimings.class, null);
+            long start = System.nanoTime();
+            AtomicLong uploaded = new AtomicLong();
+            AtomicInteger running = inFlight(model);
+            AtomicBoolean finished = new AtomicBoolean();
+            Runnable finish = () -> {
+                if (finished.compareAndSet(false, true)) {
+                    running.decrementAndGet();
+                }
+            };
+            running.incrementAndGet();
+            return next.exchange(countingUpload(request, uploaded))
+                .map(response -> {
+                    String status = String.valueOf(response.statusCode().value());
+                    long headers = System.nanoTime();
+                    connect(model, status).record(headers - start, TimeUnit.NANOSECONDS);
+                    if (timings != null) {
+                        timings.add(RequestTimings.Stage.CONNECT, headers - start);
+                    }
+                    uploadSize(model, status).record(uploaded.get());
+                    AtomicBoolean first = new AtomicBoolean(true);
+                    return response.mutate()
+                        .body(body -> body
+                            .doOnNext(buffer -> {
+                                if (first.compareAndSet(true, false)) {
+                                    firstEvent(model, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                }
+                            })
+                            .doFinally(signal -> {
+                                long end = System.nanoTime();
+                                if (timings != null) {
+                                    timings.add(RequestTimings.Stage.INFERENCE, end - headers);
+                                }
+                                Timer.builder("transcription.upstream.duration")
+                                    .description("Time from sending a request to Faster Whisper until its response body ends")
+                                    .tag("model", model)
+                                    .tag("status", status)
+                                    .tag("outcome", outcome(signal))
+                                    .register(meterRegistry)
+                                    .record(end - start, TimeUnit.NANOSECONDS);
+                                finish.run();
+                            }))
+                        .build();
+                })
+                .doOnError(e -> {
+                    connect(model, NO_RESPONSE).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    finish.run();
+                })
+                .doOnCancel(finish);
+        });
+    }
+
+    /**
+     * Records the events {@code responses} produces and, when it completes, the
+     * seconds of {@code audio} it transcribed and the real-time factor (audio
+     * seconds per wall-clock second). {@code audio} may be null when the
+     * length of the audio is not known. Also makes {@code model} available to
+     * the {@link #upstreamFilter()} of the calls it makes.
+     */
+    public <T> Flux<T> measure(String model, Duration audio, Flux<T> responses) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicInteger events = new AtomicInteger();
+            return responses
+                .doOnNext(response -> events.incrementAndGet())
+                .doFinally(signal -> {
+                    DistributionSummary.builder("transcription.upstream.events")
+                        .description("Transcription events in each Faster Whisper response")
+                        .tag("model", model)
+                        .tag("outcome", outcome(signal))
+                        .register(meterRegistry)
+                        .record(events.get());
+                    if (signal == SignalType.ON_COMPLETE && audio != null && !audio.isZero()) {
+                        double audioSeconds = audio.toNanos() / 1e9;
+                        double wallSeconds = (System.nanoTime() - start) / 1e9;
+                        Counter.builder("transcription.audio.processed")
+                            .description("Seconds of audio transcribed by Faster Whisper")
+                            .baseUnit("seconds")
+                            .tag("model", model)
+                            .register(meterRegistry)
+                            .increment(audioSeconds);
+                        DistributionSummary.builder("transcription.realtime_factor")
+                            .description("Seconds of audio transcribed per second of wall-clock time")
+                            .tag("model", model)
+                            .register(meterRegistry)
+                            .record(audioSeconds / wallSeconds);
+                    }
+                });
+        }).contextWrite(Context.of(MODEL, model));
+    }
+
+    private AtomicInteger inFlight(String model) {
+        return inFlight.computeIfAbsent(model, key -> {
+            AtomicInteger running = new AtomicInteger();
+            Gauge.builder("transcription.upstream.in_flight", running, AtomicInteger::get)
+                .description("Requests to Faster Whisper whose response has not finished")
+                .tag("model", key)
+                .register(meterRegistry);
+            return running;
+        });
+    }
+
+    private Timer connect(String model, String status) {
+        return Timer.builder("transcription.upstream.connect")
+            .description("Time from sending a request to Faster Whisper until its response headers arrive")
+            .tag("model", model)
+            .tag("status", status)
+            .register(meterRegistry);
+    }
+
+    private Timer firstEvent(String model, String status) {
+        return Timer.builder("transcription.upstream.first_event")
+            .description("Time from sending a request to Faster Whisper until the first chunk of its response body")
+            .tag("model", model)
+            .tag("status", status)
+            .register(meterRegistry);
+    }
+
+    private DistributionSummary uploadSize(String model, String status) {
+        return DistributionSummary.builder("transcription.upstream.upload")
+            .description("Bytes sent to Faster Whisper per request, including multipart framing")
+            .baseUnit("bytes")
+            .tag("model", model)
+            .tag("status", status)
+            .register(meterRegistry);
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "complete";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
+    }
+
+    /** Counts the body bytes as the request writes them, whether as one publisher or flushed chunks. */
+    private static ClientRequest countingUpload(ClientRequest request, AtomicLong uploaded) {
+        return ClientRequest.from(request)
+            .body((outputMessage, context) -> request.body().insert(new ClientHttpRequestDecorator(outputMessage) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    return super.writeWith(Flux.from(body)
+                        .doOnNext(buffer -> uploaded.addAndGet(buffer.readableByteCount())));
+                }
+
+                @Override
+                public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                    return super.writeAndFlushWith(Flux.from(body)
+                        .map(chunk -> Flux.from(chunk)
+                            .doOnNext(buffer -> uploaded.addAndGet(buffer.readableByteCount()))));
+                }
+            }, context))
+            .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.zoominfo.karan_take_home.multipart;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Temp files the application writes audio to: spooled uploads, and the
+ * normalized, trimmed, segmented or packed copies made on the way to Faster
+ * Whisper.
+ */
+public final class TempFiles {
+    private static final Logger logger = LoggerFactory.getLogger(TempFiles.class);
+
+    private TempFiles() {
+    }
+
+    /**
+     * Makes a copy of some audio with {@code prepare}, hands it to {@code use}
+     * and deletes the copy's file once the returned flux terminates or is
+     * cancelled. Making a copy reads the whole source, so {@code prepare}
+     * runs on a worker thread rather than the caller's; it may return a
+     * result whose file is null when no copy was needed.
+     */
+    public static <T, R> Flux<R> usingCopy(
+            Callable<T> prepare,
+            Function<T, Path> file,
+            Function<T, Flux<R>> use) {
+        return Flux.usingWhen(
+            Mono.fromCallable(prepare).subscribeOn(Schedulers.boundedElastic()),
+            use,
+            copy -> Mono.fromRunnable(() -> deleteQuietly(file.apply(copy))));
+    }
+
+    /**
+     * Returns a temp file with the content of {@code file}: a hard link when
+     * it is already on local disk, which costs nothing to make, or a copy
+     * otherwise, e.g. of a servlet upload that is removed with its request.
+     */
+    public static Path copyOf(MultipartFile file) throws IOException {
+        if (file instanceof PathMultipartFile onDisk) {
+            Path link = Files.createTempFile("linked-", ".audio");
+            Files.delete(link);
+            try {
+                return Files.createLink(link, onDisk.getPath());
+            } catch (IOException | UnsupportedOperationException e) {
+                // e.g. a file system without hard links; fall back to a copy
+            }
+        }
+        Path copy = Files.createTempFile("copied-", ".audio");
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            return copy;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(copy);
+            throw e;
+        }
+    }
+
+    /** Deletes the file, if any, logging rather than throwing when that fails. */
+    public static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Unable to delete temp file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.zoominfo.karan_take_home.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.audio.WavFormat;
+
+/**
+ * {@link MultipartFile} exposing a byte range of a WAV file's sample data as
+ * a standalone WAV file. The samples are read from the source file on demand,
+ * so slicing a long recording does not copy it.
+ */
+public class WavSliceMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final Path source;
+    private final WavFormat format;
+    private final long start;
+    private final long end;
+
+    /**
+     * @param start The offset of the first sample byte, relative to the start of the data chunk.
+     * @param end The offset just past the last sample byte, relative to the start of the data chunk.
+     */
+    public WavSliceMultipartFile(String name, String originalFilename, Path source, WavFormat format, long start, long end) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.source = source;
+        this.format = format;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return "audio/wav";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public long getSize() {
+        return WavFormat.HEADER_BYTES + (end - start);
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream in = getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        channel.position(format.dataOffset() + start);
+        InputStream samples = new BoundedInputStream(Channels.newInputStream(channel), end - start);
+        return new SequenceInputStream(new ByteArrayInputStream(format.header(end - start)), samples);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        try (InputStream in = getInputStream(); OutputStream out = Files.newOutputStream(dest)) {
+            in.transferTo(out);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WavSliceMultipartFile[" + originalFilename + ", " + source + ", " + start + "-" + end + "]";
+    }
+
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream delegate;
+        private long remaining;
+
+        BoundedInputStream(InputStream delegate, long remaining) {
+            this.delegate = delegate;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = delegate.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = delegate.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.zoominfo.karan_take_home.routing;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * A single Faster Whisper process and its routing state. All state is held
+ * in atomics so request threads can read and update it without locking.
+ */
+public final class FasterWhisperBackend {
+    /** Scheme of a backend listening on a Unix domain socket, e.g. {@code unix:///var/run/faster-whisper/whisper.sock}. */
+    public static final String UNIX_SCHEME = "unix";
+    /** Authority sent to a Unix domain socket backend, which has no host of its own. */
+    private static final String UNIX_HOST = "localhost";
+
+    private static final long FAILURE = 1L << 32;
+    private static final long REQUEST = 1L;
+
+    private final URI baseUri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicBoolean available = new AtomicBoolean(true);
+    private final AtomicLong ejectedAtNanos = new AtomicLong();
+    /** Requests (low 32 bits) and failures (high 32 bits) in the current error-rate window. */
+    private final AtomicLong outcomes = new AtomicLong();
+    private final AtomicLong windowStartNanos;
+
+    public FasterWhisperBackend(URI baseUri, long nowNanos) {
+        this.baseUri = baseUri;
+        this.windowStartNanos = new AtomicLong(nowNanos);
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable() {
+        return available.get();
+    }
+
+    long ejectedAtNanos() {
+        return ejectedAtNanos.get();
+    }
+
+    public static boolean isUnixSocket(URI uri) {
+        return UNIX_SCHEME.equals(uri.getScheme());
+    }
+
+    /**
+     * Returns the request URL with its scheme, host and port replaced by
+     * this backend's. A Unix domain socket backend is addressed as
+     * {@code http://localhost}; the connection itself goes to the socket.
+     */
+    URI resolve(URI url) {
+        if (isUnixSocket(baseUri)) {
+            return UriComponentsBuilder.fromUri(url)
+                .scheme("http")
+                .host(UNIX_HOST)
+                .port(-1)
+                .build(true)
+                .toUri();
+        }
+        return UriComponentsBuilder.fromUri(url)
+            .scheme(baseUri.getScheme())
+            .host(baseUri.getHost())
+            .port(baseUri.getPort())
+            .build(true)
+            .toUri();
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Records the outcome of a request and returns the error rate of the
+     * current window once it holds at least {@code minRequests} requests, or -1.
+     */
+    double recordOutcome(boolean failure, long nowNanos, long windowNanos, int minRequests) {
+        long start = windowStartNanos.get();
+        if (nowNanos - start > windowNanos && windowStartNanos.compareAndSet(start, nowNanos)) {
+            // Outcomes racing with the reset may land in either window, which is fine for a rate
+            outcomes.set(0);
+        }
+        long counts = outcomes.addAndGet(failure ? FAILURE + REQUEST : REQUEST);
+        int requests = (int) counts;
+        int failures = (int) (counts >>> 32);
+        if (requests < minRequests) {
+            return -1;
+        }
+        return (double) failures / requests;
+    }
+
+    /**
+     * Takes the backend out of rotation. Returns false if it already was.
+     */
+    boolean eject(long nowNanos) {
+        if (available.compareAndSet(true, false)) {
+            ejectedAtNanos.set(nowNanos);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Puts the backend back into rotation with a fresh error-rate window.
+     * Returns false if it already was.
+     */
+    boolean reinstate(long nowNanos) {
+        if (available.compareAndSet(false, true)) {
+            outcomes.set(0);
+            windowStartNanos.set(nowNanos);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return baseUri.toString();
+    }
+}
@@ -0,0 +1,248 @@
+package com.zoominfo.karan_take_home.routing;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Routes Faster Whisper requests across one or more backends, sending each
+ * request to the available backend with the fewest outstanding requests. A
+ * request stays outstanding until its response body has been fully read, so
+ * long SSE streams count for their whole duration.
+ *
+ * A backend is ejected when its error rate (connection failures and 5xx
+ * responses) over the last window exceeds the threshold, or when its
+ * {@code /health} probe fails. Ejected backends are probed and reinstated once
+ * healthy again after a minimum ejection time. If every backend is ejected,
+ * requests are spread across all of them rather than failed outright.
+ *
+ * Attempts of one transcription (a request and its hedge) can share a set of
+ * backends through the Reactor context under {@link #ATTEMPTED_BACKENDS}. The
+ * filter then prefers a backend that is not in the set yet, so the hedge is
+ * sent somewhere other than the request it races.
+ */
+@Component
+public class FasterWhisperBackendPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(FasterWhisperBackendPool.class);
+
+    /** Reactor context key holding the {@code Set<FasterWhisperBackend>} already tried for a transcription. */
+    public static final String ATTEMPTED_BACKENDS = FasterWhisperBackendPool.class.getName() + ".attemptedBackends";
+
+    private final FasterWhisperBackend[] backends;
+    private final double maxErrorRate;
+    private final int minRequests;
+    private final long errorWindowNanos;
+    private final long minEjectionNanos;
+    private final Duration probeInterval;
+    private final Duration probeTimeout;
+    private final WebClient healthClient;
+    private final Counter ejections;
+    private Disposable probes;
+
+    public FasterWhisperBackendPool(
+            @Value("${faster.whisper.urls:${faster.whisper.url}}") List<URI> urls,
+            @Value("${faster.whisper.pool.max-error-rate:0.5}") double maxErrorRate,
+            @Value("${faster.whisper.pool.min-requests:10}") int minRequests,
+            @Value("${faster.whisper.pool.error-window:30s}") Duration errorWindow,
+            @Value("${faster.whisper.pool.ejection-time:30s}") Duration minEjectionTime,
+            @Value("${faster.whisper.pool.probe-interval:10s}") Duration probeInterval,
+            @Value("${faster.whisper.pool.probe-timeout:2s}") Duration probeTimeout,
+            MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one Faster Whisper URL is required");
+        }
+        // The WebClient's connections all go to the one socket, so there is nothing to route between
+        if (urls.size() > 1 && urls.stream().anyMatch(FasterWhisperBackend::isUnixSocket)) {
+            throw new IllegalArgumentException("A Unix domain socket must be the only Faster Whisper URL");
+        }
+        long now = System.nanoTime();
+        this.backends = urls.stream()
+            .map(url -> new FasterWhisperBackend(url, now))
+            .toArray(FasterWhisperBackend[]::new);
+        this.maxErrorRate = maxErrorRate;
+        this.minRequests = minRequests;
+        this.errorWindowNanos = errorWindow.toNanos();
+        this.minEjectionNanos = minEjectionTime.toNanos();
+        this.probeInterval = probeInterval;
+        this.probeTimeout = probeTimeout;
+        this.healthClient = WebClient.create();
+        for (FasterWhisperBackend backend : backends) {
+            Gauge.builder("faster.whisper.backend.outstanding", backend, FasterWhisperBackend::outstanding)
+                .tag("backend", backend.toString())
+                .register(meterRegistry);
+            Gauge.builder("faster.whisper.backend.available", backend, b -> b.isAvailable() ? 1 : 0)
+                .tag("backend", backend.toString())
+                .register(meterRegistry);
+        }
+        this.ejections = Counter.builder("faster.whisper.backend.ejections").register(meterRegistry);
+    }
+
+    public List<FasterWhisperBackend> backends() {
+        return List.of(backends);
+    }
+
+    /** Returns how many backends are not ejected. */
+    public int available() {
+        int available = 0;
+        for (FasterWhisperBackend backend : backends) {
+            if (backend.isAvailable()) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Starts the health probes. With a single backend there is nothing to
+     * route around, so it is never probed.
+     */
+    @PostConstruct
+    public void start() {
+        if (backends.length > 1) {
+            probes = Flux.interval(probeInterval, probeInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Flux.fromArray(backends).flatMap(this::probe))
+                .subscribe();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (probes != null) {
+            probes.dispose();
+        }
+    }
+
+    /**
+     * Returns the available backend with the fewest outstanding requests,
+     * scanning from a random offset so ties are spread evenly. This only reads
+     * atomics; concurrent selections may pick the same backend, which evens
+     * out as their outstanding counts rise.
+     */
+    FasterWhisperBackend select() {
+        return select(Set.of());
+    }
+
+    /**
+     * Returns the backend {@link #select()} would, skipping those in
+     * {@code attempted} while an available one remains.
+     */
+    FasterWhisperBackend select(Set<FasterWhisperBackend> attempted) {
+        FasterWhisperBackend[] candidates = backends;
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        FasterWhisperBackend selected = attempted.isEmpty() ? null : leastOutstanding(candidates, attempted, true);
+        if (selected == null) {
+            selected = leastOutstanding(candidates, Set.of(), true);
+        }
+        return selected != null ? selected : leastOutstanding(candidates, Set.of(), false);
+    }
+
+    private static FasterWhisperBackend leastOutstanding(FasterWhisperBackend[] candidates,
+            Set<FasterWhisperBackend> excluded, boolean availableOnly) {
+        int offset = ThreadLocalRandom.current().nextInt(candidates.length);
+        FasterWhisperBackend selected = null;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < candidates.length; i++) {
+            FasterWhisperBackend candidate = candidates[(offset + i) % candidates.length];
+            if ((availableOnly && !candidate.isAvailable()) || excluded.contains(candidate)) {
+                continue;
+            }
+            int outstanding = candidate.outstanding();
+            if (outstanding < fewest) {
+                selected = candidate;
+                fewest = outstanding;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Filter that sends each request to the selected backend and tracks it
+     * until the response body completes, errors or is cancelled.
+     */
+    public ExchangeFilterFunction routingFilter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            Set<FasterWhisperBackend> attempted = context.getOrDefault(ATTEMPTED_BACKENDS, null);
+            FasterWhisperBackend backend = attempted == null ? select() : select(attempted);
+            if (attempted != null) {
+                attempted.add(backend);
+            }
+            ClientRequest routed = ClientRequest.from(request)
+                .url(backend.resolve(request.url()))
+                .build();
+            AtomicBoolean finished = new AtomicBoolean();
+            backend.begin();
+            return next.exchange(routed)
+                .map(response -> {
+                    boolean serverError = response.statusCode().is5xxServerError();
+                    return response.mutate()
+                        .body(body -> body.doFinally(signal ->
+                            finish(backend, finished, serverError || signal == SignalType.ON_ERROR)))
+                        .build();
+                })
+                .doOnError(error -> finish(backend, finished, true))
+                .doOnCancel(() -> finish(backend, finished, false));
+        });
+    }
+
+    private void finish(FasterWhisperBackend backend, AtomicBoolean finished, boolean failure) {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        backend.end();
+        long now = System.nanoTime();
+        double errorRate = backend.recordOutcome(failure, now, errorWindowNanos, minRequests);
+        if (failure && errorRate > maxErrorRate && backends.length > 1 && backend.eject(now)) {
+            ejections.increment();
+            logger.warn("Ejected Faster Whisper backend {} with error rate {}", backend, errorRate);
+        }
+    }
+
+    private Mono<Boolean> probe(FasterWhisperBackend backend) {
+        return healthClient.get()
+            .uri(backend.baseUri().resolve("/health"))
+            .retrieve()
+            .toBodilessEntity()
+            .timeout(probeTimeout)
+            .map(response -> true)
+            .onErrorReturn(false)
+            .doOnNext(healthy -> onProbe(backend, healthy, System.nanoTime()));
+    }
+
+    void onProbe(FasterWhisperBackend backend, boolean healthy, long nowNanos) {
+        if (!healthy) {
+            if (backend.eject(nowNanos)) {
+                ejections.increment();
+                logger.warn("Ejected Faster Whisper backend {} after a failed health check", backend);
+            }
+        } else if (!backend.isAvailable()
+                && nowNanos - backend.ejectedAtNanos() >= minEjectionNanos
+                && backend.reinstate(nowNanos)) {
+            logger.info("Reinstated Faster Whisper backend {}", backend);
+        }
+    }
+}
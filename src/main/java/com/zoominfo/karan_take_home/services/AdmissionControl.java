@@ -0,0 +1,74 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.config.AdmissionProperties;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Reservation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decides whether a transcription is accepted at all, before anything is sent
+ * upstream. When the model's queue in the {@link TranscriptionScheduler} is
+ * full, or the estimated wait for a slot is longer than the client is
+ * prepared to wait, the request is rejected straight away with a
+ * {@code Retry-After} rather than slowing down every request already running.
+ * An admitted request holds a {@link Reservation} in the queue while its
+ * audio is probed and prepared, so it counts against later requests before
+ * its job is queued.
+ */
+@Component
+public class AdmissionControl {
+
+    private final AdmissionProperties properties;
+    private final TranscriptionScheduler scheduler;
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionControl(AdmissionProperties properties, TranscriptionScheduler scheduler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Rejects the request with an {@link AdmissionRejectedException} if it
+     * cannot be admitted: 503 when the model's queue is full, 429 when the
+     * estimated wait exceeds {@code deadline} (or the default deadline when null).
+     * Otherwise reserves its place in the queue; the caller puts the returned
+     * reservation in the context of the request's stream and releases it when
+     * that stream ends. The queue capacity is only enforced here, so work that
+     * was admitted (e.g. the segments of a chunked recording) is never turned
+     * away later.
+     */
+    public Reservation admit(String model, Duration deadline) {
+        if (!properties.enabled()) {
+            return Reservation.NONE;
+        }
+        int capacity = properties.forModel(model).queueCapacity();
+        Duration limit = deadline != null ? deadline : properties.defaultDeadline();
+        return scheduler.reserve(model, (ahead, wait) -> {
+            if (ahead >= capacity) {
+                rejected(model, "queue_full").increment();
+                throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many transcriptions are waiting for this model", wait);
+            }
+            if (wait.compareTo(limit) > 0) {
+                rejected(model, "deadline").increment();
+                throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Estimated wait of " + wait.toSeconds() + "s exceeds the request timeout", wait);
+            }
+        });
+    }
+
+    private Counter rejected(String model, String reason) {
+        return Counter.builder("transcription.admission.rejected")
+            .tag("model", model)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
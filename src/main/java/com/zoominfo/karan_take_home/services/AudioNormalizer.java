@@ -0,0 +1,135 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.AudioInfo;
+import com.zoominfo.karan_take_home.audio.PcmNormalizer;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+import com.zoominfo.karan_take_home.multipart.TempFiles;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Optionally rewrites uncompressed WAV uploads as 16 kHz mono 16-bit PCM
+ * before they are sent upstream. Whisper resamples to that format anyway, so
+ * a 48 kHz stereo recording shrinks six-fold without changing the transcript.
+ * Compressed formats are left alone: as PCM they would only get bigger.
+ */
+@Component
+public class AudioNormalizer {
+    private static final Logger logger = LoggerFactory.getLogger(AudioNormalizer.class);
+
+    private final boolean enabled;
+    private final Counter inputBytes;
+    private final Counter outputBytes;
+    private final Timer duration;
+
+    public AudioNormalizer(
+            @Value("${transcription.normalization.enabled:false}") boolean enabled,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.inputBytes = Counter.builder("transcription.normalization.bytes")
+            .tag("direction", "in")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.outputBytes = Counter.builder("transcription.normalization.bytes")
+            .tag("direction", "out")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.duration = Timer.builder("transcription.normalization.duration")
+            .register(meterRegistry);
+    }
+
+    /*
+     * A request whose file may be a normalized copy
+     * @param copy The normalized file to delete once transcribed, or null when the original is used.
+     */
+    record Normalized(SpeechToTextRequest request, Path copy) {
+    }
+
+    /**
+     * Transcribes the request with {@code upstream}, passing it a normalized
+     * copy of the audio where that is possible and smaller. The copy is
+     * deleted once the transcription terminates or is cancelled.
+     */
+    public Flux<SpeechToTextResponse> transcribe(
+            SpeechToTextRequest request,
+            Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream) {
+        if (!enabled) {
+            return upstream.apply(request);
+        }
+        return TempFiles.usingCopy(() -> normalize(request), Normalized::copy,
+            normalized -> upstream.apply(normalized.request()));
+    }
+
+    Normalized normalize(SpeechToTextRequest request) {
+        MultipartFile file = request.file();
+        try {
+            Optional<WavFormat> probed;
+            try (InputStream in = file.getInputStream()) {
+                probed = WavFormat.read(in, file.getSize());
+            }
+            if (probed.isEmpty() || PcmNormalizer.isNormalized(probed.get())
+                    || !PcmNormalizer.canNormalize(probed.get())
+                    // e.g. 8 kHz 8-bit telephony audio, which would double in size
+                    || WavFormat.HEADER_BYTES + PcmNormalizer.outputFormat(probed.get()).dataLength() >= file.getSize()) {
+                return new Normalized(request, null);
+            }
+            return normalized(request, probed.get());
+        } catch (IOException | RuntimeException e) {
+            // The original upload is still perfectly good; Whisper will decode it itself
+            logger.warn("Unable to normalize {}, sending it as uploaded: {}", file.getOriginalFilename(), e.getMessage());
+            return new Normalized(request, null);
+        }
+    }
+
+    private Normalized normalized(SpeechToTextRequest request, WavFormat format) throws IOException {
+        MultipartFile file = request.file();
+        Path copy = Files.createTempFile("normalized-", ".wav");
+        try {
+            long start = System.nanoTime();
+            WavFormat output;
+            try (InputStream in = file.getInputStream();
+                    OutputStream out = new BufferedOutputStream(Files.newOutputStream(copy), 64 * 1024)) {
+                WavFormat.read(in, file.getSize());
+                output = PcmNormalizer.normalize(in, format, out);
+            }
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            inputBytes.increment(file.getSize());
+            outputBytes.increment(Files.size(copy));
+            logger.debug("Normalized {} from {} Hz x{} to {} Hz mono: {} -> {} bytes",
+                file.getOriginalFilename(), format.sampleRate(), format.channels(),
+                output.sampleRate(), file.getSize(), Files.size(copy));
+            AudioInfo info = new AudioInfo(AudioInfo.Container.WAV, "pcm_s16le", output.sampleRate(), 1,
+                request.audioInfo() != null && request.audioInfo().duration() != null
+                    ? request.audioInfo().duration()
+                    : output.duration());
+            return new Normalized(new SpeechToTextRequest(
+                new PathMultipartFile(file.getName(), file.getOriginalFilename(), "audio/wav", copy),
+                request.language(), request.model(), request.stream(), request.bypassCache(), info), copy);
+        } catch (IOException | RuntimeException e) {
+            TempFiles.deleteQuietly(copy);
+            throw e;
+        }
+    }
+}
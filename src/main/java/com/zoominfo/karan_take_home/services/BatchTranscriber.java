@@ -0,0 +1,164 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Transcribes the files of a batch upload, keeping up to
+ * {@code transcription.batch.parallelism} of them in flight at once so that
+ * one multipart request can carry thousands of short clips. Each file goes
+ * through {@link SpeechToTextService} like a single upload (cache, admission,
+ * scheduling), and a file that fails is reported on its own without failing
+ * the rest of the batch. A file refused admission because the model is busy
+ * is tried again after the rejection's {@code Retry-After}, for up to the
+ * client's deadline or {@code transcription.batch.max-wait}.
+ */
+@Component
+public class BatchTranscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTranscriber.class);
+
+    private final SpeechToTextService speechToTextService;
+    private final int parallelism;
+    private final int maxFiles;
+    private final Duration maxWait;
+    private final DistributionSummary batchSize;
+
+    public BatchTranscriber(
+            SpeechToTextService speechToTextService,
+            @Value("${transcription.batch.parallelism:8}") int parallelism,
+            @Value("${transcription.batch.max-files:1000}") int maxFiles,
+            @Value("${transcription.batch.max-wait:30m}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this.speechToTextService = speechToTextService;
+        this.parallelism = parallelism;
+        this.maxFiles = maxFiles;
+        this.maxWait = maxWait;
+        this.batchSize = DistributionSummary.builder("transcription.batch.files")
+            .description("Number of files in each batch upload")
+            .register(meterRegistry);
+    }
+
+    /*
+     * The outcome of transcribing one file of a batch
+     * @param index The position of the file in the upload, from 0.
+     * @param filename The file's original name.
+     * @param responses The transcription, or null when it failed.
+     * @param error Why the transcription failed, or null when it succeeded.
+     * @param elapsed The time from dispatching the file to its last result.
+     */
+    public record Result(int index, String filename, List<SpeechToTextResponse> responses, Throwable error,
+            Duration elapsed) {
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    /*
+     * Totals for a finished batch
+     * @param files The number of files in the batch.
+     * @param succeeded How many were transcribed.
+     * @param failed How many failed.
+     * @param elapsed The time from the first dispatch to the last result.
+     * @param meanFile The mean time taken per file.
+     * @param slowestFile The longest time taken by one file.
+     */
+    public record Summary(int files, int succeeded, int failed, Duration elapsed, Duration meanFile,
+            Duration slowestFile) {
+
+        public static Summary of(List<Result> results, Duration elapsed) {
+            int succeeded = (int) results.stream().filter(Result::succeeded).count();
+            long totalNanos = results.stream().mapToLong(result -> result.elapsed().toNanos()).sum();
+            Duration slowest = results.stream().map(Result::elapsed).max(Duration::compareTo).orElse(Duration.ZERO);
+            return new Summary(results.size(), succeeded, results.size() - succeeded, elapsed,
+                Duration.ofNanos(results.isEmpty() ? 0 : totalNanos / results.size()), slowest);
+        }
+    }
+
+    /**
+     * Transcribes the files with the given options, emitting each file's
+     * result as soon as it completes, so results arrive in completion order
+     * rather than upload order. Rejects an empty batch or one of more than
+     * {@code transcription.batch.max-files} files with an {@link IllegalArgumentException}.
+     */
+    public Flux<Result> transcribe(List<MultipartFile> files, String language, String model, Boolean bypassCache,
+            Duration deadline) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("At least one file is required");
+        }
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException(
+                "A batch can hold at most " + maxFiles + " files, got " + files.size());
+        }
+        batchSize.record(files.size());
+        return Flux.range(0, files.size())
+            .flatMap(index -> transcribe(index, files.get(index), language, model, bypassCache, deadline),
+                parallelism);
+    }
+
+    private Mono<Result> transcribe(int index, MultipartFile file, String language, String model,
+            Boolean bypassCache, Duration deadline) {
+        String filename = file.getOriginalFilename();
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            // Each file's transcript is reported whole, so ask Faster Whisper for it in one piece
+            SpeechToTextRequest request = new SpeechToTextRequest(file, language, model, false, bypassCache);
+            return transcribe(request, start + (deadline != null ? deadline : maxWait).toNanos())
+                .map(responses -> new Result(index, filename, responses, null, since(start)))
+                .onErrorResume(e -> {
+                    logger.warn("Batch file {} ({}) failed: {}", index, filename, e.getMessage());
+                    return Mono.just(new Result(index, filename, null, e, since(start)));
+                });
+        })
+            // Probing and hashing read the file; keep them off the event loop that completed the previous file
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Transcribes one file, waiting out admission rejections until
+     * {@code deadlineNanos}. The rest of a batch is normally what fills the
+     * queue, so a rejection is backpressure rather than a failure. Nothing
+     * has been sent upstream when admission is refused, so trying again
+     * cannot duplicate results.
+     */
+    private Mono<List<SpeechToTextResponse>> transcribe(SpeechToTextRequest request, long deadlineNanos) {
+        return Mono.defer(() -> {
+            Duration remaining = Duration.ofNanos(deadlineNanos - System.nanoTime());
+            // Admission rejects by throwing, so defer the call for the rejection to reach the handler below
+            return Flux.defer(() -> speechToTextService.transcribe(request,
+                    remaining.isNegative() ? Duration.ZERO : remaining))
+                .collectList()
+                .onErrorResume(AdmissionRejectedException.class, e -> {
+                    if (remaining.compareTo(e.getRetryAfter()) <= 0) {
+                        return Mono.error(e);
+                    }
+                    logger.debug("Batch file {} not admitted, retrying in {}",
+                        request.file().getOriginalFilename(), e.getRetryAfter());
+                    // Probing reads the file again, so wake up where blocking is allowed
+                    return Mono.delay(e.getRetryAfter(), Schedulers.boundedElastic())
+                        .then(transcribe(request, deadlineNanos));
+                });
+        });
+    }
+
+    private static Duration since(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,155 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.AudioSegmenter;
+import com.zoominfo.karan_take_home.audio.AudioSegmenter.Segment;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.config.ChunkingProperties;
+import com.zoominfo.karan_take_home.config.ChunkingProperties.Segmentation;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+import com.zoominfo.karan_take_home.multipart.TempFiles;
+import com.zoominfo.karan_take_home.multipart.WavSliceMultipartFile;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Splits long recordings into overlapping segments at pauses and transcribes
+ * them concurrently. Segment transcripts are emitted in order: the first
+ * segment streams as it is transcribed, each later one is released once it
+ * and everything before it has completed, minus the words repeated from the
+ * overlap. Only 16-bit PCM WAV can be split without a decoder; anything else
+ * is transcribed in a single request.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChunkedTranscriber {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedTranscriber.class);
+    private static final int SEGMENT_PREFETCH = 32;
+
+    private final ChunkingProperties properties;
+
+    /*
+     * The segments of one recording
+     * @param source The WAV file the segments are read from.
+     * @param owned Whether source is a copy that must be deleted once transcribed.
+     */
+    record Plan(Path source, boolean owned, WavFormat format, List<Segment> segments) {
+    }
+
+    /**
+     * Transcribes the request with {@code upstream}, once per segment when the
+     * recording is long enough to be split or once for the whole file otherwise.
+     */
+    public Flux<SpeechToTextResponse> transcribe(
+            SpeechToTextRequest request,
+            Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream) {
+        if (!properties.enabled()) {
+            return upstream.apply(request);
+        }
+        Segmentation segmentation = properties.forModel(request.model());
+        return TempFiles.usingCopy(
+                () -> plan(request, segmentation),
+                plan -> plan.filter(Plan::owned).map(Plan::source).orElse(null),
+                plan -> plan
+                        .map(p -> transcribeSegments(request, p, segmentation, upstream))
+                        .orElseGet(() -> upstream.apply(request)));
+    }
+
+    private Flux<SpeechToTextResponse> transcribeSegments(
+            SpeechToTextRequest request,
+            Plan plan,
+            Segmentation segmentation,
+            Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream) {
+        logger.debug("Transcribing {} of {} as {} segments, {} at a time",
+                plan.format().duration(), request.file().getOriginalFilename(),
+                plan.segments().size(), segmentation.parallelism());
+        List<Flux<TranscriptStitcher.Batch>> segments = new ArrayList<>(plan.segments().size());
+        for (int i = 0; i < plan.segments().size(); i++) {
+            int index = i;
+            // Segment times are relative to the segment; move them to the recording's timeline
+            double offsetSeconds = (double) plan.segments().get(index).start() / plan.format().byteRate();
+            Flux<SpeechToTextResponse> events = upstream.apply(segmentRequest(request, plan, index))
+                    .map(event -> event.mapTimes(time -> time + offsetSeconds));
+            if (index == 0) {
+                segments.add(events.map(event -> new TranscriptStitcher.Batch(index, List.of(event))));
+            } else {
+                // Later segments are held whole so their start can be compared with the previous tail
+                segments.add(events.collectList().map(list -> new TranscriptStitcher.Batch(index, list)).flux());
+            }
+        }
+        TranscriptStitcher stitcher = new TranscriptStitcher();
+        return Flux.mergeSequential(segments, segmentation.parallelism(), SEGMENT_PREFETCH)
+                .concatMapIterable(stitcher::stitch);
+    }
+
+    private static SpeechToTextRequest segmentRequest(SpeechToTextRequest request, Plan plan, int index) {
+        Segment segment = plan.segments().get(index);
+        MultipartFile file = new WavSliceMultipartFile(
+                request.file().getName(),
+                "segment-" + index + "-" + request.file().getOriginalFilename(),
+                plan.source(),
+                plan.format(),
+                segment.start(),
+                segment.end());
+        return new SpeechToTextRequest(file, request.language(), request.model(), request.stream(), true);
+    }
+
+    Optional<Plan> plan(SpeechToTextRequest request, Segmentation segmentation) throws IOException {
+        MultipartFile file = request.file();
+        Optional<WavFormat> probed;
+        try (InputStream in = file.getInputStream()) {
+            probed = WavFormat.read(in, file.getSize());
+        }
+        if (probed.isEmpty() || !probed.get().isPcm16()
+                || probed.get().duration().compareTo(properties.minDuration()) < 0) {
+            return Optional.empty();
+        }
+        WavFormat format = probed.get();
+
+        // Servlet multipart files are removed when the request ends, which can
+        // be before the last segment has been read; take a copy we own
+        boolean owned = !(file instanceof PathMultipartFile);
+        Path source = owned ? Files.createTempFile("chunked-", ".wav") : ((PathMultipartFile) file).getPath();
+        try {
+            if (owned) {
+                try (InputStream in = file.getInputStream()) {
+                    Files.copy(in, source, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            List<Segment> segments;
+            try (InputStream in = Files.newInputStream(source)) {
+                in.skipNBytes(format.dataOffset());
+                segments = AudioSegmenter.split(in, format, segmentation.segmentLength(), segmentation.overlap());
+            }
+            if (segments.size() < 2) {
+                if (owned) {
+                    TempFiles.deleteQuietly(source);
+                }
+                return Optional.empty();
+            }
+            return Optional.of(new Plan(source, owned, format, segments));
+        } catch (IOException | RuntimeException e) {
+            if (owned) {
+                TempFiles.deleteQuietly(source);
+            }
+            throw e;
+        }
+    }
+}
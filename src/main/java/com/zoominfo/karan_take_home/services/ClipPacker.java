@@ -0,0 +1,513 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.AudioInfo;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+import com.zoominfo.karan_take_home.multipart.TempFiles;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Optionally packs short 16-bit PCM WAV clips into one recording, so that
+ * Faster Whisper's fixed cost per call (and the padding of every input to a
+ * 30 second window) is paid once for several clips. Clips with the same
+ * language, model and sample format that arrive within
+ * {@code transcription.packing.max-wait} of each other are joined with
+ * silence between them, up to {@code transcription.packing.max-duration}.
+ * The packed recording is transcribed with segment timestamps, and each
+ * segment is handed back to the clip it overlaps most. Clips that share a
+ * segment running across a separator are sent on their own, and when the
+ * segments come back without times, or the packed call fails, every clip is.
+ * A clip whose caller cancels leaves its window, and a call is cancelled
+ * once none of its clips is still waiting for it. A packed call runs under
+ * none of its callers' contexts; it takes the queue place reserved for one
+ * clip still waiting as it is queued, and gives back the others'.
+ */
+@Component
+public class ClipPacker {
+    private static final Logger logger = LoggerFactory.getLogger(ClipPacker.class);
+
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Duration maxDuration;
+    private final Duration maxClipDuration;
+    private final Duration separator;
+    private final Map<Key, Window> windows = new HashMap<>();
+
+    private final Timer waited;
+    private final DistributionSummary clipsPerCall;
+    private final MeterRegistry meterRegistry;
+
+    public ClipPacker(
+            @Value("${transcription.packing.enabled:false}") boolean enabled,
+            @Value("${transcription.packing.max-wait:250ms}") Duration maxWait,
+            @Value("${transcription.packing.max-duration:28s}") Duration maxDuration,
+            @Value("${transcription.packing.max-clip-duration:5s}") Duration maxClipDuration,
+            @Value("${transcription.packing.separator:1s}") Duration separator,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+        this.maxDuration = maxDuration;
+        this.maxClipDuration = maxClipDuration;
+        this.separator = separator;
+        this.meterRegistry = meterRegistry;
+        this.waited = Timer.builder("transcription.packing.wait")
+            .description("Time each short clip waited for its packing window to close")
+            .register(meterRegistry);
+        this.clipsPerCall = DistributionSummary.builder("transcription.packing.clips")
+            .description("Number of clips sent to Faster Whisper in each packed call")
+            .register(meterRegistry);
+    }
+
+    /** Clips that may share a packed recording. */
+    record Key(String language, String model, int sampleRate, int channels) {
+    }
+
+    /**
+     * A clip waiting to be packed, with its caller's context and the call
+     * transcribing it once its window has closed. The mutable fields are
+     * guarded by the windows lock.
+     */
+    static final class Clip {
+        final SpeechToTextRequest request;
+        final WavFormat format;
+        final long enqueuedNanos;
+        final ContextView context;
+        final Sinks.One<List<SpeechToTextResponse>> result = Sinks.one();
+        /** Transcribes the clip on its own. */
+        final Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream;
+        /** Transcribes a packed recording with segment timestamps. */
+        final Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packedUpstream;
+        boolean cancelled;
+        Call call;
+
+        Clip(SpeechToTextRequest request, WavFormat format, long enqueuedNanos, ContextView context,
+                Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream,
+                Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packedUpstream) {
+            this.request = request;
+            this.format = format;
+            this.enqueuedNanos = enqueuedNanos;
+            this.context = context;
+            this.upstream = upstream;
+            this.packedUpstream = packedUpstream;
+        }
+
+        Key key() {
+            return new Key(request.language(), request.model(), format.sampleRate(), format.channels());
+        }
+    }
+
+    /** A call to Faster Whisper for one or more clips, and how many of them still want its result. */
+    private static final class Call {
+        final Disposable.Swap subscription = Disposables.swap();
+        int waiting;
+
+        Call(int waiting) {
+            this.waiting = waiting;
+        }
+    }
+
+    /** Clips collected for one packed call, and the timer that closes the window. */
+    private static final class Window {
+        final List<Clip> clips = new ArrayList<>();
+        long dataBytes;
+        Disposable timer;
+    }
+
+    /*
+     * A packed recording and where each clip sits in it
+     * @param offsets The start of each clip in the packed recording, in seconds.
+     * @param durations The length of each clip, in seconds.
+     */
+    record Packed(SpeechToTextRequest request, Path copy, double[] offsets, double[] durations) {
+    }
+
+    /**
+     * Transcribes the request with {@code upstream}, or, when it is a short
+     * 16-bit PCM WAV clip, packs it with other clips arriving shortly after
+     * and transcribes them together with {@code packedUpstream}. A packed
+     * clip's results are emitted together once the packed call completes.
+     */
+    public Flux<SpeechToTextResponse> transcribe(
+            SpeechToTextRequest request,
+            Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream,
+            Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packedUpstream) {
+        if (!enabled || !isShortPcmWav(request.audioInfo())) {
+            return upstream.apply(request);
+        }
+        return Mono.fromCallable(() -> readFormat(request))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapMany(format -> format
+                .map(f -> Flux.deferContextual(context ->
+                    enqueue(new Clip(request, f, System.nanoTime(), context, upstream, packedUpstream))))
+                .orElseGet(() -> upstream.apply(request)));
+    }
+
+    private boolean isShortPcmWav(AudioInfo info) {
+        return info != null
+            && info.container() == AudioInfo.Container.WAV
+            && "pcm_s16le".equals(info.codec())
+            && info.duration() != null
+            && info.duration().compareTo(maxClipDuration) <= 0;
+    }
+
+    private static Optional<WavFormat> readFormat(SpeechToTextRequest request) throws IOException {
+        try (InputStream in = request.file().getInputStream()) {
+            return WavFormat.read(in, request.file().getSize()).filter(WavFormat::isPcm16);
+        }
+    }
+
+    private Flux<SpeechToTextResponse> enqueue(Clip clip) {
+        Key key = clip.key();
+        long maxBytes = clip.format.byteRate() * maxDuration.toMillis() / 1000;
+        long separatorBytes = separatorBytes(clip.format);
+        List<Clip> full = null;
+        synchronized (windows) {
+            Window window = windows.get(key);
+            if (window != null && window.dataBytes + separatorBytes + clip.format.dataLength() > maxBytes) {
+                windows.remove(key);
+                window.timer.dispose();
+                full = window.clips;
+                window = null;
+            }
+            if (window == null) {
+                Window opened = new Window();
+                opened.timer = Schedulers.parallel().schedule(() -> expire(key, opened), maxWait.toNanos(),
+                    TimeUnit.NANOSECONDS);
+                windows.put(key, opened);
+                window = opened;
+            } else {
+                window.dataBytes += separatorBytes;
+            }
+            window.clips.add(clip);
+            window.dataBytes += clip.format.dataLength();
+        }
+        if (full != null) {
+            flush(full);
+        }
+        return clip.result.asMono()
+            .doOnCancel(() -> cancel(clip))
+            .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Takes a clip whose caller has gone out of its window, or, once it has
+     * been sent, cancels its call if no other clip is waiting for it.
+     */
+    private void cancel(Clip clip) {
+        Call call;
+        synchronized (windows) {
+            clip.cancelled = true;
+            Key key = clip.key();
+            Window window = windows.get(key);
+            if (window != null && window.clips.remove(clip)) {
+                if (window.clips.isEmpty()) {
+                    windows.remove(key);
+                    window.timer.dispose();
+                } else {
+                    window.dataBytes -= clip.format.dataLength() + separatorBytes(clip.format);
+                }
+                return;
+            }
+            call = clip.call;
+            if (call == null || --call.waiting > 0) {
+                return;
+            }
+        }
+        call.subscription.dispose();
+    }
+
+    private void expire(Key key, Window window) {
+        synchronized (windows) {
+            if (windows.get(key) != window) {
+                // Already flushed when it filled up
+                return;
+            }
+            windows.remove(key);
+        }
+        flush(window.clips);
+    }
+
+    private void flush(List<Clip> window) {
+        long now = System.nanoTime();
+        List<Clip> clips = new ArrayList<>(window.size());
+        Call call;
+        synchronized (windows) {
+            // A clip whose caller has left may have had its file deleted already, so it cannot be packed
+            for (Clip clip : window) {
+                if (!clip.cancelled) {
+                    clips.add(clip);
+                }
+            }
+            if (clips.size() < 2) {
+                call = null;
+            } else {
+                call = new Call(clips.size());
+                clips.forEach(clip -> clip.call = call);
+            }
+        }
+        for (Clip clip : clips) {
+            waited.record(now - clip.enqueuedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (call == null) {
+            clips.forEach(clip -> transcribeAlone(clip, "alone"));
+            return;
+        }
+        clipsPerCall.record(clips.size());
+        Clip first = clips.get(0);
+        call.subscription.update(TempFiles.usingCopy(() -> pack(clips), Packed::copy,
+                packed -> first.packedUpstream.apply(packed.request())
+                    .contextWrite(context -> reservation(clips))
+                    .collectList()
+                    .map(events -> Optional.ofNullable(split(events, packed.offsets(), packed.durations())))
+                    .flux())
+            .next()
+            .subscribe(
+                perClip -> {
+                    if (perClip.isEmpty()) {
+                        logger.debug("Packed transcription of {} clips has no segment times, sending them one by one",
+                            clips.size());
+                        clips.forEach(clip -> transcribeAlone(clip, "no_timestamps"));
+                        return;
+                    }
+                    for (int i = 0; i < clips.size(); i++) {
+                        List<SpeechToTextResponse> events = perClip.get().get(i);
+                        if (events == null) {
+                            transcribeAlone(clips.get(i), "crossed_separator");
+                        } else {
+                            complete(clips.get(i), events, "packed");
+                        }
+                    }
+                },
+                error -> {
+                    logger.warn("Packed transcription of {} clips failed, sending them one by one: {}",
+                        clips.size(), error.getMessage());
+                    clips.forEach(clip -> transcribeAlone(clip, "packing_failed"));
+                }));
+    }
+
+    /**
+     * Returns a context holding the queue place reserved for the first clip
+     * whose caller is still waiting, read as the packed call is queued, and
+     * releases the other clips' places, since their work is now part of it.
+     */
+    private Context reservation(List<Clip> clips) {
+        TranscriptionScheduler.Reservation kept = null;
+        List<TranscriptionScheduler.Reservation> released = new ArrayList<>(clips.size());
+        synchronized (windows) {
+            for (Clip clip : clips) {
+                TranscriptionScheduler.Reservation reservation =
+                    clip.context.getOrDefault(TranscriptionScheduler.Reservation.class, null);
+                if (reservation == null) {
+                    continue;
+                }
+                if (kept == null && !clip.cancelled) {
+                    kept = reservation;
+                } else {
+                    released.add(reservation);
+                }
+            }
+        }
+        released.forEach(TranscriptionScheduler.Reservation::release);
+        return kept == null ? Context.empty() : Context.of(TranscriptionScheduler.Reservation.class, kept);
+    }
+
+    private void transcribeAlone(Clip clip, String outcome) {
+        Call call = new Call(1);
+        synchronized (windows) {
+            if (clip.cancelled) {
+                return;
+            }
+            clip.call = call;
+        }
+        call.subscription.update(Flux.defer(() -> clip.upstream.apply(clip.request))
+            .collectList()
+            .contextWrite(clip.context)
+            .subscribe(
+                events -> complete(clip, events, outcome),
+                error -> {
+                    latency(outcome).record(System.nanoTime() - clip.enqueuedNanos, TimeUnit.NANOSECONDS);
+                    clip.result.tryEmitError(error);
+                }));
+    }
+
+    private void complete(Clip clip, List<SpeechToTextResponse> events, String outcome) {
+        latency(outcome).record(System.nanoTime() - clip.enqueuedNanos, TimeUnit.NANOSECONDS);
+        clip.result.tryEmitValue(events);
+    }
+
+    /**
+     * Time from a short clip reaching the packer to its transcript, by how it
+     * was transcribed: packed with others, alone because nothing else arrived
+     * in time, or alone after packing did not work out for it.
+     */
+    private Timer latency(String outcome) {
+        return Timer.builder("transcription.packing.latency")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private long separatorBytes(WavFormat format) {
+        return format.byteRate() * separator.toMillis() / 1000 / format.blockAlign() * format.blockAlign();
+    }
+
+    /** Writes the clips, separated by silence, to one WAV file. */
+    Packed pack(List<Clip> clips) throws IOException {
+        WavFormat format = clips.get(0).format;
+        long separatorBytes = separatorBytes(format);
+        long dataLength = clips.stream().mapToLong(clip -> clip.format.dataLength()).sum()
+            + separatorBytes * (clips.size() - 1);
+        WavFormat packedFormat = new WavFormat(format.audioFormat(), format.channels(), format.sampleRate(),
+            format.bitsPerSample(), format.blockAlign(), WavFormat.HEADER_BYTES, dataLength);
+        double[] offsets = new double[clips.size()];
+        double[] durations = new double[clips.size()];
+        Path copy = Files.createTempFile("packed-", ".wav");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(copy), 64 * 1024)) {
+                out.write(packedFormat.header(dataLength));
+                byte[] silence = new byte[(int) Math.min(separatorBytes, 64 * 1024)];
+                byte[] buffer = new byte[64 * 1024];
+                long written = 0;
+                for (int i = 0; i < clips.size(); i++) {
+                    if (i > 0) {
+                        for (long remaining = separatorBytes; remaining > 0; remaining -= silence.length) {
+                            out.write(silence, 0, (int) Math.min(silence.length, remaining));
+                        }
+                        written += separatorBytes;
+                    }
+                    Clip clip = clips.get(i);
+                    offsets[i] = (double) written / format.byteRate();
+                    durations[i] = (double) clip.format.dataLength() / format.byteRate();
+                    try (InputStream in = clip.request.file().getInputStream()) {
+                        in.skipNBytes(clip.format.dataOffset());
+                        copy(in, out, clip.format.dataLength(), buffer);
+                    }
+                    written += clip.format.dataLength();
+                }
+            }
+            SpeechToTextRequest first = clips.get(0).request;
+            boolean interactive = clips.stream().anyMatch(clip -> clip.request.stream());
+            AudioInfo info = new AudioInfo(AudioInfo.Container.WAV, "pcm_s16le", format.sampleRate(),
+                format.channels(), packedFormat.duration());
+            SpeechToTextRequest request = new SpeechToTextRequest(
+                new PathMultipartFile("file", "packed.wav", "audio/wav", copy),
+                first.language(), first.model(), interactive, true, info);
+            return new Packed(request, copy, offsets, durations);
+        } catch (IOException | RuntimeException e) {
+            TempFiles.deleteQuietly(copy);
+            throw e;
+        }
+    }
+
+    /**
+     * Hands each segment of a packed transcription to the clip it overlaps
+     * most (or the nearest clip, for a segment inside a separator), with its
+     * times moved to the start of that clip. Whisper can run speech on across
+     * a separator, so a segment that overlaps more than one clip may hold
+     * words from each; the entries of those clips are null, and they have to
+     * be transcribed on their own. Returns null when any segment has no times.
+     */
+    static List<List<SpeechToTextResponse>> split(List<SpeechToTextResponse> events, double[] offsets,
+            double[] durations) {
+        List<List<SpeechToTextResponse>> perClip = new ArrayList<>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            perClip.add(new ArrayList<>());
+        }
+        boolean[] crossed = new boolean[offsets.length];
+        for (SpeechToTextResponse event : events) {
+            if (event.start() == null || event.end() == null) {
+                return null;
+            }
+            int overlapped = -1;
+            for (int i = 0; i < offsets.length; i++) {
+                if (overlap(event.start(), event.end(), offsets[i], durations[i]) <= 0) {
+                    continue;
+                }
+                if (overlapped >= 0) {
+                    crossed[overlapped] = true;
+                    crossed[i] = true;
+                } else {
+                    overlapped = i;
+                }
+            }
+            int clip = owner(event.start(), event.end(), offsets, durations);
+            double offset = offsets[clip];
+            double duration = durations[clip];
+            perClip.get(clip).add(event.mapTimes(time -> Math.max(0, Math.min(duration, time - offset))));
+        }
+        for (int i = 0; i < offsets.length; i++) {
+            if (crossed[i]) {
+                perClip.set(i, null);
+            }
+        }
+        return perClip;
+    }
+
+    private static int owner(double start, double end, double[] offsets, double[] durations) {
+        int best = 0;
+        double bestOverlap = -Double.MAX_VALUE;
+        double middle = (start + end) / 2;
+        for (int i = 0; i < offsets.length; i++) {
+            double clipEnd = offsets[i] + durations[i];
+            double overlap = overlap(start, end, offsets[i], durations[i]);
+            if (overlap <= 0) {
+                // Rank clips that do not overlap by how far away they are
+                overlap = -Math.min(Math.abs(middle - offsets[i]), Math.abs(middle - clipEnd));
+            }
+            if (overlap > bestOverlap) {
+                bestOverlap = overlap;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double overlap(double start, double end, double offset, double duration) {
+        return Math.min(end, offset + duration) - Math.max(start, offset);
+    }
+
+    private static void copy(InputStream in, OutputStream out, long length, byte[] buffer) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException("WAV data ends " + remaining + " bytes early");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+}
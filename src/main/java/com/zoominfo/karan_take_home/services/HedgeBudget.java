@@ -0,0 +1,35 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket capping hedges at a fraction of requests. Each request
+ * deposits {@code ratio} of a token and each hedge withdraws a whole one.
+ * Unused tokens accumulate up to {@code maxBurst}, so a short run of slow
+ * requests can still be hedged. Under overload every request is slow, and
+ * the bucket runs dry after {@code ratio} hedges per request instead of
+ * doubling the load on Faster Whisper.
+ */
+final class HedgeBudget {
+
+    /** Balances are kept in thousandths of a token so deposits stay integral. */
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgeBudget(double ratio, int maxBurst) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = Math.max(1, maxBurst) * TOKEN;
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(deposit, (current, added) -> Math.min(capacity, current + added));
+    }
+
+    /** Takes a token for a hedge, returning false when the budget is spent. */
+    boolean tryWithdraw() {
+        return balance.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current) >= TOKEN;
+    }
+}
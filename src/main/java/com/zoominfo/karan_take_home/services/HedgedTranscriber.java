@@ -0,0 +1,147 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.config.HedgingProperties;
+import com.zoominfo.karan_take_home.routing.FasterWhisperBackend;
+import com.zoominfo.karan_take_home.routing.FasterWhisperBackendPool;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+/**
+ * Hedges streamed Faster Whisper requests so one stuck or paused backend
+ * does not decide the tail latency. When a request has produced no event
+ * after the model's recent time to first event at the configured percentile,
+ * the same audio is sent again to another backend. Whichever attempt signals
+ * first (an event, completion, or an error once the other has failed too)
+ * wins, and the other is cancelled, which closes its connection and frees
+ * its backend.
+ *
+ * Hedges are drawn from a {@link HedgeBudget}, so they add at most the
+ * configured fraction to the load. No hedge is sent until a model has
+ * enough history to take the percentile from, or while fewer than two
+ * backends are available. The time recorded for each request runs from its
+ * first attempt to its first event, so a hedged request still counts at
+ * least the hedge delay and the percentile does not ratchet down.
+ */
+@Component
+public class HedgedTranscriber {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedTranscriber.class);
+
+    private final HedgingProperties properties;
+    private final FasterWhisperBackendPool backendPool;
+    private final MeterRegistry meterRegistry;
+    private final HedgeBudget budget;
+    private final ConcurrentMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    public HedgedTranscriber(HedgingProperties properties, FasterWhisperBackendPool backendPool,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.backendPool = backendPool;
+        this.meterRegistry = meterRegistry;
+        this.budget = new HedgeBudget(properties.budget(), properties.maxBurst());
+    }
+
+    /**
+     * Streams {@code upstream}'s events for {@code model}, hedging it with a
+     * second call when it is slow to start. {@code upstream} must be safe to
+     * call twice, so its audio must be readable more than once.
+     */
+    public <T> Flux<T> transcribe(String model, Supplier<Flux<T>> upstream) {
+        if (!properties.enabled() || backendPool.backends().size() < 2) {
+            return upstream.get();
+        }
+        return Flux.defer(() -> {
+            LatencyWindow window = windows.computeIfAbsent(model, key -> new LatencyWindow(properties.window()));
+            budget.deposit();
+            long start = System.nanoTime();
+            AtomicBoolean answered = new AtomicBoolean();
+            // Attempts that have not failed before their first event
+            AtomicInteger running = new AtomicInteger(1);
+            Context attempts = Context.of(FasterWhisperBackendPool.ATTEMPTED_BACKENDS,
+                ConcurrentHashMap.<FasterWhisperBackend>newKeySet());
+
+            Flux<T> primary = attempt(upstream, running, firstEvent(answered, window, start, null));
+            long delay = hedgeDelay(window);
+            if (delay < 0) {
+                return primary.contextWrite(attempts);
+            }
+            // The hedge re-reads the audio, so keep it off the parallel scheduler
+            Flux<T> hedge = Mono.delay(Duration.ofNanos(delay), Schedulers.boundedElastic())
+                .flatMapMany(tick -> {
+                    if (backendPool.available() < 2) {
+                        return Flux.never();
+                    }
+                    if (!budget.tryWithdraw()) {
+                        counter("transcription.hedge.denied", "Hedges not sent because the hedge budget was spent",
+                            model).increment();
+                        return Flux.never();
+                    }
+                    running.incrementAndGet();
+                    counter("transcription.hedge.sent", "Requests sent again to a second Faster Whisper backend",
+                        model).increment();
+                    logger.debug("Hedging a {} request after {} ms without an event", model, delay / 1_000_000);
+                    return attempt(upstream, running, firstEvent(answered, window, start,
+                        counter("transcription.hedge.won", "Hedges whose first event arrived before the original's",
+                            model)));
+                });
+            return Flux.firstWithSignal(primary, hedge).contextWrite(attempts);
+        });
+    }
+
+    /** Returns how long to wait for a first event before hedging, or -1 when the model has too little history. */
+    private long hedgeDelay(LatencyWindow window) {
+        long percentile = window.percentile(properties.percentile(), properties.minSamples());
+        return percentile < 0 ? -1 : Math.max(percentile, properties.minDelay().toNanos());
+    }
+
+    private static <T> Flux<T> attempt(Supplier<Flux<T>> upstream, AtomicInteger running, Runnable onFirstEvent) {
+        AtomicBoolean emitted = new AtomicBoolean();
+        return Flux.defer(upstream)
+            .doOnNext(event -> {
+                if (emitted.compareAndSet(false, true)) {
+                    onFirstEvent.run();
+                }
+            })
+            .onErrorResume(error -> {
+                // Leave the race to the other attempt while it may still answer
+                if (!emitted.get() && running.decrementAndGet() > 0) {
+                    logger.debug("Hedged attempt failed before its first event: {}", error.toString());
+                    return Flux.never();
+                }
+                return Flux.error(error);
+            });
+    }
+
+    private static Runnable firstEvent(AtomicBoolean answered, LatencyWindow window, long start, Counter won) {
+        return () -> {
+            if (answered.compareAndSet(false, true)) {
+                window.record(System.nanoTime() - start);
+                if (won != null) {
+                    won.increment();
+                }
+            }
+        };
+    }
+
+    private Counter counter(String name, String description, String model) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("model", model)
+            .register(meterRegistry);
+    }
+}
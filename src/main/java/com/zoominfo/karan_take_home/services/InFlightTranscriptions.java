@@ -0,0 +1,159 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.cache.TranscriptionKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+
+/**
+ * Single-flight registry of running transcriptions.
+ *
+ * Callers asking for a key that is already being transcribed are attached to
+ * the running upstream stream instead of starting a second inference. Late
+ * joiners first receive the events emitted so far, then the live ones. The
+ * upstream call is cancelled only once every attached caller has cancelled.
+ * A flight is removed as soon as it terminates or is cancelled and is never
+ * restarted: a caller that subscribes after that starts a new flight from its
+ * own supplier, since the first caller's upload may be gone by then.
+ *
+ * The upstream call outlives the caller that started it when others are
+ * attached, so it runs without any caller's subscriber context, and the
+ * supplier has to give it anything it needs, its own copy of the audio
+ * included.
+ */
+@Component
+public class InFlightTranscriptions {
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightTranscriptions.class);
+
+    private final ConcurrentMap<TranscriptionKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public InFlightTranscriptions(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("transcription.inflight.coalesced")
+            .register(meterRegistry);
+        Gauge.builder("transcription.inflight", inFlight, ConcurrentMap::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns a stream that, on subscription, attaches to the running flight
+     * for the key or starts one from the supplier when none is running. The
+     * supplier is invoked at most once per flight.
+     */
+    public Flux<SpeechToTextResponse> join(TranscriptionKey key, Supplier<Flux<SpeechToTextResponse>> upstream) {
+        return join(key, upstream, () -> {
+        });
+    }
+
+    /**
+     * Joins as {@link #join(TranscriptionKey, Supplier)}, running
+     * {@code attached} when the subscriber attaches to a running flight
+     * rather than starting one, e.g. to give back what it took to start one.
+     */
+    public Flux<SpeechToTextResponse> join(TranscriptionKey key, Supplier<Flux<SpeechToTextResponse>> upstream,
+            Runnable attached) {
+        return Flux.defer(() -> {
+            while (true) {
+                Flight flight = inFlight.get(key);
+                if (flight == null) {
+                    Flight started = new Flight(key, upstream);
+                    flight = inFlight.putIfAbsent(key, started);
+                    if (flight == null) {
+                        return started.attach();
+                    }
+                }
+                Flux<SpeechToTextResponse> events = flight.attach();
+                if (events != null) {
+                    coalesced.increment();
+                    logger.debug("Attaching to in-flight transcription {}", key.audioSha256());
+                    attached.run();
+                    return events;
+                }
+                // It finished or was cancelled since the lookup; it removes itself, but do not wait on that
+                inFlight.remove(key, flight);
+            }
+        });
+    }
+
+    /** Whether a flight for the key is running, so that a caller subscribing now would attach to it. */
+    public boolean isRunning(TranscriptionKey key) {
+        return inFlight.containsKey(key);
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * One upstream call shared by its attached subscribers. Counts them
+     * itself rather than with {@code refCount()}, which would reconnect, and
+     * so re-run the supplier, for a subscriber arriving after it closed.
+     */
+    private final class Flight {
+        private final TranscriptionKey key;
+        private final Flux<SpeechToTextResponse> events;
+        private Disposable connection;
+        private int subscribers;
+        private boolean closed;
+
+        Flight(TranscriptionKey key, Supplier<Flux<SpeechToTextResponse>> upstream) {
+            this.key = key;
+            this.events = Flux.defer(upstream)
+                .contextWrite(context -> Context.empty())
+                .doFinally(signal -> close())
+                .replay()
+                .autoConnect(1, this::connected);
+        }
+
+        /** Returns the shared events for one more subscriber, or null once closed. */
+        synchronized Flux<SpeechToTextResponse> attach() {
+            if (closed) {
+                return null;
+            }
+            subscribers++;
+            return events.doFinally(signal -> detach());
+        }
+
+        private synchronized void connected(Disposable disposable) {
+            connection = disposable;
+        }
+
+        private void detach() {
+            synchronized (this) {
+                if (--subscribers > 0) {
+                    return;
+                }
+            }
+            close();
+        }
+
+        private void close() {
+            Disposable upstreamCall;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                upstreamCall = connection;
+            }
+            inFlight.remove(key, this);
+            if (upstreamCall != null) {
+                upstreamCall.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The most recent latencies of one kind in a fixed-size ring, read back as a
+ * percentile. Recording claims a slot with a single atomic increment, so
+ * request threads do not contend; reading copies and sorts the ring, which is
+ * a few microseconds at the sizes used.
+ */
+final class LatencyWindow {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    LatencyWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A latency window needs at least one slot");
+        }
+        this.samples = new AtomicLongArray(size);
+    }
+
+    void record(long nanos) {
+        samples.set((int) (recorded.getAndIncrement() % samples.length()), nanos);
+    }
+
+    /**
+     * Returns the {@code percentile} (0 to 1) of the latencies in the window
+     * in nanoseconds, or -1 while fewer than {@code minSamples} have been
+     * recorded.
+     */
+    long percentile(double percentile, int minSamples) {
+        int count = (int) Math.min(recorded.get(), samples.length());
+        if (count == 0 || count < minSamples) {
+            return -1;
+        }
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
@@ -0,0 +1,125 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.clients.FasterWhisperClient;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.interceptors.UpstreamResponseTimeout;
+import com.zoominfo.karan_take_home.metrics.TranscriptionMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Starts {@link LiveTranscription} sessions for the live captioning
+ * WebSocket. Each window a session sends goes through
+ * {@link TranscriptionScheduler} in the interactive lane, so live captions
+ * share Faster Whisper with uploads rather than overrunning it. Windows skip
+ * admission control once a session is running, so a session is only started
+ * while the model would admit an upload and fewer than
+ * {@code transcription.live.max-sessions} are open.
+ */
+@Component
+public class LiveTranscriber {
+
+    static final String DEFAULT_LANGUAGE = "en";
+    static final String DEFAULT_MODEL = "Systran/faster-whisper-small";
+    /** Retry-After for a session refused because too many are open; nothing estimates when one will end. */
+    private static final Duration SESSIONS_RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final FasterWhisperClient fasterWhisperClient;
+    private final TranscriptionScheduler transcriptionScheduler;
+    private final TranscriptionMetrics transcriptionMetrics;
+    private final HedgedTranscriber hedgedTranscriber;
+    private final AdmissionControl admissionControl;
+    private final LiveTranscription.Settings settings;
+    private final int maxSessions;
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final Timer partialLatency;
+    private final Timer finalLatency;
+    private final Counter throttled;
+
+    public LiveTranscriber(
+            FasterWhisperClient fasterWhisperClient,
+            TranscriptionScheduler transcriptionScheduler,
+            TranscriptionMetrics transcriptionMetrics,
+            HedgedTranscriber hedgedTranscriber,
+            AdmissionControl admissionControl,
+            @Value("${transcription.live.step:1s}") Duration step,
+            @Value("${transcription.live.max-window:20s}") Duration maxWindow,
+            @Value("${transcription.live.max-backlog:10s}") Duration maxBacklog,
+            @Value("${transcription.live.max-sessions:4}") int maxSessions,
+            MeterRegistry meterRegistry) {
+        this.fasterWhisperClient = fasterWhisperClient;
+        this.transcriptionScheduler = transcriptionScheduler;
+        this.transcriptionMetrics = transcriptionMetrics;
+        this.hedgedTranscriber = hedgedTranscriber;
+        this.admissionControl = admissionControl;
+        this.settings = new LiveTranscription.Settings(step, maxWindow, maxBacklog);
+        this.maxSessions = maxSessions;
+        this.partialLatency = latency("partial", meterRegistry);
+        this.finalLatency = latency("final", meterRegistry);
+        this.throttled = Counter.builder("transcription.live.throttled")
+            .description("Times a live session's sender was held back because transcription fell behind")
+            .register(meterRegistry);
+        Gauge.builder("transcription.live.sessions", sessions, AtomicInteger::get)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts a session for 16-bit little-endian mono PCM at {@code sampleRate},
+     * throwing {@link IllegalArgumentException} for a rate that cannot be
+     * resampled to 16 kHz, or {@link AdmissionRejectedException} when
+     * {@code transcription.live.max-sessions} are already open or the model
+     * is too busy to admit an upload.
+     */
+    public LiveTranscription start(int sampleRate, String language, String model) {
+        String lang = language == null || language.isEmpty() ? DEFAULT_LANGUAGE : language;
+        String mdl = model == null || model.isEmpty() ? DEFAULT_MODEL : model;
+        if (sessions.incrementAndGet() > maxSessions) {
+            sessions.decrementAndGet();
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many live sessions are open", SESSIONS_RETRY_AFTER);
+        }
+        try {
+            // Only asks whether an upload would be admitted now; the session's windows are scheduled without a place
+            admissionControl.admit(mdl, null).release();
+            return new LiveTranscription(sampleRate, settings,
+                file -> transcribeWindow(file, lang, mdl),
+                partialLatency, finalLatency, throttled, sessions::decrementAndGet);
+        } catch (RuntimeException e) {
+            sessions.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private Flux<SpeechToTextResponse> transcribeWindow(MultipartFile file, String language, String model) {
+        Duration window = Duration.ofMillis(
+            (file.getSize() - WavFormat.HEADER_BYTES) * 1000 / LiveTranscription.BYTES_PER_SECOND);
+        return transcriptionScheduler.schedule(
+            new TranscriptionScheduler.Job(model, TranscriptionScheduler.Lane.INTERACTIVE, window),
+            () -> transcriptionMetrics.measure(model, window, SpeechToTextService.toResponses(
+                    hedgedTranscriber.transcribe(model,
+                        () -> fasterWhisperClient.transcribeWithTimestamps(file, language, model))))
+                .contextWrite(UpstreamResponseTimeout.forAudio(window)));
+    }
+
+    private static Timer latency(String type, MeterRegistry meterRegistry) {
+        return Timer.builder("transcription.live.latency")
+            .description("Time from the newest audio in a live window arriving until its caption is sent")
+            .tag("type", type)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
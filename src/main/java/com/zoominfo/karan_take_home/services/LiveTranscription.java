@@ -0,0 +1,437 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.PcmNormalizer;
+import com.zoominfo.karan_take_home.audio.PcmResampler;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.multipart.ByteArrayMultipartFile;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * One live captioning session. Raw 16-bit little-endian mono PCM arrives in
+ * frames of any size, is resampled to 16 kHz and appended to a sliding
+ * window, and each time another {@code step} of audio has arrived the whole
+ * window is transcribed. Words at the start of the window that two
+ * consecutive hypotheses agree on are committed and sent as a final caption;
+ * the rest of the latest hypothesis is sent as a partial caption that the next
+ * one replaces. Once every word of a segment is committed its audio leaves
+ * the window, so each call stays short however long the session runs.
+ *
+ * At most one window is transcribed at a time. Audio arriving meanwhile is
+ * backlog, and {@link #ready()} holds the sender back while there is more of
+ * it than {@code maxBacklog}. Instances are thread-safe.
+ */
+public class LiveTranscription {
+    private static final Logger logger = LoggerFactory.getLogger(LiveTranscription.class);
+
+    static final int SAMPLE_RATE = PcmNormalizer.TARGET_SAMPLE_RATE;
+    static final int BYTES_PER_SECOND = SAMPLE_RATE * 2;
+    /** Consecutive failed windows after which the session gives up. */
+    static final int MAX_FAILURES = 3;
+
+    private static final WavFormat FORMAT =
+        new WavFormat(WavFormat.FORMAT_PCM, 1, SAMPLE_RATE, 16, 2, WavFormat.HEADER_BYTES, 0);
+
+    public enum Type {
+        PARTIAL,
+        FINAL
+    }
+
+    /*
+     * A caption sent to the client
+     * @param type FINAL for committed text, PARTIAL for text a later hypothesis may still change.
+     * @param text The caption's words. A final is appended to the transcript and clears the partial; a partial replaces the previous one.
+     * @param start The start of the text in seconds from the start of the stream, or null when unknown.
+     * @param end The end of the text in seconds from the start of the stream, or null when unknown.
+     * @param latency The time from the newest audio in the transcribed window arriving until the caption was sent.
+     */
+    public record Caption(Type type, String text, Double start, Double end, Duration latency) {
+    }
+
+    /*
+     * How a session slides its window
+     * @param step The new audio that triggers the next transcription of the window.
+     * @param maxWindow The longest window; beyond it everything but the last segment is committed whether or not it is stable.
+     * @param maxBacklog The most audio allowed to wait for the transcription in flight before the sender is held back.
+     */
+    public record Settings(Duration step, Duration maxWindow, Duration maxBacklog) {
+    }
+
+    private record Word(String text, String key, int segment) {
+    }
+
+    private final int stepBytes;
+    private final int maxWindowBytes;
+    private final int maxBacklogBytes;
+    private final Function<MultipartFile, Flux<SpeechToTextResponse>> upstream;
+    private final Timer partialLatency;
+    private final Timer finalLatency;
+    private final Counter throttled;
+    private final Runnable onClose;
+    private final PcmResampler resampler;
+    private final Sinks.Many<Caption> captions = Sinks.many().unicast().onBackpressureBuffer();
+
+    /** The window: 16 kHz mono 16-bit samples, of which {@code length} bytes are used. */
+    private byte[] audio = new byte[BYTES_PER_SECOND * 4];
+    private int length;
+    /** Seconds of the stream that have left the window. */
+    private double offset;
+    /** Bytes of the window included in the latest transcription. */
+    private int submitted;
+    private long lastArrivalNanos;
+
+    /** Words of the latest hypothesis, of which the first {@code committed} have been sent as final. */
+    private List<Word> previous = List.of();
+    private int committed;
+    private String partial = "";
+
+    private int pendingByte = -1;
+    private float[] decoded = new float[0];
+    private float[] resampled = new float[0];
+
+    private Sinks.Empty<Void> readiness;
+    private Disposable inFlight;
+    private int failures;
+    private boolean ending;
+    private boolean closed;
+
+    LiveTranscription(int sampleRate, Settings settings, Function<MultipartFile, Flux<SpeechToTextResponse>> upstream,
+            Timer partialLatency, Timer finalLatency, Counter throttled, Runnable onClose) {
+        if (!PcmResampler.supports(sampleRate, SAMPLE_RATE)) {
+            throw new IllegalArgumentException("Unsupported sample rate: " + sampleRate);
+        }
+        this.stepBytes = toBytes(settings.step());
+        this.maxWindowBytes = toBytes(settings.maxWindow());
+        this.maxBacklogBytes = toBytes(settings.maxBacklog());
+        this.upstream = upstream;
+        this.partialLatency = partialLatency;
+        this.finalLatency = finalLatency;
+        this.throttled = throttled;
+        this.onClose = onClose;
+        this.resampler = sampleRate == SAMPLE_RATE ? null : new PcmResampler(sampleRate, SAMPLE_RATE);
+    }
+
+    /** The captions of the session, completing after the last final once {@link #end()} is called. */
+    public Flux<Caption> captions() {
+        return captions.asFlux();
+    }
+
+    /** Appends a frame of audio, which may split a sample across frames. */
+    public synchronized void accept(ByteBuffer frame) {
+        if (ending || closed) {
+            return;
+        }
+        lastArrivalNanos = System.nanoTime();
+        if (resampler == null) {
+            int size = frame.remaining();
+            ensureCapacity(length + size);
+            frame.get(audio, length, size);
+            length += size;
+        } else {
+            resample(frame);
+        }
+        submitIfDue();
+    }
+
+    /**
+     * Completes straight away while the backlog is within bounds; otherwise
+     * completes once the transcription in flight returns and the backlog is
+     * taken into the next window, or the session closes.
+     */
+    public synchronized Mono<Void> ready() {
+        if (closed || backlog() <= maxBacklogBytes) {
+            return Mono.empty();
+        }
+        if (readiness == null) {
+            readiness = Sinks.empty();
+            throttled.increment();
+        }
+        return readiness.asMono();
+    }
+
+    /** Marks the end of the audio: what is left of the window is transcribed and committed, then captions complete. */
+    public synchronized void end() {
+        if (ending || closed) {
+            return;
+        }
+        ending = true;
+        if (resampler != null) {
+            ensureResampleBuffers(0);
+            append(resampled, resampler.flush(resampled));
+        }
+        submitIfDue();
+    }
+
+    /** Abandons the session, e.g. when the client disconnects. */
+    public synchronized void cancel() {
+        if (inFlight != null) {
+            inFlight.dispose();
+        }
+        close();
+        captions.tryEmitComplete();
+    }
+
+    private int backlog() {
+        return (length & ~1) - submitted;
+    }
+
+    private void submitIfDue() {
+        if (inFlight != null || closed) {
+            return;
+        }
+        int window = length & ~1;
+        boolean last = ending;
+        if (!last && window - submitted < stepBytes) {
+            return;
+        }
+        if (window == 0) {
+            close();
+            captions.tryEmitComplete();
+            return;
+        }
+        byte[] wav = new byte[WavFormat.HEADER_BYTES + window];
+        System.arraycopy(FORMAT.header(window), 0, wav, 0, WavFormat.HEADER_BYTES);
+        System.arraycopy(audio, 0, wav, WavFormat.HEADER_BYTES, window);
+        MultipartFile file = new ByteArrayMultipartFile("file", "live.wav", "audio/wav", wav);
+        long arrival = lastArrivalNanos;
+        submitted = window;
+        signalReady();
+        inFlight = Mono.defer(() -> upstream.apply(file).collectList())
+            // Encoding the upload stays off the thread reading the socket
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(
+                segments -> onHypothesis(segments, window, arrival, last),
+                e -> onFailure(e, last));
+    }
+
+    private synchronized void onHypothesis(List<SpeechToTextResponse> segments, int window, long arrivalNanos,
+            boolean last) {
+        inFlight = null;
+        if (closed) {
+            return;
+        }
+        failures = 0;
+        Duration latency = Duration.ofNanos(System.nanoTime() - arrivalNanos);
+        List<Word> words = words(segments);
+        int[] wordsPerSegment = new int[segments.size()];
+        for (Word word : words) {
+            wordsPerSegment[word.segment()]++;
+        }
+
+        // A hypothesis can come back shorter than what was already committed from the same audio
+        committed = Math.min(committed, words.size());
+        int agreed = committed + agreement(previous, words, committed);
+        boolean overlong = window > maxWindowBytes;
+        if (overlong && segments.size() > 1) {
+            agreed = Math.max(agreed, words.size() - wordsPerSegment[segments.size() - 1]);
+        }
+        agreed = Math.min(Math.max(agreed, committed), words.size());
+
+        // The window can move past every segment whose words are all committed, except the one still being spoken
+        int cutWords = 0;
+        int cutBytes = 0;
+        int through = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            through += wordsPerSegment[i];
+            Double end = segments.get(i).end();
+            if (through > agreed || (i == segments.size() - 1 && !last) || end == null) {
+                break;
+            }
+            cutWords = through;
+            cutBytes = Math.min(window, toBytes(end));
+        }
+        if (last || (overlong && cutBytes == 0)) {
+            agreed = words.size();
+            cutWords = words.size();
+            cutBytes = window;
+        }
+
+        if (agreed > committed) {
+            emit(Type.FINAL, words.subList(committed, agreed), segments, latency);
+            committed = agreed;
+            partial = "";
+        }
+        List<Word> unstable = words.subList(committed, words.size());
+        String text = join(unstable);
+        if (!text.isEmpty() && !text.equals(partial)) {
+            emit(Type.PARTIAL, unstable, segments, latency);
+            partial = text;
+        }
+
+        drop(cutBytes);
+        committed -= cutWords;
+        previous = new ArrayList<>(words.subList(cutWords, words.size()));
+        if (last) {
+            close();
+            captions.tryEmitComplete();
+        } else {
+            submitIfDue();
+        }
+    }
+
+    private synchronized void onFailure(Throwable e, boolean last) {
+        inFlight = null;
+        if (closed) {
+            return;
+        }
+        failures++;
+        if (last || failures >= MAX_FAILURES) {
+            logger.warn("Live transcription failed after {} attempts: {}", failures, e.getMessage());
+            close();
+            captions.tryEmitError(e);
+            return;
+        }
+        logger.debug("Live transcription window failed, retrying: {}", e.getMessage());
+        // Nothing of the window was transcribed, so send it again straight away
+        submitted = 0;
+        submitIfDue();
+    }
+
+    private void emit(Type type, List<Word> words, List<SpeechToTextResponse> segments, Duration latency) {
+        Double start = segments.get(words.get(0).segment()).start();
+        Double end = segments.get(words.get(words.size() - 1).segment()).end();
+        (type == Type.FINAL ? finalLatency : partialLatency).record(latency);
+        captions.tryEmitNext(new Caption(type, join(words),
+            start == null ? null : offset + start,
+            end == null ? null : offset + end,
+            latency));
+    }
+
+    private void drop(int bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        System.arraycopy(audio, bytes, audio, 0, length - bytes);
+        length -= bytes;
+        submitted = Math.max(0, submitted - bytes);
+        offset += (double) bytes / BYTES_PER_SECOND;
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        signalReady();
+        onClose.run();
+    }
+
+    private void signalReady() {
+        if (readiness != null && (closed || backlog() <= maxBacklogBytes)) {
+            readiness.tryEmitEmpty();
+            readiness = null;
+        }
+    }
+
+    private void resample(ByteBuffer frame) {
+        int bytes = frame.remaining() + (pendingByte >= 0 ? 1 : 0);
+        int samples = bytes / 2;
+        ensureResampleBuffers(samples);
+        int count = 0;
+        if (pendingByte >= 0 && frame.hasRemaining()) {
+            decoded[count++] = ((pendingByte & 0xFF) | (frame.get() << 8)) / 32768f;
+            pendingByte = -1;
+        }
+        while (frame.remaining() >= 2) {
+            decoded[count++] = ((frame.get() & 0xFF) | (frame.get() << 8)) / 32768f;
+        }
+        if (frame.hasRemaining()) {
+            pendingByte = frame.get();
+        }
+        append(resampled, resampler.process(decoded, 0, count, resampled));
+    }
+
+    private void ensureResampleBuffers(int samples) {
+        if (decoded.length < samples) {
+            decoded = new float[samples];
+        }
+        int output = resampler.maxOutput(samples);
+        if (resampled.length < output) {
+            resampled = new float[output];
+        }
+    }
+
+    private void append(float[] samples, int count) {
+        ensureCapacity(length + count * 2);
+        for (int i = 0; i < count; i++) {
+            float clamped = Math.max(-1f, Math.min(1f, samples[i]));
+            int sample = Math.round(clamped * 32767f);
+            audio[length++] = (byte) sample;
+            audio[length++] = (byte) (sample >> 8);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > audio.length) {
+            audio = Arrays.copyOf(audio, Math.max(capacity, audio.length * 2));
+        }
+    }
+
+    private static List<Word> words(List<SpeechToTextResponse> segments) {
+        List<Word> words = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            String text = segments.get(i).text();
+            if (text == null) {
+                continue;
+            }
+            for (String word : text.trim().split("\\s+")) {
+                if (!word.isEmpty()) {
+                    words.add(new Word(word, key(word), i));
+                }
+            }
+        }
+        return words;
+    }
+
+    /** How many words after the first {@code from} the two hypotheses have in common, ignoring case and punctuation. */
+    private static int agreement(List<Word> previous, List<Word> current, int from) {
+        int agreed = 0;
+        while (from + agreed < previous.size() && from + agreed < current.size()
+                && previous.get(from + agreed).key().equals(current.get(from + agreed).key())) {
+            agreed++;
+        }
+        return agreed;
+    }
+
+    private static String key(String word) {
+        return word.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+    }
+
+    private static String join(List<Word> words) {
+        StringBuilder text = new StringBuilder();
+        for (Word word : words) {
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(word.text());
+        }
+        return text.toString();
+    }
+
+    private static int toBytes(Duration duration) {
+        return (int) (duration.toNanos() * BYTES_PER_SECOND / 1_000_000_000L) & ~1;
+    }
+
+    private static int toBytes(double seconds) {
+        return (int) Math.round(seconds * BYTES_PER_SECOND) & ~1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.zoominfo.karan_take_home.services;
+
+/**
+ * Told the position of a transcription in the {@link TranscriptionScheduler}
+ * queue while it waits for a dispatch slot. Put into the subscriber context
+ * under this class to receive updates; a position of 1 means next in line.
+ * Called on arbitrary threads and must not block.
+ */
+@FunctionalInterface
+public interface QueuePositionListener {
+    void onQueuePosition(int position);
+}
@@ -0,0 +1,140 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.AudioInfo;
+import com.zoominfo.karan_take_home.audio.AudioSegmenter.Segment;
+import com.zoominfo.karan_take_home.audio.SpeechTimeline;
+import com.zoominfo.karan_take_home.audio.VoiceActivityDetector;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+import com.zoominfo.karan_take_home.multipart.TempFiles;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+
+/**
+ * Optionally cuts long stretches without speech, such as time on hold, out of
+ * 16-bit PCM WAV uploads before they are transcribed, so Whisper neither
+ * spends time on them nor hallucinates text in them. Segment
+ * times that come back are moved from the trimmed audio to the original.
+ */
+@Component
+public class SilenceTrimmer {
+    private static final Logger logger = LoggerFactory.getLogger(SilenceTrimmer.class);
+
+    private final boolean enabled;
+    private final VoiceActivityDetector.Settings settings;
+    private final DistributionSummary removed;
+
+    public SilenceTrimmer(
+            @Value("${transcription.vad.enabled:false}") boolean enabled,
+            @Value("${transcription.vad.min-silence:1s}") Duration minSilence,
+            @Value("${transcription.vad.padding:250ms}") Duration padding,
+            @Value("${transcription.vad.threshold-db:12}") double thresholdDb,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.settings = new VoiceActivityDetector.Settings(minSilence, padding, thresholdDb);
+        this.removed = DistributionSummary.builder("transcription.vad.removed")
+            .description("Share of each recording's audio removed as silence")
+            .baseUnit("percent")
+            .register(meterRegistry);
+    }
+
+    /*
+     * A request whose file may have had silence cut out
+     * @param timeline Maps times in the trimmed file to the original, or null when nothing was cut.
+     * @param copy The trimmed file to delete once transcribed, or null when the original is used.
+     */
+    record Trimmed(SpeechToTextRequest request, SpeechTimeline timeline, Path copy) {
+    }
+
+    /**
+     * Transcribes the request with {@code upstream}, passing it a copy without
+     * long silences where any were found. The copy is deleted once the
+     * transcription terminates or is cancelled.
+     */
+    public Flux<SpeechToTextResponse> transcribe(
+            SpeechToTextRequest request,
+            Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream) {
+        if (!enabled) {
+            return upstream.apply(request);
+        }
+        return TempFiles.usingCopy(() -> trim(request), Trimmed::copy, trimmed -> {
+            Flux<SpeechToTextResponse> events = upstream.apply(trimmed.request());
+            SpeechTimeline timeline = trimmed.timeline();
+            return timeline == null ? events : events.map(event -> event.mapTimes(timeline::toOriginal));
+        });
+    }
+
+    Trimmed trim(SpeechToTextRequest request) {
+        MultipartFile file = request.file();
+        try {
+            Optional<WavFormat> probed;
+            List<Segment> silences;
+            try (InputStream in = file.getInputStream()) {
+                probed = WavFormat.read(in, file.getSize());
+                if (probed.isEmpty() || !probed.get().isPcm16()) {
+                    return new Trimmed(request, null, null);
+                }
+                silences = VoiceActivityDetector.silences(in, probed.get(), settings);
+            }
+            WavFormat format = probed.get();
+            SpeechTimeline timeline = SpeechTimeline.of(silences, format);
+            // Nothing to cut, or no speech found at all, which is more likely a misjudged level than a blank recording
+            if (silences.isEmpty() || timeline.removedPercent() >= 100) {
+                removed.record(0);
+                return new Trimmed(request, null, null);
+            }
+            removed.record(timeline.removedPercent());
+            return trimmed(request, format, silences, timeline);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to check {} for silence, sending it as uploaded: {}",
+                file.getOriginalFilename(), e.getMessage());
+            return new Trimmed(request, null, null);
+        }
+    }
+
+    private Trimmed trimmed(SpeechToTextRequest request, WavFormat format, List<Segment> silences,
+            SpeechTimeline timeline) throws IOException {
+        MultipartFile file = request.file();
+        Path copy = Files.createTempFile("trimmed-", ".wav");
+        try {
+            WavFormat output;
+            try (InputStream in = file.getInputStream();
+                    OutputStream out = new BufferedOutputStream(Files.newOutputStream(copy), 64 * 1024)) {
+                WavFormat.read(in, file.getSize());
+                output = VoiceActivityDetector.writeWithout(in, format, silences, out);
+            }
+            logger.debug("Removed {}s of silence ({}%) from {}", Math.round(timeline.removedSeconds()),
+                Math.round(timeline.removedPercent()), file.getOriginalFilename());
+            // The scheduler orders work by how much audio is actually sent
+            AudioInfo info = new AudioInfo(AudioInfo.Container.WAV, "pcm_s16le", output.sampleRate(),
+                output.channels(), output.duration());
+            return new Trimmed(new SpeechToTextRequest(
+                new PathMultipartFile(file.getName(), file.getOriginalFilename(), "audio/wav", copy),
+                request.language(), request.model(), request.stream(), request.bypassCache(), info), timeline, copy);
+        } catch (IOException | RuntimeException e) {
+            TempFiles.deleteQuietly(copy);
+            throw e;
+        }
+    }
+}
@@ -1,29 +1,226 @@
 package com.zoominfo.karan_take_home.services;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.zoominfo.karan_take_home.FasterWhisperResponse;
 import com.zoominfo.karan_take_home.SpeechToTextRequest;
 import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.SpeechToTextStreamRequest;
+import com.zoominfo.karan_take_home.audio.AudioDurations;
+import com.zoominfo.karan_take_home.audio.AudioProbe;
+import com.zoominfo.karan_take_home.cache.TranscriptStore;
+import com.zoominfo.karan_take_home.cache.TranscriptionCache;
+import com.zoominfo.karan_take_home.cache.TranscriptionKey;
 import com.zoominfo.karan_take_home.clients.FasterWhisperClient;
+import com.zoominfo.karan_take_home.clients.FasterWhisperStreamingClient;
 import com.zoominfo.karan_take_home.dto.incoming.FasterWhisperResponseDto;
+import com.zoominfo.karan_take_home.interceptors.UpstreamResponseTimeout;
+import com.zoominfo.karan_take_home.metrics.TranscriptionMetrics;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+import com.zoominfo.karan_take_home.multipart.TempFiles;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
 @Service
 @RequiredArgsConstructor
 public class SpeechToTextService {
     private final FasterWhisperClient fasterWhisperClient;
-    
+    private final FasterWhisperStreamingClient fasterWhisperStreamingClient;
+    private final TranscriptionCache transcriptionCache;
+    private final TranscriptStore transcriptStore;
+    private final InFlightTranscriptions inFlightTranscriptions;
+    private final ChunkedTranscriber chunkedTranscriber;
+    private final AdmissionControl admissionControl;
+    private final TranscriptionScheduler transcriptionScheduler;
+    private final AudioNormalizer audioNormalizer;
+    private final SilenceTrimmer silenceTrimmer;
+    private final ClipPacker clipPacker;
+    private final TranscriptionMetrics transcriptionMetrics;
+    private final HedgedTranscriber hedgedTranscriber;
+
+    /**
+     * Transcribes the request, replaying a previous result for identical audio,
+     * language and model from the in-memory cache or the on-disk store when one
+     * exists, or attaching to an identical transcription that is already
+     * running. Only streams that complete normally are remembered.
+     */
     public Flux<SpeechToTextResponse> transcribe(SpeechToTextRequest request) {
-        return fasterWhisperClient
-                .transcribe(request.file(), request.language(), request.model(), request.stream())
+        return transcribe(request, null);
+    }
+
+    /**
+     * Transcribes the request as {@link #transcribe(SpeechToTextRequest)},
+     * first checking that it can be admitted within {@code deadline} (the
+     * configured default when null). A request that cannot is rejected by
+     * throwing an {@link com.zoominfo.karan_take_home.exception.AdmissionRejectedException}
+     * before any audio is sent upstream, as is a file that is empty or not
+     * audio, with an {@link IllegalArgumentException}. Only a request that
+     * starts an upstream call is checked: one replayed from the cache or
+     * store, or attached to a running call, adds no work.
+     */
+    public Flux<SpeechToTextResponse> transcribe(SpeechToTextRequest unprobed, Duration deadline) {
+        SpeechToTextRequest request = unprobed.audioInfo() != null
+                ? unprobed
+                : unprobed.withAudioInfo(AudioProbe.probe(unprobed.file()));
+        if (request.bypassCache()) {
+            TranscriptionScheduler.Reservation reservation = admissionControl.admit(request.model(), deadline);
+            return holding(reservation, () -> transcribeUpstream(request));
+        }
+        TranscriptionKey key = TranscriptionKey.from(request);
+        List<SpeechToTextResponse> cached = lookup(key);
+        if (cached != null) {
+            return Flux.fromIterable(cached);
+        }
+        TranscriptionScheduler.Reservation reservation = inFlightTranscriptions.isRunning(key)
+                ? null
+                : admissionControl.admit(request.model(), deadline);
+        return inFlightTranscriptions.join(key, () -> {
+            List<SpeechToTextResponse> events = new ArrayList<>();
+            // The call this caller found running may have ended since, leaving it to start one after all
+            TranscriptionScheduler.Reservation held = reservation != null
+                    ? reservation
+                    : admissionControl.admit(request.model(), deadline);
+            // Held by the call rather than the caller, which may leave while others still wait on it
+            return holding(held, () -> transcribeCopy(request))
+                    .doOnNext(events::add)
+                    .doOnComplete(() -> remember(key, events));
+        }, () -> {
+            if (reservation != null) {
+                reservation.release();
+            }
+        });
+    }
+
+    /**
+     * Transcribes audio that is still being received, passing it through to
+     * Faster Whisper buffer by buffer. The audio is never held in full, so it
+     * cannot be hashed up front and bypasses the cache and in-flight coalescing.
+     */
+    public Flux<SpeechToTextResponse> transcribeStream(SpeechToTextStreamRequest request) {
+        return transcribeStream(request, null);
+    }
+
+    /**
+     * Transcribes streamed audio as {@link #transcribeStream(SpeechToTextStreamRequest)},
+     * after the same admission check as {@link #transcribe(SpeechToTextRequest, Duration)}.
+     * The inbound body is not read until the scheduler dispatches it.
+     */
+    public Flux<SpeechToTextResponse> transcribeStream(SpeechToTextStreamRequest request, Duration deadline) {
+        TranscriptionScheduler.Reservation reservation = admissionControl.admit(request.model(), deadline);
+        // The upload size is not known up front, so the scheduler assumes a long recording
+        TranscriptionScheduler.Job job = new TranscriptionScheduler.Job(
+                request.model(),
+                request.stream() ? TranscriptionScheduler.Lane.INTERACTIVE : TranscriptionScheduler.Lane.BATCH,
+                null);
+        return holding(reservation, () -> transcriptionScheduler.schedule(job, () -> transcriptionMetrics.measure(
+                request.model(), null,
+                toResponses(fasterWhisperStreamingClient.transcribe(
+                        request.audio(),
+                        request.filename(),
+                        request.contentType(),
+                        request.language(),
+                        request.model(),
+                        request.stream())))));
+    }
+
+    /**
+     * Gives the scheduler the queue place reserved at admission, and releases
+     * it if the stream ends, fails or is cancelled before a job takes it over.
+     */
+    private static Flux<SpeechToTextResponse> holding(TranscriptionScheduler.Reservation reservation,
+            Supplier<Flux<SpeechToTextResponse>> responses) {
+        Flux<SpeechToTextResponse> flux;
+        try {
+            flux = responses.get();
+        } catch (RuntimeException e) {
+            reservation.release();
+            throw e;
+        }
+        return flux
+                .contextWrite(Context.of(TranscriptionScheduler.Reservation.class, reservation))
+                .doFinally(signal -> reservation.release());
+    }
+
+    private List<SpeechToTextResponse> lookup(TranscriptionKey key) {
+        List<SpeechToTextResponse> cached = transcriptionCache.get(key);
+        if (cached == null) {
+            cached = transcriptStore.get(key);
+            if (cached != null) {
+                transcriptionCache.put(key, cached);
+            }
+        }
+        return cached;
+    }
+
+    private void remember(TranscriptionKey key, List<SpeechToTextResponse> events) {
+        transcriptionCache.put(key, events);
+        if (transcriptStore.isEnabled()) {
+            // Completion is signalled on a WebClient event-loop thread; keep disk writes off it
+            Schedulers.boundedElastic().schedule(() -> transcriptStore.put(key, events));
+        }
+    }
+
+    /**
+     * Transcribes a copy of the request's audio, so that a call shared with
+     * other callers does not depend on the upload of the one that started it.
+     */
+    private Flux<SpeechToTextResponse> transcribeCopy(SpeechToTextRequest request) {
+        MultipartFile file = request.file();
+        return TempFiles.usingCopy(() -> TempFiles.copyOf(file), copy -> copy,
+                copy -> transcribeUpstream(new SpeechToTextRequest(
+                        new PathMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(), copy),
+                        request.language(), request.model(), request.stream(), request.bypassCache(),
+                        request.audioInfo())));
+    }
+
+    private Flux<SpeechToTextResponse> transcribeUpstream(SpeechToTextRequest request) {
+        return audioNormalizer.transcribe(request, normalized -> silenceTrimmer.transcribe(normalized,
+                trimmed -> chunkedTranscriber.transcribe(trimmed,
+                        whole -> clipPacker.transcribe(whole,
+                                clip -> transcriptionScheduler.schedule(TranscriptionScheduler.Job.of(clip),
+                                        () -> transcribeWhole(clip)),
+                                packed -> transcriptionScheduler.schedule(TranscriptionScheduler.Job.of(packed),
+                                        () -> transcribeWithTimestamps(packed))))));
+    }
+
+    private Flux<SpeechToTextResponse> transcribeWhole(SpeechToTextRequest request) {
+        Supplier<Flux<ServerSentEvent<FasterWhisperResponseDto>>> upstream = () -> fasterWhisperClient
+                .transcribe(request.file(), request.language(), request.model(), request.stream());
+        // A non-streamed response only starts once the whole file is decoded, so there is no early event to wait for
+        return measure(request, toResponses(request.stream()
+                ? hedgedTranscriber.transcribe(request.model(), upstream)
+                : upstream.get()));
+    }
+
+    private Flux<SpeechToTextResponse> transcribeWithTimestamps(SpeechToTextRequest request) {
+        return measure(request, toResponses(hedgedTranscriber.transcribe(request.model(), () -> fasterWhisperClient
+                .transcribeWithTimestamps(request.file(), request.language(), request.model()))));
+    }
+
+    private Flux<SpeechToTextResponse> measure(SpeechToTextRequest request, Flux<SpeechToTextResponse> responses) {
+        // The audio actually sent: normalized, trimmed, a chunk or a packed recording
+        Duration audio = AudioDurations.estimate(request.audioInfo(), request.file());
+        return transcriptionMetrics.measure(request.model(), audio, responses)
+                .contextWrite(UpstreamResponseTimeout.forAudio(audio));
+    }
+
+    static Flux<SpeechToTextResponse> toResponses(Flux<ServerSentEvent<FasterWhisperResponseDto>> events) {
+        return events
                 .filter(event -> event.data() != null)
                 .map(event -> {
                     FasterWhisperResponseDto dto = event.data();
                     FasterWhisperResponse response = dto.toResponse();
-                    return new SpeechToTextResponse(response.text());
+                    return new SpeechToTextResponse(response.text(), response.start(), response.end());
                 });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+/**
+ * Joins the transcripts of overlapping segments, dropping the words at the
+ * start of each segment that repeat the end of the previous one. Batches must
+ * be passed in order; an instance stitches a single recording.
+ */
+class TranscriptStitcher {
+    /** Longest run of repeated words looked for; comfortably more than a few seconds of overlap. */
+    static final int MAX_OVERLAP_WORDS = 32;
+    /** Shorter matches are too likely to be a coincidence ("of the"). */
+    static final int MIN_OVERLAP_WORDS = 2;
+
+    private final Deque<String> tail = new ArrayDeque<>();
+    private int segment = -1;
+
+    /*
+     * Events produced by one segment
+     * @param segment The index of the segment within the recording.
+     * @param events The events, in order.
+     */
+    record Batch(int segment, List<SpeechToTextResponse> events) {
+    }
+
+    List<SpeechToTextResponse> stitch(Batch batch) {
+        List<SpeechToTextResponse> events = batch.events();
+        if (batch.segment() != segment) {
+            if (segment >= 0) {
+                events = dropLeadingWords(events, overlappingWords(List.copyOf(tail), words(events)));
+            }
+            segment = batch.segment();
+        }
+        for (SpeechToTextResponse event : events) {
+            for (String word : words(event.text())) {
+                tail.addLast(word);
+                if (tail.size() > MAX_OVERLAP_WORDS) {
+                    tail.removeFirst();
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Returns the length of the longest run of words that ends {@code previous}
+     * and starts {@code next}, ignoring case and punctuation.
+     */
+    static int overlappingWords(List<String> previous, List<String> next) {
+        int limit = Math.min(MAX_OVERLAP_WORDS, Math.min(previous.size(), next.size()));
+        for (int length = limit; length >= MIN_OVERLAP_WORDS; length--) {
+            List<String> end = previous.subList(previous.size() - length, previous.size());
+            List<String> start = next.subList(0, length);
+            if (end.equals(start)) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    static List<SpeechToTextResponse> dropLeadingWords(List<SpeechToTextResponse> events, int count) {
+        if (count == 0) {
+            return events;
+        }
+        List<SpeechToTextResponse> kept = new ArrayList<>(events.size());
+        for (SpeechToTextResponse event : events) {
+            String text = event.text() == null ? "" : event.text();
+            while (count > 0 && !text.isBlank()) {
+                String word = text.strip().split("\\s+", 2)[0];
+                text = text.replaceFirst("^\\s*\\S+", "");
+                // A dash or other punctuation on its own is not one of the counted words
+                if (!normalize(word).isEmpty()) {
+                    count--;
+                }
+            }
+            if (!text.isBlank()) {
+                kept.add(event.withText(text));
+            }
+        }
+        return kept;
+    }
+
+    private static List<String> words(List<SpeechToTextResponse> events) {
+        List<String> words = new ArrayList<>();
+        for (SpeechToTextResponse event : events) {
+            words.addAll(words(event.text()));
+        }
+        return words;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.trim().split("\\s+")) {
+            String normalized = normalize(word);
+            if (!normalized.isEmpty()) {
+                words.add(normalized);
+            }
+        }
+        return words;
+    }
+
+    private static String normalize(String word) {
+        return word.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}']", "");
+    }
+}
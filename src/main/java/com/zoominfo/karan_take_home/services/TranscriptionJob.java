@@ -0,0 +1,106 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * A transcription submitted through the jobs API. Results are collected as
+ * they arrive so {@code GET /jobs/{id}} can return them, and are also
+ * replayed to every subscriber of {@link #events()}, however late it joins.
+ * Only the worker running the job changes its state.
+ */
+public class TranscriptionJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isDone() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    private final String id;
+    private final Instant createdAt;
+    private final List<SpeechToTextResponse> results = new ArrayList<>();
+    private final Sinks.Many<SpeechToTextResponse> events = Sinks.many().replay().all();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant completedAt;
+    private volatile long completedNanos;
+    private volatile String error;
+
+    TranscriptionJob(String id, Instant createdAt) {
+        this.id = id;
+        this.createdAt = createdAt;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /** When the job succeeded or failed, or null while it is still queued or running. */
+    public Instant completedAt() {
+        return completedAt;
+    }
+
+    /** Why the job failed, or null unless it has. */
+    public String error() {
+        return error;
+    }
+
+    /** The results received so far. */
+    public synchronized List<SpeechToTextResponse> results() {
+        return List.copyOf(results);
+    }
+
+    /**
+     * The job's results, starting with those already received, completing
+     * when the job succeeds and failing when it fails.
+     */
+    public Flux<SpeechToTextResponse> events() {
+        return events.asFlux();
+    }
+
+    long completedNanos() {
+        return completedNanos;
+    }
+
+    void started() {
+        status = Status.RUNNING;
+    }
+
+    synchronized void append(SpeechToTextResponse response) {
+        results.add(response);
+        events.tryEmitNext(response);
+    }
+
+    void succeeded() {
+        complete(Status.SUCCEEDED);
+        events.tryEmitComplete();
+    }
+
+    void failed(Throwable cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        complete(Status.FAILED);
+        events.tryEmitError(cause);
+    }
+
+    private void complete(Status status) {
+        completedAt = Instant.now();
+        completedNanos = System.nanoTime();
+        this.status = status;
+    }
+}
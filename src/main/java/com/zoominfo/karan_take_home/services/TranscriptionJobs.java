@@ -0,0 +1,199 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.AudioProbe;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.multipart.TempFiles;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs transcriptions submitted through the jobs API on a fixed pool of
+ * worker threads, so long recordings do not hold a client connection open.
+ * Submitting only spools and probes the upload: a job that does not fit in
+ * the bounded queue is rejected with a 503 straight away, so request threads
+ * never wait on inference. Workers wait for admission themselves, retrying
+ * when the model's queue is full. Finished jobs are kept for
+ * {@code transcription.jobs.retention} and then forgotten.
+ */
+@Component
+public class TranscriptionJobs {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranscriptionJobs.class);
+
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+    /** Retry-After for a full queue before any job has finished to estimate from. */
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final SpeechToTextService speechToTextService;
+    private final int workers;
+    private final Duration retention;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, TranscriptionJob> jobs = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Timer duration;
+    private Disposable sweeper;
+
+    public TranscriptionJobs(
+            SpeechToTextService speechToTextService,
+            @Value("${transcription.jobs.workers:4}") int workers,
+            @Value("${transcription.jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${transcription.jobs.retention:1h}") Duration retention,
+            @Value("${transcription.jobs.max-wait:30m}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this.speechToTextService = speechToTextService;
+        this.workers = workers;
+        this.retention = retention;
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("transcription-job-", 0).daemon().factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("transcription.jobs.rejected").register(meterRegistry);
+        this.duration = Timer.builder("transcription.jobs.duration")
+            .description("Time from a job being submitted until it finishes")
+            .register(meterRegistry);
+        Gauge.builder("transcription.jobs.queued", executor, e -> e.getQueue().size())
+            .register(meterRegistry);
+        Gauge.builder("transcription.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+            .register(meterRegistry);
+        Gauge.builder("transcription.jobs.retained", jobs, Map::size)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = Flux.interval(SWEEP_INTERVAL, SWEEP_INTERVAL)
+            .onBackpressureDrop()
+            .subscribe(tick -> evictExpired(System.nanoTime()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the request, whose file is the spooled upload at {@code spool}.
+     * The spool is deleted once the job finishes, or straight away if the job
+     * is rejected: with an {@link IllegalArgumentException} when the file is
+     * not audio, or an {@link AdmissionRejectedException} when the queue is full.
+     */
+    public TranscriptionJob submit(SpeechToTextRequest request, Path spool) {
+        SpeechToTextRequest probed;
+        try {
+            probed = request.withAudioInfo(AudioProbe.probe(request.file()));
+        } catch (RuntimeException e) {
+            TempFiles.deleteQuietly(spool);
+            throw e;
+        }
+        TranscriptionJob job = new TranscriptionJob(UUID.randomUUID().toString(), Instant.now());
+        jobs.put(job.id(), job);
+        long submittedNanos = System.nanoTime();
+        try {
+            executor.execute(() -> run(job, probed, spool, submittedNanos));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            TempFiles.deleteQuietly(spool);
+            rejected.increment();
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many transcription jobs are queued", retryAfter());
+        }
+        logger.debug("Queued transcription job {} for {}", job.id(), request.file().getOriginalFilename());
+        return job;
+    }
+
+    /** Returns the job, or null if there is no such job or it has expired. */
+    public TranscriptionJob get(String id) {
+        return jobs.get(id);
+    }
+
+    private void run(TranscriptionJob job, SpeechToTextRequest request, Path spool, long submittedNanos) {
+        job.started();
+        Exception failure = null;
+        try {
+            transcribe(request, submittedNanos + maxWait.toNanos())
+                .doOnNext(job::append)
+                .blockLast();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        // Clean up before completing, so whoever is waiting on the job sees it finished
+        TempFiles.deleteQuietly(spool);
+        duration.record(System.nanoTime() - submittedNanos, TimeUnit.NANOSECONDS);
+        if (failure == null) {
+            logger.debug("Transcription job {} succeeded", job.id());
+            job.succeeded();
+        } else {
+            logger.warn("Transcription job {} failed: {}", job.id(), failure.getMessage());
+            job.failed(failure);
+        }
+    }
+
+    /**
+     * Starts the transcription, waiting out admission rejections until
+     * {@code deadlineNanos}. Nothing has been sent upstream when admission
+     * is refused, so trying again cannot duplicate results.
+     */
+    private Flux<SpeechToTextResponse> transcribe(SpeechToTextRequest request,
+            long deadlineNanos) throws InterruptedException {
+        while (true) {
+            Duration remaining = Duration.ofNanos(deadlineNanos - System.nanoTime());
+            try {
+                return speechToTextService.transcribe(request, remaining.isNegative() ? Duration.ZERO : remaining);
+            } catch (AdmissionRejectedException e) {
+                if (remaining.compareTo(e.getRetryAfter()) <= 0) {
+                    throw e;
+                }
+                Thread.sleep(e.getRetryAfter().toMillis());
+            }
+        }
+    }
+
+    /** Forgets jobs that finished more than the retention period before {@code nowNanos}. */
+    void evictExpired(long nowNanos) {
+        long retentionNanos = retention.toNanos();
+        jobs.values().removeIf(job -> job.status().isDone() && nowNanos - job.completedNanos() >= retentionNanos);
+    }
+
+    /** Roughly how long until a worker takes on another queued job. */
+    private Duration retryAfter() {
+        double meanMillis = duration.mean(TimeUnit.MILLISECONDS);
+        if (duration.count() == 0 || meanMillis <= 0) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        return Duration.ofMillis((long) (meanMillis / workers));
+    }
+}
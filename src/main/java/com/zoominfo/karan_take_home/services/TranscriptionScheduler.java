@@ -0,0 +1,439 @@
+package com.zoominfo.karan_take_home.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.audio.AudioDurations;
+import com.zoominfo.karan_take_home.config.AdmissionProperties;
+import com.zoominfo.karan_take_home.config.AdmissionProperties.Limits;
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+import com.zoominfo.karan_take_home.routing.FasterWhisperBackendPool;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Decides which waiting transcription is sent to Faster Whisper next. There
+ * are a fixed number of dispatch slots per backend, shared by all models, and
+ * each model is additionally capped at its configured concurrency.
+ *
+ * Waiting work is split into two lanes. Interactive requests ({@code stream=true})
+ * are dispatched shortest estimated audio first, so a short voice note does
+ * not sit behind long recordings. Batch requests are also ordered by duration,
+ * but age while they wait: every second waited counts as {@code batch-aging-rate}
+ * seconds less audio. Interactive work goes first unless the oldest batch
+ * request has waited longer than {@code batch-max-wait}, so neither lane can
+ * starve the other.
+ */
+@Component
+public class TranscriptionScheduler {
+
+    /** Weight of the latest service time in each model's moving average. */
+    static final double SERVICE_TIME_WEIGHT = 0.2;
+
+    public enum Lane {
+        INTERACTIVE,
+        BATCH
+    }
+
+    /*
+     * A unit of upstream work
+     * @param model The model it runs on.
+     * @param lane The lane it waits in.
+     * @param estimatedDuration The estimated length of the audio, or null when unknown.
+     */
+    public record Job(String model, Lane lane, Duration estimatedDuration) {
+        public static Job of(SpeechToTextRequest request) {
+            return new Job(
+                request.model(),
+                request.stream() ? Lane.INTERACTIVE : Lane.BATCH,
+                request.audioInfo() != null
+                    ? AudioDurations.estimate(request.audioInfo(), request.file())
+                    : AudioDurations.estimate(request.file()));
+        }
+    }
+
+    private static final Comparator<Waiter> ORDER = Comparator
+        .comparingLong((Waiter waiter) -> waiter.key)
+        .thenComparingLong(waiter -> waiter.sequence);
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final int slots;
+    private final long maxBatchWaitNanos;
+    private final double batchAgingRate;
+    private final long unknownDurationNanos;
+    private final long originNanos = System.nanoTime();
+
+    private final TreeSet<Waiter> interactive = new TreeSet<>(ORDER);
+    private final TreeSet<Waiter> batch = new TreeSet<>(ORDER);
+    private final ConcurrentHashMap<String, ModelState> models = new ConcurrentHashMap<>();
+    private int running;
+    private long sequence;
+
+    @Autowired
+    public TranscriptionScheduler(
+            AdmissionProperties properties,
+            FasterWhisperBackendPool backendPool,
+            @Value("${transcription.scheduler.slots-per-backend:2}") int slotsPerBackend,
+            @Value("${transcription.scheduler.batch-max-wait:2m}") Duration maxBatchWait,
+            @Value("${transcription.scheduler.batch-aging-rate:60}") double batchAgingRate,
+            @Value("${transcription.scheduler.unknown-duration:5m}") Duration unknownDuration,
+            MeterRegistry meterRegistry) {
+        this(properties, slotsPerBackend * backendPool.backends().size(),
+            maxBatchWait, batchAgingRate, unknownDuration, meterRegistry);
+    }
+
+    TranscriptionScheduler(
+            AdmissionProperties properties,
+            int slots,
+            Duration maxBatchWait,
+            double batchAgingRate,
+            Duration unknownDuration,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.slots = slots;
+        this.maxBatchWaitNanos = maxBatchWait.toNanos();
+        this.batchAgingRate = batchAgingRate;
+        this.unknownDurationNanos = unknownDuration.toNanos();
+        for (Lane lane : Lane.values()) {
+            Gauge.builder("transcription.scheduler.queue", this, scheduler -> scheduler.queued(lane))
+                .tag("lane", lane.name().toLowerCase())
+                .register(meterRegistry);
+        }
+        Gauge.builder("transcription.scheduler.slots.free", this, TranscriptionScheduler::freeSlots)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code work} once the job is dispatched, holding its slot until the
+     * returned stream terminates or is cancelled. While it waits, a
+     * {@link QueuePositionListener} in the subscriber context is told its
+     * position whenever it changes, and {@link RequestTimings} there record
+     * the time spent preparing and queueing. A {@link Reservation} there is
+     * released as the job is queued, which takes over its place.
+     */
+    public <T> Flux<T> schedule(Job job, Supplier<Flux<T>> work) {
+        return Flux.usingWhen(acquire(job), permit -> work.get(), Permit::release);
+    }
+
+    public synchronized int queued(String model) {
+        return model(model).queued;
+    }
+
+    /**
+     * Returns the estimated time before a new job for the model would be
+     * dispatched: the jobs ahead of it, queued or reserved, divided by the
+     * model's effective concurrency, times the model's average service time.
+     */
+    public synchronized Duration estimatedWait(String model) {
+        ModelState state = model(model);
+        int ahead = state.queued + state.reserved;
+        int free = Math.min(state.maxConcurrency - state.running, slots - running);
+        if (ahead < free) {
+            return Duration.ZERO;
+        }
+        int concurrency = Math.max(1, Math.min(state.maxConcurrency, slots));
+        return Duration.ofNanos((long) (state.serviceNanos * (ahead + 1) / concurrency));
+    }
+
+    /**
+     * Holds a place in the model's queue for a request that is still being
+     * prepared, once {@code check} has accepted the jobs ahead of it (queued
+     * or reserved) and its estimated wait; {@code check} rejects by throwing.
+     * Both happen under the scheduler lock, so a burst of requests cannot all
+     * pass the check before any of them is counted.
+     */
+    public synchronized Reservation reserve(String model, BiConsumer<Integer, Duration> check) {
+        ModelState state = model(model);
+        check.accept(state.queued + state.reserved, estimatedWait(model));
+        state.reserved++;
+        return new Reservation(this, state);
+    }
+
+    synchronized int queued(Lane lane) {
+        return lane(lane).size();
+    }
+
+    synchronized int reserved(String model) {
+        return model(model).reserved;
+    }
+
+    synchronized int freeSlots() {
+        return slots - running;
+    }
+
+    private Mono<Permit> acquire(Job job) {
+        return Mono.deferContextual(context -> {
+            QueuePositionListener listener = context.getOrDefault(QueuePositionListener.class, null);
+            RequestTimings timings = context.getOrDefault(RequestTimings.class, null);
+            Reservation reservation = context.getOrDefault(Reservation.class, null);
+            Mono<Permit> permit = Mono.<Permit>create(sink -> {
+                Waiter waiter = new Waiter(job, model(job.model()), sink, System.nanoTime(), listener);
+                // Registered before the waiter is queued: once granted, a late registration would fire immediately
+                sink.onCancel(() -> cancel(waiter));
+                List<Runnable> actions;
+                synchronized (this) {
+                    waiter.sequence = sequence++;
+                    waiter.key = key(waiter);
+                    lane(job.lane()).add(waiter);
+                    waiter.model.queued++;
+                    if (reservation != null && reservation.model == waiter.model && reservation.claim()) {
+                        waiter.model.reserved--;
+                    }
+                    actions = dispatch(waiter.enqueuedNanos);
+                }
+                actions.forEach(Runnable::run);
+            });
+            if (timings == null) {
+                return permit;
+            }
+            long queued = timings.queued();
+            return permit.doOnNext(granted -> timings.dispatched(queued));
+        });
+    }
+
+    private long key(Waiter waiter) {
+        Duration estimate = waiter.job.estimatedDuration();
+        long durationNanos = estimate != null ? estimate.toNanos() : unknownDurationNanos;
+        if (waiter.job.lane() == Lane.INTERACTIVE) {
+            return durationNanos;
+        }
+        // Every batch job ages at the same rate, so ordering by arrival-adjusted duration is stable
+        return durationNanos + (long) ((waiter.enqueuedNanos - originNanos) * batchAgingRate);
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.claimed.compareAndSet(false, true)) {
+            List<Runnable> actions;
+            synchronized (this) {
+                if (lane(waiter.job.lane()).remove(waiter)) {
+                    waiter.model.queued--;
+                }
+                actions = dispatch(System.nanoTime());
+            }
+            actions.forEach(Runnable::run);
+        } else if (waiter.permit != null) {
+            // The slot was handed over as the subscriber went away
+            waiter.permit.releaseSlot(false);
+        }
+    }
+
+    private synchronized void unreserve(ModelState model) {
+        model.reserved--;
+    }
+
+    private void release(Permit permit, boolean used) {
+        long now = System.nanoTime();
+        List<Runnable> actions;
+        synchronized (this) {
+            running--;
+            permit.model.running--;
+            if (used) {
+                permit.model.serviceNanos += SERVICE_TIME_WEIGHT * ((now - permit.startNanos) - permit.model.serviceNanos);
+            }
+            actions = dispatch(now);
+        }
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Fills free slots and works out which waiters have moved in the queue.
+     * Must be called holding the lock; the returned grants and notifications
+     * are run after releasing it.
+     */
+    private List<Runnable> dispatch(long now) {
+        List<Runnable> actions = new ArrayList<>();
+        while (running < slots) {
+            Waiter next = next(now);
+            if (next == null) {
+                break;
+            }
+            lane(next.job.lane()).remove(next);
+            next.model.queued--;
+            next.model.running++;
+            running++;
+            actions.add(() -> grant(next, now));
+        }
+        int position = 0;
+        for (TreeSet<Waiter> lane : List.of(interactive, batch)) {
+            for (Waiter waiter : lane) {
+                position++;
+                if (waiter.listener != null && waiter.lastPosition != position) {
+                    waiter.lastPosition = position;
+                    int reported = position;
+                    actions.add(() -> waiter.listener.onQueuePosition(reported));
+                }
+            }
+        }
+        return actions;
+    }
+
+    private Waiter next(long now) {
+        Waiter interactiveHead = firstEligible(interactive);
+        Waiter batchHead = firstEligible(batch);
+        if (batchHead != null
+                && (interactiveHead == null || now - batchHead.enqueuedNanos >= maxBatchWaitNanos)) {
+            return batchHead;
+        }
+        return interactiveHead;
+    }
+
+    private static Waiter firstEligible(TreeSet<Waiter> lane) {
+        for (Waiter waiter : lane) {
+            if (waiter.model.running < waiter.model.maxConcurrency) {
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private void grant(Waiter waiter, long now) {
+        Permit permit = new Permit(this, waiter.model, now);
+        waiter.permit = permit;
+        if (waiter.claimed.compareAndSet(false, true)) {
+            waiter.model.waitTime.record(now - waiter.enqueuedNanos, TimeUnit.NANOSECONDS);
+            waiter.sink.success(permit);
+        } else {
+            // Cancelled while being dispatched; pass the slot on
+            permit.releaseSlot(false);
+        }
+    }
+
+    private TreeSet<Waiter> lane(Lane lane) {
+        return lane == Lane.INTERACTIVE ? interactive : batch;
+    }
+
+    private ModelState model(String model) {
+        return models.computeIfAbsent(model, name -> new ModelState(name, properties.forModel(name), meterRegistry));
+    }
+
+    /**
+     * Per-model counts and service time, guarded by the scheduler lock.
+     */
+    private final class ModelState {
+        final int maxConcurrency;
+        final Timer waitTime;
+        int queued;
+        int reserved;
+        int running;
+        double serviceNanos;
+
+        ModelState(String model, Limits limits, MeterRegistry meterRegistry) {
+            this.maxConcurrency = limits.maxConcurrency();
+            this.serviceNanos = limits.initialServiceTime().toNanos();
+            this.waitTime = Timer.builder("transcription.admission.wait")
+                .tag("model", model)
+                .register(meterRegistry);
+            Gauge.builder("transcription.admission.queue", TranscriptionScheduler.this, scheduler -> scheduler.queued(model))
+                .tag("model", model)
+                .register(meterRegistry);
+            Gauge.builder("transcription.admission.active", TranscriptionScheduler.this, scheduler -> scheduler.running(model))
+                .tag("model", model)
+                .register(meterRegistry);
+            Gauge.builder("transcription.admission.estimated.wait", TranscriptionScheduler.this,
+                    scheduler -> scheduler.estimatedWait(model).toMillis() / 1000.0)
+                .tag("model", model)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+    }
+
+    private synchronized int running(String model) {
+        return model(model).running;
+    }
+
+    private static final class Waiter {
+        final Job job;
+        final ModelState model;
+        final MonoSink<Permit> sink;
+        final long enqueuedNanos;
+        final QueuePositionListener listener;
+        final AtomicBoolean claimed = new AtomicBoolean();
+        long sequence;
+        long key;
+        int lastPosition;
+        volatile Permit permit;
+
+        Waiter(Job job, ModelState model, MonoSink<Permit> sink, long enqueuedNanos, QueuePositionListener listener) {
+            this.job = job;
+            this.model = model;
+            this.sink = sink;
+            this.enqueuedNanos = enqueuedNanos;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * A place in a model's queue held by an admitted request from admission
+     * until its first job is queued, or until the request ends without
+     * queueing one. Releasing it more than once has no effect.
+     */
+    public static final class Reservation {
+        /** Held when admission control is disabled; counts for nothing. */
+        public static final Reservation NONE = new Reservation(null, null);
+
+        private final TranscriptionScheduler scheduler;
+        private final ModelState model;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(TranscriptionScheduler scheduler, ModelState model) {
+            this.scheduler = scheduler;
+            this.model = model;
+        }
+
+        public void release() {
+            if (claim()) {
+                scheduler.unreserve(model);
+            }
+        }
+
+        private boolean claim() {
+            return scheduler != null && released.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * A held dispatch slot. Releasing it more than once has no effect.
+     */
+    static final class Permit {
+        private final TranscriptionScheduler scheduler;
+        private final ModelState model;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(TranscriptionScheduler scheduler, ModelState model, long startNanos) {
+            this.scheduler = scheduler;
+            this.model = model;
+            this.startNanos = startNanos;
+        }
+
+        Mono<Void> release() {
+            return Mono.fromRunnable(() -> releaseSlot(true));
+        }
+
+        void releaseSlot(boolean used) {
+            if (released.compareAndSet(false, true)) {
+                scheduler.release(this, used);
+            }
+        }
+    }
+}
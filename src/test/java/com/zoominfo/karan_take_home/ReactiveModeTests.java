@@ -0,0 +1,26 @@
+package com.zoominfo.karan_take_home;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.zoominfo.karan_take_home.controller.ReactiveSpeechToTextController;
+import com.zoominfo.karan_take_home.controller.SpeechToTextController;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveModeTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void reactiveProfileServesReactiveController() {
+		assertThat(context.getBeansOfType(ReactiveSpeechToTextController.class)).hasSize(1);
+		assertThat(context.getBeansOfType(SpeechToTextController.class)).isEmpty();
+	}
+}
@@ -0,0 +1,221 @@
+package com.zoominfo.karan_take_home.audio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.zoominfo.karan_take_home.audio.AudioInfo.Container;
+
+class AudioProbeTest {
+
+    /** MPEG 1 Layer III, 128 kbit/s, 44.1 kHz, joint stereo: 417 byte frames. */
+    private static final byte[] MP3_FRAME_HEADER = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0x40};
+    private static final int MP3_FRAME_BYTES = 417;
+
+    private static AudioInfo probe(byte[] data) throws IOException {
+        return AudioProbe.probe(new ByteArrayInputStream(data), data.length);
+    }
+
+    private static byte[] mp3Frames(int count) {
+        ByteBuffer frames = ByteBuffer.allocate(count * MP3_FRAME_BYTES);
+        for (int i = 0; i < count; i++) {
+            frames.position(i * MP3_FRAME_BYTES);
+            frames.put(MP3_FRAME_HEADER);
+        }
+        return frames.array();
+    }
+
+    private static byte[] id3Tag(int payloadBytes) {
+        ByteBuffer tag = ByteBuffer.allocate(10 + payloadBytes);
+        tag.put("ID3".getBytes(StandardCharsets.ISO_8859_1)).put((byte) 4).put((byte) 0).put((byte) 0);
+        tag.put((byte) ((payloadBytes >> 21) & 0x7F)).put((byte) ((payloadBytes >> 14) & 0x7F))
+            .put((byte) ((payloadBytes >> 7) & 0x7F)).put((byte) (payloadBytes & 0x7F));
+        return tag.array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] oggPage(long granule, int serial, byte[] packet) {
+        ByteBuffer page = ByteBuffer.allocate(28 + packet.length).order(ByteOrder.LITTLE_ENDIAN);
+        page.put("OggS".getBytes(StandardCharsets.ISO_8859_1)).put((byte) 0).put((byte) 0);
+        page.putLong(granule).putInt(serial).putInt(0).putInt(0);
+        page.put((byte) 1).put((byte) packet.length).put(packet);
+        return page.array();
+    }
+
+    @Test
+    void testProbesWav() throws IOException {
+        AudioInfo info = probe(TestWavs.toneAndSilence(1000, 500));
+
+        assertEquals(new AudioInfo(Container.WAV, "pcm_s16le", 16000, 1, Duration.ofMillis(1500)), info);
+    }
+
+    @Test
+    void testProbesRecordedWav() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/harvard.wav")) {
+            byte[] wav = in.readAllBytes();
+
+            AudioInfo info = probe(wav);
+
+            assertEquals(Container.WAV, info.container());
+            assertEquals(44100, info.sampleRate());
+            assertEquals(2, info.channels());
+            assertEquals(18356, info.duration().toMillis());
+        }
+    }
+
+    @Test
+    void testEstimatesConstantBitrateMp3FromSizeAfterId3Tag() throws IOException {
+        // 100 frames of 128 kbit/s audio: 41700 bytes, 2.606s
+        AudioInfo info = probe(concat(id3Tag(2000), mp3Frames(100)));
+
+        assertEquals(Container.MP3, info.container());
+        assertEquals("mp3", info.codec());
+        assertEquals(44100, info.sampleRate());
+        assertEquals(2, info.channels());
+        assertEquals(2606, info.duration().toMillis());
+    }
+
+    @Test
+    void testReadsFrameCountFromXingHeader() throws IOException {
+        byte[] frames = mp3Frames(10);
+        // Stereo MPEG 1 side information is 32 bytes; the tag follows it
+        ByteBuffer.wrap(frames, 4 + 32, 12)
+            .put("Xing".getBytes(StandardCharsets.ISO_8859_1)).putInt(0x1).putInt(1000);
+
+        AudioInfo info = probe(frames);
+
+        // 1000 frames of 1152 samples at 44.1 kHz
+        assertEquals(26122, info.duration().toMillis());
+    }
+
+    @Test
+    void testReadsFrameCountFromVbriHeader() throws IOException {
+        byte[] frames = mp3Frames(10);
+        ByteBuffer.wrap(frames, 4 + 32, 18)
+            .put("VBRI".getBytes(StandardCharsets.ISO_8859_1))
+            .putShort((short) 1).putShort((short) 0).putShort((short) 75).putInt(1_000_000).putInt(500);
+
+        AudioInfo info = probe(frames);
+
+        assertEquals(13061, info.duration().toMillis());
+    }
+
+    @Test
+    void testProbesFlacStreamInfo() throws IOException {
+        ByteBuffer flac = ByteBuffer.allocate(4 + 4 + 34);
+        flac.put("fLaC".getBytes(StandardCharsets.ISO_8859_1));
+        flac.put((byte) 0x80).put((byte) 0).put((byte) 0).put((byte) 34);
+        flac.putShort((short) 4096).putShort((short) 4096).put(new byte[6]);
+        // 48 kHz, 2 channels, 24 bits, 480000 samples
+        flac.putLong((48000L << 44) | (1L << 41) | (23L << 36) | 480_000L);
+
+        AudioInfo info = probe(flac.array());
+
+        assertEquals(new AudioInfo(Container.FLAC, "flac", 48000, 2, Duration.ofSeconds(10)), info);
+    }
+
+    @Test
+    void testReadsOpusDurationFromLastPage() throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(19).order(ByteOrder.LITTLE_ENDIAN);
+        head.put("OpusHead".getBytes(StandardCharsets.ISO_8859_1)).put((byte) 1).put((byte) 1)
+            .putShort((short) 312).putInt(16000).putShort((short) 0).put((byte) 0);
+        byte[] ogg = concat(
+            oggPage(0, 7, head.array()),
+            new byte[100_000],
+            oggPage(48_000 * 5 + 312, 7, new byte[10]));
+
+        AudioInfo info = probe(ogg);
+
+        assertEquals(new AudioInfo(Container.OGG, "opus", 16000, 1, Duration.ofSeconds(5)), info);
+    }
+
+    @Test
+    void testRecognisesOtherContainersByMagic() throws IOException {
+        byte[] m4a = concat(new byte[] {0, 0, 0, 0x20}, "ftypM4A ".getBytes(StandardCharsets.ISO_8859_1), new byte[20]);
+
+        AudioInfo info = probe(m4a);
+
+        assertEquals(Container.MP4, info.container());
+        assertNull(info.duration());
+    }
+
+    @Test
+    void testRejectsRenamedImage() {
+        byte[] png = concat(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, new byte[4000]);
+
+        assertThrows(IllegalArgumentException.class, () -> probe(png));
+    }
+
+    @Test
+    void testRejectsNonAudioSignaturesEvenWithMpegFramesInside() {
+        byte[][] signatures = {
+            {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'},
+            {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0},
+            "GIF89a".getBytes(StandardCharsets.ISO_8859_1),
+            "%PDF-1.7".getBytes(StandardCharsets.ISO_8859_1),
+            {'P', 'K', 3, 4},
+        };
+        for (byte[] signature : signatures) {
+            byte[] file = concat(signature, new byte[100], mp3Frames(3));
+
+            IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class, () -> probe(file));
+            assertTrue(rejected.getMessage().endsWith("not audio"), rejected.getMessage());
+        }
+    }
+
+    @Test
+    void testRejectsLoneFrameHeaderNearEndOfHead() {
+        // A sync word close to the end of the head with nothing like a frame after it
+        byte[] data = new byte[AudioProbe.HEAD_BYTES + 1000];
+        System.arraycopy(MP3_FRAME_HEADER, 0, data, AudioProbe.HEAD_BYTES - 10, MP3_FRAME_HEADER.length);
+
+        assertThrows(IllegalArgumentException.class, () -> probe(data));
+    }
+
+    @Test
+    void testReadsPastHeadForFrameFollowingTheFirst() throws IOException {
+        AudioInfo info = probe(concat(new byte[AudioProbe.HEAD_BYTES - 100], mp3Frames(5)));
+
+        assertEquals(Container.MP3, info.container());
+        assertEquals(44100, info.sampleRate());
+    }
+
+    @Test
+    void testRejectsText() {
+        assertThrows(IllegalArgumentException.class, () -> probe("test audio content".getBytes()));
+    }
+
+    @Test
+    void testRejectsEmptyFile() {
+        MockMultipartFile empty = new MockMultipartFile("file", "empty.wav", "audio/wav", new byte[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> AudioProbe.probe(empty));
+    }
+
+    @Test
+    void testRejectsWavWithoutSamples() {
+        byte[] header = new WavFormat(WavFormat.FORMAT_PCM, 1, 16000, 16, 2, WavFormat.HEADER_BYTES, 0).header(0);
+
+        assertThrows(IllegalArgumentException.class, () -> probe(header));
+    }
+}
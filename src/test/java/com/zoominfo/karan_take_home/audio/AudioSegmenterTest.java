@@ -0,0 +1,79 @@
+package com.zoominfo.karan_take_home.audio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.audio.AudioSegmenter.Segment;
+
+class AudioSegmenterTest {
+
+    @Test
+    void testCutsAtTheQuietestPointNearTheNominalPosition() throws IOException {
+        // Tone for 9.5 s, silence 300 ms, tone until 20 s; a 10 s segment should cut in the silence
+        byte[] wav = TestWavs.toneAndSilence(9500, 300, 10200);
+        InputStream in = new ByteArrayInputStream(wav);
+        WavFormat format = WavFormat.read(in, wav.length).orElseThrow();
+
+        List<Segment> segments = AudioSegmenter.split(in, format, Duration.ofSeconds(10), Duration.ZERO);
+
+        assertEquals(2, segments.size());
+        long cutMillis = segments.get(0).end() / 2 * 1000 / TestWavs.SAMPLE_RATE;
+        assertTrue(cutMillis >= 9500 && cutMillis <= 9800, "cut at " + cutMillis + " ms");
+        assertEquals(segments.get(0).end(), segments.get(1).start());
+        assertEquals(format.dataLength(), segments.get(1).end());
+    }
+
+    @Test
+    void testSegmentsOverlapIntoTheNextSegment() throws IOException {
+        byte[] wav = TestWavs.toneAndSilence(9500, 300, 10200);
+        InputStream in = new ByteArrayInputStream(wav);
+        WavFormat format = WavFormat.read(in, wav.length).orElseThrow();
+
+        List<Segment> segments = AudioSegmenter.split(in, format, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        long overlapBytes = TestWavs.SAMPLE_RATE * 2L;
+        assertEquals(segments.get(1).start() + overlapBytes, segments.get(0).end());
+    }
+
+    @Test
+    void testShortAudioIsASingleSegment() throws IOException {
+        byte[] wav = TestWavs.toneAndSilence(5000);
+        InputStream in = new ByteArrayInputStream(wav);
+        WavFormat format = WavFormat.read(in, wav.length).orElseThrow();
+
+        List<Segment> segments = AudioSegmenter.split(in, format, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        assertEquals(List.of(new Segment(0, format.dataLength())), segments);
+    }
+
+    @Test
+    void testCutPointsKeepAdvancing() {
+        float[] energies = new float[1000];
+        Arrays.fill(energies, 1f);
+
+        List<Integer> cuts = AudioSegmenter.cutPoints(energies, 100, 10);
+
+        assertEquals(9, cuts.size());
+        for (int i = 1; i < cuts.size(); i++) {
+            assertTrue(cuts.get(i) > cuts.get(i - 1));
+        }
+    }
+
+    @Test
+    void testRejectsNonPcm16Audio() {
+        WavFormat format = new WavFormat(WavFormat.FORMAT_IEEE_FLOAT, 1, 16000, 32, 4, 44, 64000);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> AudioSegmenter.split(InputStream.nullInputStream(), format, Duration.ofSeconds(1), Duration.ZERO));
+    }
+}
@@ -0,0 +1,96 @@
+package com.zoominfo.karan_take_home.audio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class PcmNormalizerTest {
+
+    /** A 440 Hz tone in the left channel and silence in the right. */
+    private static byte[] stereoTone(int sampleRate, int millis) {
+        int frames = sampleRate / 1000 * millis;
+        WavFormat format = new WavFormat(WavFormat.FORMAT_PCM, 2, sampleRate, 16, 4, WavFormat.HEADER_BYTES, frames * 4L);
+        ByteBuffer wav = ByteBuffer.allocate(WavFormat.HEADER_BYTES + frames * 4).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put(format.header(frames * 4L));
+        for (int i = 0; i < frames; i++) {
+            wav.putShort((short) (Math.sin(2 * Math.PI * 440 * i / sampleRate) * 16000)).putShort((short) 0);
+        }
+        return wav.array();
+    }
+
+    private static byte[] normalize(byte[] wav) throws IOException {
+        InputStream in = new ByteArrayInputStream(wav);
+        WavFormat format = WavFormat.read(in, wav.length).orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PcmNormalizer.normalize(in, format, out);
+        return out.toByteArray();
+    }
+
+    private static short peak(byte[] wav, WavFormat format) {
+        ByteBuffer samples = ByteBuffer.wrap(wav, (int) format.dataOffset(), (int) format.dataLength())
+            .order(ByteOrder.LITTLE_ENDIAN);
+        short peak = 0;
+        while (samples.hasRemaining()) {
+            peak = (short) Math.max(peak, Math.abs(samples.getShort()));
+        }
+        return peak;
+    }
+
+    @Test
+    void testDownmixesAndResamplesStereo48k() throws IOException {
+        byte[] normalized = normalize(stereoTone(48000, 1000));
+
+        WavFormat format = WavFormat.read(new ByteArrayInputStream(normalized), normalized.length).orElseThrow();
+        assertTrue(PcmNormalizer.isNormalized(format));
+        assertEquals(Duration.ofSeconds(1), format.duration());
+        assertEquals(WavFormat.HEADER_BYTES + 32000, normalized.length);
+        // The tone was only in one of the two channels
+        assertEquals(8000, peak(normalized, format), 100);
+    }
+
+    @Test
+    void testShrinksRecordedWav() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/harvard.wav")) {
+            byte[] wav = in.readAllBytes();
+
+            byte[] normalized = normalize(wav);
+
+            WavFormat format = WavFormat.read(new ByteArrayInputStream(normalized), normalized.length).orElseThrow();
+            assertEquals(18356, format.duration().toMillis());
+            // 44.1 kHz stereo to 16 kHz mono
+            assertTrue(normalized.length * 5 < wav.length, normalized.length + " bytes from " + wav.length);
+        }
+    }
+
+    @Test
+    void testDecodesFloatAnd24BitSamples() {
+        WavFormat float32 = new WavFormat(WavFormat.FORMAT_IEEE_FLOAT, 2, 16000, 32, 8, 0, 8);
+        byte[] floats = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putFloat(0.5f).putFloat(-0.25f).array();
+        WavFormat pcm24 = new WavFormat(WavFormat.FORMAT_PCM, 1, 16000, 24, 3, 0, 3);
+        byte[] int24 = {0, 0, (byte) 0xC0};
+        float[] mono = new float[1];
+
+        PcmNormalizer.downmix(floats, 1, float32, mono);
+        assertEquals(0.125f, mono[0], 1e-6f);
+        PcmNormalizer.downmix(int24, 1, pcm24, mono);
+        assertEquals(-0.5f, mono[0], 1e-6f);
+    }
+
+    @Test
+    void testOnlyNormalizesDecodableRates() {
+        assertFalse(PcmNormalizer.canNormalize(new WavFormat(0x55, 1, 16000, 0, 1, 0, 0)));
+        assertFalse(PcmNormalizer.canNormalize(new WavFormat(WavFormat.FORMAT_PCM, 1, 16001, 16, 2, 0, 0)));
+        assertTrue(PcmNormalizer.canNormalize(new WavFormat(WavFormat.FORMAT_PCM, 2, 44100, 16, 4, 0, 0)));
+        assertTrue(PcmNormalizer.isNormalized(new WavFormat(WavFormat.FORMAT_PCM, 1, 16000, 16, 2, 0, 0)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.zoominfo.karan_take_home.audio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PcmResamplerTest {
+
+    private static float[] tone(int sampleRate, double frequency, int samples) {
+        float[] tone = new float[samples];
+        for (int i = 0; i < samples; i++) {
+            tone[i] = (float) (0.5 * Math.sin(2 * Math.PI * frequency * i / sampleRate));
+        }
+        return tone;
+    }
+
+    private static float[] resample(int inputRate, int outputRate, float[] input, int chunk) {
+        PcmResampler resampler = new PcmResampler(inputRate, outputRate);
+        float[] output = new float[(int) resampler.outputLength(input.length)];
+        float[] out = new float[resampler.maxOutput(chunk)];
+        int written = 0;
+        for (int offset = 0; offset < input.length; offset += chunk) {
+            int count = resampler.process(input, offset, Math.min(chunk, input.length - offset), out);
+            System.arraycopy(out, 0, output, written, count);
+            written += count;
+        }
+        int count = resampler.flush(out);
+        System.arraycopy(out, 0, output, written, count);
+        assertEquals(output.length, written + count);
+        return output;
+    }
+
+    /** RMS of the middle half, away from the edges where the filter reads padding. */
+    private static double rms(float[] samples) {
+        double sum = 0;
+        for (int i = samples.length / 4; i < samples.length * 3 / 4; i++) {
+            sum += samples[i] * samples[i];
+        }
+        return Math.sqrt(sum / (samples.length / 2));
+    }
+
+    @Test
+    void testProducesOneOutputSamplePerOutputPeriod() {
+        assertEquals(16000, resample(48000, 16000, new float[48000], 4096).length);
+        assertEquals(16000, resample(44100, 16000, new float[44100], 1000).length);
+        assertEquals(16000, resample(8000, 16000, new float[8000], 333).length);
+        assertEquals(6, resample(44100, 16000, new float[14], 14).length);
+    }
+
+    @Test
+    void testOutputDoesNotDependOnChunkSize() {
+        float[] noise = new float[20000];
+        Random random = new Random(42);
+        for (int i = 0; i < noise.length; i++) {
+            noise[i] = random.nextFloat() - 0.5f;
+        }
+
+        float[] whole = resample(44100, 16000, noise, noise.length);
+
+        assertArrayEquals(whole, resample(44100, 16000, noise, 1));
+        assertArrayEquals(whole, resample(44100, 16000, noise, 777));
+    }
+
+    @Test
+    void testPreservesConstantLevel() {
+        float[] constant = new float[4800];
+        Arrays.fill(constant, 0.25f);
+
+        float[] output = resample(48000, 16000, constant, 1024);
+
+        for (int i = 100; i < output.length - 100; i++) {
+            assertEquals(0.25f, output[i], 1e-4f);
+        }
+    }
+
+    @Test
+    void testKeepsSpeechBandAndRemovesFrequenciesAboveOutputNyquist() {
+        double speech = rms(resample(44100, 16000, tone(44100, 1000, 44100), 4096));
+        double aliased = rms(resample(44100, 16000, tone(44100, 12000, 44100), 4096));
+
+        assertEquals(0.5 / Math.sqrt(2), speech, 0.01);
+        // A 12 kHz tone would fold back to 4 kHz without the low-pass filter
+        assertTrue(aliased < 0.005, "12 kHz leaked through at RMS " + aliased);
+    }
+
+    @Test
+    void testCopiesSamplesWhenRatesMatch() {
+        float[] input = tone(16000, 440, 1000);
+
+        assertArrayEquals(input, resample(16000, 16000, input, 300));
+    }
+
+    @Test
+    void testRejectsRatiosNeedingTooManyPhases() {
+        assertFalse(PcmResampler.supports(16001, 16000));
+        assertThrows(IllegalArgumentException.class, () -> new PcmResampler(16001, 16000));
+    }
+}
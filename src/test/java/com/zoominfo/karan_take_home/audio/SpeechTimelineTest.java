@@ -0,0 +1,50 @@
+package com.zoominfo.karan_take_home.audio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.audio.AudioSegmenter.Segment;
+
+class SpeechTimelineTest {
+
+    /** 16 kHz mono, so one second is 32000 bytes. */
+    private static final WavFormat FORMAT =
+        new WavFormat(WavFormat.FORMAT_PCM, 1, 16000, 16, 2, WavFormat.HEADER_BYTES, 10 * 32000);
+
+    private static Segment seconds(double start, double end) {
+        return new Segment((long) (start * 32000), (long) (end * 32000));
+    }
+
+    @Test
+    void testMapsTimesPastEachRemovedSpan() {
+        // Original: speech 0-2 s, cut 2-4 s, speech 4-6 s, cut 6-9 s, speech 9-10 s
+        SpeechTimeline timeline = SpeechTimeline.of(List.of(seconds(2, 4), seconds(6, 9)), FORMAT);
+
+        assertEquals(1.0, timeline.toOriginal(1.0), 1e-9);
+        assertEquals(4.0, timeline.toOriginal(2.0), 1e-9);
+        assertEquals(5.5, timeline.toOriginal(3.5), 1e-9);
+        assertEquals(9.0, timeline.toOriginal(4.0), 1e-9);
+        assertEquals(10.0, timeline.toOriginal(5.0), 1e-9);
+        assertEquals(5.0, timeline.removedSeconds(), 1e-9);
+        assertEquals(50.0, timeline.removedPercent(), 1e-9);
+    }
+
+    @Test
+    void testLeadingCutMovesTheStartToTheSpeech() {
+        SpeechTimeline timeline = SpeechTimeline.of(List.of(seconds(0, 3)), FORMAT);
+
+        assertEquals(3.0, timeline.toOriginal(0.0), 1e-9);
+        assertEquals(30.0, timeline.removedPercent(), 1e-9);
+    }
+
+    @Test
+    void testNoCutsIsTheIdentity() {
+        SpeechTimeline timeline = SpeechTimeline.of(List.of(), FORMAT);
+
+        assertEquals(7.25, timeline.toOriginal(7.25), 1e-9);
+        assertEquals(0.0, timeline.removedPercent(), 1e-9);
+    }
+}
@@ -0,0 +1,36 @@
+package com.zoominfo.karan_take_home.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Builds synthetic 16-bit mono PCM WAV files for tests: alternating runs of
+ * a loud tone and silence.
+ */
+public final class TestWavs {
+    public static final int SAMPLE_RATE = 16000;
+
+    private TestWavs() {
+    }
+
+    /**
+     * @param pattern Alternating durations in milliseconds, starting with a tone.
+     */
+    public static byte[] toneAndSilence(int... pattern) {
+        int totalSamples = 0;
+        for (int millis : pattern) {
+            totalSamples += SAMPLE_RATE / 1000 * millis;
+        }
+        WavFormat format = new WavFormat(WavFormat.FORMAT_PCM, 1, SAMPLE_RATE, 16, 2, WavFormat.HEADER_BYTES, totalSamples * 2L);
+        ByteBuffer wav = ByteBuffer.allocate(WavFormat.HEADER_BYTES + totalSamples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put(format.header(totalSamples * 2L));
+        int sample = 0;
+        for (int i = 0; i < pattern.length; i++) {
+            boolean tone = i % 2 == 0;
+            for (int n = 0; n < SAMPLE_RATE / 1000 * pattern[i]; n++, sample++) {
+                wav.putShort(tone ? (short) (Math.sin(sample * 2 * Math.PI * 440 / SAMPLE_RATE) * 12000) : 0);
+            }
+        }
+        return wav.array();
+    }
+}
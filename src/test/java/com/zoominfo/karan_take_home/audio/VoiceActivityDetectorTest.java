@@ -0,0 +1,98 @@
+package com.zoominfo.karan_take_home.audio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.audio.AudioSegmenter.Segment;
+
+class VoiceActivityDetectorTest {
+
+    private static final VoiceActivityDetector.Settings SETTINGS =
+        new VoiceActivityDetector.Settings(Duration.ofSeconds(1), Duration.ofMillis(200), 12);
+
+    private static List<Segment> silences(byte[] wav) throws IOException {
+        InputStream in = new ByteArrayInputStream(wav);
+        return VoiceActivityDetector.silences(in, WavFormat.read(in, wav.length).orElseThrow(), SETTINGS);
+    }
+
+    private static long millis(long bytes) {
+        return bytes / 2 * 1000 / TestWavs.SAMPLE_RATE;
+    }
+
+    @Test
+    void testRemovesLongSilenceLessPaddingNextToSpeech() throws IOException {
+        List<Segment> silences = silences(TestWavs.toneAndSilence(1000, 3000, 1000));
+
+        assertEquals(1, silences.size());
+        assertEquals(1200, millis(silences.get(0).start()));
+        assertEquals(3800, millis(silences.get(0).end()));
+    }
+
+    @Test
+    void testKeepsShortPausesAndRemovesTrailingSilenceWithoutPadding() throws IOException {
+        // The 500 ms pause is kept; the trailing 2 s run touches no speech on its far side
+        List<Segment> silences = silences(TestWavs.toneAndSilence(1000, 500, 1000, 2000));
+
+        assertEquals(1, silences.size());
+        assertEquals(2700, millis(silences.get(0).start()));
+        assertEquals(4500, millis(silences.get(0).end()));
+    }
+
+    @Test
+    void testRemovesLeadingSilenceWithoutPadding() throws IOException {
+        byte[] wav = TestWavs.toneAndSilence(0, 2000, 1000);
+
+        List<Segment> silences = silences(wav);
+
+        assertEquals(List.of(new Segment(0, 1800L * TestWavs.SAMPLE_RATE / 1000 * 2)), silences);
+    }
+
+    @Test
+    void testWritesAudioWithoutRemovedRanges() throws IOException {
+        byte[] wav = TestWavs.toneAndSilence(1000, 3000, 1000);
+        InputStream in = new ByteArrayInputStream(wav);
+        WavFormat format = WavFormat.read(in, wav.length).orElseThrow();
+        List<Segment> silences = silences(wav);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        WavFormat written = VoiceActivityDetector.writeWithout(in, format, silences, out);
+
+        byte[] trimmed = out.toByteArray();
+        assertEquals(WavFormat.HEADER_BYTES + written.dataLength(), trimmed.length);
+        assertEquals(Duration.ofMillis(2400), written.duration());
+        assertEquals(written, WavFormat.read(new ByteArrayInputStream(trimmed), trimmed.length).orElseThrow());
+        // The second tone follows straight on from the padding after the first
+        int resumeAt = WavFormat.HEADER_BYTES + (int) silences.get(0).start();
+        for (int i = 0; i < 64; i++) {
+            assertEquals(wav[(int) silences.get(0).end() + WavFormat.HEADER_BYTES + i], trimmed[resumeAt + i]);
+        }
+    }
+
+    @Test
+    void testTreatsAllSilenceAsNonSpeech() throws IOException {
+        List<Segment> silences = silences(TestWavs.toneAndSilence(0, 3000));
+
+        assertEquals(1, silences.size());
+        assertEquals(0, silences.get(0).start());
+        assertEquals(3000, millis(silences.get(0).end()));
+    }
+
+    @Test
+    void testRejectsNonPcm16Audio() throws IOException {
+        WavFormat float32 = new WavFormat(WavFormat.FORMAT_IEEE_FLOAT, 1, 16000, 32, 4, WavFormat.HEADER_BYTES, 0);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> VoiceActivityDetector.silences(InputStream.nullInputStream(), float32, SETTINGS));
+        assertTrue(silences(TestWavs.toneAndSilence(500)).isEmpty());
+    }
+}
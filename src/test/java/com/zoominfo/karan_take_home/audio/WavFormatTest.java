@@ -0,0 +1,73 @@
+package com.zoominfo.karan_take_home.audio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class WavFormatTest {
+
+    @Test
+    void testReadsCanonicalHeader() throws IOException {
+        byte[] wav = TestWavs.toneAndSilence(1000, 500);
+        InputStream in = new ByteArrayInputStream(wav);
+
+        WavFormat format = WavFormat.read(in, wav.length).orElseThrow();
+
+        assertEquals(WavFormat.FORMAT_PCM, format.audioFormat());
+        assertEquals(1, format.channels());
+        assertEquals(16000, format.sampleRate());
+        assertEquals(16, format.bitsPerSample());
+        assertEquals(44, format.dataOffset());
+        assertEquals(48000, format.dataLength());
+        assertEquals(Duration.ofMillis(1500), format.duration());
+        assertTrue(format.isPcm16());
+        // The stream is left at the first sample
+        assertEquals(wav.length - 44, in.readAllBytes().length);
+    }
+
+    @Test
+    void testSkipsUnknownChunksBeforeData() throws IOException {
+        WavFormat expected = new WavFormat(WavFormat.FORMAT_PCM, 2, 44100, 16, 4, 0, 8);
+        byte[] header = expected.header(8);
+        ByteBuffer wav = ByteBuffer.allocate(header.length + 8 + 3 + 1 + 8).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put(header, 0, 36);
+        // An odd-sized LIST chunk is padded to an even length
+        wav.put("LIST".getBytes()).putInt(3).put(new byte[] {1, 2, 3}).put((byte) 0);
+        wav.put(header, 36, 8);
+        wav.put(new byte[8]);
+
+        WavFormat format = WavFormat.read(new ByteArrayInputStream(wav.array()), wav.capacity()).orElseThrow();
+
+        assertEquals(2, format.channels());
+        assertEquals(44100, format.sampleRate());
+        assertEquals(56, format.dataOffset());
+        assertEquals(8, format.dataLength());
+    }
+
+    @Test
+    void testUsesFileLengthWhenDataSizeIsMissing() throws IOException {
+        byte[] wav = TestWavs.toneAndSilence(100);
+        ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN).putInt(40, 0xFFFFFFFF);
+
+        WavFormat format = WavFormat.read(new ByteArrayInputStream(wav), wav.length).orElseThrow();
+
+        assertEquals(wav.length - 44, format.dataLength());
+    }
+
+    @Test
+    void testRejectsNonWaveInput() throws IOException {
+        Optional<WavFormat> format = WavFormat.read(new ByteArrayInputStream("ID3 not a wave file".getBytes()), 19);
+
+        assertFalse(format.isPresent());
+    }
+}
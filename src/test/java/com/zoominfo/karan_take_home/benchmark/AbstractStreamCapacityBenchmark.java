@@ -0,0 +1,169 @@
+package com.zoominfo.karan_take_home.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.clients.FasterWhisperClient;
+import com.zoominfo.karan_take_home.dto.incoming.FasterWhisperResponseDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Opens many concurrent SSE transcription streams against the in-process
+ * server and reports how many were served, time to first event and the peak
+ * number of streams open at once. Faster Whisper is replaced by a mock that
+ * emits events on a timer, so only the web tier is measured. Admission and
+ * the scheduler are opened up to every stream at once, so none is rejected
+ * or queued behind the production limits.
+ *
+ * Subclasses pick the threading model; run with {@code ./gradlew benchmark}
+ * and tune with {@code -Dbenchmark.streams=N}.
+ */
+@Tag("benchmark")
+abstract class AbstractStreamCapacityBenchmark {
+
+    private static final int STREAMS = Integer.getInteger("benchmark.streams", 2000);
+    private static final int EVENTS_PER_STREAM = Integer.getInteger("benchmark.events", 10);
+    private static final Duration EVENT_INTERVAL = Duration.ofMillis(Long.getLong("benchmark.event-interval-ms", 200));
+    private static final int AUDIO_BYTES = Integer.getInteger("benchmark.audio-bytes", 256 * 1024);
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @MockitoBean
+    private FasterWhisperClient fasterWhisperClient;
+
+    protected abstract String mode();
+
+    @DynamicPropertySource
+    static void limits(DynamicPropertyRegistry registry) {
+        // There is one backend, so its slots are the whole scheduler's
+        registry.add("transcription.scheduler.slots-per-backend", () -> STREAMS);
+        registry.add("transcription.admission.defaults.max-concurrency", () -> STREAMS);
+        registry.add("transcription.admission.defaults.queue-capacity", () -> STREAMS);
+        registry.add("transcription.admission.defaults.initial-service-time",
+            () -> EVENT_INTERVAL.multipliedBy(EVENTS_PER_STREAM).toMillis() + "ms");
+    }
+
+    @Test
+    void concurrentStreamCapacity() throws IOException {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(fasterWhisperClient.transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean()))
+            .thenAnswer(invocation -> Flux.interval(EVENT_INTERVAL)
+                .take(EVENTS_PER_STREAM)
+                .map(i -> ServerSentEvent.builder(new FasterWhisperResponseDto("chunk " + i)).build())
+                .doOnSubscribe(subscription -> peak.accumulateAndGet(open.incrementAndGet(), Math::max))
+                .doFinally(signal -> open.decrementAndGet()));
+
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark")
+            .maxConnections(STREAMS)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        WebClient client = WebClient.builder()
+            .baseUrl("http://localhost:" + port)
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+            .build();
+        // Silent 16 kHz PCM, so the upload passes the audio probe
+        byte[] audio = TestWavs.toneAndSilence(0, AUDIO_BYTES / 32);
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Long> firstEventNanos = Flux.range(0, STREAMS)
+            .flatMap(i -> openStream(client, audio, failures, rejected), STREAMS)
+            .collectList()
+            .block(Duration.ofMinutes(10));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        connections.dispose();
+
+        List<Long> sorted = firstEventNanos.stream().sorted().toList();
+        String report = String.format(
+            "{\"mode\":\"%s\",\"streams\":%d,\"completed\":%d,\"failed\":%d,\"rejected\":%d,"
+                + "\"peakConcurrentStreams\":%d,\"ttfeP50Ms\":%d,\"ttfeP99Ms\":%d,\"elapsedMs\":%d}",
+            mode(), STREAMS, sorted.size(), failures.get(), rejected.get(), peak.get(),
+            percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), elapsedMillis);
+        System.out.println("Stream capacity benchmark: " + report);
+        Path reports = Files.createDirectories(Path.of("build", "reports", "benchmark"));
+        Files.writeString(reports.resolve("stream-capacity-" + mode() + ".json"), report);
+
+        assertThat(sorted).isNotEmpty();
+        // A rejection would mean admission or scheduling was measured rather than the web tier
+        assertThat(rejected.get()).isZero();
+    }
+
+    private static Mono<Long> openStream(WebClient client, byte[] audio, AtomicInteger failures,
+            AtomicInteger rejected) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new ByteArrayResource(audio) {
+            @Override
+            public String getFilename() {
+                return "audio.wav";
+            }
+        }).contentType(MediaType.parseMediaType("audio/wav"));
+        // Every stream must reach the mocked upstream rather than the cache or an in-flight join
+        body.part("bypassCache", "true");
+
+        long requestStart = System.nanoTime();
+        AtomicLong firstEvent = new AtomicLong(-1);
+        return client.post()
+            .uri("/speech-to-text")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .body(BodyInserters.fromMultipartData(body.build()))
+            .retrieve()
+            .bodyToFlux(String.class)
+            .doOnNext(event -> firstEvent.compareAndSet(-1, System.nanoTime() - requestStart))
+            .then(Mono.fromCallable(firstEvent::get))
+            .filter(nanos -> nanos >= 0)
+            .onErrorResume(error -> {
+                failures.incrementAndGet();
+                if (error instanceof WebClientResponseException response
+                        && (response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                            || response.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE))) {
+                    rejected.incrementAndGet();
+                }
+                return Mono.empty();
+            });
+    }
+
+    private static long percentileMillis(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return -1;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return Duration.ofNanos(sortedNanos.get(Math.max(index, 0))).toMillis();
+    }
+}
@@ -0,0 +1,117 @@
+package com.zoominfo.karan_take_home.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.zoominfo.karan_take_home.audio.PcmNormalizer;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Compares sending {@code harvard.wav} (44.1 kHz stereo) to Faster Whisper
+ * as uploaded with normalizing it to 16 kHz mono first. A local server that
+ * discards the body stands in for the sidecar, so the upload time is the
+ * loopback transfer plus multipart encoding. Run with {@code ./gradlew benchmark}
+ * and tune with {@code -Dbenchmark.iterations=N}.
+ */
+@Tag("benchmark")
+class NormalizationBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50);
+
+    @Test
+    void harvardSizeAndLatency() throws IOException {
+        byte[] original;
+        try (InputStream in = getClass().getResourceAsStream("/harvard.wav")) {
+            original = in.readAllBytes();
+        }
+        DisposableServer sidecar = HttpServer.create()
+            .port(0)
+            .handle((request, response) -> request.receive().then(response.status(200).send()))
+            .bindNow();
+        try {
+            WebClient client = WebClient.create("http://localhost:" + sidecar.port());
+            byte[] normalized = normalize(original);
+            // Warm up the JIT and the connection pool before measuring
+            for (int i = 0; i < ITERATIONS; i++) {
+                upload(client, original);
+                upload(client, normalize(original));
+            }
+
+            long uploadNanos = 0;
+            long normalizeNanos = 0;
+            long normalizedUploadNanos = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                upload(client, original);
+                uploadNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                byte[] compact = normalize(original);
+                normalizeNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                upload(client, compact);
+                normalizedUploadNanos += System.nanoTime() - start;
+            }
+
+            String report = String.format(
+                "{\"file\":\"harvard.wav\",\"iterations\":%d,\"originalBytes\":%d,\"normalizedBytes\":%d,"
+                    + "\"originalUploadMs\":%.2f,\"normalizeMs\":%.2f,\"normalizedUploadMs\":%.2f}",
+                ITERATIONS, original.length, normalized.length,
+                millis(uploadNanos), millis(normalizeNanos), millis(normalizedUploadNanos));
+            System.out.println("Normalization benchmark: " + report);
+            Path reports = Files.createDirectories(Path.of("build", "reports", "benchmark"));
+            Files.writeString(reports.resolve("normalization.json"), report);
+
+            assertThat(normalized.length).isLessThan(original.length / 5);
+        } finally {
+            sidecar.disposeNow();
+        }
+    }
+
+    private static byte[] normalize(byte[] wav) throws IOException {
+        InputStream in = new ByteArrayInputStream(wav);
+        WavFormat format = WavFormat.read(in, wav.length).orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PcmNormalizer.normalize(in, format, out);
+        return out.toByteArray();
+    }
+
+    private static void upload(WebClient client, byte[] audio) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new ByteArrayResource(audio) {
+            @Override
+            public String getFilename() {
+                return "harvard.wav";
+            }
+        }).contentType(MediaType.parseMediaType("audio/wav"));
+        client.post()
+            .uri("/v1/audio/transcriptions")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(body.build()))
+            .retrieve()
+            .toBodilessEntity()
+            .block(Duration.ofSeconds(30));
+    }
+
+    private static double millis(long totalNanos) {
+        return totalNanos / 1e6 / ITERATIONS;
+    }
+}
@@ -0,0 +1,18 @@
+package com.zoominfo.karan_take_home.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Baseline: Tomcat request handling on its default platform thread pool.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.threads.virtual.enabled=false"
+)
+class PlatformThreadStreamCapacityBenchmark extends AbstractStreamCapacityBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform-threads";
+    }
+}
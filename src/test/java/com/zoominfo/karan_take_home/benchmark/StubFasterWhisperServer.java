@@ -0,0 +1,150 @@
+package com.zoominfo.karan_take_home.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import io.netty.channel.unix.DomainSocketAddress;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * An in-process stand-in for Faster Whisper's {@code /v1/audio/transcriptions},
+ * for load testing the service without a model behind it. Each request's
+ * upload is read in full, then after {@link Settings#timeToFirstByte()} the
+ * stub streams {@link Settings#events()} SSE events shaped like
+ * {@code FasterWhisperResponseDto}, one every {@link Settings#eventInterval()}.
+ * A fraction of requests can be made to fail: answered with a 500, or with
+ * the connection dropped halfway through the stream. The stub listens on a
+ * loopback TCP port or on a Unix domain socket.
+ */
+final class StubFasterWhisperServer implements AutoCloseable {
+
+    /*
+     * How the stub behaves
+     * @param timeToFirstByte Delay between the upload being received and the first event.
+     * @param eventInterval Delay between events.
+     * @param events Events per transcription.
+     * @param errorRate Fraction of requests answered with a 500 instead of a stream.
+     * @param abortRate Fraction of requests whose connection is dropped after half the events.
+     */
+    record Settings(Duration timeToFirstByte, Duration eventInterval, int events, double errorRate, double abortRate) {
+
+        /** Reads {@code load.stub.*} system properties, e.g. {@code -Dload.stub.ttfb-ms=500}. */
+        static Settings fromSystemProperties() {
+            return new Settings(
+                Duration.ofMillis(Long.getLong("load.stub.ttfb-ms", 300)),
+                Duration.ofMillis(Long.getLong("load.stub.event-interval-ms", 100)),
+                Integer.getInteger("load.stub.events", 10),
+                Double.parseDouble(System.getProperty("load.stub.error-rate", "0")),
+                Double.parseDouble(System.getProperty("load.stub.abort-rate", "0")));
+        }
+
+        /** Time from the upload being received to the last event of a successful stream. */
+        Duration streamDuration() {
+            return timeToFirstByte.plus(eventInterval.multipliedBy(Math.max(0, events - 1)));
+        }
+
+        String toJson() {
+            return String.format(
+                "{\"ttfbMs\":%d,\"eventIntervalMs\":%d,\"events\":%d,\"errorRate\":%s,\"abortRate\":%s}",
+                timeToFirstByte.toMillis(), eventInterval.toMillis(), events, errorRate, abortRate);
+        }
+    }
+
+    private final Settings settings;
+    private final Path socket;
+    private final DisposableServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger injectedErrors = new AtomicInteger();
+    private final AtomicInteger injectedAborts = new AtomicInteger();
+
+    /** Listens on a random loopback TCP port. */
+    StubFasterWhisperServer(Settings settings) {
+        this(settings, HttpServer.create().host("localhost").port(0), null);
+    }
+
+    /** Listens on a Unix domain socket at {@code socket}; needs Netty's native transport. */
+    StubFasterWhisperServer(Settings settings, Path socket) {
+        this(settings, HttpServer.create().bindAddress(() -> new DomainSocketAddress(socket.toString())), socket);
+    }
+
+    private StubFasterWhisperServer(Settings settings, HttpServer server, Path socket) {
+        this.settings = settings;
+        this.socket = socket;
+        this.server = server
+            .route(routes -> routes
+                .get("/health", (request, response) -> response.status(200).send())
+                .post("/v1/audio/transcriptions", this::transcribe))
+            .bindNow();
+    }
+
+    /** Returns the URL to configure as {@code faster.whisper.url}. */
+    URI uri() {
+        return socket != null
+            ? URI.create("unix://" + socket.toAbsolutePath())
+            : URI.create("http://localhost:" + server.port());
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    int injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    int injectedAborts() {
+        return injectedAborts.get();
+    }
+
+    private Mono<Void> transcribe(HttpServerRequest request, HttpServerResponse response) {
+        requests.incrementAndGet();
+        // Read the whole upload first, as the real server does before decoding
+        Mono<Void> received = request.receive().then();
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < settings.errorRate()) {
+            injectedErrors.incrementAndGet();
+            return received
+                .then(Mono.delay(settings.timeToFirstByte()))
+                .then(response.status(500)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .sendString(Mono.just("{\"detail\":\"Injected failure\"}"))
+                    .then());
+        }
+        boolean abort = roll < settings.errorRate() + settings.abortRate();
+        Flux<String> events = Flux.range(0, abort ? settings.events() / 2 : settings.events())
+            .concatMap(i -> Mono.delay(i == 0 ? settings.timeToFirstByte() : settings.eventInterval())
+                .thenReturn(event(i)));
+        if (abort) {
+            injectedAborts.incrementAndGet();
+            // An error from the body publisher makes Reactor Netty close the connection mid-stream
+            events = events.concatWith(Mono.error(new IOException("Injected abort")));
+        }
+        return response.status(200)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+            .sendString(received.thenMany(events))
+            .then();
+    }
+
+    private String event(int index) {
+        double start = index * 2.0;
+        return "data: {\"text\":\" Stub segment " + index + ".\",\"start\":" + start + ",\"end\":" + (start + 2.0)
+            + "}\n\n";
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,351 @@
+package com.zoominfo.karan_take_home.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.zoominfo.karan_take_home.audio.TestWavs;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * End-to-end load test of {@code /speech-to-text} against a
+ * {@link StubFasterWhisperServer}, so the whole service (upload handling,
+ * admission, scheduling, the WebClient and the SSE response) is exercised
+ * without a model. For each concurrency level it runs {@code load.rounds}
+ * requests per concurrent client and reports throughput, time to the first
+ * transcript event (p50/p99/p99.9), heap and direct memory high-water marks
+ * and failed streams, written to {@code build/reports/benchmark/load-test.json}.
+ *
+ * Run with {@code ./gradlew loadTest}. The {@code load.max-*} and
+ * {@code load.min-throughput} thresholds fail the run when any level misses
+ * them; the task sets baselines for the default sweep, and e.g.
+ * {@code -Dload.max-ttfe-p99-ms=800} replaces one. A stream counts as failed
+ * when it errors or ends with fewer transcript events than the stub sent;
+ * by default at most the injected failure rate plus 1% may fail.
+ * {@code -Dload.transport=uds} has the stub listen on a Unix domain socket
+ * instead of loopback TCP, so the two reports can be compared.
+ */
+@Tag("load")
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        // Injected failures must not eject the only backend
+        "faster.whisper.pool.max-error-rate=1.0",
+        "faster.whisper.pool.min-requests=2147483647",
+        "logging.level.com.zoominfo.karan_take_home=INFO",
+        "logging.level.org.springframework.web.reactive.function.client=INFO",
+        "logging.level.org.springframework.http.codec=INFO"
+    }
+)
+class StubbedLoadTest {
+
+    private static final StubFasterWhisperServer.Settings STUB = StubFasterWhisperServer.Settings.fromSystemProperties();
+    private static final List<Integer> CONCURRENCY = Arrays.stream(
+            System.getProperty("load.concurrency", "1,4,16,64,256").split(","))
+        .map(String::trim)
+        .map(Integer::valueOf)
+        .toList();
+    private static final int ROUNDS = Integer.getInteger("load.rounds", 8);
+    private static final int MIN_REQUESTS = Integer.getInteger("load.min-requests", 50);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmup-requests", 50);
+    /** Dispatch slots and per-model concurrency the stub is allowed, standing in for the size of the Whisper fleet. */
+    private static final int UPSTREAM_CONCURRENCY = Integer.getInteger("load.upstream-concurrency", 64);
+    private static final int AUDIO_MILLIS = Integer.getInteger("load.audio-ms", 5000);
+    private static final String TRANSPORT = System.getProperty("load.transport", "tcp");
+    private static final long SAMPLE_INTERVAL_MILLIS = 10;
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+        new ParameterizedTypeReference<>() {};
+
+    private static StubFasterWhisperServer stub;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Value("${spring.profiles.active:default}")
+    private String profiles;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) throws IOException {
+        stub = TRANSPORT.equals("uds")
+            ? new StubFasterWhisperServer(STUB, Files.createTempDirectory("load-test").resolve("whisper.sock"))
+            : new StubFasterWhisperServer(STUB);
+        registry.add("faster.whisper.url", () -> stub.uri().toString());
+        registry.add("faster.whisper.urls", () -> stub.uri().toString());
+        registry.add("transcription.scheduler.slots-per-backend", () -> UPSTREAM_CONCURRENCY);
+        registry.add("transcription.admission.defaults.max-concurrency", () -> UPSTREAM_CONCURRENCY);
+        registry.add("transcription.admission.defaults.queue-capacity", () -> Math.max(
+            32, CONCURRENCY.stream().mapToInt(Integer::intValue).max().orElse(1)));
+        // Start admission's wait estimates from what the stub will actually take
+        registry.add("transcription.admission.defaults.initial-service-time", () -> STUB.streamDuration().toMillis() + "ms");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    /*
+     * What one concurrency level measured
+     * @param concurrency Requests kept open at once.
+     * @param requests Requests sent.
+     * @param failed Streams that errored or ended early.
+     * @param throughput Completed streams per second.
+     * @param ttfeNanos Sorted times from sending a request to its first transcript event.
+     * @param heapPeakBytes Highest heap use sampled.
+     * @param jdkDirectPeakBytes Highest use of the JDK's direct buffer pool sampled.
+     * @param nettyDirectPeakBytes Highest direct memory sampled in Netty's pooled allocator.
+     * @param elapsed Time the level took.
+     */
+    record Level(int concurrency, int requests, int failed, double throughput, List<Long> ttfeNanos,
+            long heapPeakBytes, long jdkDirectPeakBytes, long nettyDirectPeakBytes, Duration elapsed) {
+
+        int completed() {
+            return requests - failed;
+        }
+
+        double failedRatio() {
+            return requests == 0 ? 0 : (double) failed / requests;
+        }
+
+        double ttfeMillis(double percentile) {
+            if (ttfeNanos.isEmpty()) {
+                return -1;
+            }
+            int index = (int) Math.ceil(percentile * ttfeNanos.size()) - 1;
+            return ttfeNanos.get(Math.max(index, 0)) / 1e6;
+        }
+
+        /** The larger of the two direct memory views; Netty's pool is also counted by the JDK when it uses cleaners. */
+        long directPeakBytes() {
+            return Math.max(jdkDirectPeakBytes, nettyDirectPeakBytes);
+        }
+
+        String toJson() {
+            return String.format(
+                "{\"concurrency\":%d,\"requests\":%d,\"completed\":%d,\"failed\":%d,\"throughputPerSecond\":%.1f,"
+                    + "\"ttfeP50Ms\":%.1f,\"ttfeP99Ms\":%.1f,\"ttfeP999Ms\":%.1f,\"heapPeakMb\":%.1f,"
+                    + "\"jdkDirectPeakMb\":%.1f,\"nettyDirectPeakMb\":%.1f,\"elapsedMs\":%d}",
+                concurrency, requests, completed(), failed, throughput,
+                ttfeMillis(0.50), ttfeMillis(0.99), ttfeMillis(0.999), megabytes(heapPeakBytes),
+                megabytes(jdkDirectPeakBytes), megabytes(nettyDirectPeakBytes), elapsed.toMillis());
+        }
+    }
+
+    @Test
+    void sweepConcurrency() throws IOException {
+        ConnectionProvider connections = ConnectionProvider.builder("load-test")
+            .maxConnections(CONCURRENCY.stream().mapToInt(Integer::intValue).max().orElse(1))
+            .pendingAcquireMaxCount(-1)
+            .build();
+        WebClient client = WebClient.builder()
+            .baseUrl("http://localhost:" + port)
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+            .build();
+        byte[] audio = TestWavs.toneAndSilence(AUDIO_MILLIS);
+
+        List<Level> levels = new ArrayList<>();
+        try {
+            run(client, audio, Math.min(WARMUP_REQUESTS, 16), WARMUP_REQUESTS);
+            for (int concurrency : CONCURRENCY) {
+                Level level = run(client, audio, concurrency, Math.max(MIN_REQUESTS, concurrency * ROUNDS));
+                System.out.println("Load test level: " + level.toJson());
+                levels.add(level);
+            }
+        } finally {
+            connections.dispose();
+        }
+
+        String report = String.format("{\"mode\":\"%s\",\"transport\":\"%s\",\"upstreamConcurrency\":%d,\"audioMs\":%d,\"stub\":%s,"
+                + "\"stubRequests\":%d,\"injectedErrors\":%d,\"injectedAborts\":%d,\"levels\":[%s]}",
+            profiles, TRANSPORT, UPSTREAM_CONCURRENCY, AUDIO_MILLIS, STUB.toJson(),
+            stub.requests(), stub.injectedErrors(), stub.injectedAborts(),
+            levels.stream().map(Level::toJson).collect(Collectors.joining(",")));
+        System.out.println("Load test: " + report);
+        Path reports = Files.createDirectories(Path.of("build", "reports", "benchmark"));
+        Files.writeString(reports.resolve("load-test.json"), report);
+
+        checkThresholds(levels);
+    }
+
+    private static void checkThresholds(List<Level> levels) {
+        double maxFailedRatio = Double.parseDouble(System.getProperty("load.max-failed-ratio",
+            String.valueOf(STUB.errorRate() + STUB.abortRate() + 0.01)));
+        Double maxTtfeP99 = threshold("load.max-ttfe-p99-ms");
+        Double maxTtfeP999 = threshold("load.max-ttfe-p999-ms");
+        Double minThroughput = threshold("load.min-throughput");
+        Double maxHeapMb = threshold("load.max-heap-mb");
+        Double maxDirectMb = threshold("load.max-direct-mb");
+
+        SoftAssertions softly = new SoftAssertions();
+        for (Level level : levels) {
+            String name = "concurrency " + level.concurrency() + " ";
+            softly.assertThat(level.failedRatio()).as(name + "failed stream ratio").isLessThanOrEqualTo(maxFailedRatio);
+            if (maxTtfeP99 != null) {
+                softly.assertThat(level.ttfeMillis(0.99)).as(name + "p99 time to first event (ms)")
+                    .isLessThanOrEqualTo(maxTtfeP99);
+            }
+            if (maxTtfeP999 != null) {
+                softly.assertThat(level.ttfeMillis(0.999)).as(name + "p99.9 time to first event (ms)")
+                    .isLessThanOrEqualTo(maxTtfeP999);
+            }
+            if (minThroughput != null) {
+                softly.assertThat(level.throughput()).as(name + "throughput (streams/s)")
+                    .isGreaterThanOrEqualTo(minThroughput);
+            }
+            if (maxHeapMb != null) {
+                softly.assertThat(megabytes(level.heapPeakBytes())).as(name + "heap high-water mark (MB)")
+                    .isLessThanOrEqualTo(maxHeapMb);
+            }
+            if (maxDirectMb != null) {
+                softly.assertThat(megabytes(level.directPeakBytes())).as(name + "direct memory high-water mark (MB)")
+                    .isLessThanOrEqualTo(maxDirectMb);
+            }
+        }
+        softly.assertAll();
+        assertThat(levels).isNotEmpty();
+    }
+
+    private Level run(WebClient client, byte[] audio, int concurrency, int requests) {
+        MemorySampler memory = new MemorySampler();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Long> ttfe;
+        try {
+            ttfe = Flux.range(0, requests)
+                .flatMap(i -> stream(client, audio, failed), concurrency)
+                .collectSortedList()
+                .block(Duration.ofMinutes(30));
+        } finally {
+            memory.stop();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        int completed = requests - failed.get();
+        return new Level(concurrency, requests, failed.get(), completed / (elapsed.toNanos() / 1e9), ttfe,
+            memory.heapPeak.get(), memory.jdkDirectPeak.get(), memory.nettyDirectPeak.get(), elapsed);
+    }
+
+    /** Emits the time to the first transcript event of a stream that delivered every event, and nothing otherwise. */
+    private static Mono<Long> stream(WebClient client, byte[] audio, AtomicInteger failed) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new ByteArrayResource(audio) {
+            @Override
+            public String getFilename() {
+                return "audio.wav";
+            }
+        }).contentType(MediaType.parseMediaType("audio/wav"));
+        // Every stream must reach the stub rather than the cache or an in-flight join
+        body.part("bypassCache", "true");
+        body.part("stream", "true");
+
+        AtomicLong firstEvent = new AtomicLong(-1);
+        AtomicInteger transcripts = new AtomicInteger();
+        return Mono.defer(() -> {
+            long requestStart = System.nanoTime();
+            return client.post()
+                .uri("/speech-to-text")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE)
+                // Queue position comments and the trailing timing event are not transcripts
+                .filter(event -> event.event() == null && event.data() != null)
+                .doOnNext(event -> {
+                    firstEvent.compareAndSet(-1, System.nanoTime() - requestStart);
+                    transcripts.incrementAndGet();
+                })
+                .then(Mono.fromCallable(() -> {
+                    if (transcripts.get() < STUB.events()) {
+                        throw new IllegalStateException("Stream ended after " + transcripts.get() + " events");
+                    }
+                    return firstEvent.get();
+                }));
+        }).onErrorResume(error -> {
+            failed.incrementAndGet();
+            return Mono.empty();
+        });
+    }
+
+    private static Double threshold(String property) {
+        String value = System.getProperty(property);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private static double megabytes(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    /** Samples heap and direct memory in use while a level runs, keeping the highest values. */
+    private static final class MemorySampler {
+
+        private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        private final BufferPoolMXBean directPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)
+            .stream()
+            .filter(pool -> pool.getName().equals("direct"))
+            .findFirst()
+            .orElseThrow();
+        private final AtomicLong heapPeak = new AtomicLong();
+        private final AtomicLong jdkDirectPeak = new AtomicLong();
+        private final AtomicLong nettyDirectPeak = new AtomicLong();
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-test-memory-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        MemorySampler() {
+            executor.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            heapPeak.accumulateAndGet(memoryBean.getHeapMemoryUsage().getUsed(), Math::max);
+            jdkDirectPeak.accumulateAndGet(directPool.getMemoryUsed(), Math::max);
+            nettyDirectPeak.accumulateAndGet(PooledByteBufAllocator.DEFAULT.metric().usedDirectMemory(), Math::max);
+        }
+
+        void stop() {
+            executor.shutdownNow();
+            sample();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.zoominfo.karan_take_home.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.zoominfo.karan_take_home.audio.TestWavs;
+
+import io.netty.channel.unix.DomainSocketAddress;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Compares reaching a {@link StubFasterWhisperServer} over loopback TCP with
+ * reaching it over a Unix domain socket, as a co-located Faster Whisper would
+ * be. For each transport it measures the round trip of a short upload one at
+ * a time (p50/p99) and the transcriptions per second with
+ * {@code benchmark.uds.concurrency} in flight, and writes both to
+ * {@code build/reports/benchmark/uds-vs-tcp.json}. The stub answers at once
+ * so only the transport and the client differ. Run with
+ * {@code ./gradlew benchmark}; skipped where Netty has no native transport.
+ */
+@Tag("benchmark")
+class UnixSocketTransportBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.uds.concurrency", 32);
+    private static final int AUDIO_MILLIS = Integer.getInteger("benchmark.uds.audio-ms", 5000);
+
+    private static final StubFasterWhisperServer.Settings IMMEDIATE =
+        new StubFasterWhisperServer.Settings(Duration.ZERO, Duration.ZERO, 1, 0, 0);
+
+    /*
+     * What one transport measured
+     * @param transport tcp or uds.
+     * @param roundTripNanos Sorted round trips of sequential requests.
+     * @param throughput Requests per second with CONCURRENCY in flight.
+     */
+    record Result(String transport, List<Long> roundTripNanos, double throughput) {
+
+        double roundTripMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * roundTripNanos.size()) - 1;
+            return roundTripNanos.get(Math.max(index, 0)) / 1e6;
+        }
+
+        String toJson() {
+            return String.format("{\"transport\":\"%s\",\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"throughputPerSecond\":%.1f}",
+                transport, roundTripMillis(0.50), roundTripMillis(0.99), throughput);
+        }
+    }
+
+    @Test
+    void tcpLoopbackAgainstUnixSocket() throws IOException {
+        assumeTrue(LoopResources.hasNativeSupport(), "Unix domain sockets need Netty's native epoll or kqueue transport");
+        byte[] audio = TestWavs.toneAndSilence(AUDIO_MILLIS);
+        Path socket = Files.createTempDirectory("uds-benchmark").resolve("whisper.sock");
+
+        Result tcp;
+        Result uds;
+        try (StubFasterWhisperServer tcpStub = new StubFasterWhisperServer(IMMEDIATE);
+                StubFasterWhisperServer udsStub = new StubFasterWhisperServer(IMMEDIATE, socket)) {
+            tcp = measure("tcp", tcpStub.uri(), audio);
+            uds = measure("uds", udsStub.uri(), audio);
+        } finally {
+            Files.deleteIfExists(socket);
+        }
+
+        String report = String.format("{\"iterations\":%d,\"concurrency\":%d,\"audioBytes\":%d,\"results\":[%s,%s]}",
+            ITERATIONS, CONCURRENCY, audio.length, tcp.toJson(), uds.toJson());
+        System.out.println("Unix socket benchmark: " + report);
+        Path reports = Files.createDirectories(Path.of("build", "reports", "benchmark"));
+        Files.writeString(reports.resolve("uds-vs-tcp.json"), report);
+
+        assertThat(uds.roundTripNanos()).hasSize(ITERATIONS);
+    }
+
+    private static Result measure(String transport, URI stub, byte[] audio) {
+        ConnectionProvider connections = ConnectionProvider.builder("uds-benchmark-" + transport)
+            .maxConnections(CONCURRENCY)
+            .build();
+        HttpClient httpClient = HttpClient.create(connections);
+        String baseUrl = stub.toString();
+        if (stub.getScheme().equals("unix")) {
+            DomainSocketAddress address = new DomainSocketAddress(stub.getPath());
+            httpClient = httpClient.remoteAddress(() -> address);
+            baseUrl = "http://localhost";
+        }
+        WebClient client = WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+        try {
+            // Warm up the JIT and fill the connection pool before measuring
+            concurrently(client, audio, ITERATIONS);
+
+            List<Long> roundTrips = new ArrayList<>(ITERATIONS);
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                transcribe(client, audio).blockLast(Duration.ofSeconds(30));
+                roundTrips.add(System.nanoTime() - start);
+            }
+            Collections.sort(roundTrips);
+
+            long start = System.nanoTime();
+            concurrently(client, audio, ITERATIONS);
+            double throughput = ITERATIONS / ((System.nanoTime() - start) / 1e9);
+            return new Result(transport, roundTrips, throughput);
+        } finally {
+            connections.dispose();
+        }
+    }
+
+    private static void concurrently(WebClient client, byte[] audio, int requests) {
+        Flux.range(0, requests)
+            .flatMap(i -> transcribe(client, audio), CONCURRENCY)
+            .blockLast(Duration.ofMinutes(10));
+    }
+
+    private static Flux<String> transcribe(WebClient client, byte[] audio) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new ByteArrayResource(audio) {
+            @Override
+            public String getFilename() {
+                return "audio.wav";
+            }
+        }).contentType(MediaType.parseMediaType("audio/wav"));
+        return client.post()
+            .uri("/v1/audio/transcriptions")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(body.build()))
+            .retrieve()
+            .bodyToFlux(String.class);
+    }
+}
@@ -0,0 +1,17 @@
+package com.zoominfo.karan_take_home.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Tomcat request handling on virtual threads (the virtual-threads profile).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+class VirtualThreadStreamCapacityBenchmark extends AbstractStreamCapacityBenchmark {
+
+    @Override
+    protected String mode() {
+        return "virtual-threads";
+    }
+}
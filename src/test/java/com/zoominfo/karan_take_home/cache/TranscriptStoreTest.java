@@ -0,0 +1,169 @@
+package com.zoominfo.karan_take_home.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TranscriptStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private TranscriptStore openStore(long maxBytes, long segmentBytes) throws IOException {
+        TranscriptStore store = new TranscriptStore(true, directory, maxBytes, segmentBytes, new SimpleMeterRegistry());
+        store.open();
+        return store;
+    }
+
+    private static TranscriptionKey key(int i) {
+        return new TranscriptionKey("hash-" + i, "en", "Systran/faster-whisper-small");
+    }
+
+    private static List<SpeechToTextResponse> transcript(String... texts) {
+        return Stream.of(texts).map(SpeechToTextResponse::new).toList();
+    }
+
+    @Test
+    void testEntriesSurviveReopen() throws IOException {
+        TranscriptStore store = openStore(1024 * 1024, 64 * 1024);
+        store.put(key(1), transcript("Hello", ", world!"));
+        store.put(key(2), transcript("Hola, mundo! 世界"));
+        store.close();
+
+        TranscriptStore reopened = openStore(1024 * 1024, 64 * 1024);
+        assertEquals(transcript("Hello", ", world!"), reopened.get(key(1)));
+        assertEquals(transcript("Hola, mundo! 世界"), reopened.get(key(2)));
+        assertNull(reopened.get(key(3)));
+        reopened.close();
+    }
+
+    @Test
+    void testSegmentTimesSurviveReopen() throws IOException {
+        List<SpeechToTextResponse> timed = List.of(
+            new SpeechToTextResponse("The birch canoe", 0.0, 1.62),
+            new SpeechToTextResponse(" slid on the smooth planks.", 1.62, 3.1),
+            new SpeechToTextResponse(" Untimed."));
+        TranscriptStore store = openStore(1024 * 1024, 64 * 1024);
+        store.put(key(1), timed);
+        store.close();
+
+        TranscriptStore reopened = openStore(1024 * 1024, 64 * 1024);
+        assertEquals(timed, reopened.get(key(1)));
+        reopened.close();
+    }
+
+    @Test
+    void testLatestWriteWinsAfterReopen() throws IOException {
+        TranscriptStore store = openStore(1024 * 1024, 64 * 1024);
+        store.put(key(1), transcript("first"));
+        store.put(key(1), transcript("second"));
+        store.close();
+
+        TranscriptStore reopened = openStore(1024 * 1024, 64 * 1024);
+        assertEquals(transcript("second"), reopened.get(key(1)));
+        assertEquals(1, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void testTornTailIsTruncatedOnReopen() throws IOException {
+        TranscriptStore store = openStore(1024 * 1024, 64 * 1024);
+        store.put(key(1), transcript("intact"));
+        store.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.write(segment, new byte[] {0x54, 0x52, 0x53}, StandardOpenOption.APPEND);
+        }
+
+        TranscriptStore reopened = openStore(1024 * 1024, 64 * 1024);
+        assertEquals(transcript("intact"), reopened.get(key(1)));
+        reopened.put(key(2), transcript("appended after recovery"));
+        assertEquals(transcript("appended after recovery"), reopened.get(key(2)));
+        reopened.close();
+    }
+
+    /** Writes three records, then overwrites {@code bytes} at {@code offset} into the second one. */
+    private Path corruptSecondOfThree(int offset, byte... bytes) throws IOException {
+        TranscriptStore store = openStore(1024 * 1024, 64 * 1024);
+        store.put(key(1), transcript("first"));
+        store.put(key(2), transcript("second"));
+        store.put(key(3), transcript("third"));
+        store.close();
+        int first = TranscriptStore.encodeRecord(key(1), transcript("first")).remaining();
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            byte[] content = Files.readAllBytes(segment);
+            System.arraycopy(bytes, 0, content, first + offset, bytes.length);
+            Files.write(segment, content);
+            return segment;
+        }
+    }
+
+    @Test
+    void testRecordWithBadChecksumIsSkippedOnReopen() throws IOException {
+        Path segment = corruptSecondOfThree(20, (byte) 0x7f);
+        long size = Files.size(segment);
+
+        TranscriptStore reopened = openStore(1024 * 1024, 64 * 1024);
+        assertEquals(transcript("first"), reopened.get(key(1)));
+        assertNull(reopened.get(key(2)));
+        assertEquals(transcript("third"), reopened.get(key(3)));
+        assertEquals(size, Files.size(segment));
+        reopened.close();
+    }
+
+    @Test
+    void testRecordsAfterBadHeaderAreKeptOnReopen() throws IOException {
+        Path segment = corruptSecondOfThree(0, (byte) 0, (byte) 0, (byte) 0, (byte) 0);
+        long size = Files.size(segment);
+
+        TranscriptStore reopened = openStore(1024 * 1024, 64 * 1024);
+        assertEquals(transcript("first"), reopened.get(key(1)));
+        assertNull(reopened.get(key(2)));
+        assertEquals(transcript("third"), reopened.get(key(3)));
+        assertEquals(size, Files.size(segment));
+        reopened.close();
+    }
+
+    @Test
+    void testOldestSegmentsAreEvictedToStayWithinBudget() throws IOException {
+        TranscriptStore store = openStore(4096, 1024);
+        for (int i = 0; i < 100; i++) {
+            store.put(key(i), transcript("transcript number " + i));
+        }
+
+        assertTrue(store.totalBytes() <= 4096);
+        assertNull(store.get(key(0)));
+        assertNotNull(store.get(key(99)));
+        store.close();
+    }
+
+    @Test
+    void testOverwrittenSegmentsAreCompacted() throws IOException {
+        TranscriptStore store = openStore(1024 * 1024, 512);
+        store.put(key(1), transcript("kept"));
+        for (int i = 0; i < 50; i++) {
+            store.put(key(2), transcript("overwritten " + i));
+        }
+
+        assertEquals(transcript("kept"), store.get(key(1)));
+        assertEquals(transcript("overwritten 49"), store.get(key(2)));
+        assertTrue(store.totalBytes() < 2048, "dead records should have been compacted away");
+        store.close();
+    }
+}
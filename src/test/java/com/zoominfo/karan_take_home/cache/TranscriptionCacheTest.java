@@ -0,0 +1,97 @@
+package com.zoominfo.karan_take_home.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TranscriptionCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private static TranscriptionKey key(String hash) {
+        return new TranscriptionKey(hash, "en", "Systran/faster-whisper-small");
+    }
+
+    private static List<SpeechToTextResponse> transcript(String text) {
+        return List.of(new SpeechToTextResponse(text));
+    }
+
+    @Test
+    void testGetReturnsStoredEvents() {
+        TranscriptionCache cache = new TranscriptionCache(true, 1024, meterRegistry);
+        cache.put(key("a"), transcript("Hello"));
+
+        assertEquals(transcript("Hello"), cache.get(key("a")));
+        assertNull(cache.get(key("b")));
+        assertEquals(1.0, meterRegistry.get("transcription.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("transcription.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedWhenOverBudget() {
+        long entryWeight = TranscriptionCache.weigh(transcript("0123456789"));
+        TranscriptionCache cache = new TranscriptionCache(true, entryWeight * 2, meterRegistry);
+
+        cache.put(key("a"), transcript("0123456789"));
+        cache.put(key("b"), transcript("0123456789"));
+        cache.get(key("a"));
+        cache.put(key("c"), transcript("0123456789"));
+
+        assertNotNull(cache.get(key("a")));
+        assertNull(cache.get(key("b")));
+        assertNotNull(cache.get(key("c")));
+        assertEquals(2, cache.size());
+        assertEquals(entryWeight * 2, cache.weightBytes());
+        assertEquals(1.0, meterRegistry.get("transcription.cache.evictions").counter().count());
+    }
+
+    @Test
+    void testDoesNotCacheTranscriptLargerThanBudget() {
+        TranscriptionCache cache = new TranscriptionCache(true, 16, meterRegistry);
+        cache.put(key("a"), transcript("This transcript does not fit"));
+
+        assertNull(cache.get(key("a")));
+        assertEquals(0, cache.weightBytes());
+    }
+
+    @Test
+    void testReplacingEntryKeepsWeightConsistent() {
+        TranscriptionCache cache = new TranscriptionCache(true, 1024, meterRegistry);
+        cache.put(key("a"), transcript("short"));
+        cache.put(key("a"), transcript("a little longer"));
+
+        assertEquals(TranscriptionCache.weigh(transcript("a little longer")), cache.weightBytes());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testKeyIsDerivedFromContentLanguageAndModel() {
+        MockMultipartFile file1 = new MockMultipartFile("file", "one.wav", "audio/wav", "same bytes".getBytes());
+        MockMultipartFile file2 = new MockMultipartFile("file", "two.wav", "audio/wav", "same bytes".getBytes());
+
+        TranscriptionKey key1 = TranscriptionKey.from(SpeechToTextRequest.builder().file(file1).build());
+        TranscriptionKey key2 = TranscriptionKey.from(SpeechToTextRequest.builder().file(file2).build());
+        TranscriptionKey key3 = TranscriptionKey.from(SpeechToTextRequest.builder().file(file2).language("fr").build());
+
+        assertEquals(key1, key2);
+        assertNotEquals(key1, key3);
+        assertEquals(64, key1.audioSha256().length());
+    }
+}
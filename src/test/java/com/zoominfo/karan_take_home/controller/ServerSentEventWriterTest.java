@@ -0,0 +1,135 @@
+package com.zoominfo.karan_take_home.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.dto.outgoing.RequestTimingDto;
+import com.zoominfo.karan_take_home.dto.outgoing.SpeechToTextResponseDto;
+import com.zoominfo.karan_take_home.services.LiveTranscription;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+
+class ServerSentEventWriterTest {
+
+    private static final ResolvableType EVENT = ResolvableType.forClassWithGenerics(ServerSentEvent.class, Object.class);
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    /** Text that exercises every escape and each UTF-8 sequence length. */
+    private static final List<String> TEXTS = List.of(
+        " The birch canoe slid on the smooth planks.",
+        "Quote \" backslash \\ slash / tab \t newline \n return \r bell \u0007 unit \u001f",
+        "Café naïve – 東京 😀",
+        "");
+
+    private final ServerSentEventWriter writer = new ServerSentEventWriter(JSON);
+
+    /** Writes {@code events} the way WebFlux would without the custom writer. */
+    @SuppressWarnings("unchecked")
+    private static String writeWithDefaults(List<ServerSentEvent<Object>> events) {
+        HttpMessageWriter<Object> defaults = (HttpMessageWriter<Object>) ServerCodecConfigurer.create().getWriters().stream()
+            .filter(candidate -> candidate.canWrite(EVENT, MediaType.TEXT_EVENT_STREAM))
+            .findFirst()
+            .orElseThrow();
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        defaults.write(Flux.fromIterable(events), EVENT, MediaType.TEXT_EVENT_STREAM, response, Collections.emptyMap())
+            .block(Duration.ofSeconds(5));
+        return response.getBodyAsString().block(Duration.ofSeconds(5));
+    }
+
+    private String write(List<ServerSentEvent<Object>> events) {
+        MockServerHttpResponse response = new MockServerHttpResponse(
+            new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT));
+        writer.write(Flux.fromIterable(events), EVENT, MediaType.TEXT_EVENT_STREAM, response, Collections.emptyMap())
+            .block(Duration.ofSeconds(5));
+        assertEquals("text/event-stream;charset=UTF-8", response.getHeaders().getContentType().toString());
+        return response.getBodyAsString().block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testWritesTranscriptsAsJacksonWritesTheDto() {
+        for (String text : TEXTS) {
+            for (Double start : new Double[] {null, 0.0, 1.52, 1234567.125, 1e-7}) {
+                Double end = start == null ? null : start + 2.4;
+                String expected = writeWithDefaults(List.of(
+                    ServerSentEvent.<Object>builder(new SpeechToTextResponseDto(text, start, end)).build()));
+
+                assertEquals(expected, write(List.of(
+                    ServerSentEvent.<Object>builder(new SpeechToTextResponse(text, start, end)).build())));
+                assertEquals(expected, write(List.of(
+                    ServerSentEvent.<Object>builder(new SpeechToTextResponseDto(text, start, end)).build())));
+            }
+        }
+    }
+
+    @Test
+    void testReplacesUnpairedSurrogate() {
+        assertEquals("data:{\"text\":\"a�b\"}\n\n", write(List.of(
+            ServerSentEvent.<Object>builder(new SpeechToTextResponse("a\uD83Db")).build())));
+    }
+
+    @Test
+    void testFramesOtherEventsAsTheDefaultWriter() {
+        List<ServerSentEvent<Object>> events = List.of(
+            ServerSentEvent.<Object>builder().comment("queue position 3").build(),
+            ServerSentEvent.<Object>builder(new SpeechToTextResponse("Hi", 0.0, 1.0)).id("7").event("segment").build(),
+            ServerSentEvent.<Object>builder("two\nlines").event("note").retry(Duration.ofSeconds(2)).build(),
+            ServerSentEvent.<Object>builder(new RequestTimingDto("abc", 1.5, null, 0.25, 3.0, 40.0, 45.0))
+                .event(SpeechToTextEvents.TIMING_EVENT)
+                .build());
+
+        assertEquals(writeWithDefaults(events), write(events));
+    }
+
+    @Test
+    void testOnlyClaimsEventStreams() {
+        assertTrue(writer.canWrite(EVENT, MediaType.TEXT_EVENT_STREAM));
+        assertTrue(writer.canWrite(EVENT, null));
+        assertFalse(writer.canWrite(EVENT, MediaType.APPLICATION_JSON));
+        assertFalse(writer.canWrite(ResolvableType.forClass(Object.class), null));
+    }
+
+    @Test
+    void testServletConverterWritesTheSameJson() throws Exception {
+        TranscriptJsonConverter converter = new TranscriptJsonConverter();
+        for (String text : TEXTS) {
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+            converter.write(new SpeechToTextResponse(text, 3.5, null), null, output);
+
+            assertEquals(JSON.writeValueAsString(new SpeechToTextResponseDto(text, 3.5, null)),
+                output.getBodyAsString(StandardCharsets.UTF_8));
+        }
+        assertFalse(converter.canRead(SpeechToTextResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testLiveCaptionsEscapeTextAsTranscriptsDo() {
+        for (String text : TEXTS) {
+            String caption = LiveCaptions.toJson(
+                new LiveTranscription.Caption(LiveTranscription.Type.FINAL, text, 1.5, null, Duration.ofMillis(412)));
+
+            // The text and start fields as Jackson writes them, without the braces
+            String transcript = JSON.writeValueAsString(new SpeechToTextResponseDto(text, 1.5, null));
+            String fields = transcript.substring(1, transcript.length() - 1);
+            assertEquals("{\"type\":\"final\"," + fields + ",\"latencyMs\":412}", caption);
+        }
+    }
+}
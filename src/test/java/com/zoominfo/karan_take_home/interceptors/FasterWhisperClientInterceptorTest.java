@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -23,12 +24,15 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 
+import com.zoominfo.karan_take_home.metrics.RequestTimings;
+
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
 
 /**
  * Unit tests for FasterWhisperClientInterceptor.
@@ -411,4 +415,27 @@ class FasterWhisperClientInterceptorTest {
         
         assertThat(logMessages).anyMatch(msg -> msg.contains("Response status: 200"));
     }
+
+    @Test
+    void testPropagateRequestId_SendsTheIdOfTheTimedRequestUpstream() {
+        ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("http://localhost:8000/v1/audio/transcriptions"))
+                .build();
+        ClientResponse response = ClientResponse.create(HttpStatus.OK).build();
+        ArgumentCaptor<ClientRequest> sent = ArgumentCaptor.forClass(ClientRequest.class);
+        when(mockExchangeFunction.exchange(sent.capture()))
+                .thenReturn(Mono.just(response));
+        
+        ExchangeFilterFunction filter = FasterWhisperClientInterceptor.propagateRequestId();
+        
+        StepVerifier.create(filter.filter(request, mockExchangeFunction)
+                        .contextWrite(Context.of(RequestTimings.class, RequestTimings.start("req-42"))))
+                .expectNext(response)
+                .verifyComplete();
+        StepVerifier.create(filter.filter(request, mockExchangeFunction))
+                .expectNext(response)
+                .verifyComplete();
+        
+        assertThat(sent.getAllValues().get(0).headers().getFirst(RequestTimings.REQUEST_ID_HEADER)).isEqualTo("req-42");
+        assertThat(sent.getAllValues().get(1).headers().containsKey(RequestTimings.REQUEST_ID_HEADER)).isFalse();
+    }
 }
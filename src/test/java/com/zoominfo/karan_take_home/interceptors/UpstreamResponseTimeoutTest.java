@@ -0,0 +1,65 @@
+package com.zoominfo.karan_take_home.interceptors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+import com.zoominfo.karan_take_home.config.FasterWhisperTransportProperties.ResponseTimeout;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+class UpstreamResponseTimeoutTest {
+
+    private static final ResponseTimeout SETTINGS =
+        new ResponseTimeout(Duration.ofSeconds(30), 0.5, Duration.ofMinutes(5));
+
+    /** Runs the filter and applies the request customization it added to a mock Reactor Netty request. */
+    private static HttpClientRequest exchange(Duration audio) {
+        ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("http://localhost:8000/v1/audio/transcriptions"))
+            .build();
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        UpstreamResponseTimeout.filter(SETTINGS)
+            .filter(request, filtered -> {
+                sent.set(filtered);
+                return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+            })
+            .contextWrite(UpstreamResponseTimeout.forAudio(audio))
+            .block(Duration.ofSeconds(5));
+
+        HttpClientRequest nettyRequest = mock(HttpClientRequest.class);
+        ClientHttpRequest httpRequest = mock(ClientHttpRequest.class);
+        doReturn(nettyRequest).when(httpRequest).getNativeRequest();
+        sent.get().httpRequest().accept(httpRequest);
+        return nettyRequest;
+    }
+
+    @Test
+    void testScalesTheTimeoutWithTheAudio() {
+        verify(exchange(Duration.ofMinutes(2))).responseTimeout(Duration.ofSeconds(90));
+    }
+
+    @Test
+    void testUsesTheCapForLongOrUnmeasuredAudio() {
+        verify(exchange(Duration.ofHours(1))).responseTimeout(Duration.ofMinutes(5));
+        verify(exchange(null)).responseTimeout(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testComputesTimeoutFromSettings() {
+        assertThat(SETTINGS.forAudio(Duration.ZERO)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(SETTINGS.forAudio(Duration.ofSeconds(10))).isEqualTo(Duration.ofSeconds(35));
+    }
+}
@@ -0,0 +1,59 @@
+package com.zoominfo.karan_take_home.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.metrics.RequestTimings.Stage;
+
+class RequestTimingsTest {
+
+    @Test
+    void testFormatsRecordedStagesAsServerTiming() {
+        RequestTimings timings = new RequestTimings("abc", System.nanoTime());
+        timings.add(Stage.CONNECT, TimeUnit.MICROSECONDS.toNanos(12_345));
+        timings.add(Stage.INFERENCE, TimeUnit.MILLISECONDS.toNanos(800));
+
+        String header = timings.serverTiming();
+
+        assertTrue(header.startsWith("connect;dur=12.3, inference;dur=800.0, total;dur="), header);
+    }
+
+    @Test
+    void testAccumulatesRepeatedStagesAndLeavesUnrecordedOnesOut() {
+        RequestTimings timings = new RequestTimings("abc", System.nanoTime());
+        // One upstream call per chunk
+        timings.add(Stage.INFERENCE, TimeUnit.MILLISECONDS.toNanos(300));
+        timings.add(Stage.INFERENCE, TimeUnit.MILLISECONDS.toNanos(450));
+
+        assertEquals(750.0, timings.millis(Stage.INFERENCE));
+        assertNull(timings.millis(Stage.QUEUE));
+        assertNull(timings.millis(Stage.UPLOAD));
+    }
+
+    @Test
+    void testClosesPrepareOnceWhenFirstQueued() {
+        RequestTimings timings = new RequestTimings("abc", System.nanoTime());
+        timings.uploaded();
+        timings.dispatched(timings.queued());
+        Double prepare = timings.millis(Stage.PREPARE);
+        timings.dispatched(timings.queued());
+
+        assertEquals(prepare, timings.millis(Stage.PREPARE));
+        assertTrue(timings.millis(Stage.UPLOAD) >= 0);
+        assertTrue(timings.millis(Stage.QUEUE) >= 0);
+    }
+
+    @Test
+    void testKeepsUsableClientRequestIdsAndReplacesOthers() {
+        assertEquals("req-42_a.b:c", RequestTimings.start("req-42_a.b:c").requestId());
+        assertEquals(16, RequestTimings.start(null).requestId().length());
+        assertNotEquals("bad id\r\n", RequestTimings.start("bad id\r\n").requestId());
+        assertEquals(16, RequestTimings.start("x".repeat(65)).requestId().length());
+    }
+}
@@ -0,0 +1,136 @@
+package com.zoominfo.karan_take_home.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+class TranscriptionMetricsTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String MODEL = "Systran/faster-whisper-small";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TranscriptionMetrics metrics = new TranscriptionMetrics(registry);
+
+    private static ClientRequest request(String body) {
+        return ClientRequest.create(HttpMethod.POST, URI.create("http://localhost:8000/v1/audio/transcriptions"))
+            .body(BodyInserters.fromValue(body))
+            .build();
+    }
+
+    /** Writes the request body as a real exchange would, then answers with {@code response}. */
+    private static ExchangeFunction answering(ClientResponse response) {
+        return request -> request.body()
+            .insert(new MockClientHttpRequest(request.method(), request.url()), new BodyInserter.Context() {
+                @Override
+                public List<HttpMessageWriter<?>> messageWriters() {
+                    return ExchangeStrategies.withDefaults().messageWriters();
+                }
+
+                @Override
+                public Optional<ServerHttpRequest> serverRequest() {
+                    return Optional.empty();
+                }
+
+                @Override
+                public Map<String, Object> hints() {
+                    return Map.of();
+                }
+            })
+            .then(Mono.just(response));
+    }
+
+    private double inFlight() {
+        return registry.get("transcription.upstream.in_flight").tag("model", MODEL).gauge().value();
+    }
+
+    @Test
+    void testTimesExchangeUntilTheStreamEnds() {
+        ClientResponse upstream = ClientResponse.create(HttpStatus.OK)
+            .body("data: {\"text\":\" Hello.\"}\n\n")
+            .build();
+
+        ClientResponse response = metrics.upstreamFilter()
+            .filter(request("x".repeat(100)), answering(upstream))
+            .contextWrite(Context.of(TranscriptionMetrics.MODEL, MODEL))
+            .block(TIMEOUT);
+
+        assertEquals(1, registry.get("transcription.upstream.connect").tags("model", MODEL, "status", "200").timer().count());
+        assertEquals(100, registry.get("transcription.upstream.upload").tag("model", MODEL).summary().totalAmount());
+        // The stream is still open until its body is read
+        assertEquals(1, inFlight());
+        response.bodyToMono(String.class).block(TIMEOUT);
+        assertEquals(0, inFlight());
+        assertEquals(1, registry.get("transcription.upstream.first_event").tag("model", MODEL).timer().count());
+        assertEquals(1, registry.get("transcription.upstream.duration")
+            .tags("model", MODEL, "status", "200", "outcome", "complete").timer().count());
+    }
+
+    @Test
+    void testRecordsExchangeThatGotNoResponse() {
+        metrics.upstreamFilter()
+            .filter(request("x"), request -> Mono.error(new IOException("Connection refused")))
+            .contextWrite(Context.of(TranscriptionMetrics.MODEL, MODEL))
+            .onErrorResume(IOException.class, e -> Mono.empty())
+            .block(TIMEOUT);
+
+        assertEquals(1, registry.get("transcription.upstream.connect").tags("model", MODEL, "status", "none").timer().count());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void testMeasuresEventsAudioSecondsAndRealTimeFactor() {
+        metrics.measure(MODEL, Duration.ofSeconds(10), Flux.just("First.", "Second."))
+            .blockLast(TIMEOUT);
+
+        assertEquals(2, registry.get("transcription.upstream.events")
+            .tags("model", MODEL, "outcome", "complete").summary().totalAmount());
+        assertEquals(10, registry.get("transcription.audio.processed").tag("model", MODEL).counter().count());
+        assertTrue(registry.get("transcription.realtime_factor").tag("model", MODEL).summary().max() > 0);
+    }
+
+    @Test
+    void testSkipsAudioMetersForFailedOrUnmeasuredTranscriptions() {
+        metrics.measure(MODEL, Duration.ofSeconds(10), Flux.concat(Flux.just("First."), Flux.error(new IOException())))
+            .onErrorResume(e -> Flux.empty())
+            .blockLast(TIMEOUT);
+        metrics.measure(MODEL, null, Flux.just("Streamed.")).blockLast(TIMEOUT);
+
+        assertEquals(1, registry.get("transcription.upstream.events")
+            .tags("model", MODEL, "outcome", "error").summary().totalAmount());
+        assertTrue(registry.find("transcription.audio.processed").counters().isEmpty());
+    }
+
+    @Test
+    void testPassesTheModelToTheUpstreamFilter() {
+        String model = metrics.measure(MODEL, null,
+                Flux.deferContextual(context -> Flux.just(context.<String>get(TranscriptionMetrics.MODEL))))
+            .blockLast(TIMEOUT);
+
+        assertEquals(MODEL, model);
+    }
+}
@@ -0,0 +1,56 @@
+package com.zoominfo.karan_take_home.multipart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class PathMultipartFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testExposesFileContentAndMetadata() throws IOException {
+        Path path = Files.write(directory.resolve("upload"), "test audio content".getBytes());
+        PathMultipartFile file = new PathMultipartFile("file", "test-audio.wav", "audio/wav", path);
+
+        assertEquals("file", file.getName());
+        assertEquals("test-audio.wav", file.getOriginalFilename());
+        assertEquals("audio/wav", file.getContentType());
+        assertEquals(18, file.getSize());
+        assertFalse(file.isEmpty());
+        assertArrayEquals("test audio content".getBytes(), file.getBytes());
+        assertArrayEquals("test audio content".getBytes(), file.getInputStream().readAllBytes());
+    }
+
+    @Test
+    void testResourceIsFileBacked() throws IOException {
+        Path path = Files.write(directory.resolve("upload"), new byte[0]);
+        PathMultipartFile file = new PathMultipartFile("file", "empty.wav", "audio/wav", path);
+
+        Resource resource = file.getResource();
+        assertTrue(resource.isFile());
+        assertTrue(file.isEmpty());
+    }
+
+    @Test
+    void testTransferToCopiesFile() throws IOException {
+        Path path = Files.write(directory.resolve("upload"), "copy me".getBytes());
+        PathMultipartFile file = new PathMultipartFile("file", "copy.wav", "audio/wav", path);
+
+        Path destination = directory.resolve("copy");
+        file.transferTo(destination);
+
+        assertArrayEquals("copy me".getBytes(), Files.readAllBytes(destination));
+        assertTrue(Files.exists(path));
+    }
+}
@@ -0,0 +1,97 @@
+package com.zoominfo.karan_take_home.multipart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class TempFilesTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testDeletesCopyOnceTheFluxCompletes() throws IOException {
+        Path copy = Files.write(directory.resolve("copy"), new byte[] { 1 });
+
+        StepVerifier.create(TempFiles.usingCopy(() -> copy, path -> path, path -> {
+                assertTrue(Files.exists(path));
+                return Flux.just("done");
+            }))
+            .expectNext("done")
+            .verifyComplete();
+
+        assertFalse(Files.exists(copy));
+    }
+
+    @Test
+    void testDeletesCopyWhenCancelled() throws IOException {
+        Path copy = Files.write(directory.resolve("copy"), new byte[] { 1 });
+        CountDownLatch used = new CountDownLatch(1);
+
+        StepVerifier.create(TempFiles.usingCopy(() -> copy, path -> path, path -> {
+                used.countDown();
+                return Flux.<String>never();
+            }))
+            .expectSubscription()
+            .then(() -> assertTrue(await(used)))
+            .thenCancel()
+            .verify();
+
+        assertFalse(Files.exists(copy));
+    }
+
+    @Test
+    void testNoCopyIsNothingToDelete() {
+        StepVerifier.create(TempFiles.usingCopy(() -> "original", path -> null, Flux::just))
+            .expectNext("original")
+            .verifyComplete();
+        TempFiles.deleteQuietly(null);
+    }
+
+    @Test
+    void testCopyOfFileOnDiskOutlivesTheOriginal() throws IOException {
+        Path original = Files.write(directory.resolve("upload"), "test audio content".getBytes());
+
+        Path copy = TempFiles.copyOf(new PathMultipartFile("file", "test-audio.wav", "audio/wav", original));
+        Files.delete(original);
+
+        try {
+            assertArrayEquals("test audio content".getBytes(), Files.readAllBytes(copy));
+        } finally {
+            TempFiles.deleteQuietly(copy);
+        }
+    }
+
+    @Test
+    void testCopyOfFileInMemory() throws IOException {
+        Path copy = TempFiles.copyOf(new ByteArrayMultipartFile("file", "live.wav", "audio/wav",
+            "test audio content".getBytes()));
+
+        try {
+            assertArrayEquals("test audio content".getBytes(), Files.readAllBytes(copy));
+        } finally {
+            TempFiles.deleteQuietly(copy);
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.zoominfo.karan_take_home.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+class FasterWhisperBackendPoolTest {
+
+    private static FasterWhisperBackendPool pool(String... urls) {
+        return new FasterWhisperBackendPool(
+            List.of(urls).stream().map(URI::create).toList(),
+            0.5,
+            4,
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(2),
+            new SimpleMeterRegistry());
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.POST, URI.create("http://faster-whisper-server:8000/v1/audio/transcriptions?x=1")).build();
+    }
+
+    @Test
+    void testSelectsBackendWithFewestOutstandingRequests() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:8000", "http://c:8000");
+        List<FasterWhisperBackend> backends = pool.backends();
+        backends.get(0).begin();
+        backends.get(0).begin();
+        backends.get(1).begin();
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(backends.get(2), pool.select());
+        }
+    }
+
+    @Test
+    void testSkipsEjectedBackendsUnlessAllAreEjected() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:8000");
+        List<FasterWhisperBackend> backends = pool.backends();
+        backends.get(1).begin();
+        pool.onProbe(backends.get(0), false, 0);
+
+        assertSame(backends.get(1), pool.select());
+
+        pool.onProbe(backends.get(1), false, 0);
+        assertSame(backends.get(0), pool.select());
+    }
+
+    @Test
+    void testPrefersBackendNotYetAttempted() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:8000");
+        List<FasterWhisperBackend> backends = pool.backends();
+        backends.get(1).begin();
+
+        assertSame(backends.get(1), pool.select(Set.of(backends.get(0))));
+
+        pool.onProbe(backends.get(1), false, 0);
+        assertSame(backends.get(0), pool.select(Set.of(backends.get(0))));
+    }
+
+    @Test
+    void testRoutingFilterRecordsAttemptedBackends() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:9000");
+        Set<FasterWhisperBackend> attempted = ConcurrentHashMap.newKeySet();
+        List<URI> sentTo = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            pool.routingFilter().filter(request(), routed -> {
+                sentTo.add(routed.url());
+                return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+            }).contextWrite(Context.of(FasterWhisperBackendPool.ATTEMPTED_BACKENDS, attempted)).block();
+        }
+
+        assertEquals(2, attempted.size());
+        assertEquals(2, Set.copyOf(sentTo).size());
+    }
+
+    @Test
+    void testReinstatesHealthyBackendAfterEjectionTime() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:8000");
+        FasterWhisperBackend backend = pool.backends().get(0);
+        pool.onProbe(backend, false, 0);
+
+        pool.onProbe(backend, true, Duration.ofSeconds(10).toNanos());
+        assertFalse(backend.isAvailable());
+
+        pool.onProbe(backend, true, Duration.ofSeconds(31).toNanos());
+        assertTrue(backend.isAvailable());
+    }
+
+    @Test
+    void testRoutesRequestAndTracksItUntilBodyCompletes() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:9000");
+        pool.backends().get(0).begin();
+        AtomicReference<URI> sentTo = new AtomicReference<>();
+        ExchangeFilterFunction filter = pool.routingFilter();
+
+        ClientResponse response = filter.filter(request(), routed -> {
+            sentTo.set(routed.url());
+            return Mono.just(ClientResponse.create(HttpStatus.OK).body("data: hello\n\n").build());
+        }).block();
+
+        assertEquals(URI.create("http://b:9000/v1/audio/transcriptions?x=1"), sentTo.get());
+        FasterWhisperBackend backend = pool.backends().get(1);
+        assertEquals(1, backend.outstanding());
+
+        StepVerifier.create(response.bodyToMono(String.class))
+            .expectNext("data: hello\n\n")
+            .verifyComplete();
+        assertEquals(0, backend.outstanding());
+    }
+
+    @Test
+    void testEjectsBackendWithHighErrorRate() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:8000");
+        // Keep b busy so every request lands on a
+        pool.backends().get(1).begin();
+        FasterWhisperBackend backend = pool.backends().get(0);
+        ExchangeFilterFunction filter = pool.routingFilter();
+
+        for (int i = 0; i < 4; i++) {
+            ClientResponse response = filter.filter(request(),
+                routed -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build())).block();
+            response.releaseBody().block();
+        }
+
+        assertFalse(backend.isAvailable());
+        assertEquals(0, backend.outstanding());
+    }
+
+    @Test
+    void testConnectionFailuresCountAsErrors() {
+        FasterWhisperBackendPool pool = pool("http://a:8000", "http://b:8000");
+        pool.backends().get(1).begin();
+        ExchangeFilterFunction filter = pool.routingFilter();
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(filter.filter(request(), routed -> Mono.error(new IllegalStateException("refused"))))
+                .verifyError(IllegalStateException.class);
+        }
+
+        assertFalse(pool.backends().get(0).isAvailable());
+    }
+
+    @Test
+    void testAddressesUnixSocketBackendAsLocalhost() {
+        FasterWhisperBackendPool pool = pool("unix:///var/run/faster-whisper/whisper.sock");
+        AtomicReference<URI> sentTo = new AtomicReference<>();
+
+        pool.routingFilter().filter(request(), routed -> {
+            sentTo.set(routed.url());
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        }).block();
+
+        assertEquals(URI.create("http://localhost/v1/audio/transcriptions?x=1"), sentTo.get());
+    }
+
+    @Test
+    void testRejectsUnixSocketAmongSeveralBackends() {
+        assertThrows(IllegalArgumentException.class,
+            () -> pool("unix:///var/run/faster-whisper/whisper.sock", "http://b:8000"));
+    }
+}
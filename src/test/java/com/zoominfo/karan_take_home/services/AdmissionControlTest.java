@@ -0,0 +1,129 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import com.zoominfo.karan_take_home.config.AdmissionProperties;
+import com.zoominfo.karan_take_home.config.AdmissionProperties.Limits;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Job;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Lane;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Reservation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+class AdmissionControlTest {
+
+    private static final String MODEL = "Systran/faster-whisper-small";
+    private static final Job JOB = new Job(MODEL, Lane.INTERACTIVE, Duration.ofSeconds(10));
+
+    static AdmissionProperties properties(int maxConcurrency, int queueCapacity) {
+        return new AdmissionProperties(
+            true,
+            Duration.ofSeconds(60),
+            new Limits(maxConcurrency, queueCapacity, Duration.ofSeconds(30)),
+            Map.of());
+    }
+
+    @Test
+    void testAdmitsWhileSlotsAreFree() {
+        AdmissionProperties properties = properties(1, 4);
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(properties);
+        AdmissionControl admissionControl = new AdmissionControl(properties, scheduler, new SimpleMeterRegistry());
+
+        admissionControl.admit(MODEL, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testRejectsWhenEstimatedWaitExceedsDeadline() {
+        AdmissionProperties properties = properties(1, 4);
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(properties);
+        AdmissionControl admissionControl = new AdmissionControl(properties, scheduler, new SimpleMeterRegistry());
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux()).subscribe();
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> admissionControl.admit(MODEL, Duration.ofSeconds(10)));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        assertEquals(Duration.ofSeconds(30), rejected.getRetryAfter());
+        assertEquals("30", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        // A client prepared to wait longer is admitted
+        admissionControl.admit(MODEL, Duration.ofSeconds(45));
+    }
+
+    @Test
+    void testUsesDefaultDeadlineWithoutClientTimeout() {
+        AdmissionProperties properties = properties(1, 4);
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(properties);
+        AdmissionControl admissionControl = new AdmissionControl(properties, scheduler, new SimpleMeterRegistry());
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux()).subscribe();
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux()).subscribe();
+
+        // Two ahead at 30 s each is exactly the 60 s default; a third is not
+        admissionControl.admit(MODEL, null);
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux()).subscribe();
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admit(MODEL, null));
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionProperties properties = properties(1, 1);
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(properties);
+        AdmissionControl admissionControl = new AdmissionControl(properties, scheduler, registry);
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux()).subscribe();
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux()).subscribe();
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> admissionControl.admit(MODEL, Duration.ofHours(1)));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals(Duration.ofSeconds(60), rejected.getRetryAfter());
+        assertEquals(1.0, registry.get("transcription.admission.rejected").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void testAdmittedRequestsHoldTheirPlaceUntilQueued() {
+        AdmissionProperties properties = properties(1, 2);
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(properties);
+        AdmissionControl admissionControl = new AdmissionControl(properties, scheduler, new SimpleMeterRegistry());
+
+        // A burst still being prepared: nothing is queued yet, but both places are taken
+        Reservation first = admissionControl.admit(MODEL, Duration.ofHours(1));
+        Reservation second = admissionControl.admit(MODEL, Duration.ofHours(1));
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> admissionControl.admit(MODEL, Duration.ofHours(1)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+
+        first.release();
+        admissionControl.admit(MODEL, Duration.ofHours(1));
+
+        // The job takes over its request's place, so releasing the reservation afterwards frees nothing
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux())
+            .contextWrite(Context.of(Reservation.class, second))
+            .subscribe();
+        second.release();
+        admissionControl.admit(MODEL, Duration.ofHours(1));
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admit(MODEL, Duration.ofHours(1)));
+    }
+
+    @Test
+    void testDisabledAdmissionNeverRejects() {
+        AdmissionProperties properties = new AdmissionProperties(false, Duration.ofSeconds(1),
+            new Limits(1, 0, Duration.ofSeconds(30)), Map.of());
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(properties);
+        AdmissionControl admissionControl = new AdmissionControl(properties, scheduler, new SimpleMeterRegistry());
+        scheduler.schedule(JOB, () -> Sinks.empty().asMono().flux()).subscribe();
+
+        admissionControl.admit(MODEL, Duration.ofMillis(1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.PcmNormalizer;
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class AudioNormalizerTest {
+
+    private static SpeechToTextRequest request(String filename, String contentType, byte[] audio) {
+        return SpeechToTextRequest.builder()
+            .file(new MockMultipartFile("file", filename, contentType, audio))
+            .build();
+    }
+
+    @Test
+    void testSendsNormalizedCopyAndDeletesItAfterwards() throws IOException {
+        byte[] harvard;
+        try (InputStream in = getClass().getResourceAsStream("/harvard.wav")) {
+            harvard = in.readAllBytes();
+        }
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AudioNormalizer normalizer = new AudioNormalizer(true, registry);
+        List<SpeechToTextRequest> sent = new CopyOnWriteArrayList<>();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream = normalized -> {
+            sent.add(normalized);
+            try (InputStream in = normalized.file().getInputStream()) {
+                assertTrue(PcmNormalizer.isNormalized(WavFormat.read(in, normalized.file().getSize()).orElseThrow()));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return Flux.just(new SpeechToTextResponse("A king ruled the state in the early days."));
+        };
+
+        StepVerifier.create(normalizer.transcribe(request("harvard.wav", "audio/wav", harvard), upstream))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        PathMultipartFile copy = (PathMultipartFile) sent.get(0).file();
+        assertEquals("harvard.wav", copy.getOriginalFilename());
+        assertFalse(Files.exists(copy.getPath()));
+        assertEquals(harvard.length, registry.get("transcription.normalization.bytes").tag("direction", "in").counter().count());
+    }
+
+    @Test
+    void testLeavesCompressedAndAlreadyNormalizedAudioAlone() {
+        AudioNormalizer normalizer = new AudioNormalizer(true, new SimpleMeterRegistry());
+        SpeechToTextRequest mp3 = request("voice.mp3", "audio/mpeg", "ID3 compressed audio".getBytes());
+        SpeechToTextRequest wav16k = request("voice.wav", "audio/wav", TestWavs.toneAndSilence(500));
+
+        assertSame(mp3, normalizer.normalize(mp3).request());
+        assertSame(wav16k, normalizer.normalize(wav16k).request());
+    }
+
+    @Test
+    void testPassesRequestThroughWhenDisabled() {
+        AudioNormalizer normalizer = new AudioNormalizer(false, new SimpleMeterRegistry());
+        SpeechToTextRequest request = request("voice.wav", "audio/wav", TestWavs.toneAndSilence(500));
+        List<SpeechToTextRequest> sent = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(normalizer.transcribe(request, r -> {
+                sent.add(r);
+                return Flux.empty();
+            }))
+            .verifyComplete();
+
+        assertSame(request, sent.get(0));
+    }
+}
@@ -0,0 +1,166 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTranscriberTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private SpeechToTextService speechToTextService;
+
+    private static List<MultipartFile> files(int count) {
+        return IntStream.range(0, count)
+            .<MultipartFile>mapToObj(i -> new MockMultipartFile("files", "clip-" + i + ".wav", "audio/wav",
+                TestWavs.toneAndSilence(100)))
+            .toList();
+    }
+
+    private BatchTranscriber transcriber(int parallelism) {
+        return new BatchTranscriber(speechToTextService, parallelism, 10, Duration.ofMinutes(30),
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testEmitsResultsInCompletionOrderWithBoundedParallelism() {
+        Map<String, Sinks.Many<SpeechToTextResponse>> running = new ConcurrentHashMap<>();
+        when(speechToTextService.transcribe(any(), any())).thenAnswer(invocation -> {
+            SpeechToTextRequest request = invocation.getArgument(0);
+            Sinks.Many<SpeechToTextResponse> sink = Sinks.many().unicast().onBackpressureBuffer();
+            running.put(request.file().getOriginalFilename(), sink);
+            return sink.asFlux();
+        });
+
+        StepVerifier.create(transcriber(2).transcribe(files(3), "en", null, false, null))
+            .then(() -> awaitRunning(running, 2))
+            .then(() -> {
+                assertFalse(running.containsKey("clip-2.wav"), "third file dispatched before a slot freed");
+                complete(running.get("clip-1.wav"), "Second.");
+            })
+            .assertNext(result -> {
+                assertEquals(1, result.index());
+                assertEquals("Second.", result.responses().get(0).text());
+            })
+            .then(() -> awaitRunning(running, 3))
+            .then(() -> {
+                complete(running.get("clip-2.wav"), "Third.");
+                complete(running.get("clip-0.wav"), "First.");
+            })
+            .assertNext(result -> assertEquals(2, result.index()))
+            .assertNext(result -> assertEquals(0, result.index()))
+            .expectComplete()
+            .verify(TIMEOUT);
+    }
+
+    @Test
+    void testReportsFailedFileWithoutFailingTheBatch() {
+        when(speechToTextService.transcribe(any(), any())).thenAnswer(invocation -> {
+            SpeechToTextRequest request = invocation.getArgument(0);
+            if (request.file().getOriginalFilename().equals("clip-1.wav")) {
+                throw new IllegalArgumentException("File content is not a recognised audio format");
+            }
+            return Flux.just(new SpeechToTextResponse("Fine."));
+        });
+
+        List<BatchTranscriber.Result> results = transcriber(4).transcribe(files(3), "en", null, false, null)
+            .collectList()
+            .block(TIMEOUT);
+
+        assertEquals(3, results.size());
+        BatchTranscriber.Result failed = results.stream().filter(result -> result.index() == 1).findFirst().orElseThrow();
+        assertFalse(failed.succeeded());
+        assertEquals("File content is not a recognised audio format", failed.error().getMessage());
+        BatchTranscriber.Summary summary = BatchTranscriber.Summary.of(results, Duration.ofSeconds(1));
+        assertEquals(3, summary.files());
+        assertEquals(2, summary.succeeded());
+        assertEquals(1, summary.failed());
+        assertTrue(summary.slowestFile().compareTo(summary.meanFile()) >= 0);
+    }
+
+    @Test
+    void testRetriesFileRefusedAdmissionAfterRetryAfter() {
+        AtomicInteger attempts = new AtomicInteger();
+        when(speechToTextService.transcribe(any(), any())).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Busy", Duration.ofMillis(20));
+            }
+            return Flux.just(new SpeechToTextResponse("Eventually."));
+        });
+
+        List<BatchTranscriber.Result> results = transcriber(4).transcribe(files(1), "en", null, false, null)
+            .collectList()
+            .block(TIMEOUT);
+
+        assertTrue(results.get(0).succeeded());
+        assertEquals("Eventually.", results.get(0).responses().get(0).text());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testReportsFileStillRefusedAtItsDeadline() {
+        when(speechToTextService.transcribe(any(), any())).thenThrow(
+            new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Queue full", Duration.ofSeconds(30)));
+
+        List<BatchTranscriber.Result> results = transcriber(4)
+            .transcribe(files(1), "en", null, false, Duration.ofSeconds(10))
+            .collectList()
+            .block(TIMEOUT);
+
+        assertFalse(results.get(0).succeeded());
+        assertTrue(results.get(0).error() instanceof AdmissionRejectedException);
+    }
+
+    @Test
+    void testRejectsEmptyAndOversizedBatches() {
+        BatchTranscriber transcriber = transcriber(4);
+
+        assertThrows(IllegalArgumentException.class, () -> transcriber.transcribe(List.of(), "en", null, false, null));
+        assertThrows(IllegalArgumentException.class, () -> transcriber.transcribe(files(11), "en", null, false, null));
+    }
+
+    private static void awaitRunning(Map<String, ?> running, int count) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (running.size() < count) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Only " + running.size() + " files dispatched");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void complete(Sinks.Many<SpeechToTextResponse> sink, String text) {
+        sink.tryEmitNext(new SpeechToTextResponse(text));
+        sink.tryEmitComplete();
+    }
+}
@@ -0,0 +1,153 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.config.ChunkingProperties;
+import com.zoominfo.karan_take_home.config.ChunkingProperties.Segmentation;
+import com.zoominfo.karan_take_home.config.ChunkingProperties.SegmentationOverrides;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class ChunkedTranscriberTest {
+
+    /** About 30 s of audio with pauses near 10 s and 20 s, split into three segments by {@link #properties}. */
+    private static final byte[] LONG_WAV = TestWavs.toneAndSilence(9500, 300, 9400, 300, 10000);
+
+    static ChunkingProperties properties(boolean enabled) {
+        return new ChunkingProperties(
+            enabled,
+            Duration.ofSeconds(1),
+            new Segmentation(Duration.ofSeconds(10), Duration.ofSeconds(1), 2),
+            Map.of());
+    }
+
+    private static SpeechToTextRequest request(byte[] audio, String contentType) {
+        return SpeechToTextRequest.builder()
+            .file(new MockMultipartFile("file", "long.wav", contentType, audio))
+            .model("Systran/faster-whisper-small")
+            .build();
+    }
+
+    private static int segmentIndex(SpeechToTextRequest request) {
+        String name = request.file().getOriginalFilename();
+        return Integer.parseInt(name.substring("segment-".length(), name.indexOf('-', "segment-".length())));
+    }
+
+    @Test
+    void testTranscribesSegmentsAndStitchesOverlapInOrder() {
+        List<Duration> segmentDurations = new CopyOnWriteArrayList<>();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream = segment -> {
+            try (InputStream in = segment.file().getInputStream()) {
+                segmentDurations.add(WavFormat.read(in, segment.file().getSize()).orElseThrow().duration());
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+            return switch (segmentIndex(segment)) {
+                case 0 -> Flux.just(new SpeechToTextResponse("Hello there. This is the"), new SpeechToTextResponse(" first part of it."));
+                case 1 -> Flux.just(new SpeechToTextResponse(" Part of it. Second segment"));
+                default -> Flux.just(new SpeechToTextResponse(" second segment ends here."));
+            };
+        };
+
+        StepVerifier.create(new ChunkedTranscriber(properties(true)).transcribe(request(LONG_WAV, "audio/wav"), upstream))
+            .expectNext(new SpeechToTextResponse("Hello there. This is the"))
+            .expectNext(new SpeechToTextResponse(" first part of it."))
+            .expectNext(new SpeechToTextResponse(" Second segment"))
+            .expectNext(new SpeechToTextResponse(" ends here."))
+            .verifyComplete();
+
+        assertEquals(3, segmentDurations.size());
+        for (Duration duration : segmentDurations) {
+            assertTrue(duration.compareTo(Duration.ofSeconds(12)) < 0, "segment of " + duration);
+        }
+    }
+
+    @Test
+    void testLaterSegmentsRunWhileTheFirstIsStillStreaming() {
+        Sinks.Many<SpeechToTextResponse> first = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean secondSubscribed = new AtomicBoolean();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> upstream = segment -> switch (segmentIndex(segment)) {
+            case 0 -> first.asFlux();
+            case 1 -> Flux.just(new SpeechToTextResponse(" two")).doOnSubscribe(s -> secondSubscribed.set(true));
+            default -> Flux.just(new SpeechToTextResponse(" three"));
+        };
+
+        StepVerifier.create(new ChunkedTranscriber(properties(true)).transcribe(request(LONG_WAV, "audio/wav"), upstream))
+            .then(() -> first.tryEmitNext(new SpeechToTextResponse("one")))
+            .expectNext(new SpeechToTextResponse("one"))
+            .then(() -> {
+                assertTrue(secondSubscribed.get());
+                first.tryEmitComplete();
+            })
+            .expectNext(new SpeechToTextResponse(" two"), new SpeechToTextResponse(" three"))
+            .verifyComplete();
+    }
+
+    @Test
+    void testAudioThatCannotBeSplitIsTranscribedWhole() {
+        SpeechToTextRequest mp3 = request("ID3 compressed audio".getBytes(), "audio/mpeg");
+        List<SpeechToTextRequest> calls = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(new ChunkedTranscriber(properties(true)).transcribe(mp3, whole -> {
+                calls.add(whole);
+                return Flux.just(new SpeechToTextResponse("whole"));
+            }))
+            .expectNext(new SpeechToTextResponse("whole"))
+            .verifyComplete();
+
+        assertEquals(1, calls.size());
+        assertSame(mp3, calls.get(0));
+    }
+
+    @Test
+    void testShortAudioIsTranscribedWhole() {
+        SpeechToTextRequest shortWav = request(TestWavs.toneAndSilence(4000), "audio/wav");
+        List<SpeechToTextRequest> calls = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(new ChunkedTranscriber(properties(true)).transcribe(shortWav, whole -> {
+                calls.add(whole);
+                return Flux.just(new SpeechToTextResponse("whole"));
+            }))
+            .expectNext(new SpeechToTextResponse("whole"))
+            .verifyComplete();
+
+        assertSame(shortWav, calls.get(0));
+    }
+
+    @Test
+    void testUsesPerModelSegmentation() {
+        ChunkingProperties properties = new ChunkingProperties(
+            true,
+            Duration.ofSeconds(1),
+            new Segmentation(Duration.ofSeconds(10), Duration.ofSeconds(1), 2),
+            Map.of(
+                "Systran/faster-whisper-large-v3", new SegmentationOverrides(Duration.ofMinutes(1), Duration.ZERO, 8),
+                "Systran/faster-whisper-medium", new SegmentationOverrides(null, null, 3)));
+
+        assertEquals(new Segmentation(Duration.ofMinutes(1), Duration.ZERO, 8),
+            properties.forModel("Systran/faster-whisper-large-v3"));
+        assertEquals(new Segmentation(Duration.ofSeconds(10), Duration.ofSeconds(1), 3),
+            properties.forModel("Systran/faster-whisper-medium"));
+        assertEquals(2, properties.forModel("Systran/faster-whisper-small").parallelism());
+    }
+}
@@ -0,0 +1,280 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.AudioProbe;
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.function.Tuple2;
+
+class ClipPackerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static ClipPacker packer(boolean enabled, SimpleMeterRegistry registry) {
+        return new ClipPacker(enabled, Duration.ofMillis(100), Duration.ofSeconds(28), Duration.ofSeconds(5),
+            Duration.ofSeconds(1), registry);
+    }
+
+    private static SpeechToTextRequest clip(String name, int... pattern) {
+        MockMultipartFile file = new MockMultipartFile("file", name, "audio/wav", TestWavs.toneAndSilence(pattern));
+        return SpeechToTextRequest.builder()
+            .file(file)
+            .audioInfo(AudioProbe.probe(file))
+            .build();
+    }
+
+    private static Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> alone(List<SpeechToTextRequest> sent) {
+        return request -> {
+            sent.add(request);
+            return Flux.just(new SpeechToTextResponse("alone " + request.file().getOriginalFilename()));
+        };
+    }
+
+    @Test
+    void testSplitsSegmentsByOverlapAndMovesTheirTimes() {
+        // Clip 0 is 0-2 s, clip 1 is 3-4.5 s of the packed recording
+        double[] offsets = {0, 3};
+        double[] durations = {2, 1.5};
+
+        List<List<SpeechToTextResponse>> split = ClipPacker.split(List.of(
+            new SpeechToTextResponse(" First.", 0.0, 1.9),
+            new SpeechToTextResponse(" Second.", 2.5, 4.25),
+            new SpeechToTextResponse(" Um.", 2.4, 2.45)), offsets, durations);
+
+        assertEquals(List.of(new SpeechToTextResponse(" First.", 0.0, 1.9),
+            new SpeechToTextResponse(" Um.", 2.0, 2.0)), split.get(0));
+        assertEquals(List.of(new SpeechToTextResponse(" Second.", 0.0, 1.25)), split.get(1));
+        assertNull(ClipPacker.split(List.of(new SpeechToTextResponse("No times.")), offsets, durations));
+    }
+
+    @Test
+    void testLeavesClipsSharingASegmentToBeSentAlone() {
+        // Clips at 0-2 s, 3-4.5 s and 5.5-6 s; the first two words run on across the separator
+        double[] offsets = {0, 3, 5.5};
+        double[] durations = {2, 1.5, 0.5};
+
+        List<List<SpeechToTextResponse>> split = ClipPacker.split(List.of(
+            new SpeechToTextResponse(" Hello there.", 1.2, 3.4),
+            new SpeechToTextResponse(" Bye.", 5.5, 6.0)), offsets, durations);
+
+        assertNull(split.get(0));
+        assertNull(split.get(1));
+        assertEquals(List.of(new SpeechToTextResponse(" Bye.", 0.0, 0.5)), split.get(2));
+    }
+
+    @Test
+    void testPacksClipsArrivingTogetherIntoOneCall() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ClipPacker packer = packer(true, registry);
+        List<SpeechToTextRequest> sentAlone = new CopyOnWriteArrayList<>();
+        List<SpeechToTextRequest> sentPacked = new CopyOnWriteArrayList<>();
+        List<Long> packedBytes = new CopyOnWriteArrayList<>();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packed = request -> {
+            sentPacked.add(request);
+            byte[] wav;
+            try (InputStream in = request.file().getInputStream()) {
+                wav = in.readAllBytes();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            packedBytes.add(WavFormat.read(new ByteArrayInputStream(wav), wav.length).orElseThrow().dataLength());
+            // The clips are packed in arrival order; about 0.75 s in is tone if clip A (1 s) came first
+            int at = WavFormat.HEADER_BYTES + 12050 * 2;
+            if ((wav[at] | wav[at + 1]) != 0) {
+                return Flux.just(
+                    new SpeechToTextResponse(" Hello.", 0.0, 1.0),
+                    new SpeechToTextResponse(" Bye.", 2.0, 2.5));
+            }
+            return Flux.just(
+                new SpeechToTextResponse(" Bye.", 0.0, 0.5),
+                new SpeechToTextResponse(" Hello.", 1.5, 2.5));
+        };
+
+        Flux<SpeechToTextResponse> a = packer.transcribe(clip("a.wav", 1000), alone(sentAlone), packed);
+        Flux<SpeechToTextResponse> b = packer.transcribe(clip("b.wav", 500), alone(sentAlone), packed);
+        Tuple2<List<SpeechToTextResponse>, List<SpeechToTextResponse>> results = Mono.zip(a.collectList(), b.collectList())
+            .block(TIMEOUT);
+
+        assertEquals(1, sentPacked.size());
+        assertEquals(0, sentAlone.size());
+        // 1 s + 1 s of silence + 0.5 s at 16 kHz, 16-bit mono
+        assertEquals(2500L * 32, packedBytes.get(0));
+        assertFalse(Files.exists(((PathMultipartFile) sentPacked.get(0).file()).getPath()));
+        assertEquals(List.of(new SpeechToTextResponse(" Hello.", 0.0, 1.0)), results.getT1());
+        assertEquals(List.of(new SpeechToTextResponse(" Bye.", 0.0, 0.5)), results.getT2());
+        assertEquals(2.0, registry.get("transcription.packing.clips").summary().totalAmount());
+        assertEquals(2, registry.get("transcription.packing.latency").tag("outcome", "packed").timer().count());
+    }
+
+    @Test
+    void testSendsClipAloneWhenNothingElseArrives() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<SpeechToTextRequest> sentAlone = new CopyOnWriteArrayList<>();
+
+        List<SpeechToTextResponse> events = packer(true, registry)
+            .transcribe(clip("a.wav", 1000), alone(sentAlone), request -> Flux.error(new AssertionError("packed")))
+            .collectList()
+            .block(TIMEOUT);
+
+        assertEquals(List.of(new SpeechToTextResponse("alone a.wav")), events);
+        assertEquals(1, registry.get("transcription.packing.latency").tag("outcome", "alone").timer().count());
+    }
+
+    @Test
+    void testFallsBackToSingleCallsWithoutSegmentTimes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ClipPacker packer = packer(true, registry);
+        List<SpeechToTextRequest> sentAlone = new CopyOnWriteArrayList<>();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packed =
+            request -> Flux.just(new SpeechToTextResponse(" Hello. Bye."));
+
+        List<SpeechToTextResponse> events = Flux.merge(
+                packer.transcribe(clip("a.wav", 1000), alone(sentAlone), packed),
+                packer.transcribe(clip("b.wav", 500), alone(sentAlone), packed))
+            .collectList()
+            .block(TIMEOUT);
+
+        assertEquals(2, sentAlone.size());
+        assertEquals(List.of("alone a.wav", "alone b.wav"), events.stream().map(SpeechToTextResponse::text).sorted().toList());
+        assertEquals(2, registry.get("transcription.packing.latency").tag("outcome", "no_timestamps").timer().count());
+    }
+
+    @Test
+    void testSendsClipsSharingASegmentOneByOne() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ClipPacker packer = packer(true, registry);
+        List<SpeechToTextRequest> sentAlone = new CopyOnWriteArrayList<>();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packed =
+            request -> Flux.just(new SpeechToTextResponse(" Hello. Bye.", 0.2, 2.2));
+
+        List<SpeechToTextResponse> events = Flux.merge(
+                packer.transcribe(clip("a.wav", 1000), alone(sentAlone), packed),
+                packer.transcribe(clip("b.wav", 500), alone(sentAlone), packed))
+            .collectList()
+            .block(TIMEOUT);
+
+        assertEquals(List.of("alone a.wav", "alone b.wav"), events.stream().map(SpeechToTextResponse::text).sorted().toList());
+        assertEquals(2, registry.get("transcription.packing.latency").tag("outcome", "crossed_separator").timer().count());
+    }
+
+    @Test
+    void testDropsCancelledClipFromItsWindow() {
+        ClipPacker packer = packer(true, new SimpleMeterRegistry());
+        List<SpeechToTextRequest> sentAlone = new CopyOnWriteArrayList<>();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packed =
+            request -> Flux.error(new AssertionError("packed"));
+
+        Disposable cancelled = packer.transcribe(clip("a.wav", 1000), alone(sentAlone), packed).subscribe();
+        Flux<SpeechToTextResponse> kept = packer.transcribe(clip("b.wav", 500), alone(sentAlone), packed);
+        List<SpeechToTextResponse> events = Flux.merge(kept,
+                Mono.delay(Duration.ofMillis(20)).doOnNext(tick -> cancelled.dispose()).then(Mono.empty()))
+            .collectList()
+            .block(TIMEOUT);
+
+        assertEquals(List.of(new SpeechToTextResponse("alone b.wav")), events);
+        assertEquals(List.of("b.wav"), sentAlone.stream().map(request -> request.file().getOriginalFilename()).toList());
+    }
+
+    @Test
+    void testCancelsPackedCallOnceNoClipIsWaiting() throws InterruptedException {
+        ClipPacker packer = packer(true, new SimpleMeterRegistry());
+        CountDownLatch sent = new CountDownLatch(1);
+        AtomicBoolean upstreamCancelled = new AtomicBoolean();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packed = request -> Flux.<SpeechToTextResponse>never()
+            .doOnSubscribe(subscription -> sent.countDown())
+            .doOnCancel(() -> upstreamCancelled.set(true));
+
+        Disposable a = packer.transcribe(clip("a.wav", 1000), alone(new CopyOnWriteArrayList<>()), packed).subscribe();
+        Disposable b = packer.transcribe(clip("b.wav", 500), alone(new CopyOnWriteArrayList<>()), packed).subscribe();
+        assertTrue(sent.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+        a.dispose();
+        assertFalse(upstreamCancelled.get());
+        b.dispose();
+        assertTrue(upstreamCancelled.get());
+    }
+
+    @Test
+    void testTranscribesAloneWithTheCallersContext() {
+        List<SpeechToTextResponse> events = packer(true, new SimpleMeterRegistry())
+            .transcribe(clip("a.wav", 1000),
+                request -> Flux.deferContextual(context -> Flux.just(new SpeechToTextResponse(context.get("caller")))),
+                request -> Flux.error(new AssertionError("packed")))
+            .contextWrite(Context.of("caller", "a"))
+            .collectList()
+            .block(TIMEOUT);
+
+        assertEquals(List.of(new SpeechToTextResponse("a")), events);
+    }
+
+    @Test
+    void testPackedCallTakesOneClipsReservationAndReleasesTheOthers() {
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(AdmissionControlTest.properties(8, 32));
+        AdmissionControl admissionControl = new AdmissionControl(AdmissionControlTest.properties(8, 32), scheduler,
+            new SimpleMeterRegistry());
+        SpeechToTextRequest a = clip("a.wav", 1000);
+        SpeechToTextRequest b = clip("b.wav", 500);
+        List<Boolean> sawCaller = new CopyOnWriteArrayList<>();
+        Function<SpeechToTextRequest, Flux<SpeechToTextResponse>> packed = request -> scheduler.schedule(
+            TranscriptionScheduler.Job.of(request), () -> Flux.deferContextual(context -> {
+                sawCaller.add(context.hasKey("caller"));
+                return Flux.just(new SpeechToTextResponse(" Hello.", 0.0, 1.0),
+                    new SpeechToTextResponse(" Bye.", 2.0, 2.5));
+            }));
+        ClipPacker packer = packer(true, new SimpleMeterRegistry());
+
+        Flux.merge(
+                packer.transcribe(a, alone(new CopyOnWriteArrayList<>()), packed)
+                    .contextWrite(Context.of("caller", "a", TranscriptionScheduler.Reservation.class,
+                        admissionControl.admit(a.model(), null))),
+                packer.transcribe(b, alone(new CopyOnWriteArrayList<>()), packed)
+                    .contextWrite(Context.of("caller", "b", TranscriptionScheduler.Reservation.class,
+                        admissionControl.admit(b.model(), null))))
+            .blockLast(TIMEOUT);
+
+        assertEquals(List.of(false), sawCaller);
+        assertEquals(0, scheduler.reserved(a.model()));
+    }
+
+    @Test
+    void testLeavesLongClipsAndDisabledPackingAlone() {
+        List<SpeechToTextRequest> sentAlone = new CopyOnWriteArrayList<>();
+        SpeechToTextRequest longClip = clip("long.wav", 6000);
+        SpeechToTextRequest shortClip = clip("short.wav", 1000);
+
+        packer(true, new SimpleMeterRegistry()).transcribe(longClip, alone(sentAlone), null).blockLast(TIMEOUT);
+        packer(false, new SimpleMeterRegistry()).transcribe(shortClip, alone(sentAlone), null).blockLast(TIMEOUT);
+
+        assertSame(longClip, sentAlone.get(0));
+        assertSame(shortClip, sentAlone.get(1));
+    }
+}
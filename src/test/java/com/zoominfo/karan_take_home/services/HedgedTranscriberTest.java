@@ -0,0 +1,153 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.config.HedgingProperties;
+import com.zoominfo.karan_take_home.routing.FasterWhisperBackendPool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class HedgedTranscriberTest {
+
+    private static final String MODEL = "Systran/faster-whisper-small";
+
+    /** Hedges after the median of the last few requests, at least 20 ms in, with a budget of one hedge per request. */
+    static HedgingProperties properties(boolean enabled, double budget) {
+        return new HedgingProperties(enabled, 0.5, Duration.ofMillis(20), 8, 1, budget, 10);
+    }
+
+    static HedgedTranscriber disabled() {
+        return new HedgedTranscriber(properties(false, 0), pool("http://a:8000"), new SimpleMeterRegistry());
+    }
+
+    private static HedgedTranscriber hedged(double budget) {
+        HedgedTranscriber hedged = new HedgedTranscriber(properties(true, budget),
+            pool("http://a:8000", "http://b:8000"), new SimpleMeterRegistry());
+        // One fast request gives the model a history to hedge from
+        StepVerifier.create(hedged.transcribe(MODEL, () -> Flux.just("warm-up")))
+            .expectNext("warm-up")
+            .verifyComplete();
+        return hedged;
+    }
+
+    private static FasterWhisperBackendPool pool(String... urls) {
+        return new FasterWhisperBackendPool(
+            List.of(urls).stream().map(URI::create).toList(),
+            0.5,
+            4,
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(2),
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testCallsUpstreamOnceWhenDisabled() {
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(disabled().transcribe(MODEL, () -> {
+                calls.incrementAndGet();
+                return Flux.just("a").delayElements(Duration.ofMillis(100));
+            }))
+            .expectNext("a")
+            .verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testHedgeWinsWhenOriginalIsSlowAndOriginalIsCancelled() {
+        HedgedTranscriber hedged = hedged(1.0);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean originalCancelled = new AtomicBoolean();
+
+        StepVerifier.create(hedged.transcribe(MODEL, () -> calls.incrementAndGet() == 1
+                ? Flux.<String>never().doOnCancel(() -> originalCancelled.set(true))
+                : Flux.just("hedge")))
+            .expectNext("hedge")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, calls.get());
+        assertTrue(originalCancelled.get());
+    }
+
+    @Test
+    void testDoesNotHedgeWhenBudgetIsSpent() {
+        HedgedTranscriber hedged = hedged(0);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(hedged.transcribe(MODEL, () -> {
+                calls.incrementAndGet();
+                return Flux.just("original").delayElements(Duration.ofMillis(200));
+            }))
+            .expectNext("original")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testOriginalFailingBeforeFirstEventLeavesRaceToHedge() {
+        HedgedTranscriber hedged = hedged(1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(hedged.transcribe(MODEL, () -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(100)).thenMany(Flux.<String>error(new IllegalStateException("reset")))
+                : Flux.just("hedge").delayElements(Duration.ofMillis(300))))
+            .expectNext("hedge")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testErrorPropagatesOnceEveryAttemptHasFailed() {
+        HedgedTranscriber hedged = hedged(1.0);
+
+        StepVerifier.create(hedged.transcribe(MODEL,
+                () -> Mono.delay(Duration.ofMillis(100)).thenMany(Flux.<String>error(new IllegalStateException("down")))))
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testBudgetAllowsOnlyItsShareOfHedges() {
+        HedgeBudget budget = new HedgeBudget(0.5, 10);
+        assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void testLatencyWindowKeepsOnlyRecentSamples() {
+        LatencyWindow window = new LatencyWindow(4);
+        assertEquals(-1, window.percentile(0.5, 1));
+
+        for (long latency : new long[] {1000, 1, 2, 3, 4}) {
+            window.record(latency);
+        }
+
+        assertEquals(2, window.percentile(0.5, 1));
+        assertEquals(4, window.percentile(1.0, 1));
+        assertEquals(-1, window.percentile(0.5, 5));
+    }
+}
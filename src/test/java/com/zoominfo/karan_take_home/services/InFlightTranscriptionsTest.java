@@ -0,0 +1,143 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.cache.TranscriptionKey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.test.publisher.TestPublisher;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+class InFlightTranscriptionsTest {
+
+    private static final TranscriptionKey KEY = new TranscriptionKey("hash", "en", "Systran/faster-whisper-small");
+
+    private InFlightTranscriptions inFlightTranscriptions;
+    private TestPublisher<SpeechToTextResponse> upstream;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        inFlightTranscriptions = new InFlightTranscriptions(new SimpleMeterRegistry());
+        upstream = TestPublisher.create();
+        upstreamCalls = new AtomicInteger();
+    }
+
+    private reactor.core.publisher.Flux<SpeechToTextResponse> join() {
+        return inFlightTranscriptions.join(KEY, () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.flux();
+        });
+    }
+
+    @Test
+    void testLateSubscriberReceivesEmittedEventsThenLiveOnes() {
+        List<String> first = new ArrayList<>();
+        List<String> late = new ArrayList<>();
+
+        join().subscribe(response -> first.add(response.text()));
+        upstream.next(new SpeechToTextResponse("one"));
+        join().subscribe(response -> late.add(response.text()));
+        upstream.next(new SpeechToTextResponse("two"));
+        upstream.complete();
+
+        assertEquals(List.of("one", "two"), first);
+        assertEquals(List.of("one", "two"), late);
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(0, inFlightTranscriptions.size());
+    }
+
+    @Test
+    void testUpstreamIsCancelledOnlyWhenLastSubscriberCancels() {
+        Disposable first = join().subscribe();
+        Disposable second = join().subscribe();
+
+        first.dispose();
+        upstream.assertNotCancelled();
+        assertEquals(1, inFlightTranscriptions.size());
+
+        second.dispose();
+        upstream.assertCancelled();
+        assertEquals(0, inFlightTranscriptions.size());
+    }
+
+    @Test
+    void testNewFlightStartsAfterPreviousCompletes() {
+        join().subscribe();
+        upstream.complete();
+        assertEquals(0, inFlightTranscriptions.size());
+
+        join().subscribe();
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testJoinerSubscribingAfterCompletionStartsItsOwnFlight() {
+        TestPublisher<SpeechToTextResponse> own = TestPublisher.create();
+        join().subscribe();
+        reactor.core.publisher.Flux<SpeechToTextResponse> joined = inFlightTranscriptions.join(KEY, own::flux);
+        upstream.complete();
+
+        List<String> texts = new ArrayList<>();
+        joined.subscribe(response -> texts.add(response.text()));
+        own.next(new SpeechToTextResponse("own"));
+
+        assertEquals(List.of("own"), texts);
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, inFlightTranscriptions.size());
+    }
+
+    @Test
+    void testJoinerSubscribingAfterCancellationStartsItsOwnFlight() {
+        TestPublisher<SpeechToTextResponse> own = TestPublisher.create();
+        Disposable first = join().subscribe();
+        reactor.core.publisher.Flux<SpeechToTextResponse> joined = inFlightTranscriptions.join(KEY, own::flux);
+        first.dispose();
+        upstream.assertCancelled();
+        assertEquals(0, inFlightTranscriptions.size());
+
+        joined.subscribe();
+
+        own.assertSubscribers(1);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testErrorIsDeliveredToAllSubscribersAndClearsFlight() {
+        List<Throwable> errors = new ArrayList<>();
+        join().subscribe(response -> {}, errors::add);
+        join().subscribe(response -> {}, errors::add);
+
+        upstream.error(new IllegalStateException("upstream failed"));
+
+        assertEquals(2, errors.size());
+        assertTrue(errors.stream().allMatch(IllegalStateException.class::isInstance));
+        assertFalse(inFlightTranscriptions.size() > 0);
+    }
+
+    @Test
+    void testUpstreamDoesNotRunInTheFirstSubscribersContext() {
+        AtomicReference<ContextView> seen = new AtomicReference<>();
+        inFlightTranscriptions.join(KEY, () -> reactor.core.publisher.Flux.deferContextual(context -> {
+                seen.set(context);
+                return upstream.flux();
+            }))
+            .contextWrite(Context.of("caller", "first"))
+            .subscribe();
+
+        assertFalse(seen.get().hasKey("caller"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import com.zoominfo.karan_take_home.clients.FasterWhisperClient;
+import com.zoominfo.karan_take_home.config.AdmissionProperties;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.metrics.TranscriptionMetrics;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Job;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Lane;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class LiveTranscriberTest {
+
+    @Mock
+    private FasterWhisperClient fasterWhisperClient;
+    @Mock
+    private TranscriptionMetrics transcriptionMetrics;
+    @Mock
+    private HedgedTranscriber hedgedTranscriber;
+
+    private LiveTranscriber transcriber(TranscriptionScheduler scheduler, AdmissionProperties properties,
+            int maxSessions, SimpleMeterRegistry registry) {
+        return new LiveTranscriber(fasterWhisperClient, scheduler, transcriptionMetrics, hedgedTranscriber,
+            new AdmissionControl(properties, scheduler, registry), Duration.ofSeconds(1), Duration.ofSeconds(20),
+            Duration.ofSeconds(10), maxSessions, registry);
+    }
+
+    @Test
+    void testRefusesSessionsBeyondTheLimitUntilOneCloses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionProperties properties = AdmissionControlTest.properties(2, 4);
+        LiveTranscriber transcriber = transcriber(TranscriptionSchedulerTest.scheduler(properties), properties, 2,
+            registry);
+
+        LiveTranscription first = transcriber.start(16_000, null, null);
+        transcriber.start(16_000, null, null);
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> transcriber.start(16_000, null, null));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals(2.0, registry.get("transcription.live.sessions").gauge().value());
+        first.cancel();
+        transcriber.start(16_000, null, null);
+    }
+
+    @Test
+    void testRefusesSessionWhileTheModelWouldNotAdmitAnUpload() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionProperties properties = AdmissionControlTest.properties(1, 0);
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(properties);
+        LiveTranscriber transcriber = transcriber(scheduler, properties, 4, registry);
+        Job job = new Job(LiveTranscriber.DEFAULT_MODEL, Lane.INTERACTIVE, Duration.ofSeconds(10));
+        scheduler.schedule(job, () -> Sinks.empty().asMono().flux()).subscribe();
+        scheduler.schedule(job, () -> Sinks.empty().asMono().flux()).subscribe();
+
+        assertThrows(AdmissionRejectedException.class, () -> transcriber.start(16_000, null, null));
+        assertEquals(0.0, registry.get("transcription.live.sessions").gauge().value());
+    }
+
+    @Test
+    void testUnusableSampleRateDoesNotTakeASession() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdmissionProperties properties = AdmissionControlTest.properties(2, 4);
+        LiveTranscriber transcriber = transcriber(TranscriptionSchedulerTest.scheduler(properties), properties, 1,
+            registry);
+
+        assertThrows(IllegalArgumentException.class, () -> transcriber.start(0, null, null));
+        transcriber.start(16_000, null, null);
+    }
+}
@@ -0,0 +1,176 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.WavFormat;
+import com.zoominfo.karan_take_home.services.LiveTranscription.Caption;
+import com.zoominfo.karan_take_home.services.LiveTranscription.Type;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class LiveTranscriptionTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<WavFormat> windows = new CopyOnWriteArrayList<>();
+    private final Queue<Flux<SpeechToTextResponse>> hypotheses = new ConcurrentLinkedQueue<>();
+
+    private LiveTranscription session(int sampleRate, Duration maxWindow, Duration maxBacklog) {
+        Function<MultipartFile, Flux<SpeechToTextResponse>> upstream = file -> {
+            try {
+                windows.add(WavFormat.read(new ByteArrayInputStream(file.getBytes()), file.getSize()).orElseThrow());
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return hypotheses.remove();
+        };
+        return new LiveTranscription(sampleRate, new LiveTranscription.Settings(Duration.ofSeconds(1), maxWindow,
+                maxBacklog), upstream,
+            registry.timer("partial"), registry.timer("final"), registry.counter("throttled"), () -> {
+            });
+    }
+
+    private static ByteBuffer pcm(int sampleRate, int millis) {
+        return ByteBuffer.wrap(new byte[sampleRate * millis / 1000 * 2]);
+    }
+
+    private static Flux<SpeechToTextResponse> segments(SpeechToTextResponse... segments) {
+        return Flux.just(segments);
+    }
+
+    private static void assertCaption(Caption caption, Type type, String text, double start, double end) {
+        assertEquals(type, caption.type());
+        assertEquals(text, caption.text());
+        assertEquals(start, caption.start(), 1e-9);
+        assertEquals(end, caption.end(), 1e-9);
+    }
+
+    @Test
+    void testCommitsWordsTwoHypothesesAgreeOnAndSlidesTheWindow() {
+        LiveTranscription live = session(16_000, Duration.ofSeconds(20), Duration.ofSeconds(10));
+        hypotheses.add(segments(new SpeechToTextResponse(" Hello there", 0.0, 1.0)));
+        hypotheses.add(segments(
+            new SpeechToTextResponse(" Hello, there.", 0.0, 1.25),
+            new SpeechToTextResponse(" How are", 1.25, 2.0)));
+        hypotheses.add(segments(new SpeechToTextResponse(" How are you?", 0.0, 0.75)));
+
+        StepVerifier.create(live.captions())
+            .then(() -> live.accept(pcm(16_000, 1000)))
+            .assertNext(caption -> assertCaption(caption, Type.PARTIAL, "Hello there", 0.0, 1.0))
+            .then(() -> live.accept(pcm(16_000, 1000)))
+            .assertNext(caption -> assertCaption(caption, Type.FINAL, "Hello, there.", 0.0, 1.25))
+            .assertNext(caption -> assertCaption(caption, Type.PARTIAL, "How are", 1.25, 2.0))
+            .then(live::end)
+            .assertNext(caption -> assertCaption(caption, Type.FINAL, "How are you?", 1.25, 2.0))
+            .expectComplete()
+            .verify(TIMEOUT);
+
+        // The committed first segment left the window before the last pass
+        assertEquals(List.of(32_000L, 64_000L, 24_000L), windows.stream().map(WavFormat::dataLength).toList());
+        assertEquals(2, registry.timer("partial").count());
+        assertEquals(2, registry.timer("final").count());
+    }
+
+    @Test
+    void testCommitsAllButTheLastSegmentOnceTheWindowIsTooLong() {
+        LiveTranscription live = session(16_000, Duration.ofSeconds(2), Duration.ofSeconds(10));
+        hypotheses.add(segments(new SpeechToTextResponse(" One", 0.0, 1.0)));
+        hypotheses.add(segments(new SpeechToTextResponse(" Two", 0.0, 2.0)));
+        hypotheses.add(segments(
+            new SpeechToTextResponse(" Three four", 0.0, 2.0),
+            new SpeechToTextResponse(" five", 2.0, 3.0)));
+
+        StepVerifier.create(live.captions())
+            .then(() -> live.accept(pcm(16_000, 1000)))
+            .assertNext(caption -> assertCaption(caption, Type.PARTIAL, "One", 0.0, 1.0))
+            .then(() -> live.accept(pcm(16_000, 1000)))
+            .assertNext(caption -> assertCaption(caption, Type.PARTIAL, "Two", 0.0, 2.0))
+            .then(() -> live.accept(pcm(16_000, 1000)))
+            .assertNext(caption -> assertCaption(caption, Type.FINAL, "Three four", 0.0, 2.0))
+            .assertNext(caption -> assertCaption(caption, Type.PARTIAL, "five", 2.0, 3.0))
+            .then(live::cancel)
+            .expectComplete()
+            .verify(TIMEOUT);
+    }
+
+    @Test
+    void testHoldsTheSenderBackWhileTranscriptionIsBehind() {
+        LiveTranscription live = session(16_000, Duration.ofSeconds(20), Duration.ofSeconds(2));
+        Sinks.Many<SpeechToTextResponse> slow = Sinks.many().unicast().onBackpressureBuffer();
+        hypotheses.add(slow.asFlux());
+        hypotheses.add(Flux.never());
+
+        live.accept(pcm(16_000, 1000));
+        StepVerifier.create(live.ready()).expectComplete().verify(TIMEOUT);
+        live.accept(pcm(16_000, 3000));
+
+        StepVerifier.create(live.ready())
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(100))
+            .then(slow::tryEmitComplete)
+            .expectComplete()
+            .verify(TIMEOUT);
+        assertEquals(1, registry.counter("throttled").count());
+        live.cancel();
+    }
+
+    @Test
+    void testResamplesFramesSplitMidSample() {
+        LiveTranscription live = session(8_000, Duration.ofSeconds(20), Duration.ofSeconds(10));
+        hypotheses.add(segments(new SpeechToTextResponse(" Hi.", 0.0, 0.5)));
+        byte[] audio = new byte[8_000];
+
+        StepVerifier.create(live.captions())
+            .then(() -> {
+                // Frames of an odd number of bytes split samples across frames
+                for (int i = 0; i < audio.length; i += 3) {
+                    live.accept(ByteBuffer.wrap(audio, i, Math.min(3, audio.length - i)));
+                }
+                live.end();
+            })
+            .assertNext(caption -> assertCaption(caption, Type.FINAL, "Hi.", 0.0, 0.5))
+            .expectComplete()
+            .verify(TIMEOUT);
+
+        assertEquals(16_000, windows.get(0).sampleRate());
+        // Half a second at 8 kHz becomes half a second at 16 kHz
+        assertEquals(16_000L, windows.get(0).dataLength());
+    }
+
+    @Test
+    void testRetriesAWindowAndFailsAfterRepeatedUpstreamErrors() {
+        LiveTranscription live = session(16_000, Duration.ofSeconds(20), Duration.ofSeconds(10));
+        for (int i = 0; i < LiveTranscription.MAX_FAILURES; i++) {
+            hypotheses.add(Flux.error(new IllegalStateException("Faster Whisper went away")));
+        }
+
+        StepVerifier.create(live.captions())
+            .then(() -> live.accept(pcm(16_000, 1000)))
+            .expectError(IllegalStateException.class)
+            .verify(TIMEOUT);
+    }
+
+    @Test
+    void testRejectsUnsupportedSampleRates() {
+        assertThrows(IllegalArgumentException.class, () -> session(0, Duration.ofSeconds(20), Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class SilenceTrimmerTest {
+
+    private static SilenceTrimmer trimmer(boolean enabled, SimpleMeterRegistry registry) {
+        return new SilenceTrimmer(enabled, Duration.ofSeconds(1), Duration.ofMillis(200), 12, registry);
+    }
+
+    private static SpeechToTextRequest request(byte[] audio) {
+        return SpeechToTextRequest.builder()
+            .file(new MockMultipartFile("file", "call.wav", "audio/wav", audio))
+            .build();
+    }
+
+    @Test
+    void testSendsTrimmedCopyAndMapsTimesBackToTheOriginal() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // 1 s of speech, 6 s on hold, 3 s of speech: all but 400 ms of the hold is cut
+        SpeechToTextRequest request = request(TestWavs.toneAndSilence(1000, 6000, 3000));
+        List<SpeechToTextRequest> sent = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(trimmer(true, registry).transcribe(request, trimmed -> {
+                sent.add(trimmed);
+                return Flux.just(
+                    new SpeechToTextResponse("Hello, I'll hold.", 0.0, 1.0),
+                    new SpeechToTextResponse("Thanks for waiting.", 1.5, 4.4));
+            }))
+            .assertNext(event -> {
+                assertEquals(0.0, event.start(), 1e-9);
+                assertEquals(1.0, event.end(), 1e-9);
+            })
+            .assertNext(event -> {
+                assertEquals(7.1, event.start(), 1e-9);
+                assertEquals(10.0, event.end(), 1e-9);
+            })
+            .verifyComplete();
+
+        PathMultipartFile copy = (PathMultipartFile) sent.get(0).file();
+        assertEquals("call.wav", copy.getOriginalFilename());
+        assertEquals(Duration.ofMillis(4400), sent.get(0).audioInfo().duration());
+        assertFalse(Files.exists(copy.getPath()));
+        DistributionSummary removed = registry.get("transcription.vad.removed").summary();
+        assertEquals(1, removed.count());
+        assertEquals(56.0, removed.totalAmount(), 1e-9);
+    }
+
+    @Test
+    void testLeavesAudioWithoutLongSilenceAndNonWavAlone() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SilenceTrimmer trimmer = trimmer(true, registry);
+        SpeechToTextRequest speech = request(TestWavs.toneAndSilence(1000, 500, 1000));
+        SpeechToTextRequest mp3 = SpeechToTextRequest.builder()
+            .file(new MockMultipartFile("file", "call.mp3", "audio/mpeg", "ID3 compressed audio".getBytes()))
+            .build();
+
+        SilenceTrimmer.Trimmed kept = trimmer.trim(speech);
+        assertSame(speech, kept.request());
+        assertNull(kept.timeline());
+        assertSame(mp3, trimmer.trim(mp3).request());
+        assertEquals(0.0, registry.get("transcription.vad.removed").summary().totalAmount(), 1e-9);
+    }
+
+    @Test
+    void testSendsUntouchedRecordingWhenNoSpeechIsFound() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SpeechToTextRequest blank = request(TestWavs.toneAndSilence(0, 3000));
+
+        assertSame(blank, trimmer(true, registry).trim(blank).request());
+        DistributionSummary removed = registry.get("transcription.vad.removed").summary();
+        assertEquals(1, removed.count());
+        assertEquals(0.0, removed.totalAmount(), 1e-9);
+    }
+
+    @Test
+    void testPassesRequestThroughWhenDisabled() {
+        SpeechToTextRequest request = request(TestWavs.toneAndSilence(1000, 6000, 1000));
+        List<SpeechToTextRequest> sent = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(trimmer(false, new SimpleMeterRegistry()).transcribe(request, r -> {
+                sent.add(r);
+                return Flux.empty();
+            }))
+            .verifyComplete();
+
+        assertSame(request, sent.get(0));
+    }
+}
@@ -1,24 +1,56 @@
 package com.zoominfo.karan_take_home.services;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.cache.TranscriptStore;
+import com.zoominfo.karan_take_home.cache.TranscriptionCache;
+import com.zoominfo.karan_take_home.cache.TranscriptionKey;
+import com.zoominfo.karan_take_home.SpeechToTextStreamRequest;
 import com.zoominfo.karan_take_home.clients.FasterWhisperClient;
+import com.zoominfo.karan_take_home.clients.FasterWhisperStreamingClient;
 import com.zoominfo.karan_take_home.dto.incoming.FasterWhisperResponseDto;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.metrics.TranscriptionMetrics;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,19 +59,41 @@ class SpeechToTextServiceTest {
     @Mock
     private FasterWhisperClient fasterWhisperClient;
 
-    @InjectMocks
+    @Mock
+    private FasterWhisperStreamingClient fasterWhisperStreamingClient;
+
     private SpeechToTextService speechToTextService;
 
+    @TempDir
+    private Path storeDirectory;
+
     private MockMultipartFile mockFile;
     private SpeechToTextRequest request;
 
     @BeforeEach
     void setUp() {
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(AdmissionControlTest.properties(8, 32));
+        speechToTextService = new SpeechToTextService(
+            fasterWhisperClient,
+            fasterWhisperStreamingClient,
+            new TranscriptionCache(true, 1024 * 1024, new SimpleMeterRegistry()),
+            new TranscriptStore(false, storeDirectory, 1024 * 1024, 64 * 1024, new SimpleMeterRegistry()),
+            new InFlightTranscriptions(new SimpleMeterRegistry()),
+            new ChunkedTranscriber(ChunkedTranscriberTest.properties(false)),
+            new AdmissionControl(AdmissionControlTest.properties(8, 32), scheduler, new SimpleMeterRegistry()),
+            scheduler,
+            new AudioNormalizer(false, new SimpleMeterRegistry()),
+            new SilenceTrimmer(false, Duration.ofSeconds(1), Duration.ofMillis(250), 12, new SimpleMeterRegistry()),
+            new ClipPacker(false, Duration.ofMillis(250), Duration.ofSeconds(28), Duration.ofSeconds(5),
+                Duration.ofSeconds(1), new SimpleMeterRegistry()),
+            new TranscriptionMetrics(new SimpleMeterRegistry()),
+            HedgedTranscriberTest.disabled()
+        );
         mockFile = new MockMultipartFile(
             "file",
             "test-audio.wav",
             "audio/wav",
-            "test audio content".getBytes()
+            TestWavs.toneAndSilence(100)
         );
         request = SpeechToTextRequest.builder()
             .file(mockFile)
@@ -58,7 +112,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -72,7 +126,7 @@ class SpeechToTextServiceTest {
             .verifyComplete();
 
         verify(fasterWhisperClient, times(1)).transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -97,7 +151,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -127,7 +181,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -144,7 +198,7 @@ class SpeechToTextServiceTest {
     void testTranscribeWithEmptyResponse() {
         // Arrange
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -166,7 +220,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -190,7 +244,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(false)
@@ -202,7 +256,7 @@ class SpeechToTextServiceTest {
             .verifyComplete();
 
         verify(fasterWhisperClient, times(1)).transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(false)
@@ -225,7 +279,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("es"),
             eq("Systran/faster-whisper-small"),
             eq(false)
@@ -237,7 +291,7 @@ class SpeechToTextServiceTest {
             .verifyComplete();
 
         verify(fasterWhisperClient, times(1)).transcribe(
-            eq(mockFile),
+            upload(),
             eq("es"),
             eq("Systran/faster-whisper-small"),
             eq(false)
@@ -260,7 +314,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-large-v3"),
             eq(true)
@@ -272,7 +326,7 @@ class SpeechToTextServiceTest {
             .verifyComplete();
 
         verify(fasterWhisperClient, times(1)).transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-large-v3"),
             eq(true)
@@ -293,7 +347,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -315,7 +369,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -337,7 +391,7 @@ class SpeechToTextServiceTest {
             .build();
 
         when(fasterWhisperClient.transcribe(
-            eq(mockFile),
+            upload(),
             eq("en"),
             eq("Systran/faster-whisper-small"),
             eq(true)
@@ -348,4 +402,345 @@ class SpeechToTextServiceTest {
             .expectNextMatches(response -> response.text().equals(unicodeText))
             .verifyComplete();
     }
+
+    @Test
+    void testTranscribeReplaysCachedResultWithoutCallingClient() {
+        // Arrange
+        ServerSentEvent<FasterWhisperResponseDto> event = ServerSentEvent.<FasterWhisperResponseDto>builder()
+            .data(new FasterWhisperResponseDto("Cached transcription"))
+            .build();
+
+        when(fasterWhisperClient.transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        )).thenReturn(Flux.just(event));
+
+        // Act & Assert
+        StepVerifier.create(speechToTextService.transcribe(request))
+            .expectNextMatches(response -> response.text().equals("Cached transcription"))
+            .verifyComplete();
+        StepVerifier.create(speechToTextService.transcribe(request))
+            .expectNextMatches(response -> response.text().equals("Cached transcription"))
+            .verifyComplete();
+
+        verify(fasterWhisperClient, times(1)).transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        );
+    }
+
+    @Test
+    void testTranscribeWithBypassCacheAlwaysCallsClient() {
+        // Arrange
+        SpeechToTextRequest bypassRequest = SpeechToTextRequest.builder()
+            .file(mockFile)
+            .language("en")
+            .model("Systran/faster-whisper-small")
+            .stream(true)
+            .bypassCache(true)
+            .build();
+        ServerSentEvent<FasterWhisperResponseDto> event = ServerSentEvent.<FasterWhisperResponseDto>builder()
+            .data(new FasterWhisperResponseDto("Fresh transcription"))
+            .build();
+
+        when(fasterWhisperClient.transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        )).thenReturn(Flux.just(event));
+
+        // Act & Assert
+        StepVerifier.create(speechToTextService.transcribe(request))
+            .expectNextCount(1)
+            .verifyComplete();
+        StepVerifier.create(speechToTextService.transcribe(bypassRequest))
+            .expectNextMatches(response -> response.text().equals("Fresh transcription"))
+            .verifyComplete();
+
+        verify(fasterWhisperClient, times(2)).transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        );
+    }
+
+    @Test
+    void testTranscribeDoesNotCacheFailedStream() {
+        // Arrange
+        ServerSentEvent<FasterWhisperResponseDto> event = ServerSentEvent.<FasterWhisperResponseDto>builder()
+            .data(new FasterWhisperResponseDto("Partial"))
+            .build();
+
+        when(fasterWhisperClient.transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        )).thenReturn(
+            Flux.just(event).concatWith(Flux.error(new IllegalStateException("upstream failed"))),
+            Flux.just(event)
+        );
+
+        // Act & Assert
+        StepVerifier.create(speechToTextService.transcribe(request))
+            .expectNextCount(1)
+            .verifyError(IllegalStateException.class);
+        StepVerifier.create(speechToTextService.transcribe(request))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        verify(fasterWhisperClient, times(2)).transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        );
+    }
+
+    @Test
+    void testTranscribeReplaysResultFromTranscriptStore() throws Exception {
+        // Arrange
+        TranscriptStore store = new TranscriptStore(true, storeDirectory, 1024 * 1024, 64 * 1024, new SimpleMeterRegistry());
+        store.open();
+        store.put(TranscriptionKey.from(request), List.of(new SpeechToTextResponse("Stored transcription")));
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(AdmissionControlTest.properties(8, 32));
+        SpeechToTextService restartedService = new SpeechToTextService(
+            fasterWhisperClient,
+            fasterWhisperStreamingClient,
+            new TranscriptionCache(true, 1024 * 1024, new SimpleMeterRegistry()),
+            store,
+            new InFlightTranscriptions(new SimpleMeterRegistry()),
+            new ChunkedTranscriber(ChunkedTranscriberTest.properties(false)),
+            new AdmissionControl(AdmissionControlTest.properties(8, 32), scheduler, new SimpleMeterRegistry()),
+            scheduler,
+            new AudioNormalizer(false, new SimpleMeterRegistry()),
+            new SilenceTrimmer(false, Duration.ofSeconds(1), Duration.ofMillis(250), 12, new SimpleMeterRegistry()),
+            new ClipPacker(false, Duration.ofMillis(250), Duration.ofSeconds(28), Duration.ofSeconds(5),
+                Duration.ofSeconds(1), new SimpleMeterRegistry()),
+            new TranscriptionMetrics(new SimpleMeterRegistry()),
+            HedgedTranscriberTest.disabled()
+        );
+
+        // Act & Assert
+        StepVerifier.create(restartedService.transcribe(request))
+            .expectNextMatches(response -> response.text().equals("Stored transcription"))
+            .verifyComplete();
+
+        verify(fasterWhisperClient, never()).transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean());
+        store.close();
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneUpstreamCall() {
+        // Arrange
+        Sinks.Many<ServerSentEvent<FasterWhisperResponseDto>> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        when(fasterWhisperClient.transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        )).thenReturn(upstream.asFlux());
+
+        // Act
+        StepVerifier first = StepVerifier.create(speechToTextService.transcribe(request).map(SpeechToTextResponse::text))
+            .expectNext("Hello", "world")
+            .expectComplete()
+            .verifyLater();
+        upstream.tryEmitNext(ServerSentEvent.builder(new FasterWhisperResponseDto("Hello")).build());
+        StepVerifier second = StepVerifier.create(speechToTextService.transcribe(request).map(SpeechToTextResponse::text))
+            .expectNext("Hello", "world")
+            .expectComplete()
+            .verifyLater();
+        upstream.tryEmitNext(ServerSentEvent.builder(new FasterWhisperResponseDto("world")).build());
+        upstream.tryEmitComplete();
+
+        // Assert
+        first.verify(Duration.ofSeconds(5));
+        second.verify(Duration.ofSeconds(5));
+        verify(fasterWhisperClient, times(1)).transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        );
+    }
+
+    @Test
+    void testSharedCallKeepsItsAudioAfterTheFirstCallersUploadIsDeleted() throws Exception {
+        // Arrange
+        Path spool = Files.write(storeDirectory.resolve("spooled.wav"), TestWavs.toneAndSilence(100));
+        SpeechToTextRequest spooled = SpeechToTextRequest.builder()
+            .file(new PathMultipartFile("file", "test-audio.wav", "audio/wav", spool))
+            .language("en")
+            .model("Systran/faster-whisper-small")
+            .stream(true)
+            .build();
+        Sinks.Many<ServerSentEvent<FasterWhisperResponseDto>> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicReference<MultipartFile> sent = new AtomicReference<>();
+        when(fasterWhisperClient.transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        )).thenAnswer(invocation -> {
+            sent.set(invocation.getArgument(0));
+            return upstream.asFlux();
+        });
+
+        // Act
+        Disposable first = speechToTextService.transcribe(spooled).subscribe();
+        StepVerifier second = StepVerifier.create(speechToTextService.transcribe(spooled).map(SpeechToTextResponse::text))
+            .expectNext("Hello")
+            .expectComplete()
+            .verifyLater();
+        verify(fasterWhisperClient, timeout(1000)).transcribe(
+            upload(),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        );
+        first.dispose();
+        Files.delete(spool);
+
+        // Assert
+        assertArrayEquals(TestWavs.toneAndSilence(100), sent.get().getBytes());
+        upstream.tryEmitNext(ServerSentEvent.builder(new FasterWhisperResponseDto("Hello")).build());
+        upstream.tryEmitComplete();
+        second.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testTranscribeStreamPassesAudioThroughToStreamingClient() {
+        // Arrange
+        Flux<DataBuffer> audio = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("test audio".getBytes()));
+        SpeechToTextStreamRequest streamRequest = SpeechToTextStreamRequest.builder()
+            .audio(audio)
+            .contentType("audio/wav")
+            .stream(true)
+            .build();
+        ServerSentEvent<FasterWhisperResponseDto> event = ServerSentEvent.<FasterWhisperResponseDto>builder()
+            .data(new FasterWhisperResponseDto("Streamed transcription"))
+            .build();
+
+        when(fasterWhisperStreamingClient.transcribe(
+            eq(audio),
+            eq("audio"),
+            eq("audio/wav"),
+            eq("en"),
+            eq("Systran/faster-whisper-small"),
+            eq(true)
+        )).thenReturn(Flux.just(event));
+
+        // Act & Assert
+        StepVerifier.create(speechToTextService.transcribeStream(streamRequest))
+            .expectNextMatches(response -> response.text().equals("Streamed transcription"))
+            .verifyComplete();
+
+        verify(fasterWhisperClient, never()).transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testTranscribeRejectsBeforeCallingClientWhenWaitExceedsDeadline() {
+        // Arrange
+        SpeechToTextService limitedService = limitedService();
+        Sinks.Many<ServerSentEvent<FasterWhisperResponseDto>> running = Sinks.many().unicast().onBackpressureBuffer();
+        when(fasterWhisperClient.transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean()))
+            .thenReturn(running.asFlux());
+        limitedService.transcribe(request).subscribe();
+        SpeechToTextRequest other = SpeechToTextRequest.builder()
+            .file(mockFile)
+            .language("de")
+            .model("Systran/faster-whisper-small")
+            .stream(true)
+            .build();
+
+        // Act & Assert
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> limitedService.transcribe(other, Duration.ofSeconds(5)));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        verify(fasterWhisperClient, timeout(1000).times(1)).transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testCachedAndInFlightResultsAreNotRejectedWhenTheModelIsBusy() {
+        // Arrange
+        SpeechToTextService limitedService = limitedService();
+        Sinks.Many<ServerSentEvent<FasterWhisperResponseDto>> running = Sinks.many().unicast().onBackpressureBuffer();
+        when(fasterWhisperClient.transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean()))
+            .thenReturn(running.asFlux(), Flux.never());
+        StepVerifier first = StepVerifier.create(limitedService.transcribe(request))
+            .expectNextCount(1)
+            .expectComplete()
+            .verifyLater();
+
+        // Act & Assert
+        StepVerifier attached = StepVerifier.create(limitedService.transcribe(request, Duration.ofSeconds(5)))
+            .expectNextMatches(response -> response.text().equals("Shared"))
+            .expectComplete()
+            .verifyLater();
+        running.tryEmitNext(ServerSentEvent.builder(new FasterWhisperResponseDto("Shared")).build());
+        running.tryEmitComplete();
+        first.verify(Duration.ofSeconds(5));
+        attached.verify(Duration.ofSeconds(5));
+
+        limitedService.transcribe(SpeechToTextRequest.builder()
+            .file(mockFile)
+            .language("de")
+            .model("Systran/faster-whisper-small")
+            .stream(true)
+            .build()).subscribe();
+        StepVerifier.create(limitedService.transcribe(request, Duration.ofSeconds(5)))
+            .expectNextMatches(response -> response.text().equals("Shared"))
+            .verifyComplete();
+        verify(fasterWhisperClient, timeout(1000).times(2)).transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testTranscribeRejectsNonAudioBeforeCallingClient() {
+        // Arrange
+        SpeechToTextRequest renamedImage = SpeechToTextRequest.builder()
+            .file(new MockMultipartFile("file", "photo.wav", "audio/wav",
+                new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13}))
+            .build();
+        SpeechToTextRequest empty = SpeechToTextRequest.builder()
+            .file(new MockMultipartFile("file", "empty.wav", "audio/wav", new byte[0]))
+            .build();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> speechToTextService.transcribe(renamedImage));
+        assertThrows(IllegalArgumentException.class, () -> speechToTextService.transcribe(empty));
+        verify(fasterWhisperClient, never()).transcribe(any(MultipartFile.class), anyString(), anyString(), anyBoolean());
+    }
+
+    /** The uploaded file, or the copy of it that a shared call sends instead. */
+    private MultipartFile upload() {
+        return argThat(file -> file != null && mockFile.getOriginalFilename().equals(file.getOriginalFilename()));
+    }
+
+    /** A service allowed one transcription at a time, so a second one has to wait its whole duration. */
+    private SpeechToTextService limitedService() {
+        TranscriptionScheduler scheduler = TranscriptionSchedulerTest.scheduler(AdmissionControlTest.properties(1, 32));
+        return new SpeechToTextService(
+            fasterWhisperClient,
+            fasterWhisperStreamingClient,
+            new TranscriptionCache(true, 1024 * 1024, new SimpleMeterRegistry()),
+            new TranscriptStore(false, storeDirectory, 1024 * 1024, 64 * 1024, new SimpleMeterRegistry()),
+            new InFlightTranscriptions(new SimpleMeterRegistry()),
+            new ChunkedTranscriber(ChunkedTranscriberTest.properties(false)),
+            new AdmissionControl(AdmissionControlTest.properties(1, 32), scheduler, new SimpleMeterRegistry()),
+            scheduler,
+            new AudioNormalizer(false, new SimpleMeterRegistry()),
+            new SilenceTrimmer(false, Duration.ofSeconds(1), Duration.ofMillis(250), 12, new SimpleMeterRegistry()),
+            new ClipPacker(false, Duration.ofMillis(250), Duration.ofSeconds(28), Duration.ofSeconds(5),
+                Duration.ofSeconds(1), new SimpleMeterRegistry()),
+            new TranscriptionMetrics(new SimpleMeterRegistry()),
+            HedgedTranscriberTest.disabled()
+        );
+    }
 }
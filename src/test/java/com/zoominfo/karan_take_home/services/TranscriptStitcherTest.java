@@ -0,0 +1,60 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+
+class TranscriptStitcherTest {
+
+    @Test
+    void testFindsLongestRepeatedRunIgnoringCaseAndPunctuation() {
+        List<String> previous = List.of("we", "went", "to", "the", "park");
+        List<String> next = List.of("to", "the", "park", "and", "played");
+
+        assertEquals(3, TranscriptStitcher.overlappingWords(previous, next));
+    }
+
+    @Test
+    void testIgnoresSingleWordCoincidences() {
+        assertEquals(0, TranscriptStitcher.overlappingWords(List.of("over", "the"), List.of("the", "end")));
+    }
+
+    @Test
+    void testDropsWordsAcrossEvents() {
+        List<SpeechToTextResponse> events = List.of(
+            new SpeechToTextResponse(" the park"),
+            new SpeechToTextResponse(" and played."));
+
+        List<SpeechToTextResponse> kept = TranscriptStitcher.dropLeadingWords(events, 3);
+
+        assertEquals(List.of(new SpeechToTextResponse(" played.")), kept);
+    }
+
+    @Test
+    void testSkipsPunctuationBetweenRepeatedWords() {
+        TranscriptStitcher stitcher = new TranscriptStitcher();
+
+        stitcher.stitch(new TranscriptStitcher.Batch(0, List.of(new SpeechToTextResponse("We went to the park"))));
+        List<SpeechToTextResponse> next = stitcher.stitch(new TranscriptStitcher.Batch(1,
+            List.of(new SpeechToTextResponse(" - to the - park and played."))));
+
+        assertEquals(List.of(new SpeechToTextResponse(" and played.")), next);
+    }
+
+    @Test
+    void testStitchesOnlyAtSegmentBoundaries() {
+        TranscriptStitcher stitcher = new TranscriptStitcher();
+
+        List<SpeechToTextResponse> first = stitcher.stitch(new TranscriptStitcher.Batch(0, List.of(new SpeechToTextResponse("The end of it,"))));
+        List<SpeechToTextResponse> sameSegment = stitcher.stitch(new TranscriptStitcher.Batch(0, List.of(new SpeechToTextResponse(" end of it."))));
+        List<SpeechToTextResponse> nextSegment = stitcher.stitch(new TranscriptStitcher.Batch(1, List.of(new SpeechToTextResponse(" End of it. Done."))));
+
+        assertEquals("The end of it,", first.get(0).text());
+        assertEquals(" end of it.", sameSegment.get(0).text());
+        assertEquals(" Done.", nextSegment.get(0).text());
+    }
+}
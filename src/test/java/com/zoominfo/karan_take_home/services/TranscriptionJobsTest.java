@@ -0,0 +1,168 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import com.zoominfo.karan_take_home.SpeechToTextRequest;
+import com.zoominfo.karan_take_home.SpeechToTextResponse;
+import com.zoominfo.karan_take_home.audio.TestWavs;
+import com.zoominfo.karan_take_home.exception.AdmissionRejectedException;
+import com.zoominfo.karan_take_home.multipart.PathMultipartFile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class TranscriptionJobsTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private SpeechToTextService speechToTextService;
+
+    @TempDir
+    private Path directory;
+
+    private TranscriptionJobs jobs;
+
+    private TranscriptionJobs jobs(int workers, int queueCapacity) {
+        jobs = new TranscriptionJobs(speechToTextService, workers, queueCapacity, Duration.ofMinutes(10),
+            Duration.ofMinutes(1), new SimpleMeterRegistry());
+        return jobs;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (jobs != null) {
+            jobs.stop();
+        }
+    }
+
+    private Path spool(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(directory, "job-", ".upload"), content);
+    }
+
+    private static SpeechToTextRequest request(Path spool) {
+        return SpeechToTextRequest.builder()
+            .file(new PathMultipartFile("file", "call.wav", "audio/wav", spool))
+            .build();
+    }
+
+    @Test
+    void testRunsJobAndKeepsItsResults() throws IOException {
+        when(speechToTextService.transcribe(any(), any())).thenReturn(Flux.just(
+            new SpeechToTextResponse(" Hello there.", 0.0, 1.5),
+            new SpeechToTextResponse(" General Kenobi.", 1.5, 3.0)));
+        Path spool = spool(TestWavs.toneAndSilence(500));
+
+        TranscriptionJob job = jobs(1, 4).submit(request(spool), spool);
+
+        StepVerifier.create(job.events())
+            .expectNextCount(2)
+            .expectComplete()
+            .verify(TIMEOUT);
+        assertEquals(TranscriptionJob.Status.SUCCEEDED, job.status());
+        assertNotNull(job.completedAt());
+        assertEquals(List.of(" Hello there.", " General Kenobi."),
+            job.results().stream().map(SpeechToTextResponse::text).toList());
+        assertFalse(Files.exists(spool));
+        // A subscriber arriving after the job finished still gets every result
+        StepVerifier.create(job.events()).expectNextCount(2).verifyComplete();
+    }
+
+    @Test
+    void testRecordsFailure() throws IOException {
+        when(speechToTextService.transcribe(any(), any()))
+            .thenReturn(Flux.error(new IllegalStateException("Faster Whisper went away")));
+        Path spool = spool(TestWavs.toneAndSilence(500));
+
+        TranscriptionJob job = jobs(1, 4).submit(request(spool), spool);
+
+        StepVerifier.create(job.events())
+            .expectError(IllegalStateException.class)
+            .verify(TIMEOUT);
+        assertEquals(TranscriptionJob.Status.FAILED, job.status());
+        assertEquals("Faster Whisper went away", job.error());
+        assertFalse(Files.exists(spool));
+    }
+
+    @Test
+    void testRejectsJobsBeyondQueueCapacity() throws IOException {
+        when(speechToTextService.transcribe(any(), any())).thenReturn(Flux.never());
+        TranscriptionJobs jobs = jobs(1, 1);
+        Path first = spool(TestWavs.toneAndSilence(500));
+        TranscriptionJob running = jobs.submit(request(first), first);
+        // Wait for the worker to take the first job so the second sits in the queue
+        while (running.status() == TranscriptionJob.Status.QUEUED) {
+            Thread.onSpinWait();
+        }
+        Path second = spool(TestWavs.toneAndSilence(500));
+        jobs.submit(request(second), second);
+        Path third = spool(TestWavs.toneAndSilence(500));
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+            () -> jobs.submit(request(third), third));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertFalse(Files.exists(third));
+    }
+
+    @Test
+    void testRejectsNonAudioBeforeQueueing() throws IOException {
+        Path spool = spool("not audio at all".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> jobs(1, 4).submit(request(spool), spool));
+
+        assertFalse(Files.exists(spool));
+    }
+
+    @Test
+    void testRetriesWhenAdmissionIsRefused() throws IOException {
+        when(speechToTextService.transcribe(any(), any()))
+            .thenThrow(new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "busy", Duration.ofMillis(10)))
+            .thenReturn(Flux.just(new SpeechToTextResponse("Hello.")));
+        Path spool = spool(TestWavs.toneAndSilence(500));
+
+        TranscriptionJob job = jobs(1, 4).submit(request(spool), spool);
+
+        StepVerifier.create(job.events()).expectNextCount(1).expectComplete().verify(TIMEOUT);
+        verify(speechToTextService, times(2)).transcribe(any(), any());
+    }
+
+    @Test
+    void testEvictsFinishedJobsAfterRetention() throws IOException {
+        when(speechToTextService.transcribe(any(), any())).thenReturn(Flux.empty());
+        TranscriptionJobs jobs = jobs(1, 4);
+        Path spool = spool(TestWavs.toneAndSilence(500));
+        TranscriptionJob job = jobs.submit(request(spool), spool);
+        StepVerifier.create(job.events()).expectComplete().verify(TIMEOUT);
+
+        jobs.evictExpired(System.nanoTime());
+        assertNotNull(jobs.get(job.id()));
+
+        jobs.evictExpired(System.nanoTime() + Duration.ofMinutes(10).toNanos());
+        assertNull(jobs.get(job.id()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.zoominfo.karan_take_home.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoominfo.karan_take_home.config.AdmissionProperties;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Job;
+import com.zoominfo.karan_take_home.services.TranscriptionScheduler.Lane;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+class TranscriptionSchedulerTest {
+
+    private static final String MODEL = "Systran/faster-whisper-small";
+
+    static TranscriptionScheduler scheduler(AdmissionProperties properties) {
+        return scheduler(properties, 16, Duration.ofMinutes(2));
+    }
+
+    private static TranscriptionScheduler scheduler(AdmissionProperties properties, int slots, Duration maxBatchWait) {
+        return new TranscriptionScheduler(properties, slots, maxBatchWait, 60, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    private static Job interactive(long seconds) {
+        return new Job(MODEL, Lane.INTERACTIVE, Duration.ofSeconds(seconds));
+    }
+
+    private static Job batch(long seconds) {
+        return new Job(MODEL, Lane.BATCH, Duration.ofSeconds(seconds));
+    }
+
+    private static Flux<Void> record(List<String> started, String name) {
+        return Flux.<Void>empty().doOnSubscribe(s -> started.add(name));
+    }
+
+    @Test
+    void testRunsImmediatelyWhileSlotsAreFree() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(2, 4));
+        Sinks.Empty<Void> first = Sinks.empty();
+
+        Disposable running = scheduler.schedule(interactive(10), () -> first.asMono().flux()).subscribe();
+
+        assertEquals(Duration.ZERO, scheduler.estimatedWait(MODEL));
+        assertEquals(15, scheduler.freeSlots());
+        running.dispose();
+        assertEquals(16, scheduler.freeSlots());
+    }
+
+    @Test
+    void testDispatchesShortestInteractiveJobFirst() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(1, 8));
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(interactive(60), () -> blocker.asMono().flux()).subscribe();
+        scheduler.schedule(interactive(5400), () -> record(started, "90 minutes")).subscribe();
+        scheduler.schedule(interactive(10), () -> record(started, "10 seconds")).subscribe();
+        scheduler.schedule(interactive(600), () -> record(started, "10 minutes")).subscribe();
+        blocker.tryEmitEmpty();
+
+        assertEquals(List.of("10 seconds", "10 minutes", "90 minutes"), started);
+    }
+
+    @Test
+    void testInteractiveLaneGoesBeforeBatchLane() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(1, 8));
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(interactive(60), () -> blocker.asMono().flux()).subscribe();
+        scheduler.schedule(batch(10), () -> record(started, "batch")).subscribe();
+        scheduler.schedule(interactive(600), () -> record(started, "interactive")).subscribe();
+        blocker.tryEmitEmpty();
+
+        assertEquals(List.of("interactive", "batch"), started);
+    }
+
+    @Test
+    void testBatchJobThatWaitedTooLongGoesFirst() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(1, 8), 16, Duration.ZERO);
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(interactive(60), () -> blocker.asMono().flux()).subscribe();
+        scheduler.schedule(batch(5400), () -> record(started, "batch")).subscribe();
+        scheduler.schedule(interactive(10), () -> record(started, "interactive")).subscribe();
+        blocker.tryEmitEmpty();
+
+        assertEquals(List.of("batch", "interactive"), started);
+    }
+
+    @Test
+    void testDispatchSlotsAreSharedAcrossModels() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(2, 8), 2, Duration.ofMinutes(2));
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(interactive(10), () -> blocker.asMono().flux()).subscribe();
+        scheduler.schedule(new Job("Systran/faster-whisper-large-v3", Lane.INTERACTIVE, Duration.ofSeconds(10)),
+            () -> blocker.asMono().flux()).subscribe();
+        scheduler.schedule(new Job("Systran/faster-whisper-medium", Lane.INTERACTIVE, Duration.ofSeconds(10)),
+            () -> record(started, "medium")).subscribe();
+
+        assertEquals(List.of(), started);
+        blocker.tryEmitEmpty();
+        assertEquals(List.of("medium"), started);
+    }
+
+    @Test
+    void testReportsQueuePositionWhileWaiting() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(1, 8));
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<Integer> positions = new CopyOnWriteArrayList<>();
+        QueuePositionListener listener = positions::add;
+
+        scheduler.schedule(interactive(60), () -> blocker.asMono().flux()).subscribe();
+        scheduler.schedule(interactive(600), Flux::<Void>empty)
+            .contextWrite(Context.of(QueuePositionListener.class, listener))
+            .subscribe();
+        // A shorter job jumps ahead
+        scheduler.schedule(interactive(10), Flux::<Void>empty).subscribe();
+        blocker.tryEmitEmpty();
+
+        // 1st, pushed back to 2nd, then 1st again once the short job is dispatched
+        assertEquals(List.of(1, 2, 1), positions);
+    }
+
+    @Test
+    void testCancelledWaiterGivesUpItsPlace() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(1, 4));
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(interactive(10), () -> blocker.asMono().flux()).subscribe();
+        Disposable cancelled = scheduler.schedule(interactive(10), () -> record(started, "cancelled")).subscribe();
+        scheduler.schedule(interactive(10), () -> record(started, "kept")).subscribe();
+        assertEquals(2, scheduler.queued(MODEL));
+        cancelled.dispose();
+        blocker.tryEmitEmpty();
+
+        assertEquals(List.of("kept"), started);
+        assertEquals(0, scheduler.queued(MODEL));
+    }
+
+    @Test
+    void testEstimateFollowsMeasuredServiceTime() {
+        TranscriptionScheduler scheduler = scheduler(AdmissionControlTest.properties(1, 4));
+        for (int i = 0; i < 50; i++) {
+            scheduler.schedule(interactive(10), Flux::<Void>empty).blockLast();
+        }
+        scheduler.schedule(interactive(10), () -> Sinks.empty().asMono().flux()).subscribe();
+
+        assertTrue(scheduler.estimatedWait(MODEL).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+}